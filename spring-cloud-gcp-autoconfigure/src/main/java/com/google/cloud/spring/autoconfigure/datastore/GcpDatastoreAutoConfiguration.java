@@ -26,6 +26,7 @@ import com.google.cloud.spring.autoconfigure.core.GcpContextAutoConfiguration;
 import com.google.cloud.spring.core.DefaultCredentialsProvider;
 import com.google.cloud.spring.core.GcpProjectIdProvider;
 import com.google.cloud.spring.core.UserAgentHeaderProvider;
+import com.google.cloud.spring.data.datastore.core.DatastoreEntityCache;
 import com.google.cloud.spring.data.datastore.core.DatastoreOperations;
 import com.google.cloud.spring.data.datastore.core.DatastoreTemplate;
 import com.google.cloud.spring.data.datastore.core.convert.DatastoreCustomConversions;
@@ -173,9 +174,13 @@ public class GcpDatastoreAutoConfiguration {
       Supplier<? extends DatastoreReaderWriter> datastore,
       DatastoreMappingContext datastoreMappingContext,
       DatastoreEntityConverter datastoreEntityConverter,
-      ObjectToKeyFactory objectToKeyFactory) {
-    return new DatastoreTemplate(
-        datastore, datastoreEntityConverter, datastoreMappingContext, objectToKeyFactory);
+      ObjectToKeyFactory objectToKeyFactory,
+      ObjectProvider<DatastoreEntityCache> entityCache) {
+    DatastoreTemplate datastoreTemplate =
+        new DatastoreTemplate(
+            datastore, datastoreEntityConverter, datastoreMappingContext, objectToKeyFactory);
+    entityCache.ifAvailable(datastoreTemplate::setEntityCache);
+    return datastoreTemplate;
   }
 
   private DatastoreProvider getDatastoreProvider(DatastoreNamespaceProvider keySupplier) {
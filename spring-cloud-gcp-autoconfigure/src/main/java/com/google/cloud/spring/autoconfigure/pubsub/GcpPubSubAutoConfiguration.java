@@ -23,9 +23,13 @@ import com.google.api.gax.core.CredentialsProvider;
 import com.google.api.gax.core.ExecutorProvider;
 import com.google.api.gax.core.FixedExecutorProvider;
 import com.google.api.gax.core.NoCredentialsProvider;
+import com.google.api.gax.grpc.ChannelPoolSettings;
+import com.google.api.gax.grpc.InstantiatingGrpcChannelProvider;
 import com.google.api.gax.retrying.RetrySettings;
 import com.google.api.gax.retrying.RetrySettings.Builder;
+import com.google.api.gax.rpc.FixedTransportChannelProvider;
 import com.google.api.gax.rpc.HeaderProvider;
+import com.google.api.gax.rpc.TransportChannel;
 import com.google.api.gax.rpc.TransportChannelProvider;
 import com.google.cloud.pubsub.v1.SubscriptionAdminClient;
 import com.google.cloud.pubsub.v1.SubscriptionAdminSettings;
@@ -50,9 +54,15 @@ import com.google.cloud.spring.pubsub.support.DefaultPublisherFactory;
 import com.google.cloud.spring.pubsub.support.DefaultSubscriberFactory;
 import com.google.cloud.spring.pubsub.support.PublisherFactory;
 import com.google.cloud.spring.pubsub.support.SubscriberFactory;
+import com.google.cloud.spring.pubsub.support.ThreadPerTaskScheduledExecutorService;
 import com.google.cloud.spring.pubsub.support.converter.PubSubMessageConverter;
 import com.google.pubsub.v1.ProjectSubscriptionName;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -78,7 +88,6 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.support.GenericApplicationContext;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
-import org.threeten.bp.Duration;
 
 /** Auto-config for Pub/Sub. */
 @AutoConfiguration
@@ -154,6 +163,10 @@ public class GcpPubSubAutoConfiguration {
 
   @Bean
   @ConditionalOnMissingBean(name = "pubsubPublisherThreadPool")
+  @ConditionalOnProperty(
+      value = "spring.cloud.gcp.pubsub.publisher.virtual-threads",
+      havingValue = "false",
+      matchIfMissing = true)
   public ThreadPoolTaskScheduler pubsubPublisherThreadPool() {
     ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
     scheduler.setPoolSize(this.gcpPubSubProperties.getPublisher().getExecutorThreads());
@@ -162,11 +175,23 @@ public class GcpPubSubAutoConfiguration {
     return scheduler;
   }
 
+  @Bean(destroyMethod = "shutdown")
+  @ConditionalOnMissingBean(name = "pubsubPublisherThreadPerTaskExecutor")
+  @ConditionalOnProperty("spring.cloud.gcp.pubsub.publisher.virtual-threads")
+  public ThreadPerTaskScheduledExecutorService pubsubPublisherThreadPerTaskExecutor() {
+    return new ThreadPerTaskScheduledExecutorService("gcp-pubsub-publisher-");
+  }
+
   @Bean
   @ConditionalOnMissingBean(name = "publisherExecutorProvider")
   public ExecutorProvider publisherExecutorProvider(
-      @Qualifier("pubsubPublisherThreadPool") ThreadPoolTaskScheduler scheduler) {
-    return FixedExecutorProvider.create(scheduler.getScheduledExecutor());
+      @Qualifier("pubsubPublisherThreadPool") Optional<ThreadPoolTaskScheduler> scheduler,
+      @Qualifier("pubsubPublisherThreadPerTaskExecutor")
+          Optional<ThreadPerTaskScheduledExecutorService> threadPerTaskExecutor) {
+    if (threadPerTaskExecutor.isPresent()) {
+      return FixedExecutorProvider.create(threadPerTaskExecutor.get());
+    }
+    return FixedExecutorProvider.create(scheduler.orElseThrow().getScheduledExecutor());
   }
 
   @Bean
@@ -202,6 +227,12 @@ public class GcpPubSubAutoConfiguration {
     pubSubMessageConverter.ifUnique(pubSubSubscriberTemplate::setMessageConverter);
     pubSubSubscriberTemplate.setAckExecutor(ackExecutor);
     asyncPullExecutor.ifAvailable(pubSubSubscriberTemplate::setAsyncPullExecutor);
+    PubSubConfiguration.Subscriber subscriberProperties = this.gcpPubSubProperties.getSubscriber();
+    if (subscriberProperties.getAckBatchingDelayMillis() != null) {
+      pubSubSubscriberTemplate.setAckBatching(
+          Duration.ofMillis(subscriberProperties.getAckBatchingDelayMillis()),
+          subscriberProperties.getAckBatchingMaxSize());
+    }
     return pubSubSubscriberTemplate;
   }
 
@@ -294,7 +325,7 @@ public class GcpPubSubAutoConfiguration {
     boolean shouldBuild =
         ifSet(
             batching.getDelayThresholdSeconds(),
-            x -> builder.setDelayThreshold(Duration.ofSeconds(x)));
+            x -> builder.setDelayThreshold(org.threeten.bp.Duration.ofSeconds(x)));
     shouldBuild |= ifSet(batching.getElementCountThreshold(), builder::setElementCountThreshold);
     shouldBuild |= ifSet(batching.getEnabled(), builder::setIsEnabled);
     shouldBuild |= ifSet(batching.getRequestByteThreshold(), builder::setRequestByteThreshold);
@@ -314,27 +345,27 @@ public class GcpPubSubAutoConfiguration {
     boolean shouldBuild =
         ifSet(
             retryProperties.getInitialRetryDelaySeconds(),
-            x -> builder.setInitialRetryDelay(Duration.ofSeconds(x)));
+            x -> builder.setInitialRetryDelay(org.threeten.bp.Duration.ofSeconds(x)));
     shouldBuild |=
         ifSet(
             retryProperties.getInitialRpcTimeoutSeconds(),
-            x -> builder.setInitialRpcTimeout(Duration.ofSeconds(x)));
+            x -> builder.setInitialRpcTimeout(org.threeten.bp.Duration.ofSeconds(x)));
     shouldBuild |= ifSet(retryProperties.getJittered(), builder::setJittered);
     shouldBuild |= ifSet(retryProperties.getMaxAttempts(), builder::setMaxAttempts);
     shouldBuild |=
         ifSet(
             retryProperties.getMaxRetryDelaySeconds(),
-            x -> builder.setMaxRetryDelay(Duration.ofSeconds(x)));
+            x -> builder.setMaxRetryDelay(org.threeten.bp.Duration.ofSeconds(x)));
     shouldBuild |=
         ifSet(
             retryProperties.getMaxRpcTimeoutSeconds(),
-            x -> builder.setMaxRpcTimeout(Duration.ofSeconds(x)));
+            x -> builder.setMaxRpcTimeout(org.threeten.bp.Duration.ofSeconds(x)));
     shouldBuild |=
         ifSet(retryProperties.getRetryDelayMultiplier(), builder::setRetryDelayMultiplier);
     shouldBuild |=
         ifSet(
             retryProperties.getTotalTimeoutSeconds(),
-            x -> builder.setTotalTimeout(Duration.ofSeconds(x)));
+            x -> builder.setTotalTimeout(org.threeten.bp.Duration.ofSeconds(x)));
     shouldBuild |=
         ifSet(retryProperties.getRpcTimeoutMultiplier(), builder::setRpcTimeoutMultiplier);
 
@@ -349,6 +380,63 @@ public class GcpPubSubAutoConfiguration {
     return false;
   }
 
+  /**
+   * Creates the pool of gRPC channels shared by all publishers when
+   * {@code spring.cloud.gcp.pubsub.publisher.channel-pool-size} is set. Publishers then only add
+   * streams to these channels instead of opening their own, so the number of connections no longer
+   * grows with the number of topics.
+   *
+   * @param publisherTransportChannelProvider the provider the shared channels are created from
+   * @return the shared transport channel, closed when the application context is closed
+   */
+  @Bean
+  @ConditionalOnMissingBean(name = "publisherSharedTransportChannel")
+  @ConditionalOnProperty("spring.cloud.gcp.pubsub.publisher.channel-pool-size")
+  public TransportChannel publisherSharedTransportChannel(
+      @Qualifier("publisherTransportChannelProvider")
+          TransportChannelProvider publisherTransportChannelProvider) {
+    PubSubConfiguration.Publisher publisherProperties = this.gcpPubSubProperties.getPublisher();
+    TransportChannelProvider channelProvider = publisherTransportChannelProvider;
+    if (channelProvider instanceof InstantiatingGrpcChannelProvider) {
+      channelProvider =
+          ((InstantiatingGrpcChannelProvider) channelProvider)
+              .toBuilder()
+              .setChannelPoolSettings(
+                  ChannelPoolSettings.staticallySized(publisherProperties.getChannelPoolSize()))
+              .build();
+    } else {
+      logger.warn(
+          "The publisherTransportChannelProvider bean is not an InstantiatingGrpcChannelProvider;"
+              + " its channel will be shared by all publishers as is.");
+    }
+
+    // Publishers do not configure channels they did not create, so apply their settings here.
+    if (channelProvider.needsEndpoint()) {
+      channelProvider =
+          channelProvider.withEndpoint(
+              publisherProperties.getEndpoint() != null
+                  ? publisherProperties.getEndpoint()
+                  : PublisherStubSettings.getDefaultEndpoint());
+    }
+    if (channelProvider.needsHeaders()) {
+      Map<String, String> headers =
+          new HashMap<>(
+              PublisherStubSettings.defaultApiClientHeaderProviderBuilder().build().getHeaders());
+      headers.putAll(this.headerProvider.getHeaders());
+      channelProvider = channelProvider.withHeaders(headers);
+    }
+    try {
+      if (channelProvider.needsCredentials()) {
+        channelProvider =
+            channelProvider.withCredentials(this.finalCredentialsProvider.getCredentials());
+      }
+      return channelProvider.getTransportChannel();
+    } catch (IOException ioe) {
+      throw new PubSubException(
+          "An error occurred while creating the shared publisher transport channel.", ioe);
+    }
+  }
+
   @Bean
   @ConditionalOnMissingBean
   public PublisherFactory defaultPublisherFactory(
@@ -357,12 +445,17 @@ public class GcpPubSubAutoConfiguration {
       @Qualifier("publisherRetrySettings") ObjectProvider<RetrySettings> retrySettings,
       @Qualifier("publisherTransportChannelProvider")
           TransportChannelProvider publisherTransportChannelProvider,
+      @Qualifier("publisherSharedTransportChannel")
+          Optional<TransportChannel> publisherSharedTransportChannel,
       ObjectProvider<PublisherCustomizer> customizersProvider) {
     DefaultPublisherFactory factory = new DefaultPublisherFactory(this.finalProjectIdProvider);
     factory.setExecutorProvider(executorProvider);
     factory.setCredentialsProvider(this.finalCredentialsProvider);
     factory.setHeaderProvider(this.headerProvider);
-    factory.setChannelProvider(publisherTransportChannelProvider);
+    factory.setChannelProvider(
+        publisherSharedTransportChannel
+            .<TransportChannelProvider>map(FixedTransportChannelProvider::create)
+            .orElse(publisherTransportChannelProvider));
     retrySettings.ifAvailable(factory::setRetrySettings);
     batchingSettings.ifAvailable(factory::setBatchingSettings);
     factory.setEnableMessageOrdering(gcpPubSubProperties.getPublisher().getEnableMessageOrdering());
@@ -373,7 +466,13 @@ public class GcpPubSubAutoConfiguration {
     Collections.reverse(customizers); // highest priority customizer needs to be last
     factory.setCustomizers(customizers);
 
-    return new CachingPublisherFactory(factory);
+    PubSubConfiguration.Cache cache = gcpPubSubProperties.getPublisher().getCache();
+    return new CachingPublisherFactory(
+        factory,
+        cache.getMaximumSize(),
+        cache.getExpireAfterAccessSeconds() != null
+            ? Duration.ofSeconds(cache.getExpireAfterAccessSeconds())
+            : null);
   }
 
   @Bean
@@ -431,7 +530,8 @@ public class GcpPubSubAutoConfiguration {
   public TransportChannelProvider subscriberTransportChannelProvider() {
     return SubscriberStubSettings.defaultGrpcTransportProviderBuilder()
         .setKeepAliveTime(
-            Duration.ofMinutes(this.gcpPubSubProperties.getKeepAliveIntervalMinutes()))
+            org.threeten.bp.Duration.ofMinutes(
+                this.gcpPubSubProperties.getKeepAliveIntervalMinutes()))
         .build();
   }
 
@@ -440,7 +540,8 @@ public class GcpPubSubAutoConfiguration {
   public TransportChannelProvider publisherTransportChannelProvider() {
     return PublisherStubSettings.defaultGrpcTransportProviderBuilder()
         .setKeepAliveTime(
-            Duration.ofMinutes(this.gcpPubSubProperties.getKeepAliveIntervalMinutes()))
+            org.threeten.bp.Duration.ofMinutes(
+                this.gcpPubSubProperties.getKeepAliveIntervalMinutes()))
         .build();
   }
 
@@ -454,13 +555,15 @@ public class GcpPubSubAutoConfiguration {
   }
 
   private void registerSubscriberThreadPoolSchedulerBeans(GenericApplicationContext context) {
-    Integer numThreads = getGlobalExecutorThreads();
-    this.globalScheduler =
-        createAndRegisterSchedulerBean(
-            numThreads,
-            "global-gcp-pubsub-subscriber",
-            "globalPubSubSubscriberThreadPoolScheduler",
-            context);
+    if (!isGlobalVirtualThreads()) {
+      Integer numThreads = getGlobalExecutorThreads();
+      this.globalScheduler =
+          createAndRegisterSchedulerBean(
+              numThreads,
+              "global-gcp-pubsub-subscriber",
+              "globalPubSubSubscriberThreadPoolScheduler",
+              context);
+    }
     registerSelectiveSchedulerBeans(context);
   }
 
@@ -484,11 +587,19 @@ public class GcpPubSubAutoConfiguration {
     if (context.containsBean("subscriberExecutorProvider")) {
       return;
     }
-    if (this.globalScheduler != null) {
+    if (isGlobalVirtualThreads()) {
+      this.globalExecutorProvider =
+          createAndRegisterThreadPerTaskExecutorProvider(
+              "globalSubscriberExecutorProvider",
+              "global-gcp-pubsub-subscriber-",
+              "globalPubSubSubscriberThreadPerTaskExecutor",
+              context);
+    } else if (this.globalScheduler != null) {
       this.globalExecutorProvider =
           createAndRegisterExecutorProvider(
               "globalSubscriberExecutorProvider", this.globalScheduler, context);
     }
+    createAndRegisterSelectiveThreadPerTaskExecutorProvider(context);
     createAndRegisterSelectiveExecutorProvider(context);
   }
 
@@ -520,7 +631,16 @@ public class GcpPubSubAutoConfiguration {
         subscriberMap.entrySet()) {
       ProjectSubscriptionName fullSubscriptionName = subscription.getKey();
       PubSubConfiguration.Subscriber selectiveSubscriber = subscription.getValue();
+      if (Boolean.TRUE.equals(selectiveSubscriber.getVirtualThreads())) {
+        continue;
+      }
       Integer selectiveExecutorThreads = selectiveSubscriber.getExecutorThreads();
+      if (selectiveExecutorThreads == null
+          && isGlobalVirtualThreads()
+          && !this.gcpPubSubProperties.computeVirtualThreads(fullSubscriptionName)) {
+        // opted out of the global virtual threads
+        selectiveExecutorThreads = PubSubConfiguration.DEFAULT_EXECUTOR_THREADS;
+      }
       if (selectiveExecutorThreads != null) {
         String qualifiedName = fullSubscriptionName.toString(); // will include slashes
         String threadName = selectiveSchedulerThreadNameProvider
@@ -616,6 +736,54 @@ public class GcpPubSubAutoConfiguration {
     }
   }
 
+  private void createAndRegisterSelectiveThreadPerTaskExecutorProvider(
+      GenericApplicationContext context) {
+    Map<ProjectSubscriptionName, PubSubConfiguration.Subscriber> subscriberMap =
+        this.gcpPubSubProperties.getFullyQualifiedSubscriberProperties();
+    for (Map.Entry<ProjectSubscriptionName, PubSubConfiguration.Subscriber> subscription :
+        subscriberMap.entrySet()) {
+      ProjectSubscriptionName fullSubscriptionName = subscription.getKey();
+      if (!Boolean.TRUE.equals(subscription.getValue().getVirtualThreads())
+          || this.executorProviderMap.containsKey(fullSubscriptionName)) {
+        continue;
+      }
+      String qualifiedName = fullSubscriptionName.toString();
+      String threadName =
+          selectiveSchedulerThreadNameProvider
+              .getIfAvailable(
+                  () -> subscriptionName -> "gcp-pubsub-subscriber-" + subscriptionName.toString())
+              .getThreadName(fullSubscriptionName);
+      ExecutorProvider executorProvider =
+          createAndRegisterThreadPerTaskExecutorProvider(
+              "subscriberExecutorProvider-" + qualifiedName,
+              threadName + "-",
+              "threadPerTaskExecutor_" + qualifiedName,
+              context);
+      this.executorProviderMap.putIfAbsent(fullSubscriptionName, executorProvider);
+    }
+  }
+
+  private ExecutorProvider createAndRegisterThreadPerTaskExecutorProvider(
+      String beanName,
+      String threadNamePrefix,
+      String executorBeanName,
+      GenericApplicationContext context) {
+    ThreadPerTaskScheduledExecutorService executor =
+        new ThreadPerTaskScheduledExecutorService(threadNamePrefix);
+    context.registerBeanDefinition(
+        executorBeanName,
+        BeanDefinitionBuilder.genericBeanDefinition(
+                ThreadPerTaskScheduledExecutorService.class, () -> executor)
+            .setDestroyMethodName("shutdown")
+            .getBeanDefinition());
+    ExecutorProvider executorProvider = FixedExecutorProvider.create(executor);
+    context.registerBeanDefinition(
+        beanName,
+        BeanDefinitionBuilder.genericBeanDefinition(ExecutorProvider.class, () -> executorProvider)
+            .getBeanDefinition());
+    return executorProvider;
+  }
+
   private ExecutorProvider createAndRegisterExecutorProvider(
       String beanName, ThreadPoolTaskScheduler scheduler, GenericApplicationContext context) {
     scheduler.initialize();
@@ -649,8 +817,55 @@ public class GcpPubSubAutoConfiguration {
     }
   }
 
+  private boolean isGlobalVirtualThreads() {
+    return Boolean.TRUE.equals(this.gcpPubSubProperties.getSubscriber().getVirtualThreads());
+  }
+
   private Integer getGlobalExecutorThreads() {
     Integer numThreads = this.gcpPubSubProperties.getSubscriber().getExecutorThreads();
     return numThreads != null ? numThreads : PubSubConfiguration.DEFAULT_EXECUTOR_THREADS;
   }
+
+  /** Micrometer metrics of the publisher cache. */
+  @ConditionalOnClass(MeterBinder.class)
+  static class PublisherCacheMetricsConfiguration {
+    @Bean
+    public MeterBinder pubSubPublisherCacheMetrics(
+        ObjectProvider<PublisherFactory> publisherFactory) {
+      return registry ->
+          publisherFactory.ifUnique(
+              factory -> {
+                if (!(factory instanceof CachingPublisherFactory cachingFactory)) {
+                  return;
+                }
+                Tags tags = Tags.of("cache", "pubsubPublishers");
+                FunctionCounter.builder(
+                        "cache.gets", cachingFactory, CachingPublisherFactory::getHitCount)
+                    .tags(tags)
+                    .tag("result", "hit")
+                    .description("The number of times a cached publisher was reused")
+                    .register(registry);
+                FunctionCounter.builder(
+                        "cache.gets", cachingFactory, CachingPublisherFactory::getMissCount)
+                    .tags(tags)
+                    .tag("result", "miss")
+                    .description("The number of times a new publisher was created")
+                    .register(registry);
+                FunctionCounter.builder(
+                        "cache.evictions",
+                        cachingFactory,
+                        CachingPublisherFactory::getEvictionCount)
+                    .tags(tags)
+                    .description("The number of publishers evicted from the cache")
+                    .register(registry);
+                Gauge.builder(
+                        "cache.size",
+                        cachingFactory,
+                        CachingPublisherFactory::getCachedPublisherCount)
+                    .tags(tags)
+                    .description("The number of cached publishers")
+                    .register(registry);
+              });
+    }
+  }
 }
@@ -22,10 +22,12 @@ import com.google.cloud.monitoring.v3.MetricServiceClient;
 import com.google.cloud.spring.autoconfigure.pubsub.GcpPubSubAutoConfiguration;
 import com.google.cloud.spring.autoconfigure.pubsub.GcpPubSubProperties;
 import com.google.cloud.spring.core.GcpProjectIdProvider;
+import com.google.cloud.spring.pubsub.core.PubSubConfiguration;
 import com.google.cloud.spring.pubsub.core.PubSubTemplate;
 import com.google.cloud.spring.pubsub.core.health.HealthTrackerRegistry;
 import com.google.cloud.spring.pubsub.core.health.HealthTrackerRegistryImpl;
 import java.io.IOException;
+import java.time.Duration;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.actuate.autoconfigure.health.CompositeHealthContributorConfiguration;
 import org.springframework.boot.actuate.autoconfigure.health.ConditionalOnEnabledHealthIndicator;
@@ -95,13 +97,25 @@ public class PubSubSubscriptionHealthIndicatorAutoConfiguration
   public HealthTrackerRegistry healthTrackerRegistry(
       MetricServiceClient metricServiceClient,
       @Qualifier("healthCheckExecutorProvider") ExecutorProvider executorProvider) {
-    return new HealthTrackerRegistryImpl(
-        projectId,
-        metricServiceClient,
-        gcpPubSubProperties.getHealth().getLagThreshold(),
-        gcpPubSubProperties.getHealth().getBacklogThreshold(),
-        gcpPubSubProperties.getHealth().getLookUpInterval(),
-        executorProvider);
+    PubSubConfiguration.Health health = gcpPubSubProperties.getHealth();
+    HealthTrackerRegistryImpl healthTrackerRegistry =
+        new HealthTrackerRegistryImpl(
+            projectId,
+            metricServiceClient,
+            health.getLagThreshold(),
+            health.getBacklogThreshold(),
+            health.getLookUpInterval(),
+            executorProvider);
+    Integer samplingInterval = health.getBacklogSamplingInterval();
+    if (samplingInterval != null) {
+      Integer timeToLive =
+          (health.getBacklogSampleTimeToLive() != null)
+              ? health.getBacklogSampleTimeToLive()
+              : samplingInterval * 3;
+      healthTrackerRegistry.startBacklogSampling(
+          Duration.ofSeconds(samplingInterval), Duration.ofSeconds(timeToLive));
+    }
+    return healthTrackerRegistry;
   }
 
   @Bean
@@ -18,6 +18,7 @@ package com.google.cloud.spring.autoconfigure.spanner;
 
 import com.google.api.gax.core.CredentialsProvider;
 import com.google.auth.Credentials;
+import com.google.cloud.spanner.BatchClient;
 import com.google.cloud.spanner.DatabaseAdminClient;
 import com.google.cloud.spanner.DatabaseClient;
 import com.google.cloud.spanner.DatabaseId;
@@ -203,6 +204,13 @@ public class GcpSpannerAutoConfiguration {
       return new CachingComposingSupplier<>(databaseIdProvider, spanner::getDatabaseClient);
     }
 
+    @Bean
+    @ConditionalOnMissingBean(value = BatchClient.class, parameterizedContainer = Supplier.class)
+    public Supplier<BatchClient> batchClientProvider(
+        Spanner spanner, Supplier<DatabaseId> databaseIdProvider) {
+      return new CachingComposingSupplier<>(databaseIdProvider, spanner::getBatchClient);
+    }
+
     @Bean
     @ConditionalOnMissingBean
     public DatabaseAdminClient spannerDatabaseAdminClient(Spanner spanner) {
@@ -219,16 +227,20 @@ public class GcpSpannerAutoConfiguration {
     @ConditionalOnMissingBean
     public SpannerTemplate spannerTemplate(
         Supplier<DatabaseClient> databaseClientProvider,
+        Supplier<BatchClient> batchClientProvider,
         SpannerMappingContext mappingContext,
         SpannerEntityProcessor spannerEntityProcessor,
         SpannerMutationFactory spannerMutationFactory,
         SpannerSchemaUtils spannerSchemaUtils) {
-      return new SpannerTemplate(
-          databaseClientProvider,
-          mappingContext,
-          spannerEntityProcessor,
-          spannerMutationFactory,
-          spannerSchemaUtils);
+      SpannerTemplate spannerTemplate =
+          new SpannerTemplate(
+              databaseClientProvider,
+              mappingContext,
+              spannerEntityProcessor,
+              spannerMutationFactory,
+              spannerSchemaUtils);
+      spannerTemplate.setBatchClientProvider(batchClientProvider);
+      return spannerTemplate;
     }
 
     @Bean
@@ -30,8 +30,12 @@ import com.google.cloud.spring.autoconfigure.core.GcpContextAutoConfiguration;
 import com.google.cloud.spring.autoconfigure.datastore.health.DatastoreHealthIndicator;
 import com.google.cloud.spring.autoconfigure.datastore.health.DatastoreHealthIndicatorAutoConfiguration;
 import com.google.cloud.spring.core.GcpProjectIdProvider;
+import com.google.cloud.spring.data.datastore.core.DatastoreEntityCache;
 import com.google.cloud.spring.data.datastore.core.DatastoreOperations;
+import com.google.cloud.spring.data.datastore.core.DatastoreTemplate;
 import com.google.cloud.spring.data.datastore.core.DatastoreTransactionManager;
+import com.google.cloud.spring.data.datastore.core.LocalDatastoreEntityCache;
+import java.time.Duration;
 import java.util.function.Supplier;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
@@ -138,6 +142,17 @@ class GcpDatastoreAutoConfigurationTests {
         context -> assertThat(context.getBean(DatastoreOperations.class)).isNotNull());
   }
 
+  @Test
+  void testEntityCacheUsedByTemplate() {
+    DatastoreEntityCache entityCache = new LocalDatastoreEntityCache(10, Duration.ofMinutes(1));
+    this.contextRunner
+        .withBean(DatastoreEntityCache.class, () -> entityCache)
+        .run(
+            context ->
+                assertThat(context.getBean(DatastoreTemplate.class).getEntityCache())
+                    .isSameAs(entityCache));
+  }
+
   @Test
   void testTestRepositoryCreated() {
     this.contextRunner.run(
@@ -27,7 +27,9 @@ import com.google.api.gax.core.CredentialsProvider;
 import com.google.api.gax.core.ExecutorProvider;
 import com.google.api.gax.grpc.InstantiatingGrpcChannelProvider;
 import com.google.api.gax.retrying.RetrySettings;
+import com.google.api.gax.rpc.FixedTransportChannelProvider;
 import com.google.api.gax.rpc.StatusCode.Code;
+import com.google.api.gax.rpc.TransportChannel;
 import com.google.api.gax.rpc.TransportChannelProvider;
 import com.google.auth.Credentials;
 import com.google.cloud.pubsub.v1.Publisher;
@@ -35,12 +37,17 @@ import com.google.cloud.pubsub.v1.Subscriber;
 import com.google.cloud.spring.core.GcpProjectIdProvider;
 import com.google.cloud.spring.pubsub.core.PubSubConfiguration;
 import com.google.cloud.spring.pubsub.core.publisher.PublisherCustomizer;
+import com.google.cloud.spring.pubsub.core.subscriber.PubSubSubscriberTemplate;
 import com.google.cloud.spring.pubsub.support.CachingPublisherFactory;
 import com.google.cloud.spring.pubsub.support.DefaultPublisherFactory;
 import com.google.cloud.spring.pubsub.support.DefaultSubscriberFactory;
 import com.google.cloud.spring.pubsub.support.PubSubSubscriptionUtils;
 import com.google.cloud.spring.pubsub.support.PublisherFactory;
+import com.google.cloud.spring.pubsub.support.ThreadPerTaskScheduledExecutorService;
 import com.google.pubsub.v1.ProjectSubscriptionName;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.List;
 import org.apache.commons.lang3.reflect.FieldUtils;
 import org.junit.jupiter.api.BeforeEach;
@@ -486,6 +493,88 @@ class GcpPubSubAutoConfigurationTests {
             });
   }
 
+  @Test
+  void subscriberExecutorProvider_globalVirtualThreads() {
+    contextRunner
+        .withPropertyValues("spring.cloud.gcp.pubsub.subscriber.virtual-threads=true")
+        .run(
+            ctx -> {
+              DefaultSubscriberFactory factory =
+                  (DefaultSubscriberFactory) ctx.getBean("defaultSubscriberFactory");
+              ExecutorProvider globalExecutorProvider =
+                  (ExecutorProvider) ctx.getBean("globalSubscriberExecutorProvider");
+
+              assertThat(ctx.containsBean("globalPubSubSubscriberThreadPoolScheduler")).isFalse();
+              assertThat(globalExecutorProvider.getExecutor())
+                  .isSameAs(ctx.getBean("globalPubSubSubscriberThreadPerTaskExecutor"));
+              assertThat(factory.getExecutorProvider("other")).isSameAs(globalExecutorProvider);
+            });
+  }
+
+  @Test
+  void subscriberExecutorProvider_selectiveVirtualThreads() {
+    contextRunner
+        .withPropertyValues(
+            "spring.cloud.gcp.pubsub.subscription.subscription-name.virtual-threads=true")
+        .run(
+            ctx -> {
+              DefaultSubscriberFactory factory =
+                  (DefaultSubscriberFactory) ctx.getBean("defaultSubscriberFactory");
+              ExecutorProvider selectiveExecutorProvider =
+                  (ExecutorProvider) ctx.getBean(
+                      "subscriberExecutorProvider-projects/fake project/subscriptions/subscription-name");
+
+              assertThat(selectiveExecutorProvider.getExecutor())
+                  .isInstanceOf(ThreadPerTaskScheduledExecutorService.class);
+              assertThat(factory.getExecutorProvider("subscription-name"))
+                  .isSameAs(selectiveExecutorProvider);
+              assertThat(factory.getExecutorProvider("other"))
+                  .isSameAs(ctx.getBean("globalSubscriberExecutorProvider"));
+              assertThat(ctx.containsBean("globalPubSubSubscriberThreadPoolScheduler")).isTrue();
+            });
+  }
+
+  @Test
+  void subscriberExecutorProvider_globalVirtualThreads_selectiveOptOut() {
+    contextRunner
+        .withPropertyValues(
+            "spring.cloud.gcp.pubsub.subscriber.virtual-threads=true",
+            "spring.cloud.gcp.pubsub.subscription.subscription-name.virtual-threads=false")
+        .run(
+            ctx -> {
+              DefaultSubscriberFactory factory =
+                  (DefaultSubscriberFactory) ctx.getBean("defaultSubscriberFactory");
+              ThreadPoolTaskScheduler selectiveScheduler =
+                  (ThreadPoolTaskScheduler) ctx.getBean(
+                      "threadPoolScheduler_projects/fake project/subscriptions/subscription-name");
+
+              ExecutorProvider selectiveExecutorProvider =
+                  (ExecutorProvider) ctx.getBean(
+                      "subscriberExecutorProvider-projects/fake project/subscriptions/subscription-name");
+
+              assertThat(FieldUtils.readField(selectiveScheduler, "poolSize", true)).isEqualTo(4);
+              assertThat(factory.getExecutorProvider("subscription-name"))
+                  .isSameAs(selectiveExecutorProvider);
+              assertThat(selectiveExecutorProvider.getExecutor())
+                  .isNotInstanceOf(ThreadPerTaskScheduledExecutorService.class);
+            });
+  }
+
+  @Test
+  void publisherExecutorProvider_virtualThreads() {
+    contextRunner
+        .withPropertyValues("spring.cloud.gcp.pubsub.publisher.virtual-threads=true")
+        .run(
+            ctx -> {
+              ExecutorProvider publisherExecutorProvider =
+                  (ExecutorProvider) ctx.getBean("publisherExecutorProvider");
+
+              assertThat(publisherExecutorProvider.getExecutor())
+                  .isSameAs(ctx.getBean("pubsubPublisherThreadPerTaskExecutor"));
+              assertThat(ctx.containsBean("pubsubPublisherThreadPool")).isFalse();
+            });
+  }
+
   @Test
   void pullConfig_defaultConfigurationSet() {
     contextRunner
@@ -1371,6 +1460,92 @@ class GcpPubSubAutoConfigurationTests {
         });
   }
 
+  @Test
+  void subscriberTemplate_ackBatching() {
+    contextRunner
+        .withPropertyValues("spring.cloud.gcp.pubsub.subscriber.ack-batching-delay-millis=50")
+        .run(ctx -> {
+          PubSubSubscriberTemplate template = ctx.getBean(PubSubSubscriberTemplate.class);
+          assertThat(FieldUtils.readField(template, "ackBatcher", true)).isNotNull();
+        });
+  }
+
+  @Test
+  void subscriberTemplate_noAckBatchingByDefault() {
+    contextRunner.run(ctx -> {
+      PubSubSubscriberTemplate template = ctx.getBean(PubSubSubscriberTemplate.class);
+      assertThat(FieldUtils.readField(template, "ackBatcher", true)).isNull();
+    });
+  }
+
+  @Test
+  void createPublisher_boundedCache() {
+    contextRunner
+        .withPropertyValues(
+            "spring.cloud.gcp.pubsub.publisher.cache.maximum-size=1",
+            "spring.cloud.gcp.pubsub.publisher.cache.expire-after-access-seconds=60")
+        .run(ctx -> {
+          CachingPublisherFactory factory =
+              ctx.getBean("defaultPublisherFactory", CachingPublisherFactory.class);
+
+          factory.createPublisher("topic1");
+          factory.createPublisher("topic2");
+
+          assertThat(factory.getCachedPublisherCount()).isEqualTo(1);
+          assertThat(factory.getEvictionCount()).isEqualTo(1);
+        });
+  }
+
+  @Test
+  void createPublisher_cacheMetrics() {
+    contextRunner.run(ctx -> {
+      PublisherFactory factory = ctx.getBean("defaultPublisherFactory", PublisherFactory.class);
+      MeterRegistry registry = new SimpleMeterRegistry();
+      ctx.getBean("pubSubPublisherCacheMetrics", MeterBinder.class).bindTo(registry);
+
+      factory.createPublisher("topic1");
+      factory.createPublisher("topic1");
+
+      assertThat(registry.get("cache.gets").tag("result", "hit").functionCounter().count())
+          .isEqualTo(1);
+      assertThat(registry.get("cache.gets").tag("result", "miss").functionCounter().count())
+          .isEqualTo(1);
+      assertThat(registry.get("cache.evictions").functionCounter().count()).isZero();
+      assertThat(registry.get("cache.size").tag("cache", "pubsubPublishers").gauge().value())
+          .isEqualTo(1);
+    });
+  }
+
+  @Test
+  void createPublisher_sharedChannelPool() {
+    contextRunner
+        .withPropertyValues("spring.cloud.gcp.pubsub.publisher.channel-pool-size=2")
+        .run(ctx -> {
+          TransportChannel sharedChannel =
+              ctx.getBean("publisherSharedTransportChannel", TransportChannel.class);
+          CachingPublisherFactory factory =
+              ctx.getBean("defaultPublisherFactory", CachingPublisherFactory.class);
+
+          TransportChannelProvider channelProvider =
+              (TransportChannelProvider)
+                  FieldUtils.readField(factory.getDelegate(), "channelProvider", true);
+          assertThat(channelProvider).isInstanceOf(FixedTransportChannelProvider.class);
+          assertThat(channelProvider.getTransportChannel()).isSameAs(sharedChannel);
+        });
+  }
+
+  @Test
+  void createPublisher_noSharedChannelPoolByDefault() {
+    contextRunner.run(ctx -> {
+      assertThat(ctx).doesNotHaveBean("publisherSharedTransportChannel");
+      CachingPublisherFactory factory =
+          ctx.getBean("defaultPublisherFactory", CachingPublisherFactory.class);
+
+      assertThat(FieldUtils.readField(factory.getDelegate(), "channelProvider", true))
+          .isSameAs(ctx.getBean("publisherTransportChannelProvider"));
+    });
+  }
+
   @Test
   void flowControlSettings_multipleKeysForSameSubscription_firstOneUsed(CapturedOutput output) {
     contextRunner
@@ -31,6 +31,7 @@ import com.google.cloud.spring.data.spanner.core.admin.SpannerDatabaseAdminTempl
 import com.google.cloud.spring.data.spanner.core.admin.SpannerSchemaUtils;
 import com.google.cloud.spring.data.spanner.core.mapping.SpannerMappingContext;
 import com.google.gson.Gson;
+import java.util.function.Supplier;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
@@ -94,6 +95,14 @@ class GcpSpannerAutoConfigurationTests {
         });
   }
 
+  @Test
+  void testBatchClientProviderCreated() {
+    this.contextRunner.run(
+        context -> {
+          assertThat(context.getBean("batchClientProvider", Supplier.class)).isNotNull();
+        });
+  }
+
   @Test
   void testSchemaUtilsCreated() {
     this.contextRunner.run(
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2023 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.spring.data.datastore.core;
+
+import com.google.cloud.datastore.Entity;
+import com.google.cloud.datastore.Key;
+import com.google.cloud.spring.data.datastore.core.mapping.CachedEntity;
+import org.springframework.lang.Nullable;
+
+/**
+ * A cache of the Cloud Datastore entities read by key through a {@link DatastoreTemplate}, shared
+ * by all of its operations. Only the entities of types annotated with {@link CachedEntity} are
+ * cached, outside of transactions, and the entities written or deleted through the template are
+ * evicted from it.
+ *
+ * <p>Implementations must be thread-safe.
+ */
+public interface DatastoreEntityCache {
+
+  /**
+   * Returns the cached entity of a key.
+   *
+   * @param key the key of the entity
+   * @return the entity, or {@code null} if it is not cached
+   */
+  @Nullable
+  Entity get(Key key);
+
+  /**
+   * Caches an entity that was read.
+   *
+   * @param key the key of the entity
+   * @param entity the entity
+   */
+  void put(Key key, Entity entity);
+
+  /**
+   * Evicts the entity of a key, if it is cached.
+   *
+   * @param key the key of the entity
+   */
+  void evict(Key key);
+
+  /** Evicts all the cached entities. */
+  void clear();
+
+  /**
+   * Returns how many times {@link #get(Key)} found a cached entity.
+   *
+   * @return the number of hits
+   */
+  long getHitCount();
+
+  /**
+   * Returns how many times {@link #get(Key)} found no cached entity.
+   *
+   * @return the number of misses
+   */
+  long getMissCount();
+
+  /**
+   * Returns the ratio of the hits to all the calls to {@link #get(Key)}, or {@code 1.0} if it was
+   * never called.
+   *
+   * @return the hit rate
+   */
+  default double getHitRate() {
+    long hitCount = getHitCount();
+    long requestCount = hitCount + getMissCount();
+    return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+  }
+}
@@ -26,6 +26,7 @@ import com.google.cloud.spring.data.datastore.core.convert.DatastoreEntityConver
 import java.util.Collection;
 import java.util.Map;
 import java.util.function.Function;
+import java.util.stream.StreamSupport;
 import org.springframework.data.domain.Example;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
@@ -156,6 +157,29 @@ public interface DatastoreOperations {
    */
   long count(Class<?> entityClass);
 
+  /**
+   * Count the results of a query with a {@code COUNT} aggregation that runs in Cloud Datastore,
+   * without fetching the results. The count is bounded by the limit of the query, if it has one.
+   *
+   * <p>The default implementation runs a structured query and counts its results, and does not
+   * support GQL queries.
+   *
+   * @param query a structured query, or a GQL aggregation query with a single {@code COUNT(*)}
+   *     aggregation aliased as {@value DatastoreTemplate#COUNT_ALIAS}, such as {@code AGGREGATE
+   *     COUNT(*) AS total_count OVER (SELECT * FROM Task)}.
+   * @return the number of results of the query.
+   * @throws UnsupportedOperationException if the query is a GQL query and the implementation
+   *     cannot run GQL aggregation queries.
+   */
+  default long countResults(Query<?> query) {
+    if (!(query instanceof StructuredQuery)) {
+      throw new UnsupportedOperationException("Only structured queries can be counted: " + query);
+    }
+    return StreamSupport.stream(
+            query((Query<Object>) query, Function.identity()).spliterator(), false)
+        .count();
+  }
+
   /**
    * Find all the entities of the given IDs. If an ID is actually a {@link
    * com.google.cloud.datastore.Key} then it will be used. Otherwise it will be attempted to be
@@ -208,6 +232,21 @@ public interface DatastoreOperations {
    */
   <T> Iterable<T> findAll(Class<T> entityClass);
 
+  /**
+   * Get all the entities of the given domain type, reading and converting them a page at a time as
+   * they are iterated over, so that only a page of them is held in memory at a time. Each iteration
+   * reads the entities again.
+   *
+   * <p>The default implementation reads all the entities at once with {@link #findAll(Class)}.
+   *
+   * @param entityClass the domain type to get.
+   * @param <T> the type param of the domain type.
+   * @return the entities that were found.
+   */
+  default <T> Iterable<T> findAllLazily(Class<T> entityClass) {
+    return findAll(entityClass);
+  }
+
   /**
    * Get all the entities of the given domain type applying limit, offset and sort.
    *
@@ -340,6 +379,24 @@ public interface DatastoreOperations {
    */
   <T> Slice<T> queryEntitiesSlice(StructuredQuery query, Class<T> entityClass, Pageable pageable);
 
+  /**
+   * Finds objects by using a Cloud Datastore query, reading and converting them a page at a time as
+   * they are iterated over, so that only a page of them is held in memory at a time. The limit and
+   * offset of the query apply to the results as a whole. Each iteration runs the query again.
+   *
+   * <p>The default implementation reads all the results at once with {@link #query(Query,
+   * Class)}.
+   *
+   * @param query the query to execute.
+   * @param entityClass the type of object to retrieve.
+   * @param <T> the type of object to retrieve.
+   * @return the objects found.
+   */
+  default <T> Iterable<T> queryLazily(
+      StructuredQuery<? extends BaseEntity> query, Class<T> entityClass) {
+    return query(query, entityClass);
+  }
+
   /**
    * Finds objects by using a Cloud Datastore query. If the query is a key-query, then keys are
    * returned.
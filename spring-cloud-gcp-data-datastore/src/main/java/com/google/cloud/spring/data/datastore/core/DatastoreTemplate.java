@@ -28,6 +28,7 @@ import com.google.cloud.datastore.Entity;
 import com.google.cloud.datastore.Entity.Builder;
 import com.google.cloud.datastore.EntityQuery;
 import com.google.cloud.datastore.FullEntity;
+import com.google.cloud.datastore.GqlQuery;
 import com.google.cloud.datastore.IncompleteKey;
 import com.google.cloud.datastore.Key;
 import com.google.cloud.datastore.KeyQuery;
@@ -45,6 +46,8 @@ import com.google.cloud.datastore.Value;
 import com.google.cloud.datastore.aggregation.Aggregation;
 import com.google.cloud.spring.data.datastore.core.convert.DatastoreEntityConverter;
 import com.google.cloud.spring.data.datastore.core.convert.ObjectToKeyFactory;
+import com.google.cloud.spring.data.datastore.core.mapping.CachedEntity;
+import com.google.cloud.spring.data.datastore.core.mapping.DatastoreBatchWriteException;
 import com.google.cloud.spring.data.datastore.core.mapping.DatastoreDataException;
 import com.google.cloud.spring.data.datastore.core.mapping.DatastoreMappingContext;
 import com.google.cloud.spring.data.datastore.core.mapping.DatastorePersistentEntity;
@@ -60,23 +63,37 @@ import com.google.cloud.spring.data.datastore.core.util.SliceUtil;
 import com.google.cloud.spring.data.datastore.core.util.ValueUtil;
 import com.google.cloud.spring.data.datastore.repository.query.DatastorePageable;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.ApplicationEventPublisherAware;
@@ -93,6 +110,8 @@ import org.springframework.data.mapping.PersistentPropertyAccessor;
 import org.springframework.data.util.TypeInformation;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.Assert;
 import org.springframework.util.TypeUtils;
@@ -102,10 +121,47 @@ import org.springframework.util.TypeUtils;
  *
  * @since 1.1
  */
-public class DatastoreTemplate implements DatastoreOperations, ApplicationEventPublisherAware {
+public class DatastoreTemplate
+    implements DatastoreOperations, ApplicationEventPublisherAware, DisposableBean {
+
+  /** The alias of the {@code COUNT} aggregation of the queries run by {@link #countResults}. */
+  public static final String COUNT_ALIAS = "total_count";
+
+  /** The maximum number of keys that can be read in a single lookup. */
+  private static final int MAX_KEYS_PER_LOOKUP = 1000;
+
+  /** The number of stripes over which the evictions from the entity cache are counted. */
+  private static final int CACHE_EVICTION_STRIPES = 256;
 
   private int maxWriteSize = 500;
 
+  private @Nullable Executor writeExecutor;
+
+  // the write executor created by the template when none is set, shut down on destroy
+  private @Nullable ExecutorService defaultWriteExecutor;
+
+  private int maxConcurrentWrites = 1;
+
+  private @Nullable Executor readExecutor;
+
+  // the read executor created by the template when none is set, shut down on destroy
+  private @Nullable ExecutorService defaultReadExecutor;
+
+  private int maxConcurrentDescendantQueries = 8;
+
+  private int lazyQueryPageSize = 500;
+
+  private boolean prefetchLazyQueryPages;
+
+  private @Nullable DatastoreEntityCache entityCache;
+
+  // evictions from the entity cache by key hash, so that an entity read before an eviction of its
+  // key is not cached after it; shared with the templates running in transactions
+  private AtomicLongArray cacheEvictions = new AtomicLongArray(CACHE_EVICTION_STRIPES);
+
+  // the keys written by a template running in a transaction of performTransaction
+  private @Nullable List<Key> transactionWrittenKeys;
+
   private final Supplier<? extends DatastoreReaderWriter> datastore;
 
   private final DatastoreEntityConverter datastoreEntityConverter;
@@ -131,6 +187,161 @@ public class DatastoreTemplate implements DatastoreOperations, ApplicationEventP
     this.objectToKeyFactory = objectToKeyFactory;
   }
 
+  /**
+   * Sets the executor on which slices of large writes and deletes are sent when more than one may
+   * be written at a time. Defaults to a pool of as many daemon threads as the maximum number of
+   * concurrent writes, created when first needed and shut down when the template is destroyed.
+   *
+   * @param writeExecutor the executor
+   * @see #setMaxConcurrentWrites(int)
+   */
+  public synchronized void setWriteExecutor(Executor writeExecutor) {
+    Assert.notNull(writeExecutor, "A non-null executor is required.");
+    shutdownDefaultWriteExecutor();
+    this.writeExecutor = writeExecutor;
+  }
+
+  /**
+   * Sets how many slices of a write or delete of more entities than fit in a single request may be
+   * sent at a time. When greater than 1, every slice is attempted even if others fail, and a
+   * {@link DatastoreBatchWriteException} reports the slices that failed. Slices are always sent one
+   * at a time within a transaction. Defaults to 1.
+   *
+   * @param maxConcurrentWrites the maximum number of concurrent write requests
+   */
+  public void setMaxConcurrentWrites(int maxConcurrentWrites) {
+    Assert.isTrue(
+        maxConcurrentWrites > 0, "The maximum number of concurrent writes must be positive.");
+    this.maxConcurrentWrites = maxConcurrentWrites;
+  }
+
+  /**
+   * Sets the executor on which the descendant queries of entities being read are run, and on which
+   * the pages of lazily read query results are prefetched. Defaults to a pool of as many daemon
+   * threads as the maximum number of concurrent descendant queries, created when first needed and
+   * shut down when the template is destroyed.
+   *
+   * @param readExecutor the executor
+   */
+  public synchronized void setReadExecutor(Executor readExecutor) {
+    Assert.notNull(readExecutor, "A non-null executor is required.");
+    shutdownDefaultReadExecutor();
+    this.readExecutor = readExecutor;
+  }
+
+  /** Shuts down the read and write executors created by the template, if any. */
+  @Override
+  public synchronized void destroy() {
+    shutdownDefaultReadExecutor();
+    shutdownDefaultWriteExecutor();
+  }
+
+  private void shutdownDefaultReadExecutor() {
+    if (this.defaultReadExecutor != null) {
+      this.defaultReadExecutor.shutdown();
+      this.defaultReadExecutor = null;
+      this.readExecutor = null;
+    }
+  }
+
+  private void shutdownDefaultWriteExecutor() {
+    if (this.defaultWriteExecutor != null) {
+      this.defaultWriteExecutor.shutdown();
+      this.defaultWriteExecutor = null;
+      this.writeExecutor = null;
+    }
+  }
+
+  private synchronized Executor getReadExecutor() {
+    if (this.readExecutor == null) {
+      this.defaultReadExecutor =
+          newBoundedExecutor("datastore-read-", this.maxConcurrentDescendantQueries);
+      this.readExecutor = this.defaultReadExecutor;
+    }
+    return this.readExecutor;
+  }
+
+  private synchronized Executor getWriteExecutor() {
+    if (this.writeExecutor == null) {
+      this.defaultWriteExecutor = newBoundedExecutor("datastore-write-", this.maxConcurrentWrites);
+      this.writeExecutor = this.defaultWriteExecutor;
+    }
+    return this.writeExecutor;
+  }
+
+  // a pool of at most maxThreads daemon threads, which stop when idle
+  private static ExecutorService newBoundedExecutor(String threadNamePrefix, int maxThreads) {
+    CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(threadNamePrefix);
+    threadFactory.setDaemon(true);
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            maxThreads,
+            maxThreads,
+            60L,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            threadFactory);
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  /**
+   * Sets how many descendant queries may run concurrently while reading a batch of entities.
+   * Descendant queries are always run one at a time within a transaction. Defaults to 8.
+   *
+   * @param maxConcurrentDescendantQueries the maximum number of concurrent queries; 1 runs them
+   *     one at a time on the calling thread
+   */
+  public void setMaxConcurrentDescendantQueries(int maxConcurrentDescendantQueries) {
+    Assert.isTrue(
+        maxConcurrentDescendantQueries > 0,
+        "The maximum number of concurrent descendant queries must be positive.");
+    this.maxConcurrentDescendantQueries = maxConcurrentDescendantQueries;
+  }
+
+  /**
+   * Sets how many entities the results of {@link #queryLazily} and {@link #findAllLazily} are read
+   * and converted at a time. Defaults to 500.
+   *
+   * @param lazyQueryPageSize the page size
+   */
+  public void setLazyQueryPageSize(int lazyQueryPageSize) {
+    Assert.isTrue(lazyQueryPageSize > 0, "The lazy query page size must be positive.");
+    this.lazyQueryPageSize = lazyQueryPageSize;
+  }
+
+  /**
+   * Sets whether the next page of the results of {@link #queryLazily} and {@link #findAllLazily}
+   * is read on the read executor while the current one is iterated over. Pages are never
+   * prefetched within a transaction. Defaults to {@code false}.
+   *
+   * @param prefetchLazyQueryPages whether to prefetch the next page
+   */
+  public void setPrefetchLazyQueryPages(boolean prefetchLazyQueryPages) {
+    this.prefetchLazyQueryPages = prefetchLazyQueryPages;
+  }
+
+  /**
+   * Sets the cache through which the entities of types annotated with {@link CachedEntity} are
+   * read by id outside of transactions. The entities written or deleted through this template are
+   * evicted from it. No cache is used by default.
+   *
+   * @param entityCache the cache, or {@code null} not to cache entities
+   */
+  public void setEntityCache(@Nullable DatastoreEntityCache entityCache) {
+    this.entityCache = entityCache;
+  }
+
+  /**
+   * Returns the cache through which entities are read by id, if any.
+   *
+   * @return the cache, or {@code null} if entities are not cached
+   */
+  @Nullable
+  public DatastoreEntityCache getEntityCache() {
+    return this.entityCache;
+  }
+
   @Override
   public DatastoreEntityConverter getDatastoreEntityConverter() {
     return this.datastoreEntityConverter;
@@ -185,14 +396,14 @@ public class DatastoreTemplate implements DatastoreOperations, ApplicationEventP
     if (!instances.isEmpty()) {
       maybeEmitEvent(new BeforeSaveEvent(instances));
       List<Entity> entities = getEntitiesForSave(instances, new HashSet<>(), ancestors);
-      SliceUtil.sliceAndExecute(entities.toArray(new Entity[0]), this.maxWriteSize, consumer);
+      writeSlices(entities.toArray(new Entity[0]), consumer, entity -> (Key) entity.getKey());
       maybeEmitEvent(new AfterSaveEvent(entities, instances));
     }
   }
 
   private <T> List<Entity> getEntitiesForSave(
       Iterable<T> entities, Set<Key> persisted, Key... ancestors) {
-    List<Entity> entitiesForSave = new LinkedList<>();
+    List<Entity> entitiesForSave = new ArrayList<>();
     for (T entity : entities) {
       Key key = getKey(entity, true, ancestors);
       if (!persisted.contains(key)) {
@@ -246,25 +457,95 @@ public class DatastoreTemplate implements DatastoreOperations, ApplicationEventP
 
   private void performDelete(Key[] keys, Iterable ids, Iterable entities, Class entityClass) {
     maybeEmitEvent(new BeforeDeleteEvent(keys, entityClass, ids, entities));
-    SliceUtil.sliceAndExecute(keys, this.maxWriteSize, getDatastoreReadWriter()::delete);
+    writeSlices(keys, getDatastoreReadWriter()::delete, Function.identity());
     maybeEmitEvent(new AfterDeleteEvent(keys, entityClass, ids, entities));
   }
 
+  // Writes the elements in slices of at most maxWriteSize, concurrently if allowed
+  private <T> void writeSlices(T[] elements, Consumer<T[]> writer, Function<T, Key> keyFunction) {
+    try {
+      writeSlicesConcurrently(elements, writer, keyFunction);
+    } finally {
+      // the entities of failed slices may have been partially written too
+      if (this.entityCache != null) {
+        evictFromEntityCache(Arrays.stream(elements).map(keyFunction).toList());
+      }
+    }
+  }
+
+  private <T> void writeSlicesConcurrently(
+      T[] elements, Consumer<T[]> writer, Function<T, Key> keyFunction) {
+    if (this.maxConcurrentWrites == 1
+        || elements.length <= this.maxWriteSize
+        || !(getDatastoreReadWriter() instanceof Datastore)) {
+      SliceUtil.sliceAndExecute(elements, this.maxWriteSize, writer);
+      return;
+    }
+
+    SortedMap<Integer, RuntimeException> failures =
+        SliceUtil.sliceAndExecuteConcurrently(
+            elements, this.maxWriteSize, writer, getWriteExecutor(), this.maxConcurrentWrites);
+    if (!failures.isEmpty()) {
+      SortedMap<Integer, List<Key>> failedSlices = new TreeMap<>();
+      failures
+          .keySet()
+          .forEach(
+              index -> {
+                int start = index * this.maxWriteSize;
+                int end = Math.min(start + this.maxWriteSize, elements.length);
+                failedSlices.put(
+                    index, Arrays.stream(elements, start, end).map(keyFunction).toList());
+              });
+      int numSlices = (elements.length + this.maxWriteSize - 1) / this.maxWriteSize;
+      throw new DatastoreBatchWriteException(numSlices, failedSlices, failures.values());
+    }
+  }
+
+  private void evictFromEntityCache(List<Key> keys) {
+    keys.forEach(this::evictFromEntityCache);
+    // entities read before the transaction commits may be cached again, so they are evicted again
+    if (this.transactionWrittenKeys != null) {
+      this.transactionWrittenKeys.addAll(keys);
+    } else if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+              keys.forEach(DatastoreTemplate.this::evictFromEntityCache);
+            }
+          });
+    }
+  }
+
   @Override
   public long count(Class<?> entityClass) {
     KeyQuery baseQuery = Query.newKeyQueryBuilder()
         .setKind(getPersistentEntity(entityClass).kindName())
         .build();
+    return countResults(baseQuery);
+  }
 
-    AggregationQuery countAggregationQuery = Query.newAggregationQueryBuilder()
-        .over(baseQuery)
-        .addAggregation(Aggregation.count().as("total_count"))
-        .build();
+  @Override
+  public long countResults(Query<?> query) {
+    AggregationQuery countAggregationQuery;
+    if (query instanceof StructuredQuery) {
+      countAggregationQuery = Query.newAggregationQueryBuilder()
+          .over((StructuredQuery<?>) query)
+          .addAggregation(Aggregation.count().as(COUNT_ALIAS))
+          .build();
+    } else if (query instanceof GqlQuery) {
+      countAggregationQuery = Query.newAggregationQueryBuilder()
+          .over((GqlQuery<?>) query)
+          .build();
+    } else {
+      throw new DatastoreDataException("Unsupported query type for counting: " + query);
+    }
 
-    AggregationResults aggregationResults = getDatastoreReadWriter().runAggregation(countAggregationQuery);
+    AggregationResults aggregationResults =
+        getDatastoreReadWriter().runAggregation(countAggregationQuery);
     maybeEmitEvent(new AfterQueryEvent(aggregationResults, countAggregationQuery));
     AggregationResult aggregationResult = Iterables.getOnlyElement(aggregationResults);
-    return aggregationResult.get("total_count");
+    return aggregationResult.get(COUNT_ALIAS);
   }
 
   @Override
@@ -274,25 +555,70 @@ public class DatastoreTemplate implements DatastoreOperations, ApplicationEventP
 
   private <T> Collection<T> performFindByKey(Iterable<?> ids, Class<T> entityClass) {
     Set<Key> keys = getKeysFromIds(ids, entityClass);
-    List<T> results = findAllById(keys, entityClass, new ReadContext());
+    ReadContext context = new ReadContext();
+    if (this.entityCache != null
+        && getPersistentEntity(entityClass).isAnnotationPresent(CachedEntity.class)
+        && getDatastoreReadWriter() instanceof Datastore) {
+      readThroughEntityCache(keys, context);
+    }
+    List<T> results = findAllById(keys, entityClass, context);
     maybeEmitEvent(new AfterFindByKeyEvent(results, keys));
     return results;
   }
 
   private <T> List<T> findAllById(Set<Key> keys, Class<T> entityClass, ReadContext context) {
-    List<Key> missingKeys = keys.stream().filter(context::notCached).toList();
-
-    if (!missingKeys.isEmpty()) {
-      List<Entity> entities = getDatastoreReadWriter().fetch(missingKeys.toArray(new Key[] {}));
-      Assert.isTrue(missingKeys.size() == entities.size(), "Fetched incorrect number of entities");
+    fetchIntoContext(keys.stream().filter(context::notCached).toList(), context);
+    return convertEntitiesForRead(keys, entityClass, context);
+  }
 
-      for (int i = 0; i < missingKeys.size(); i++) {
-        BaseKey key = missingKeys.get(i);
-        context.putReadEntity(key, entities.get(i));
+  private void readThroughEntityCache(Set<Key> keys, ReadContext context) {
+    List<Key> missedKeys = new ArrayList<>();
+    for (Key key : keys) {
+      Entity cachedEntity = this.entityCache.get(key);
+      if (cachedEntity != null) {
+        context.putReadEntity(key, cachedEntity);
+      } else {
+        missedKeys.add(key);
+      }
+    }
+    long[] evictionsBeforeFetch = new long[missedKeys.size()];
+    for (int i = 0; i < missedKeys.size(); i++) {
+      evictionsBeforeFetch[i] = this.cacheEvictions.get(cacheEvictionStripe(missedKeys.get(i)));
+    }
+    fetchIntoContext(missedKeys, context);
+    for (int i = 0; i < missedKeys.size(); i++) {
+      Key key = missedKeys.get(i);
+      // entities that do not exist are not cached
+      if (context.getReadEntity(key) instanceof Entity entity) {
+        this.entityCache.put(key, entity);
+        // a write evicting the key since the fetch may have been missed by the put, which is
+        // undone; evictions count before evicting, so a later one still evicts the put itself
+        if (this.cacheEvictions.get(cacheEvictionStripe(key)) != evictionsBeforeFetch[i]) {
+          this.entityCache.evict(key);
+        }
       }
     }
+  }
 
-    return convertEntitiesForRead(keys, entityClass, context);
+  private void evictFromEntityCache(Key key) {
+    this.cacheEvictions.incrementAndGet(cacheEvictionStripe(key));
+    this.entityCache.evict(key);
+  }
+
+  private static int cacheEvictionStripe(Key key) {
+    return Math.floorMod(key.hashCode(), CACHE_EVICTION_STRIPES);
+  }
+
+  // Reads the entities of the given keys into the context, in lookups of at most 1000 keys
+  private void fetchIntoContext(List<Key> keys, ReadContext context) {
+    for (List<Key> keysChunk : Iterables.partition(keys, MAX_KEYS_PER_LOOKUP)) {
+      List<Entity> entities = getDatastoreReadWriter().fetch(keysChunk.toArray(new Key[] {}));
+      Assert.isTrue(keysChunk.size() == entities.size(), "Fetched incorrect number of entities");
+
+      for (int i = 0; i < keysChunk.size(); i++) {
+        context.putReadEntity(keysChunk.get(i), entities.get(i));
+      }
+    }
   }
 
   @Override
@@ -306,6 +632,21 @@ public class DatastoreTemplate implements DatastoreOperations, ApplicationEventP
         : null;
   }
 
+  @Override
+  public <T> Iterable<T> queryLazily(
+      StructuredQuery<? extends BaseEntity> query, Class<T> entityClass) {
+    return new LazyDatastoreResultsIterable<>(
+        query,
+        this.lazyQueryPageSize,
+        this::getDatastoreReadWriter,
+        (pageQuery, entities) -> {
+          List<T> convertedResults = convertEntitiesForRead(entities.iterator(), entityClass);
+          maybeEmitEvent(new AfterQueryEvent(convertedResults, pageQuery));
+          return convertedResults;
+        },
+        this.prefetchLazyQueryPages ? this::getReadExecutor : null);
+  }
+
   @Override
   public <T> Slice<Key> queryKeysSlice(KeyQuery query, Class<T> entityClass, Pageable pageable) {
     return buildSlice(query, pageable, Key.class);
@@ -401,6 +742,15 @@ public class DatastoreTemplate implements DatastoreOperations, ApplicationEventP
     return findAll(entityClass, null);
   }
 
+  @Override
+  public <T> Iterable<T> findAllLazily(Class<T> entityClass) {
+    DatastorePersistentEntity<?> persistentEntity = getPersistentEntity(entityClass);
+    EntityQuery.Builder builder =
+        Query.newEntityQueryBuilder().setKind(persistentEntity.kindName());
+    applyQueryOptions(builder, null, persistentEntity);
+    return queryLazily(builder.build(), entityClass);
+  }
+
   @Override
   public <T> DatastoreResultsIterable<T> queryByExample(
       Example<T> example, DatastoreQueryOptions queryOptions) {
@@ -480,18 +830,28 @@ public class DatastoreTemplate implements DatastoreOperations, ApplicationEventP
               + " object is required to run functions as transactions. Ensure that this method "
               + "was not called in an ongoing transaction.");
     }
-    return ((Datastore) getDatastoreReadWriter())
-        .runInTransaction(
-            (DatastoreReaderWriter readerWriter) -> {
-              DatastoreTemplate template =
-                  new DatastoreTemplate(
-                      () -> readerWriter,
-                      DatastoreTemplate.this.datastoreEntityConverter,
-                      DatastoreTemplate.this.datastoreMappingContext,
-                      DatastoreTemplate.this.objectToKeyFactory);
-              template.setApplicationEventPublisher(DatastoreTemplate.this.eventPublisher);
-              return operations.apply(template);
-            });
+    List<Key> writtenKeys = new ArrayList<>();
+    try {
+      return ((Datastore) getDatastoreReadWriter())
+          .runInTransaction(
+              (DatastoreReaderWriter readerWriter) -> {
+                DatastoreTemplate template =
+                    new DatastoreTemplate(
+                        () -> readerWriter,
+                        DatastoreTemplate.this.datastoreEntityConverter,
+                        DatastoreTemplate.this.datastoreMappingContext,
+                        DatastoreTemplate.this.objectToKeyFactory);
+                template.setApplicationEventPublisher(DatastoreTemplate.this.eventPublisher);
+                template.setEntityCache(DatastoreTemplate.this.entityCache);
+                template.cacheEvictions = DatastoreTemplate.this.cacheEvictions;
+                template.transactionWrittenKeys = writtenKeys;
+                return operations.apply(template);
+              });
+    } finally {
+      if (this.entityCache != null) {
+        writtenKeys.forEach(this::evictFromEntityCache);
+      }
+    }
   }
 
   @Override
@@ -516,6 +876,9 @@ public class DatastoreTemplate implements DatastoreOperations, ApplicationEventP
                 key, this.datastoreEntityConverter.getConversions().convertOnWriteSingle(value)));
     Entity entity = builder.build();
     getDatastoreReadWriter().put(entity);
+    if (this.entityCache != null) {
+      evictFromEntityCache(Collections.singletonList(datastoreKey));
+    }
   }
 
   @Override
@@ -684,12 +1047,161 @@ public class DatastoreTemplate implements DatastoreOperations, ApplicationEventP
       return Collections.emptyList();
     }
 
+    loadRelatedEntities(keys, entityClass, context);
     return keys.stream()
         .map(key -> convertEntityResolveDescendantsAndReferences(entityClass, key, context))
         .filter(Objects::nonNull)
         .toList();
   }
 
+  /**
+   * Reads the eagerly loaded references and the descendants of the given entities, then those of
+   * the entities just read, and so on, so that a whole batch can be converted without further
+   * reads. All the references of a level are fetched together, and its descendant queries run
+   * concurrently.
+   */
+  private void loadRelatedEntities(
+      Collection<? extends BaseKey> keys, Class<?> entityClass, ReadContext context) {
+    Map<BaseKey, Class<?>> level = new LinkedHashMap<>();
+    keys.forEach(key -> level.put(key, entityClass));
+    while (!level.isEmpty()) {
+      Map<Key, Class<?>> references = new LinkedHashMap<>();
+      Map<EntityQuery, Class<?>> descendantQueries = new LinkedHashMap<>();
+      level.forEach(
+          (key, type) -> {
+            BaseEntity readEntity = context.getReadEntity(key);
+            if (readEntity != null && context.markLoaded(key)) {
+              DatastorePersistentEntity<?> persistentEntity =
+                  this.datastoreEntityConverter.getDiscriminationPersistentEntity(type, readEntity);
+              if (persistentEntity != null) {
+                collectReferences(persistentEntity, readEntity, references);
+                collectDescendantQueries(persistentEntity, readEntity, context, descendantQueries);
+              }
+            }
+          });
+      level.clear();
+
+      // descendants are read first, as they may also be referenced
+      level.putAll(runDescendantQueries(descendantQueries, context));
+      fetchIntoContext(references.keySet().stream().filter(context::notCached).toList(), context);
+      references.forEach(level::putIfAbsent);
+    }
+  }
+
+  private void collectReferences(
+      DatastorePersistentEntity<?> persistentEntity,
+      BaseEntity entity,
+      Map<Key, Class<?>> references) {
+    persistentEntity.doWithAssociations(
+        (AssociationHandler<DatastorePersistentProperty>)
+            association -> {
+              DatastorePersistentProperty referenceProperty = association.getInverse();
+              String fieldName = referenceProperty.getFieldName();
+              // lazily loaded references are read when they are first accessed
+              if (referenceProperty.isLazyLoaded()
+                  || !entity.contains(fieldName)
+                  || entity.isNull(fieldName)) {
+                return;
+              }
+              try {
+                if (referenceProperty.isCollectionLike()) {
+                  Class<?> referencedType = referenceProperty.getComponentType();
+                  Set<Key> keys = valuesToKeys(entity.getList(fieldName));
+                  keys.forEach(key -> references.putIfAbsent(key, referencedType));
+                } else {
+                  references.putIfAbsent(entity.getKey(fieldName), referenceProperty.getType());
+                }
+              } catch (ClassCastException ex) {
+                // reported when the reference property is resolved
+              }
+            });
+  }
+
+  private void collectDescendantQueries(
+      DatastorePersistentEntity<?> persistentEntity,
+      BaseEntity entity,
+      ReadContext context,
+      Map<EntityQuery, Class<?>> descendantQueries) {
+    persistentEntity.doWithDescendantProperties(
+        descendantPersistentProperty -> {
+          Class<?> descendantType = descendantPersistentProperty.getComponentType();
+          EntityQuery descendantQuery =
+              createDescendantQuery((Key) entity.getKey(), descendantType);
+          if (context.getDescendantKeys(descendantQuery) == null) {
+            descendantQueries.putIfAbsent(descendantQuery, descendantType);
+          }
+        });
+  }
+
+  /**
+   * Runs the descendant queries and records their results in the context. Outside of
+   * transactions, at most {@code maxConcurrentDescendantQueries} of them run concurrently.
+   *
+   * @return the type of each of the descendants read
+   */
+  private Map<BaseKey, Class<?>> runDescendantQueries(
+      Map<EntityQuery, Class<?>> descendantQueries, ReadContext context) {
+    Map<BaseKey, Class<?>> descendants = new LinkedHashMap<>();
+    if (descendantQueries.isEmpty()) {
+      return descendants;
+    }
+
+    DatastoreReaderWriter readerWriter = getDatastoreReadWriter();
+    List<EntityQuery> queries = new ArrayList<>(descendantQueries.keySet());
+    Map<EntityQuery, List<Entity>> results = new HashMap<>();
+    if (readerWriter instanceof Datastore
+        && this.maxConcurrentDescendantQueries > 1
+        && queries.size() > 1) {
+      int partitionSize =
+          (queries.size() + this.maxConcurrentDescendantQueries - 1)
+              / this.maxConcurrentDescendantQueries;
+      List<CompletableFuture<Map<EntityQuery, List<Entity>>>> futures =
+          Lists.partition(queries, partitionSize).stream()
+              .map(
+                  partition ->
+                      CompletableFuture.supplyAsync(
+                          () -> runQueries(readerWriter, partition),
+                          getReadExecutor()))
+              .toList();
+      try {
+        futures.forEach(future -> results.putAll(future.join()));
+      } catch (CompletionException ex) {
+        if (ex.getCause() instanceof RuntimeException cause) {
+          throw cause;
+        }
+        throw ex;
+      }
+    } else {
+      results.putAll(runQueries(readerWriter, queries));
+    }
+
+    for (EntityQuery query : queries) {
+      List<BaseKey> keys = new ArrayList<>();
+      for (Entity entity : results.get(query)) {
+        Key key = entity.getKey();
+        context.putReadEntity(key, entity);
+        keys.add(key);
+        descendants.putIfAbsent(key, descendantQueries.get(query));
+      }
+      context.putDescendantKeys(query, keys);
+    }
+    return descendants;
+  }
+
+  private static Map<EntityQuery, List<Entity>> runQueries(
+      DatastoreReaderWriter readerWriter, List<EntityQuery> queries) {
+    Map<EntityQuery, List<Entity>> results = new HashMap<>();
+    for (EntityQuery query : queries) {
+      List<Entity> entities = new ArrayList<>();
+      QueryResults<Entity> queryResults = readerWriter.run(query);
+      if (queryResults != null) {
+        queryResults.forEachRemaining(entities::add);
+      }
+      results.put(query, entities);
+    }
+    return results;
+  }
+
   private <T> T convertEntityResolveDescendantsAndReferences(
       Class<T> entityClass, BaseKey key, ReadContext context) {
     T convertedObject;
@@ -823,30 +1335,15 @@ public class DatastoreTemplate implements DatastoreOperations, ApplicationEventP
         descendantPersistentProperty -> {
           Class descendantType = descendantPersistentProperty.getComponentType();
 
-          Key entityKey = (Key) entity.getKey();
-          Key ancestorKey = KeyUtil.getKeyWithoutAncestors(entityKey);
-
-          DatastorePersistentEntity descendantEntityType =
-              this.datastoreMappingContext.getPersistentEntity(descendantType);
-
-          Filter ancestorFilter =
-              descendantEntityType.getDiscriminationFieldName() != null
-                  ? StructuredQuery.CompositeFilter.and(
-                      PropertyFilter.eq(
-                          descendantEntityType.getDiscriminationFieldName(),
-                          descendantEntityType.getDiscriminatorValue()),
-                      PropertyFilter.hasAncestor(ancestorKey))
-                  : PropertyFilter.hasAncestor(ancestorKey);
-
           EntityQuery descendantQuery =
-              Query.newEntityQueryBuilder()
-                  .setKind(descendantEntityType.kindName())
-                  .setFilter(ancestorFilter)
-                  .build();
+              createDescendantQuery((Key) entity.getKey(), descendantType);
+          List<BaseKey> descendantKeys = context.getDescendantKeys(descendantQuery);
 
           List entities =
-              convertEntitiesForRead(
-                  getDatastoreReadWriter().run(descendantQuery), descendantType, context);
+              descendantKeys != null
+                  ? convertEntitiesForRead(descendantKeys, descendantType, context)
+                  : convertEntitiesForRead(
+                      getDatastoreReadWriter().run(descendantQuery), descendantType, context);
 
           datastorePersistentEntity
               .getPropertyAccessor(convertedObject)
@@ -860,6 +1357,27 @@ public class DatastoreTemplate implements DatastoreOperations, ApplicationEventP
         });
   }
 
+  private EntityQuery createDescendantQuery(Key entityKey, Class<?> descendantType) {
+    Key ancestorKey = KeyUtil.getKeyWithoutAncestors(entityKey);
+
+    DatastorePersistentEntity<?> descendantEntityType =
+        this.datastoreMappingContext.getPersistentEntity(descendantType);
+
+    Filter ancestorFilter =
+        descendantEntityType.getDiscriminationFieldName() != null
+            ? StructuredQuery.CompositeFilter.and(
+                PropertyFilter.eq(
+                    descendantEntityType.getDiscriminationFieldName(),
+                    descendantEntityType.getDiscriminatorValue()),
+                PropertyFilter.hasAncestor(ancestorKey))
+            : PropertyFilter.hasAncestor(ancestorKey);
+
+    return Query.newEntityQueryBuilder()
+        .setKind(descendantEntityType.kindName())
+        .setFilter(ancestorFilter)
+        .build();
+  }
+
   private Key getKeyFromId(Object id, Class entityClass) {
     return this.objectToKeyFactory.getKeyFromId(id, getPersistentEntity(entityClass).kindName());
   }
@@ -1048,6 +1566,8 @@ public class DatastoreTemplate implements DatastoreOperations, ApplicationEventP
   class ReadContext {
     private final Map<BaseKey, Object> convertedEntities = new HashMap<>();
     private final Map<BaseKey, BaseEntity> readEntities = new HashMap<>();
+    private final Set<BaseKey> loadedKeys = new HashSet<>();
+    private final Map<EntityQuery, List<BaseKey>> descendantKeys = new HashMap<>();
 
     void putConvertedEntity(BaseKey key, Object entity) {
       this.convertedEntities.put(key, entity);
@@ -1076,5 +1596,17 @@ public class DatastoreTemplate implements DatastoreOperations, ApplicationEventP
     void removeReadEntity(BaseKey key) {
       this.readEntities.remove(key);
     }
+
+    boolean markLoaded(BaseKey key) {
+      return this.loadedKeys.add(key);
+    }
+
+    List<BaseKey> getDescendantKeys(EntityQuery descendantQuery) {
+      return this.descendantKeys.get(descendantQuery);
+    }
+
+    void putDescendantKeys(EntityQuery descendantQuery, List<BaseKey> keys) {
+      this.descendantKeys.put(descendantQuery, keys);
+    }
   }
 }
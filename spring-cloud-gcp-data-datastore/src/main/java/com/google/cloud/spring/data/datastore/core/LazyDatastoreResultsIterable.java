@@ -0,0 +1,202 @@
+/*
+ * Copyright 2023 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.spring.data.datastore.core;
+
+import com.google.cloud.datastore.BaseEntity;
+import com.google.cloud.datastore.Cursor;
+import com.google.cloud.datastore.Datastore;
+import com.google.cloud.datastore.DatastoreReaderWriter;
+import com.google.cloud.datastore.QueryResults;
+import com.google.cloud.datastore.StructuredQuery;
+import com.google.datastore.v1.QueryResultBatch.MoreResultsType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+/**
+ * The results of a query, read from Cloud Datastore a page at a time as they are iterated over and
+ * converted a page at a time. Only the page being iterated over, and the next one if it is
+ * prefetched, are held in memory. Each iteration runs the query again.
+ *
+ * @param <T> the type of the results
+ */
+final class LazyDatastoreResultsIterable<T> implements Iterable<T> {
+
+  private final StructuredQuery<? extends BaseEntity> query;
+
+  private final int pageSize;
+
+  private final Supplier<DatastoreReaderWriter> readerWriterSupplier;
+
+  private final BiFunction<StructuredQuery<? extends BaseEntity>, List<BaseEntity>, List<T>>
+      pageConverter;
+
+  private final Supplier<Executor> prefetchExecutor;
+
+  /**
+   * Constructor.
+   *
+   * @param query the query, whose limit and offset apply to the results as a whole
+   * @param pageSize the maximum number of entities read at a time
+   * @param readerWriterSupplier supplies the reader of each iteration
+   * @param pageConverter converts the entities read by a page query
+   * @param prefetchExecutor supplies the executor the next page is read on while the current one
+   *     is iterated over, or {@code null} not to prefetch pages. Pages are not prefetched within
+   *     transactions, and are read when needed if the executor rejects them.
+   */
+  LazyDatastoreResultsIterable(
+      StructuredQuery<? extends BaseEntity> query,
+      int pageSize,
+      Supplier<DatastoreReaderWriter> readerWriterSupplier,
+      BiFunction<StructuredQuery<? extends BaseEntity>, List<BaseEntity>, List<T>> pageConverter,
+      Supplier<Executor> prefetchExecutor) {
+    this.query = query;
+    this.pageSize = pageSize;
+    this.readerWriterSupplier = readerWriterSupplier;
+    this.pageConverter = pageConverter;
+    this.prefetchExecutor = prefetchExecutor;
+  }
+
+  @Override
+  public Iterator<T> iterator() {
+    return new PagedIterator(this.readerWriterSupplier.get());
+  }
+
+  private final class PagedIterator implements Iterator<T> {
+
+    private final DatastoreReaderWriter readerWriter;
+
+    private Iterator<T> currentPage = Collections.emptyIterator();
+
+    private Supplier<Page> nextPage;
+
+    private PagedIterator(DatastoreReaderWriter readerWriter) {
+      this.readerWriter = readerWriter;
+      StructuredQuery<? extends BaseEntity> query = LazyDatastoreResultsIterable.this.query;
+      this.nextPage = () -> readPage(null, query.getOffset(), query.getLimit());
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (!this.currentPage.hasNext() && this.nextPage != null) {
+        Page page = this.nextPage.get();
+        this.nextPage = page.more ? followingPage(page.cursorAfter, page.remaining) : null;
+        // the previous page is released as this one replaces it
+        this.currentPage =
+            LazyDatastoreResultsIterable.this
+                .pageConverter
+                .apply(page.query, page.entities)
+                .iterator();
+      }
+      return this.currentPage.hasNext();
+    }
+
+    @Override
+    public T next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return this.currentPage.next();
+    }
+
+    private Supplier<Page> followingPage(Cursor cursorAfter, Integer remaining) {
+      Supplier<Page> pageReader = () -> readPage(cursorAfter, 0, remaining);
+      Supplier<Executor> prefetchExecutor = LazyDatastoreResultsIterable.this.prefetchExecutor;
+      if (prefetchExecutor == null || !(this.readerWriter instanceof Datastore)) {
+        return pageReader;
+      }
+      CompletableFuture<Page> prefetchedPage;
+      try {
+        prefetchedPage = CompletableFuture.supplyAsync(pageReader, prefetchExecutor.get());
+      } catch (RejectedExecutionException ex) {
+        // e.g. the executor was shut down since the iteration started
+        return pageReader;
+      }
+      return () -> {
+        try {
+          return prefetchedPage.join();
+        } catch (CompletionException ex) {
+          if (ex.getCause() instanceof RuntimeException cause) {
+            throw cause;
+          }
+          throw ex;
+        }
+      };
+    }
+
+    private Page readPage(Cursor startCursor, int offset, Integer remaining) {
+      int limit =
+          remaining != null
+              ? Math.min(remaining, LazyDatastoreResultsIterable.this.pageSize)
+              : LazyDatastoreResultsIterable.this.pageSize;
+      StructuredQuery.Builder<? extends BaseEntity> builder =
+          LazyDatastoreResultsIterable.this.query.toBuilder().setOffset(offset).setLimit(limit);
+      if (startCursor != null) {
+        builder.setStartCursor(startCursor);
+      }
+      StructuredQuery<? extends BaseEntity> pageQuery = builder.build();
+
+      List<BaseEntity> entities = new ArrayList<>();
+      QueryResults<? extends BaseEntity> results = this.readerWriter.run(pageQuery);
+      if (results == null) {
+        return new Page(pageQuery, entities, null, false, null);
+      }
+      results.forEachRemaining(entities::add);
+      Integer remainingAfter = remaining != null ? remaining - entities.size() : null;
+      // a short page is the last one
+      boolean more =
+          entities.size() == limit
+              && results.getMoreResults() != MoreResultsType.NO_MORE_RESULTS
+              && (remainingAfter == null || remainingAfter > 0);
+      return new Page(pageQuery, entities, results.getCursorAfter(), more, remainingAfter);
+    }
+  }
+
+  private static final class Page {
+
+    private final StructuredQuery<? extends BaseEntity> query;
+
+    private final List<BaseEntity> entities;
+
+    private final Cursor cursorAfter;
+
+    private final boolean more;
+
+    private final Integer remaining;
+
+    private Page(
+        StructuredQuery<? extends BaseEntity> query,
+        List<BaseEntity> entities,
+        Cursor cursorAfter,
+        boolean more,
+        Integer remaining) {
+      this.query = query;
+      this.entities = entities;
+      this.cursorAfter = cursorAfter;
+      this.more = more;
+      this.remaining = remaining;
+    }
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2023 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.spring.data.datastore.core;
+
+import com.google.cloud.datastore.Entity;
+import com.google.cloud.datastore.Key;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.time.Duration;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link DatastoreEntityCache} held in memory, which evicts the least recently used entities when
+ * it is full and the entities cached for longer than their time-to-live.
+ */
+public class LocalDatastoreEntityCache implements DatastoreEntityCache {
+
+  private final Cache<Key, Entity> cache;
+
+  /**
+   * Creates the cache.
+   *
+   * @param maximumSize the maximum number of entities cached
+   * @param timeToLive how long an entity is cached for
+   */
+  public LocalDatastoreEntityCache(long maximumSize, Duration timeToLive) {
+    Assert.isTrue(maximumSize > 0, "The maximum size must be positive.");
+    Assert.isTrue(
+        timeToLive != null && !timeToLive.isNegative() && !timeToLive.isZero(),
+        "The time to live must be positive.");
+    this.cache =
+        CacheBuilder.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(timeToLive)
+            .recordStats()
+            .build();
+  }
+
+  @Override
+  public Entity get(Key key) {
+    return this.cache.getIfPresent(key);
+  }
+
+  @Override
+  public void put(Key key, Entity entity) {
+    this.cache.put(key, entity);
+  }
+
+  @Override
+  public void evict(Key key) {
+    this.cache.invalidate(key);
+  }
+
+  @Override
+  public void clear() {
+    this.cache.invalidateAll();
+  }
+
+  @Override
+  public long getHitCount() {
+    return this.cache.stats().hitCount();
+  }
+
+  @Override
+  public long getMissCount() {
+    return this.cache.stats().missCount();
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2023 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.spring.data.datastore.core.convert;
+
+import com.google.cloud.datastore.BaseEntity;
+import com.google.cloud.datastore.Value;
+import com.google.cloud.spring.data.datastore.core.mapping.DatastoreDataException;
+import com.google.cloud.spring.data.datastore.core.mapping.DatastorePersistentEntity;
+import com.google.cloud.spring.data.datastore.core.mapping.DatastorePersistentProperty;
+import com.google.cloud.spring.data.datastore.core.mapping.EmbeddedType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.data.mapping.PersistentPropertyAccessor;
+import org.springframework.data.mapping.model.EntityInstantiator;
+import org.springframework.data.mapping.model.PersistentEntityParameterValueProvider;
+
+/**
+ * Reads and writes the properties of one entity type with conversions resolved once when the
+ * mapper is created, instead of looking up the property metadata and conversion steps of every
+ * property on every read and write.
+ *
+ * @param <T> the entity type
+ */
+final class DatastoreEntityMapper<T> {
+
+  private final DatastorePersistentEntity<T> persistentEntity;
+
+  private final EntityInstantiator instantiator;
+
+  private final List<PropertyMapping> readMappings = new ArrayList<>();
+
+  private final List<PropertyMapping> writeMappings = new ArrayList<>();
+
+  DatastoreEntityMapper(
+      DatastorePersistentEntity<T> persistentEntity,
+      EntityInstantiator instantiator,
+      ReadWriteConversions conversions) {
+    this.persistentEntity = persistentEntity;
+    this.instantiator = instantiator;
+    persistentEntity.doWithColumnBackedProperties(
+        property -> {
+          if (property.isIdProperty()) {
+            // the id is read from the key and not stored as a regular field
+            if (!persistentEntity.isCreatorArgument(property)) {
+              this.readMappings.add(
+                  new PropertyMapping(
+                      property,
+                      conversions.getReadConverter(
+                          EmbeddedType.NOT_EMBEDDED, property.getTypeInformation()),
+                      null));
+            }
+            return;
+          }
+          PropertyMapping mapping =
+              new PropertyMapping(
+                  property,
+                  conversions.getReadConverter(
+                      property.getEmbeddedType(), property.getTypeInformation()),
+                  conversions.getWriteConverter(property));
+          // constructor arguments are read on instantiation
+          if (!persistentEntity.isCreatorArgument(property)) {
+            this.readMappings.add(mapping);
+          }
+          this.writeMappings.add(mapping);
+        });
+  }
+
+  T read(BaseEntity<?> entity, EntityPropertyValueProvider propertyValueProvider) {
+    T instance =
+        this.instantiator.createInstance(
+            this.persistentEntity,
+            new PersistentEntityParameterValueProvider<>(
+                this.persistentEntity, propertyValueProvider, null));
+    PersistentPropertyAccessor<T> accessor = this.persistentEntity.getPropertyAccessor(instance);
+    for (PropertyMapping mapping : this.readMappings) {
+      Object value = mapping.read(entity);
+      if (value != null) {
+        accessor.setProperty(mapping.property, value);
+      }
+    }
+    return instance;
+  }
+
+  void write(T source, BaseEntity.Builder<?, ?> sink) {
+    PersistentPropertyAccessor<T> accessor = this.persistentEntity.getPropertyAccessor(source);
+    for (PropertyMapping mapping : this.writeMappings) {
+      try {
+        Value<?> convertedVal = mapping.writeConverter.apply(accessor.getProperty(mapping.property));
+        if (mapping.unindexed) {
+          convertedVal = DefaultDatastoreEntityConverter.setExcludeFromIndexes(convertedVal);
+        }
+        sink.set(mapping.fieldName, convertedVal);
+      } catch (DatastoreDataException ex) {
+        throw new DatastoreDataException(
+            "Unable to write " + this.persistentEntity.kindName() + "." + mapping.fieldName, ex);
+      }
+    }
+  }
+
+  private static final class PropertyMapping {
+
+    private final DatastorePersistentProperty property;
+
+    private final String fieldName;
+
+    private final boolean unindexed;
+
+    private final Function<Object, Object> readConverter;
+
+    private final Function<Object, Value> writeConverter;
+
+    private PropertyMapping(
+        DatastorePersistentProperty property,
+        Function<Object, Object> readConverter,
+        Function<Object, Value> writeConverter) {
+      this.property = property;
+      this.fieldName = property.getFieldName();
+      this.unindexed = property.isUnindexed();
+      this.readConverter = readConverter;
+      this.writeConverter = writeConverter;
+    }
+
+    private Object read(BaseEntity<?> entity) {
+      if (this.property.isIdProperty()) {
+        return this.readConverter.apply(entity.getKey());
+      }
+      if (!entity.contains(this.fieldName)) {
+        return null;
+      }
+      try {
+        return this.readConverter.apply(entity.getValue(this.fieldName).get());
+      } catch (ConversionException | DatastoreDataException ex) {
+        throw new DatastoreDataException("Unable to read property " + this.fieldName, ex);
+      }
+    }
+  }
+}
@@ -36,6 +36,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.springframework.data.mapping.PersistentPropertyAccessor;
 import org.springframework.data.mapping.model.EntityInstantiator;
 import org.springframework.data.mapping.model.EntityInstantiators;
@@ -57,6 +58,11 @@ public class DefaultDatastoreEntityConverter implements DatastoreEntityConverter
 
   private final ReadWriteConversions conversions;
 
+  private final Map<DatastorePersistentEntity<?>, DatastoreEntityMapper<?>> entityMappers =
+      new ConcurrentHashMap<>();
+
+  private boolean useCompiledMappers;
+
   public DefaultDatastoreEntityConverter(
       DatastoreMappingContext mappingContext, ObjectToKeyFactory objectToKeyFactory) {
     this(
@@ -73,6 +79,32 @@ public class DefaultDatastoreEntityConverter implements DatastoreEntityConverter
     conversions.registerEntityConverter(this);
   }
 
+  /**
+   * Sets whether entities are read and written by mappers that resolve the conversions of each
+   * property once per entity type, instead of on every read and write. Mappers are created for the
+   * entity types already known to the mapping context when this is enabled, and for other types
+   * when they are first read or written. Defaults to {@code false}.
+   *
+   * @param useCompiledMappers whether to use the mappers
+   */
+  public void setUseCompiledMappers(boolean useCompiledMappers) {
+    this.useCompiledMappers = useCompiledMappers;
+    if (useCompiledMappers) {
+      this.mappingContext.getPersistentEntities().forEach(this::getEntityMapper);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> DatastoreEntityMapper<T> getEntityMapper(
+      DatastorePersistentEntity<T> persistentEntity) {
+    return (DatastoreEntityMapper<T>)
+        this.entityMappers.computeIfAbsent(
+            persistentEntity,
+            entity ->
+                new DatastoreEntityMapper<>(
+                    entity, this.instantiators.getInstantiatorFor(entity), this.conversions));
+  }
+
   @Override
   public ReadWriteConversions getConversions() {
     return this.conversions;
@@ -159,6 +191,15 @@ public class DefaultDatastoreEntityConverter implements DatastoreEntityConverter
     DatastorePersistentEntity<?> persistentEntity =
         getDiscriminationPersistentEntity(ostensiblePersistentEntity, propertyValueProvider);
 
+    if (this.useCompiledMappers) {
+      try {
+        return (R) getEntityMapper(persistentEntity).read(entity, propertyValueProvider);
+      } catch (DatastoreDataException ex) {
+        throw new DatastoreDataException(
+            "Unable to read " + persistentEntity.getName() + " entity", ex);
+      }
+    }
+
     ParameterValueProvider<DatastorePersistentProperty> parameterValueProvider =
         new PersistentEntityParameterValueProvider<>(persistentEntity, propertyValueProvider, null);
 
@@ -229,6 +270,10 @@ public class DefaultDatastoreEntityConverter implements DatastoreEntityConverter
           discriminationFieldName,
           discriminationValues.stream().map(StringValue::of).toList());
     }
+    if (this.useCompiledMappers) {
+      ((DatastoreEntityMapper<Object>) getEntityMapper(persistentEntity)).write(source, sink);
+      return;
+    }
     PersistentPropertyAccessor accessor = persistentEntity.getPropertyAccessor(source);
     persistentEntity.doWithColumnBackedProperties(
         (DatastorePersistentProperty persistentProperty) -> {
@@ -255,7 +300,7 @@ public class DefaultDatastoreEntityConverter implements DatastoreEntityConverter
         });
   }
 
-  private Value setExcludeFromIndexes(Value convertedVal) {
+  static Value setExcludeFromIndexes(Value convertedVal) {
     // ListValues must have its contents individually excluded instead.
     // the entire list must NOT be excluded or there will be an exception.
     // Same for maps and embedded entities which are stored as EntityValue.
@@ -270,7 +315,8 @@ public class DefaultDatastoreEntityConverter implements DatastoreEntityConverter
       return ListValue.of(
           (List)
               ((ListValue) convertedVal)
-                  .get().stream().map(this::setExcludeFromIndexes).toList());
+                  .get().stream().map(DefaultDatastoreEntityConverter::setExcludeFromIndexes)
+                  .toList());
     } else {
       return convertedVal.toBuilder().setExcludeFromIndexes(true).build();
     }
@@ -20,6 +20,7 @@ import com.google.cloud.datastore.Value;
 import com.google.cloud.spring.data.datastore.core.mapping.DatastorePersistentProperty;
 import com.google.cloud.spring.data.datastore.core.mapping.EmbeddedType;
 import java.util.Optional;
+import java.util.function.Function;
 import org.springframework.data.util.TypeInformation;
 
 /**
@@ -62,6 +63,33 @@ public interface ReadWriteConversions {
    */
   Value convertOnWrite(Object obj, DatastorePersistentProperty persistentProperty);
 
+  /**
+   * Returns a function that converts values as {@link #convertOnRead(Object, EmbeddedType,
+   * TypeInformation)} does for the given target, so that implementations can resolve the
+   * conversions needed for it once instead of on every call.
+   *
+   * @param embeddedType contains the type of embedded entity conversion should produce.
+   * @param targetTypeInformation type metadata information for the desired type.
+   * @return a function converting read values to the target type.
+   */
+  default Function<Object, Object> getReadConverter(
+      EmbeddedType embeddedType, TypeInformation<?> targetTypeInformation) {
+    return val -> convertOnRead(val, embeddedType, targetTypeInformation);
+  }
+
+  /**
+   * Returns a function that converts values of the given property as {@link
+   * #convertOnWrite(Object, DatastorePersistentProperty)} does, so that implementations can
+   * resolve the conversions needed for it once instead of on every call.
+   *
+   * @param persistentProperty the source field information.
+   * @return a function converting property values to Cloud Datastore values.
+   */
+  default Function<Object, Value> getWriteConverter(
+      DatastorePersistentProperty persistentProperty) {
+    return val -> convertOnWrite(val, persistentProperty);
+  }
+
   /**
    * Converts an object to a Cloud Datastore {@link Value}, for non-collection objects.
    *
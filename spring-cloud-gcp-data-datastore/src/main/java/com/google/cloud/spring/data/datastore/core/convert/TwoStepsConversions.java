@@ -32,6 +32,7 @@ import com.google.cloud.spring.data.datastore.core.mapping.DatastorePersistentPr
 import com.google.cloud.spring.data.datastore.core.mapping.EmbeddedType;
 import com.google.cloud.spring.data.datastore.core.util.ValueUtil;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -90,6 +91,8 @@ public class TwoStepsConversions implements ReadWriteConversions {
 
   private final Map<Class, Optional<Class<?>>> writeConverters = new ConcurrentHashMap<>();
 
+  private final Map<Class<?>, TypeTargets> typeTargets = new ConcurrentHashMap<>();
+
   public TwoStepsConversions(
       CustomConversions customConversions,
       ObjectToKeyFactory objectToKeyFactory,
@@ -173,6 +176,44 @@ public class TwoStepsConversions implements ReadWriteConversions {
     return (T) readConverter.apply(val, targetComponentType);
   }
 
+  @Override
+  public Function<Object, Object> getReadConverter(
+      EmbeddedType embeddedType, TypeInformation<?> targetTypeInformation) {
+    Class<?> targetType = targetTypeInformation.getType();
+    TypeInformation<?> componentTypeInformation =
+        ValueUtil.isCollectionLike(targetType)
+            ? targetTypeInformation.getComponentType()
+            : targetTypeInformation;
+    if (embeddedType != EmbeddedType.NOT_EMBEDDED || componentTypeInformation == null) {
+      return val -> convertOnRead(val, embeddedType, targetTypeInformation);
+    }
+
+    // the conversion steps of the target type are resolved once
+    Class<?> componentType = boxIfNeeded(componentTypeInformation.getType());
+    TypeTargets componentTypeTargets = computeTypeTargets(componentType);
+    Function<Object, Object> singleReadConverter =
+        val -> val == null ? null : convertOnReadSingle(val, componentType, componentTypeTargets);
+    if (componentTypeInformation == targetTypeInformation) {
+      return singleReadConverter;
+    }
+    return val -> {
+      if (!(val instanceof Iterable<?> iterable)) {
+        return convertOnRead(val, embeddedType, targetTypeInformation);
+      }
+      try {
+        List<Object> elements = new ArrayList<>();
+        for (Object element : iterable) {
+          elements.add(
+              singleReadConverter.apply(
+                  element instanceof Value<?> value ? value.get() : element));
+        }
+        return convertCollection(Collections.unmodifiableList(elements), targetType);
+      } catch (ConversionException | DatastoreDataException ex) {
+        throw new DatastoreDataException("Unable process elements of a collection", ex);
+      }
+    };
+  }
+
   private <T, R> Map<T, R> convertOnReadSingleEmbeddedMap(
       Object value,
       Class<T> keyType,
@@ -204,9 +245,13 @@ public class TwoStepsConversions implements ReadWriteConversions {
       return null;
     }
     Class<?> targetType = boxIfNeeded(targetTypeInformation.getType());
+    return convertOnReadSingle(val, targetType, computeTypeTargets(targetType));
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> T convertOnReadSingle(Object val, Class<?> targetType, TypeTargets typeTargets) {
     Class<?> sourceType = val.getClass();
     Object result = null;
-    TypeTargets typeTargets = computeTypeTargets(targetType);
 
     if (typeTargets.getFirstStepTarget() == null
         && typeTargets.getSecondStepTarget() == null
@@ -252,6 +297,15 @@ public class TwoStepsConversions implements ReadWriteConversions {
         persistentProperty.getTypeInformation());
   }
 
+  @Override
+  public Function<Object, Value> getWriteConverter(
+      DatastorePersistentProperty persistentProperty) {
+    EmbeddedType embeddedType = persistentProperty.getEmbeddedType();
+    String fieldName = persistentProperty.getFieldName();
+    TypeInformation<?> typeInformation = persistentProperty.getTypeInformation();
+    return val -> convertOnWrite(val, embeddedType, fieldName, typeInformation);
+  }
+
   private Value convertOnWrite(
       Object proppertyVal,
       EmbeddedType embeddedType,
@@ -358,6 +412,11 @@ public class TwoStepsConversions implements ReadWriteConversions {
   }
 
   private TypeTargets computeTypeTargets(Class<?> firstStepSource) {
+    // the custom conversions are fixed, so the targets of a type never change
+    return this.typeTargets.computeIfAbsent(firstStepSource, this::resolveTypeTargets);
+  }
+
+  private TypeTargets resolveTypeTargets(Class<?> firstStepSource) {
     Class<?> firstStepTarget = null;
     Class<?> secondStepTarget = null;
 
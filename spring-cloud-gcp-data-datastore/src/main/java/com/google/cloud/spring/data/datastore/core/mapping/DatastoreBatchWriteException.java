@@ -0,0 +1,65 @@
+/*
+ * Copyright 2023 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.spring.data.datastore.core.mapping;
+
+import com.google.cloud.datastore.Key;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedMap;
+
+/**
+ * Thrown when some of the slices of a batch written concurrently failed to be written. The other
+ * slices were written.
+ */
+public class DatastoreBatchWriteException extends DatastoreDataException {
+
+  private final transient SortedMap<Integer, List<Key>> failedSlices;
+
+  /**
+   * Constructor.
+   *
+   * @param numSlices the number of slices the batch was written in
+   * @param failedSlices the keys of the entities of each failed slice, by slice index
+   * @param failures the exceptions the failed slices were written with; the first is the cause,
+   *     the others are suppressed
+   */
+  public DatastoreBatchWriteException(
+      int numSlices,
+      SortedMap<Integer, List<Key>> failedSlices,
+      Collection<? extends Throwable> failures) {
+    super(
+        "Failed to write "
+            + failedSlices.size()
+            + " of "
+            + numSlices
+            + " slices: "
+            + failedSlices.keySet(),
+        failures.isEmpty() ? null : failures.iterator().next());
+    failures.stream().skip(1).forEach(this::addSuppressed);
+    this.failedSlices = Collections.unmodifiableSortedMap(failedSlices);
+  }
+
+  /**
+   * Returns the failed slices.
+   *
+   * @return the keys of the entities of each failed slice, by slice index
+   */
+  public SortedMap<Integer, List<Key>> getFailedSlices() {
+    return this.failedSlices;
+  }
+}
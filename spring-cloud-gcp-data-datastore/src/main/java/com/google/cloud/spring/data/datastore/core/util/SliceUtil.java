@@ -17,6 +17,13 @@
 package com.google.cloud.spring.data.datastore.core.util;
 
 import java.util.Arrays;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 /**
@@ -35,13 +42,60 @@ public final class SliceUtil {
    * @param consumer the consumer to be called on every slice.
    */
   public static <T> void sliceAndExecute(T[] elements, int sliceSize, Consumer<T[]> consumer) {
-    int numSlices = (int) (Math.ceil((double) elements.length / sliceSize));
+    int numSlices = getNumSlices(elements, sliceSize);
     for (int i = 0; i < numSlices; i++) {
-      int start = i * sliceSize;
-      int end = Math.min(start + sliceSize, elements.length);
+      consumer.accept(getSlice(elements, sliceSize, i));
+    }
+  }
+
+  /**
+   * Cut array into slices of a given size and call consumer on each of them, with at most {@code
+   * maxConcurrency} calls running at a time on the executor. Every slice is consumed even if
+   * consuming others fails.
+   *
+   * @param <T> the type of the elements.
+   * @param elements the array to be sliced.
+   * @param sliceSize the max size of a slice.
+   * @param consumer the consumer to be called on every slice.
+   * @param executor the executor the consumer is called on.
+   * @param maxConcurrency the max number of slices consumed at a time.
+   * @return the exceptions thrown by the consumer, by the index of their slice.
+   */
+  public static <T> SortedMap<Integer, RuntimeException> sliceAndExecuteConcurrently(
+      T[] elements, int sliceSize, Consumer<T[]> consumer, Executor executor, int maxConcurrency) {
+    int numSlices = getNumSlices(elements, sliceSize);
+    AtomicInteger nextSlice = new AtomicInteger();
+    ConcurrentMap<Integer, RuntimeException> failures = new ConcurrentHashMap<>();
+    Runnable worker =
+        () -> {
+          for (int i = nextSlice.getAndIncrement(); i < numSlices; i = nextSlice.getAndIncrement()) {
+            try {
+              consumer.accept(getSlice(elements, sliceSize, i));
+            } catch (RuntimeException ex) {
+              failures.put(i, ex);
+            }
+          }
+        };
+
+    CompletableFuture.allOf(
+            Arrays.stream(new CompletableFuture<?>[Math.min(maxConcurrency, numSlices)])
+                .map(unused -> CompletableFuture.runAsync(worker, executor))
+                .toArray(CompletableFuture<?>[]::new))
+        .join();
+    return new TreeMap<>(failures);
+  }
+
+  private static <T> int getNumSlices(T[] elements, int sliceSize) {
+    return (int) (Math.ceil((double) elements.length / sliceSize));
+  }
 
-      T[] slice = Arrays.copyOfRange(elements, start, end);
-      consumer.accept(slice);
+  private static <T> T[] getSlice(T[] elements, int sliceSize, int index) {
+    if (elements.length <= sliceSize) {
+      // a single slice needs no copy
+      return elements;
     }
+    int start = index * sliceSize;
+    int end = Math.min(start + sliceSize, elements.length);
+    return Arrays.copyOfRange(elements, start, end);
   }
 }
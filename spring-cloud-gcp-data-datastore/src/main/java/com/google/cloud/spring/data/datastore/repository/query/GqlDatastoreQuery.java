@@ -24,6 +24,7 @@ import com.google.cloud.datastore.GqlQuery;
 import com.google.cloud.datastore.GqlQuery.Builder;
 import com.google.cloud.datastore.Key;
 import com.google.cloud.spring.data.datastore.core.DatastoreOperations;
+import com.google.cloud.spring.data.datastore.core.DatastoreTemplate;
 import com.google.cloud.spring.data.datastore.core.DatastoreResultsIterable;
 import com.google.cloud.spring.data.datastore.core.convert.DatastoreNativeTypes;
 import com.google.cloud.spring.data.datastore.core.mapping.DatastoreDataException;
@@ -36,10 +37,13 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -55,8 +59,11 @@ import org.springframework.data.repository.query.ParameterAccessor;
 import org.springframework.data.repository.query.Parameters;
 import org.springframework.data.repository.query.ParametersParameterAccessor;
 import org.springframework.data.repository.query.QueryMethodEvaluationContextProvider;
-import org.springframework.data.repository.query.SpelEvaluator;
 import org.springframework.data.repository.query.SpelQueryContext;
+import org.springframework.data.repository.query.SpelQueryContext.SpelExtractor;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.util.StringUtils;
 
 /**
@@ -73,6 +80,23 @@ public class GqlDatastoreQuery<T> extends AbstractDatastoreQuery<T> {
   private static final Pattern CLASS_NAME_PATTERN =
       Pattern.compile("\\" + ENTITY_CLASS_NAME_BOOKEND + "\\S+\\" + ENTITY_CLASS_NAME_BOOKEND + "");
 
+  private static final SpelExpressionParser SPEL_EXPRESSION_PARSER = new SpelExpressionParser();
+
+  /** The maximum number of sort orders whose GQL is cached by a query method. */
+  private static final int MAX_CACHED_SORTS = 32;
+
+  private static final String LIMIT_CLAUSE = " LIMIT @limit";
+
+  private static final String LIMIT_TAG_NAME = "limit";
+
+  private static final String OFFSET_CLAUSE = " OFFSET @offset";
+
+  private static final String OFFSET_TAG_NAME = "offset";
+
+  private static final String ORDER_BY = " ORDER BY ";
+
+  private static final String COUNT_QUERY_TEMPLATE = "AGGREGATE COUNT(*) AS %s OVER (%s)";
+
   private final String originalGql;
 
   private String gqlResolvedEntityClassName;
@@ -81,7 +105,15 @@ public class GqlDatastoreQuery<T> extends AbstractDatastoreQuery<T> {
 
   private QueryMethodEvaluationContextProvider evaluationContextProvider;
 
-  private SpelQueryContext.EvaluatingSpelQueryContext evaluatingSpelQueryContext;
+  // the SpEL expressions of the query, parsed once, by the tags that replace them
+  private Map<String, Expression> spelExpressions;
+
+  // the tags of the query method parameters followed by those of the SpEL expressions
+  private List<String> queryTags;
+
+  private CompiledGql unsortedGql;
+
+  private final ConcurrentMap<Sort, CompiledGql> sortedGql = new ConcurrentHashMap<>();
 
   /**
    * Constructor.
@@ -104,8 +136,8 @@ public class GqlDatastoreQuery<T> extends AbstractDatastoreQuery<T> {
     this.evaluationContextProvider = evaluationContextProvider;
     this.originalGql = StringUtils.trimTrailingCharacter(gql.trim(), ';');
     setOriginalParamTags();
-    setEvaluatingSpelQueryContext();
     setGqlResolvedEntityClassName();
+    compileGql();
   }
 
   private static Object getNonEntityObjectFromRow(Object x) {
@@ -132,7 +164,7 @@ public class GqlDatastoreQuery<T> extends AbstractDatastoreQuery<T> {
     }
 
     ParsedQueryWithTagsAndValues parsedQueryWithTagsAndValues =
-        new ParsedQueryWithTagsAndValues(this.originalParamTags, parameters);
+        new ParsedQueryWithTagsAndValues(this.queryTags, parameters);
 
     GqlQuery query = parsedQueryWithTagsAndValues.bindArgsToGqlQuery();
 
@@ -200,10 +232,20 @@ public class GqlDatastoreQuery<T> extends AbstractDatastoreQuery<T> {
             ? ((DatastorePageable) pageableParam).getTotalCount()
             : null;
     if (count == null) {
-      GqlQuery nextQuery = parsedQueryWithTagsAndValues.bindArgsToGqlQueryNoLimit();
-      DatastoreResultsIterable<?> next =
-          this.datastoreOperations.queryKeysOrEntities(nextQuery, this.entityType);
-      count = StreamSupport.stream(next.spliterator(), false).count();
+      GqlQuery countQuery = parsedQueryWithTagsAndValues.bindArgsToGqlCountQuery();
+      try {
+        count = this.datastoreOperations.countResults(countQuery);
+      } catch (UnsupportedOperationException ex) {
+        // operations that cannot run GQL aggregations count the fetched results instead
+        GqlQuery noLimitQuery = parsedQueryWithTagsAndValues.bindArgsToGqlNoLimitQuery();
+        count =
+            StreamSupport.stream(
+                    this.datastoreOperations
+                        .queryKeysOrEntities(noLimitQuery, this.entityType)
+                        .spliterator(),
+                    false)
+                .count();
+      }
     }
 
     Pageable pageable = DatastorePageable.from(pageableParam, cursor, count);
@@ -309,10 +351,13 @@ public class GqlDatastoreQuery<T> extends AbstractDatastoreQuery<T> {
     this.gqlResolvedEntityClassName = result;
   }
 
-  private void setEvaluatingSpelQueryContext() {
-    Set<String> originalTags = new HashSet<>(GqlDatastoreQuery.this.originalParamTags);
+  // Replaces the SpEL expressions of the GQL by tags and parses them, so that each execution only
+  // has to evaluate them and bind values.
+  private void compileGql() {
+    Set<String> originalTags = new HashSet<>(this.originalParamTags);
+    List<String> spelTags = new ArrayList<>();
 
-    GqlDatastoreQuery.this.evaluatingSpelQueryContext =
+    SpelExtractor spelExtractor =
         SpelQueryContext.of(
                 (counter, spelExpression) -> {
                   String newTag;
@@ -321,27 +366,79 @@ public class GqlDatastoreQuery<T> extends AbstractDatastoreQuery<T> {
                     newTag = "@SpELtag" + counter;
                   } while (originalTags.contains(newTag));
                   originalTags.add(newTag);
+                  spelTags.add(newTag);
                   return newTag;
                 },
                 (prefix, newTag) -> newTag)
-            .withEvaluationContextProvider(GqlDatastoreQuery.this.evaluationContextProvider);
+            .parse(this.gqlResolvedEntityClassName);
+
+    this.spelExpressions = new LinkedHashMap<>();
+    for (String spelTag : spelTags) {
+      // Cloud Datastore requires the tag name without the @
+      this.spelExpressions.put(
+          spelTag.substring(1),
+          SPEL_EXPRESSION_PARSER.parseExpression(spelExtractor.getParameter(spelTag)));
+    }
+    List<String> tags = new ArrayList<>(this.originalParamTags);
+    tags.addAll(this.spelExpressions.keySet());
+    this.queryTags = Collections.unmodifiableList(tags);
+    this.unsortedGql = new CompiledGql(spelExtractor.getQueryString());
+  }
+
+  private CompiledGql getCompiledGql(Sort sort) {
+    if (sort.isUnsorted()) {
+      return this.unsortedGql;
+    }
+    CompiledGql compiledGql = this.sortedGql.get(sort);
+    if (compiledGql == null) {
+      compiledGql = new CompiledGql(addSort(this.unsortedGql.gql, sort));
+      // sorts usually come from a few fixed choices, but don't grow without bound if they don't
+      if (this.sortedGql.size() < MAX_CACHED_SORTS) {
+        this.sortedGql.putIfAbsent(sort, compiledGql);
+      }
+    }
+    return compiledGql;
+  }
+
+  private static String addSort(String gql, Sort sort) {
+    // similar to Spring Data JPA, we don't map passed sort properties to persistent properties
+    // names
+    // in @Query annotated methods
+    String orderString =
+        sort.stream()
+            .map(order -> order.getProperty() + " " + order.getDirection())
+            .collect(Collectors.joining(", "));
+    return gql + ORDER_BY + orderString;
+  }
+
+  // The GQL of the query method for a sort order, with and without the paging clauses.
+  private static final class CompiledGql {
+
+    final String gql;
+
+    final String pagedGql;
+
+    final String countGql;
+
+    CompiledGql(String gql) {
+      this.gql = gql;
+      this.pagedGql = gql + LIMIT_CLAUSE + OFFSET_CLAUSE;
+      this.countGql = String.format(COUNT_QUERY_TEMPLATE, DatastoreTemplate.COUNT_ALIAS, gql);
+    }
   }
 
   // Convenience class to hold a grouping of GQL, tags, and parameter values.
   private class ParsedQueryWithTagsAndValues {
 
-    static final String LIMIT_CLAUSE = " LIMIT @limit";
-    static final String LIMIT_TAG_NAME = "limit";
-    static final String OFFSET_CLAUSE = " OFFSET @offset";
-    static final String OFFSET_TAG_NAME = "offset";
-    static final String ORDER_BY = " ORDER BY ";
     List<String> tagsOrdered;
 
     final Object[] rawParams;
 
     List<Object> params;
 
-    private final String noLimitQuery;
+    private final String countGql;
+
+    private final String noLimitGql;
 
     String finalGql;
 
@@ -357,34 +454,31 @@ public class GqlDatastoreQuery<T> extends AbstractDatastoreQuery<T> {
       this.rawParams = rawParams;
       this.tagsOrdered = new ArrayList<>(initialTags);
 
-      SpelEvaluator spelEvaluator =
-          GqlDatastoreQuery.this.evaluatingSpelQueryContext.parse(
-              GqlDatastoreQuery.this.gqlResolvedEntityClassName,
-              GqlDatastoreQuery.this.queryMethod.getParameters());
-      Map<String, Object> results = spelEvaluator.evaluate(this.rawParams);
-      this.finalGql = spelEvaluator.getQueryString();
-
-      for (Map.Entry<String, Object> entry : results.entrySet()) {
-        this.params.add(entry.getValue());
-        // Cloud Datastore requires the tag name without the @
-        this.tagsOrdered.add(entry.getKey().substring(1));
+      Map<String, Expression> spelExpressions = GqlDatastoreQuery.this.spelExpressions;
+      if (!spelExpressions.isEmpty()) {
+        EvaluationContext evaluationContext =
+            GqlDatastoreQuery.this.evaluationContextProvider.getEvaluationContext(
+                GqlDatastoreQuery.this.queryMethod.getParameters(), rawParams);
+        for (Expression expression : spelExpressions.values()) {
+          this.params.add(expression.getValue(evaluationContext));
+        }
       }
 
       ParameterAccessor paramAccessor =
           new ParametersParameterAccessor(getQueryMethod().getParameters(), rawParams);
-      Sort sort = paramAccessor.getSort();
+      CompiledGql compiledGql = getCompiledGql(paramAccessor.getSort());
+      this.countGql = compiledGql.countGql;
+      this.noLimitGql = compiledGql.gql;
 
-      this.finalGql = addSort(this.finalGql, sort);
-
-      this.noLimitQuery = this.finalGql;
       Pageable pageable = paramAccessor.getPageable();
-      if (!pageable.equals(Pageable.unpaged())) {
-        this.finalGql += LIMIT_CLAUSE;
+      if (pageable.equals(Pageable.unpaged())) {
+        this.finalGql = compiledGql.gql;
+      } else {
+        this.finalGql = compiledGql.pagedGql;
         this.tagsOrdered.add(LIMIT_TAG_NAME);
         this.limitPosition = this.params.size();
         this.params.add(pageable.getPageSize());
 
-        this.finalGql += OFFSET_CLAUSE;
         this.tagsOrdered.add(OFFSET_TAG_NAME);
         this.cursorPosition = this.params.size();
         if (pageable instanceof DatastorePageable
@@ -403,8 +497,16 @@ public class GqlDatastoreQuery<T> extends AbstractDatastoreQuery<T> {
       return bindArgsToGqlQuery();
     }
 
-    private GqlQuery<? extends BaseEntity> bindArgsToGqlQueryNoLimit() {
-      this.finalGql = this.noLimitQuery;
+    private GqlQuery<? extends BaseEntity> bindArgsToGqlCountQuery() {
+      this.finalGql = this.countGql;
+      this.tagsOrdered = this.tagsOrdered.subList(0, this.limitPosition);
+      this.params = this.params.subList(0, this.limitPosition);
+
+      return bindArgsToGqlQuery();
+    }
+
+    private GqlQuery<? extends BaseEntity> bindArgsToGqlNoLimitQuery() {
+      this.finalGql = this.noLimitGql;
       this.tagsOrdered = this.tagsOrdered.subList(0, this.limitPosition);
       this.params = this.params.subList(0, this.limitPosition);
 
@@ -444,20 +546,6 @@ public class GqlDatastoreQuery<T> extends AbstractDatastoreQuery<T> {
       return builder.build();
     }
 
-    private String addSort(String finalGql, Sort sort) {
-      if (sort.equals(Sort.unsorted())) {
-        return finalGql;
-      }
-      // similar to Spring Data JPA, we don't map passed sort properties to persistent properties
-      // names
-      // in @Query annotated methods
-      String orderString =
-          sort.stream()
-              .map(order -> order.getProperty() + " " + order.getDirection())
-              .collect(Collectors.joining(", "));
-      return finalGql + ORDER_BY + orderString;
-    }
-
     private Object convertEntitiesToKeys(Object o) {
       if (GqlDatastoreQuery.this.datastoreMappingContext.hasPersistentEntityFor(o.getClass())) {
         return GqlDatastoreQuery.this.datastoreOperations.getKey(o);
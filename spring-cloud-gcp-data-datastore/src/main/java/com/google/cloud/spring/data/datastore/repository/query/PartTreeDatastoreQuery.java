@@ -196,16 +196,31 @@ public class PartTreeDatastoreQuery<T> extends AbstractDatastoreQuery<T> {
         new ExecutionOptions(
             returnedElementType, collectionType, requiresCount, getQueryMethod().isStreamQuery());
 
+    StructuredQuery query =
+        applyQueryBody(
+            parameters,
+            options.getQueryBuilder(),
+            requiresCount,
+            options.isSingularResult(),
+            null);
+
+    if (options.isCountingQuery() && !this.tree.isDelete()) {
+      // counted in Cloud Datastore instead of fetching the keys
+      return getDatastoreOperations().countResults(query);
+    }
+
+    if (getQueryMethod().isStreamQuery()
+        && !(query instanceof KeyQuery)
+        && !options.isCountingQuery()
+        && !this.tree.isDelete()
+        && !this.tree.isExistsProjection()) {
+      // entities are read and converted a page at a time as the stream is consumed
+      return StreamSupport.stream(
+          getDatastoreOperations().queryLazily(query, this.entityType).spliterator(), false);
+    }
+
     DatastoreResultsIterable rawResults =
-        getDatastoreOperations()
-            .queryKeysOrEntities(
-                applyQueryBody(
-                    parameters,
-                    options.getQueryBuilder(),
-                    requiresCount,
-                    options.isSingularResult(),
-                    null),
-                this.entityType);
+        getDatastoreOperations().queryKeysOrEntities(query, this.entityType);
 
     if (getQueryMethod().isStreamQuery()) {
       return StreamSupport.stream(rawResults.spliterator(), false);
@@ -525,9 +540,7 @@ public class PartTreeDatastoreQuery<T> extends AbstractDatastoreQuery<T> {
      */
     private Collector<?, ?, ?> getResultsCollector() {
       Collector<?, ?, ?> collector = Collectors.toList();
-      if (isCountingQuery && !PartTreeDatastoreQuery.this.tree.isDelete()) {
-        collector = Collectors.counting();
-      } else if (PartTreeDatastoreQuery.this.tree.isExistsProjection()) {
+      if (PartTreeDatastoreQuery.this.tree.isExistsProjection()) {
         collector = Collectors.collectingAndThen(Collectors.counting(), count -> count > 0);
       }
       return collector;
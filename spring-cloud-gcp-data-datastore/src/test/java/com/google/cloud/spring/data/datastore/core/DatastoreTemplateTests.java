@@ -24,7 +24,9 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.notNull;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -58,6 +60,8 @@ import com.google.cloud.spring.core.util.MapBuilder;
 import com.google.cloud.spring.data.datastore.core.convert.DatastoreEntityConverter;
 import com.google.cloud.spring.data.datastore.core.convert.ObjectToKeyFactory;
 import com.google.cloud.spring.data.datastore.core.convert.ReadWriteConversions;
+import com.google.cloud.spring.data.datastore.core.mapping.CachedEntity;
+import com.google.cloud.spring.data.datastore.core.mapping.DatastoreBatchWriteException;
 import com.google.cloud.spring.data.datastore.core.mapping.DatastoreDataException;
 import com.google.cloud.spring.data.datastore.core.mapping.DatastoreMappingContext;
 import com.google.cloud.spring.data.datastore.core.mapping.DatastorePersistentEntity;
@@ -72,17 +76,22 @@ import com.google.cloud.spring.data.datastore.core.mapping.event.AfterQueryEvent
 import com.google.cloud.spring.data.datastore.core.mapping.event.AfterSaveEvent;
 import com.google.cloud.spring.data.datastore.core.mapping.event.BeforeDeleteEvent;
 import com.google.cloud.spring.data.datastore.core.mapping.event.BeforeSaveEvent;
+import com.google.datastore.v1.QueryResultBatch.MoreResultsType;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -424,6 +433,98 @@ class DatastoreTemplateTests {
     verify(transactionContext, times(2)).fetch((Key[]) any());
   }
 
+  @Test
+  void findByIdReadsThroughEntityCacheTest() {
+    LocalDatastoreEntityCache entityCache =
+        new LocalDatastoreEntityCache(100, Duration.ofMinutes(1));
+    this.datastoreTemplate.setEntityCache(entityCache);
+    Entity cachedEntity = mockCachedTestEntity();
+
+    CachedTestEntity first = this.datastoreTemplate.findById(this.key1, CachedTestEntity.class);
+    CachedTestEntity second = this.datastoreTemplate.findById(this.key1, CachedTestEntity.class);
+
+    assertThat(first).isNotNull().isNotSameAs(second);
+    verify(this.datastore, times(1)).fetch(ArgumentMatchers.<Key[]>any());
+    assertThat(entityCache.get(this.key1)).isSameAs(cachedEntity);
+    assertThat(entityCache.getHitCount()).isEqualTo(2);
+    assertThat(entityCache.getMissCount()).isEqualTo(1);
+
+    // entities of other types are not cached
+    this.datastoreTemplate.findById(this.key2, TestEntity.class);
+    assertThat(entityCache.get(this.key2)).isNull();
+
+    this.datastoreTemplate.deleteById(this.key1, CachedTestEntity.class);
+    assertThat(entityCache.get(this.key1)).isNull();
+    this.datastoreTemplate.findById(this.key1, CachedTestEntity.class);
+    verify(this.datastore, times(2)).fetch(this.key1);
+  }
+
+  @Test
+  void findByIdDoesNotCacheEntityEvictedDuringFetchTest() {
+    LocalDatastoreEntityCache entityCache =
+        new LocalDatastoreEntityCache(100, Duration.ofMinutes(1));
+    this.datastoreTemplate.setEntityCache(entityCache);
+    Entity cachedEntity = mockCachedTestEntity();
+    when(this.datastore.fetch(ArgumentMatchers.<Key[]>any()))
+        .thenAnswer(
+            invocation -> {
+              // a delete of the same key completes while the read is in flight
+              this.datastoreTemplate.deleteById(this.key1, CachedTestEntity.class);
+              return Collections.singletonList(cachedEntity);
+            });
+
+    this.datastoreTemplate.findById(this.key1, CachedTestEntity.class);
+
+    assertThat(entityCache.get(this.key1)).isNull();
+  }
+
+  @Test
+  void transactionsBypassEntityCacheTest() {
+    LocalDatastoreEntityCache entityCache =
+        new LocalDatastoreEntityCache(100, Duration.ofMinutes(1));
+    this.datastoreTemplate.setEntityCache(entityCache);
+    Entity cachedEntity = mockCachedTestEntity();
+    entityCache.put(this.key1, cachedEntity);
+
+    DatastoreReaderWriter transactionContext = mock(DatastoreReaderWriter.class);
+    when(this.datastore.runInTransaction(any()))
+        .thenAnswer(
+            invocation -> {
+              TransactionCallable<Object> callable = invocation.getArgument(0);
+              Object result = callable.run(transactionContext);
+              // read concurrently before the transaction commits
+              entityCache.put(this.key1, cachedEntity);
+              return result;
+            });
+    when(transactionContext.fetch(ArgumentMatchers.<Key[]>any()))
+        .thenReturn(Collections.singletonList(cachedEntity));
+
+    this.datastoreTemplate.performTransaction(
+        datastoreOperations -> {
+          datastoreOperations.findById(this.key1, CachedTestEntity.class);
+          datastoreOperations.deleteById(this.key1, CachedTestEntity.class);
+          return null;
+        });
+
+    verify(transactionContext, times(1)).fetch(this.key1);
+    assertThat(entityCache.getHitCount()).isZero();
+    assertThat(entityCache.get(this.key1)).isNull();
+  }
+
+  private Entity mockCachedTestEntity() {
+    Entity cachedEntity = Entity.newBuilder(this.key1).set("color", "red").build();
+    when(this.datastore.fetch(ArgumentMatchers.<Key[]>any()))
+        .thenReturn(Collections.singletonList(cachedEntity));
+    when(this.datastoreEntityConverter.read(CachedTestEntity.class, cachedEntity))
+        .thenAnswer(invocation -> new CachedTestEntity());
+    when(this.datastoreEntityConverter.getDiscriminationPersistentEntity(
+            CachedTestEntity.class, cachedEntity))
+        .thenReturn(
+            (DatastorePersistentEntity)
+                new DatastoreMappingContext().getDatastorePersistentEntity(CachedTestEntity.class));
+    return cachedEntity;
+  }
+
   @Test
   void findAllByIdTestNotNull() {
     assertThat(
@@ -570,6 +671,113 @@ class DatastoreTemplateTests {
         x -> {});
   }
 
+  @Test
+  void findAllByIdFetchesReferencesOfAllEntitiesTogetherTest() {
+    Entity parent1 = Entity.newBuilder(this.key1).set("sibling", this.childKey2).build();
+    Entity parent2 = Entity.newBuilder(this.key2).set("sibling", this.childKey3).build();
+    Entity sibling1 = Entity.newBuilder(this.childKey2).build();
+    Entity sibling2 = Entity.newBuilder(this.childKey3).build();
+    Map<Key, Entity> entities =
+        Map.of(
+            this.key1, parent1, this.key2, parent2, this.childKey2, sibling1,
+            this.childKey3, sibling2);
+    List<Set<Object>> lookups = new ArrayList<>();
+    when(this.datastore.fetch(ArgumentMatchers.<Key[]>any()))
+        .thenAnswer(
+            invocation -> {
+              lookups.add(Set.of(invocation.getArguments()));
+              return Arrays.stream(invocation.getArguments()).map(entities::get).toList();
+            });
+
+    DatastorePersistentEntity referenceTestPersistentEntity =
+        new DatastoreMappingContext().getDatastorePersistentEntity(ReferenceTestEntity.class);
+    Map<Entity, ReferenceTestEntity> converted = new HashMap<>();
+    for (Entity entity : entities.values()) {
+      ReferenceTestEntity referenceTestEntity = new ReferenceTestEntity();
+      converted.put(entity, referenceTestEntity);
+      when(this.datastoreEntityConverter.read(eq(ReferenceTestEntity.class), same(entity)))
+          .thenReturn(referenceTestEntity);
+      when(this.datastoreEntityConverter.getDiscriminationPersistentEntity(
+              eq(ReferenceTestEntity.class), same(entity)))
+          .thenReturn(referenceTestPersistentEntity);
+    }
+
+    Collection<ReferenceTestEntity> results =
+        this.datastoreTemplate.findAllById(
+            Arrays.asList(this.key1, this.key2), ReferenceTestEntity.class);
+
+    assertThat(results).hasSize(2);
+    assertThat(converted.get(parent1).sibling).isSameAs(converted.get(sibling1));
+    assertThat(converted.get(parent2).sibling).isSameAs(converted.get(sibling2));
+    assertThat(lookups)
+        .containsExactly(
+            Set.of(this.key1, this.key2), Set.of(this.childKey2, this.childKey3));
+  }
+
+  @Test
+  void findAllByIdSplitsLookupsTest() {
+    List<Key> keys = new ArrayList<>();
+    for (int i = 0; i < 1001; i++) {
+      Key key = createFakeKey("key_" + i);
+      keys.add(key);
+      when(this.objectToKeyFactory.getKeyFromId(same(key), any())).thenReturn(key);
+    }
+    List<Integer> lookupSizes = new ArrayList<>();
+    when(this.datastore.fetch(ArgumentMatchers.<Key[]>any()))
+        .thenAnswer(
+            invocation -> {
+              lookupSizes.add(invocation.getArguments().length);
+              return Arrays.asList(new Entity[invocation.getArguments().length]);
+            });
+
+    assertThat(this.datastoreTemplate.findAllById(keys, TestEntity.class)).isEmpty();
+    assertThat(lookupSizes).containsExactly(1000, 1);
+  }
+
+  @Test
+  void findAllRunsDescendantQueriesOnExecutorTest() {
+    AtomicInteger tasks = new AtomicInteger();
+    this.datastoreTemplate.setReadExecutor(
+        task -> {
+          tasks.incrementAndGet();
+          task.run();
+        });
+
+    assertThat(this.datastoreTemplate.findAll(TestEntity.class)).contains(this.ob1, this.ob2);
+    assertThat(tasks).hasValue(2);
+    assertThat(this.ob1.childEntities).contains(this.childEntity1);
+
+    this.datastoreTemplate.setMaxConcurrentDescendantQueries(1);
+    this.datastoreTemplate.findAll(TestEntity.class);
+    assertThat(tasks).hasValue(2);
+  }
+
+  @Test
+  void findAllRunsDescendantQueriesOnOwnThreadsByDefaultTest() {
+    Set<String> threadNames = ConcurrentHashMap.newKeySet();
+    when(this.datastore.run(
+            Query.newEntityQueryBuilder()
+                .setKind("child_entity")
+                .setFilter(PropertyFilter.hasAncestor(this.key2))
+                .build()))
+        .thenAnswer(
+            invocation -> {
+              threadNames.add(Thread.currentThread().getName());
+              return null;
+            });
+
+    assertThat(this.datastoreTemplate.findAll(TestEntity.class)).contains(this.ob1, this.ob2);
+    assertThat(threadNames).isNotEmpty().allMatch(name -> name.startsWith("datastore-read-"));
+
+    // the shut down executor is not used again
+    this.datastoreTemplate.destroy();
+    threadNames.clear();
+    assertThat(this.datastoreTemplate.findAll(TestEntity.class)).contains(this.ob1, this.ob2);
+    assertThat(threadNames).isNotEmpty().allMatch(name -> name.startsWith("datastore-read-"));
+
+    this.datastoreTemplate.destroy();
+  }
+
   @ParameterizedTest
   @EnumSource(SaveOrInsertMethod.class)
   void saveOrInsertReferenceLoopTest(SaveOrInsertMethod method) {
@@ -1002,6 +1210,122 @@ class DatastoreTemplateTests {
         x -> {});
   }
 
+  @Test
+  void queryLazilyReadsPagesWithCursorsTest() {
+    this.datastoreTemplate.setLazyQueryPageSize(1);
+    EntityQuery query = Query.newEntityQueryBuilder().setKind("test_kind").build();
+    Cursor cursor1 = Cursor.copyFrom("c1".getBytes());
+    Cursor cursor2 = Cursor.copyFrom("c2".getBytes());
+    mockPageResults(
+        query.toBuilder().setOffset(0).setLimit(1).build(),
+        cursor1,
+        MoreResultsType.MORE_RESULTS_AFTER_LIMIT,
+        this.e1);
+    mockPageResults(
+        query.toBuilder().setStartCursor(cursor1).setOffset(0).setLimit(1).build(),
+        cursor2,
+        MoreResultsType.MORE_RESULTS_AFTER_LIMIT,
+        this.e2);
+    mockPageResults(
+        query.toBuilder().setStartCursor(cursor2).setOffset(0).setLimit(1).build(),
+        cursor2,
+        MoreResultsType.NO_MORE_RESULTS);
+
+    Iterable<TestEntity> results = this.datastoreTemplate.queryLazily(query, TestEntity.class);
+    verify(this.datastore, never()).run(any());
+
+    Iterator<TestEntity> iterator = results.iterator();
+    assertThat(iterator.next()).isSameAs(this.ob1);
+    verify(this.datastore, times(1)).run(argThat(isPageQuery()));
+    assertThat(iterator.next()).isSameAs(this.ob2);
+    assertThat(iterator.hasNext()).isFalse();
+    // references and descendants are still loaded for each page
+    assertThat(this.ob1.childEntities).contains(this.childEntity1);
+
+    assertThat(results).containsExactly(this.ob1, this.ob2);
+  }
+
+  @Test
+  void queryLazilyAppliesLimitToAllPagesTest() {
+    this.datastoreTemplate.setLazyQueryPageSize(1);
+    this.datastoreTemplate.setMaxConcurrentDescendantQueries(1);
+    this.datastoreTemplate.setPrefetchLazyQueryPages(true);
+    AtomicInteger prefetchedPages = new AtomicInteger();
+    this.datastoreTemplate.setReadExecutor(
+        task -> {
+          prefetchedPages.incrementAndGet();
+          task.run();
+        });
+    EntityQuery query = Query.newEntityQueryBuilder().setKind("test_kind").setLimit(2).build();
+    Cursor cursor1 = Cursor.copyFrom("c1".getBytes());
+    Cursor cursor2 = Cursor.copyFrom("c2".getBytes());
+    mockPageResults(
+        query.toBuilder().setOffset(0).setLimit(1).build(),
+        cursor1,
+        MoreResultsType.MORE_RESULTS_AFTER_LIMIT,
+        this.e1);
+    mockPageResults(
+        query.toBuilder().setStartCursor(cursor1).setOffset(0).setLimit(1).build(),
+        cursor2,
+        MoreResultsType.MORE_RESULTS_AFTER_LIMIT,
+        this.e2);
+
+    assertThat(this.datastoreTemplate.queryLazily(query, TestEntity.class))
+        .containsExactly(this.ob1, this.ob2);
+    assertThat(prefetchedPages).hasValue(1);
+    verify(this.datastore, times(2)).run(argThat(isPageQuery()));
+  }
+
+  @Test
+  void queryLazilyReadsRejectedPrefetchWhenNeededTest() {
+    this.datastoreTemplate.setLazyQueryPageSize(1);
+    this.datastoreTemplate.setMaxConcurrentDescendantQueries(1);
+    this.datastoreTemplate.setPrefetchLazyQueryPages(true);
+    EntityQuery query = Query.newEntityQueryBuilder().setKind("test_kind").setLimit(2).build();
+    Cursor cursor1 = Cursor.copyFrom("c1".getBytes());
+    Cursor cursor2 = Cursor.copyFrom("c2".getBytes());
+    mockPageResults(
+        query.toBuilder().setOffset(0).setLimit(1).build(),
+        cursor1,
+        MoreResultsType.MORE_RESULTS_AFTER_LIMIT,
+        this.e1);
+    mockPageResults(
+        query.toBuilder().setStartCursor(cursor1).setOffset(0).setLimit(1).build(),
+        cursor2,
+        MoreResultsType.MORE_RESULTS_AFTER_LIMIT,
+        this.e2);
+    Iterable<TestEntity> results = this.datastoreTemplate.queryLazily(query, TestEntity.class);
+
+    // the executor is replaced after the results were returned
+    this.datastoreTemplate.setReadExecutor(
+        task -> {
+          throw new RejectedExecutionException("shut down");
+        });
+
+    assertThat(results).containsExactly(this.ob1, this.ob2);
+    verify(this.datastore, times(2)).run(argThat(isPageQuery()));
+  }
+
+  private static ArgumentMatcher<Query> isPageQuery() {
+    return query -> query instanceof EntityQuery entityQuery
+        && "test_kind".equals(entityQuery.getKind());
+  }
+
+  private void mockPageResults(
+      EntityQuery pageQuery, Cursor cursorAfter, MoreResultsType moreResults, Entity... entities) {
+    QueryResults<Entity> results = mock(QueryResults.class);
+    doAnswer(
+            invocation -> {
+              Arrays.asList(entities).forEach(invocation.getArgument(0));
+              return null;
+            })
+        .when(results)
+        .forEachRemaining(any());
+    when(results.getCursorAfter()).thenReturn(cursorAfter);
+    when(results.getMoreResults()).thenReturn(moreResults);
+    when(this.datastore.run(pageQuery)).thenReturn(results);
+  }
+
   @Test
   @SuppressWarnings("ReturnValueIgnored")
   void queryKeysTest() {
@@ -1065,6 +1389,24 @@ class DatastoreTemplateTests {
     assertThat(this.datastoreTemplate.count(TestEntity.class)).isEqualTo(2);
   }
 
+  @Test
+  void countGqlQueryTest() {
+    AggregationResult aggregationResult = mock(AggregationResult.class);
+    AggregationResults aggregationResults = mock(AggregationResults.class);
+    when(aggregationResult.get("total_count")).thenReturn(3L);
+    when(aggregationResults.iterator()).thenReturn(List.of(aggregationResult).iterator());
+
+    GqlQuery<?> countQuery =
+        Query.newGqlQueryBuilder(
+                "AGGREGATE COUNT(*) AS total_count OVER (SELECT * FROM custom_test_kind)")
+            .build();
+
+    when(this.datastore.runAggregation(
+            argThat(aggregationQuery -> countQuery.equals(aggregationQuery.getNestedGqlQuery()))))
+        .thenReturn(aggregationResults);
+    assertThat(this.datastoreTemplate.countResults(countQuery)).isEqualTo(3);
+  }
+
   private ArgumentMatcher<AggregationQuery> equalsTo(AggregationQuery expectedAggregationQuery) {
     return actualAggregationQuery ->
         expectedAggregationQuery.getAggregations().equals(actualAggregationQuery.getAggregations())
@@ -1157,6 +1499,60 @@ class DatastoreTemplateTests {
         x -> x.verify(this.datastore, times(1)).delete(same(this.key1), same(this.key2)));
   }
 
+  @Test
+  void deleteAllConcurrentlyReportsFailedSlicesTest() {
+    AtomicInteger tasks = new AtomicInteger();
+    this.datastoreTemplate.setMaxWriteSize(1);
+    this.datastoreTemplate.setMaxConcurrentWrites(2);
+    this.datastoreTemplate.setWriteExecutor(
+        task -> {
+          tasks.incrementAndGet();
+          task.run();
+        });
+    DatastoreDataException failure = new DatastoreDataException("write failed");
+    doThrow(failure).when(this.datastore).delete(same(this.key1));
+    ApplicationEventPublisher mockPublisher = mock(ApplicationEventPublisher.class);
+    this.datastoreTemplate.setApplicationEventPublisher(mockPublisher);
+
+    assertThatThrownBy(() -> this.datastoreTemplate.deleteAll(Arrays.asList(this.ob1, this.ob2)))
+        .isInstanceOfSatisfying(
+            DatastoreBatchWriteException.class,
+            ex ->
+                assertThat(ex.getFailedSlices())
+                    .containsExactly(Map.entry(0, Collections.singletonList(this.key1))))
+        .hasMessage("Failed to write 1 of 2 slices: [0]")
+        .hasCause(failure);
+
+    assertThat(tasks).hasValue(2);
+    verify(this.datastore, times(1)).delete(same(this.key2));
+    verify(mockPublisher, times(1)).publishEvent(any(BeforeDeleteEvent.class));
+    verify(mockPublisher, never()).publishEvent(any(AfterDeleteEvent.class));
+  }
+
+  @Test
+  void deleteAllConcurrentlyOnOwnThreadsByDefaultTest() {
+    this.datastoreTemplate.setMaxWriteSize(1);
+    this.datastoreTemplate.setMaxConcurrentWrites(2);
+    Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    doAnswer(
+            invocation -> {
+              threads.add(Thread.currentThread());
+              return null;
+            })
+        .when(this.datastore)
+        .delete(ArgumentMatchers.<Key[]>any());
+
+    this.datastoreTemplate.deleteAll(Arrays.asList(this.ob1, this.ob2));
+    this.datastoreTemplate.deleteAll(Arrays.asList(this.ob1, this.ob2));
+
+    // the threads of the template's pool are reused by later writes
+    assertThat(threads)
+        .hasSizeBetween(1, 2)
+        .allMatch(thread -> thread.getName().startsWith("datastore-write-"));
+
+    this.datastoreTemplate.destroy();
+  }
+
   private void verifyBeforeAndAfterEvents(
       ApplicationEvent expectedBefore,
       ApplicationEvent expectedAfter,
@@ -1524,6 +1920,14 @@ class DatastoreTemplateTests {
     }
   }
 
+  @com.google.cloud.spring.data.datastore.core.mapping.Entity(name = "custom_test_kind")
+  @CachedEntity
+  private static class CachedTestEntity {
+    @Id Key id;
+
+    String color;
+  }
+
   @com.google.cloud.spring.data.datastore.core.mapping.Entity(name = "test_kind")
   private static class SimpleTestEntity {
     @Id String id;
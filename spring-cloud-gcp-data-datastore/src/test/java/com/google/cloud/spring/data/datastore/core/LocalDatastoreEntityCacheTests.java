@@ -0,0 +1,75 @@
+/*
+ * Copyright 2023 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.spring.data.datastore.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.cloud.datastore.Entity;
+import com.google.cloud.datastore.Key;
+import com.google.cloud.datastore.KeyFactory;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+/** Tests for the in-memory Datastore entity cache. */
+class LocalDatastoreEntityCacheTests {
+
+  private final KeyFactory keyFactory = new KeyFactory("project").setKind("test_kind");
+
+  @Test
+  void cachesAndEvictsEntitiesTest() {
+    LocalDatastoreEntityCache cache = new LocalDatastoreEntityCache(10, Duration.ofMinutes(1));
+    Key key = this.keyFactory.newKey("a");
+    Entity entity = Entity.newBuilder(key).set("color", "red").build();
+
+    assertThat(cache.getHitRate()).isEqualTo(1.0);
+    assertThat(cache.get(key)).isNull();
+    cache.put(key, entity);
+    assertThat(cache.get(key)).isSameAs(entity);
+    assertThat(cache.getHitCount()).isEqualTo(1);
+    assertThat(cache.getMissCount()).isEqualTo(1);
+    assertThat(cache.getHitRate()).isEqualTo(0.5);
+
+    cache.evict(key);
+    assertThat(cache.get(key)).isNull();
+    cache.put(key, entity);
+    cache.clear();
+    assertThat(cache.get(key)).isNull();
+  }
+
+  @Test
+  void evictsEntitiesBeyondMaximumSizeTest() {
+    LocalDatastoreEntityCache cache = new LocalDatastoreEntityCache(1, Duration.ofMinutes(1));
+    Key keyA = this.keyFactory.newKey("a");
+    Key keyB = this.keyFactory.newKey("b");
+    cache.put(keyA, Entity.newBuilder(keyA).build());
+    cache.put(keyB, Entity.newBuilder(keyB).build());
+
+    assertThat(cache.get(keyA)).isNull();
+    assertThat(cache.get(keyB)).isNotNull();
+  }
+
+  @Test
+  void invalidSettingsTest() {
+    assertThatThrownBy(() -> new LocalDatastoreEntityCache(0, Duration.ofMinutes(1)))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("The maximum size must be positive.");
+    assertThatThrownBy(() -> new LocalDatastoreEntityCache(10, Duration.ZERO))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("The time to live must be positive.");
+  }
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2023 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.spring.data.datastore.core.convert;
+
+import com.google.cloud.NoCredentials;
+import com.google.cloud.Timestamp;
+import com.google.cloud.datastore.Datastore;
+import com.google.cloud.datastore.DatastoreOptions;
+import com.google.cloud.datastore.Entity;
+import com.google.cloud.datastore.Key;
+import com.google.cloud.spring.data.datastore.core.mapping.DatastoreMappingContext;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.annotation.Id;
+
+/**
+ * Measures reading and writing flat, embedded and collection-heavy entities with a {@link
+ * DefaultDatastoreEntityConverter}, with and without compiled entity mappers.
+ *
+ * <p>Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.google.cloud.spring.data.datastore.core.convert.DatastoreEntityConverterBenchmark}
+ * from the module directory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DatastoreEntityConverterBenchmark {
+
+  @Param({"false", "true"})
+  public boolean compiledMappers;
+
+  private DefaultDatastoreEntityConverter converter;
+
+  private Key key;
+
+  private FlatEntity flatEntity;
+
+  private EmbeddingEntity embeddingEntity;
+
+  private CollectionsEntity collectionsEntity;
+
+  private Entity flatDatastoreEntity;
+
+  private Entity embeddingDatastoreEntity;
+
+  private Entity collectionsDatastoreEntity;
+
+  @Setup
+  public void setUp() {
+    // only used to create keys, so never connects to Cloud Datastore
+    Datastore datastore =
+        DatastoreOptions.newBuilder()
+            .setProjectId("benchmark")
+            .setCredentials(NoCredentials.getInstance())
+            .build()
+            .getService();
+    this.converter =
+        new DefaultDatastoreEntityConverter(
+            new DatastoreMappingContext(), new DatastoreServiceObjectToKeyFactory(() -> datastore));
+    this.converter.setUseCompiledMappers(this.compiledMappers);
+    this.key = datastore.newKeyFactory().setKind("benchmark").newKey("id");
+
+    this.flatEntity = createFlatEntity(0);
+
+    this.embeddingEntity = new EmbeddingEntity();
+    this.embeddingEntity.name = "embedding";
+    this.embeddingEntity.embedded = createFlatEntity(1);
+    this.embeddingEntity.embeddedList = new ArrayList<>();
+    this.embeddingEntity.embeddedMap = new HashMap<>();
+    for (int i = 0; i < 5; i++) {
+      this.embeddingEntity.embeddedList.add(createFlatEntity(i));
+      this.embeddingEntity.embeddedMap.put("key" + i, "value" + i);
+    }
+
+    this.collectionsEntity = new CollectionsEntity();
+    this.collectionsEntity.strings = new ArrayList<>();
+    this.collectionsEntity.longs = new ArrayList<>();
+    this.collectionsEntity.doubles = new double[50];
+    this.collectionsEntity.durations = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      this.collectionsEntity.strings.add("value" + i);
+      this.collectionsEntity.longs.add((long) i);
+      this.collectionsEntity.doubles[i] = i / 2.0;
+      this.collectionsEntity.durations.add(Duration.ofSeconds(i));
+    }
+
+    this.flatDatastoreEntity = write(this.flatEntity);
+    this.embeddingDatastoreEntity = write(this.embeddingEntity);
+    this.collectionsDatastoreEntity = write(this.collectionsEntity);
+  }
+
+  private static FlatEntity createFlatEntity(int i) {
+    FlatEntity entity = new FlatEntity();
+    entity.id = "id" + i;
+    entity.name = "name" + i;
+    entity.count = i;
+    entity.price = i * 1.5;
+    entity.active = i % 2 == 0;
+    entity.color = Color.values()[i % Color.values().length];
+    entity.created = Timestamp.ofTimeSecondsAndNanos(i, 0);
+    entity.timeout = Duration.ofMinutes(i);
+    return entity;
+  }
+
+  private Entity write(Object entity) {
+    Entity.Builder builder = Entity.newBuilder(this.key);
+    this.converter.write(entity, builder);
+    return builder.build();
+  }
+
+  @Benchmark
+  public Object readFlat() {
+    return this.converter.read(FlatEntity.class, this.flatDatastoreEntity);
+  }
+
+  @Benchmark
+  public Object writeFlat() {
+    return write(this.flatEntity);
+  }
+
+  @Benchmark
+  public Object readEmbedded() {
+    return this.converter.read(EmbeddingEntity.class, this.embeddingDatastoreEntity);
+  }
+
+  @Benchmark
+  public Object writeEmbedded() {
+    return write(this.embeddingEntity);
+  }
+
+  @Benchmark
+  public Object readCollections() {
+    return this.converter.read(CollectionsEntity.class, this.collectionsDatastoreEntity);
+  }
+
+  @Benchmark
+  public Object writeCollections() {
+    return write(this.collectionsEntity);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(DatastoreEntityConverterBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+        .run();
+  }
+
+  /** The values of an enum property. */
+  public enum Color {
+    RED,
+    GREEN,
+    BLUE
+  }
+
+  /** An entity with simple properties only. */
+  @com.google.cloud.spring.data.datastore.core.mapping.Entity(name = "flat")
+  public static class FlatEntity {
+
+    @Id String id;
+
+    String name;
+
+    int count;
+
+    double price;
+
+    boolean active;
+
+    Color color;
+
+    Timestamp created;
+
+    Duration timeout;
+  }
+
+  /** An entity with embedded entities and maps. */
+  @com.google.cloud.spring.data.datastore.core.mapping.Entity(name = "embedding")
+  public static class EmbeddingEntity {
+
+    @Id String id;
+
+    String name;
+
+    FlatEntity embedded;
+
+    List<FlatEntity> embeddedList;
+
+    Map<String, String> embeddedMap;
+  }
+
+  /** An entity with collections and arrays of simple values. */
+  @com.google.cloud.spring.data.datastore.core.mapping.Entity(name = "collections")
+  public static class CollectionsEntity {
+
+    @Id String id;
+
+    List<String> strings;
+
+    List<Long> longs;
+
+    double[] doubles;
+
+    List<Duration> durations;
+  }
+}
@@ -864,6 +864,52 @@ class DefaultDatastoreEntityConverterTests {
     assertThat(read).as("read objects equals the original one").isEqualTo(item);
   }
 
+  @Test
+  void compiledMappersTest() {
+    UnindexedTestDatastoreItem item = new UnindexedTestDatastoreItem();
+    item.setIndexedField(1L);
+    item.setUnindexedField(2L);
+    item.setUnindexedStringListField(Arrays.asList("a", "b"));
+    item.setUnindexedMapField(new MapBuilder<String, String>().put("c", "C").build());
+    item.setEmbeddedItem(new UnindexedTestDatastoreItem(2, null));
+    item.setUnindexedItems(
+        Collections.singletonList(new UnindexedTestDatastoreItem(3, null)));
+
+    DatastoreMappingContext mappingContext = new DatastoreMappingContext();
+    DefaultDatastoreEntityConverter entityConverter =
+        new DefaultDatastoreEntityConverter(
+            mappingContext, new DatastoreServiceObjectToKeyFactory(() -> this.datastore));
+    Entity.Builder builder = getEntityBuilder();
+    entityConverter.write(item, builder);
+    Entity entity = builder.build();
+
+    entityConverter.setUseCompiledMappers(true);
+    Entity.Builder compiledBuilder = getEntityBuilder();
+    entityConverter.write(item, compiledBuilder);
+
+    assertThat(compiledBuilder.build()).isEqualTo(entity);
+    assertThat(entity.getValue("unindexedField").excludeFromIndexes()).isTrue();
+    assertThat(entityConverter.read(UnindexedTestDatastoreItem.class, entity))
+        .usingRecursiveComparison()
+        .isEqualTo(item);
+
+    Entity discriminatedEntity =
+        getEntityBuilder()
+            .set("discrimination_column", "A", "unused", "anotherParentValue")
+            .set("boolField", true)
+            .set("intField", 99)
+            .set("enumField", "WHITE")
+            .build();
+    assertThat(entityConverter.read(DiscrimEntityX.class, discriminatedEntity))
+        .isInstanceOf(DiscrimEntityA.class);
+
+    Entity invalidEntity = getEntityBuilder().set("indexedField", "not a number").build();
+    assertThatThrownBy(() -> entityConverter.read(UnindexedTestDatastoreItem.class, invalidEntity))
+        .isInstanceOf(DatastoreDataException.class)
+        .hasMessageContaining("Unable to read")
+        .hasStackTraceContaining("Unable to read property indexedField");
+  }
+
   @Test
   void privateCustomMapExceptionTest() {
     ServiceConfigurationPrivateCustomMap config =
@@ -17,10 +17,16 @@
 package com.google.cloud.spring.data.datastore.core.util;
 
 import static com.google.cloud.spring.data.datastore.core.util.SliceUtil.sliceAndExecute;
+import static com.google.cloud.spring.data.datastore.core.util.SliceUtil.sliceAndExecuteConcurrently;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.junit.jupiter.api.Test;
 
 class SliceUtilTest {
@@ -64,6 +70,52 @@ class SliceUtilTest {
     assertThat(slices).isEmpty();
   }
 
+  @Test
+  void sliceAndExecuteConcurrentlyTest() {
+    Integer[] elements = getIntegers(7);
+    List<Integer[]> slices = Collections.synchronizedList(new ArrayList<>());
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      SortedMap<Integer, RuntimeException> failures =
+          sliceAndExecuteConcurrently(elements, 3, slices::add, executor, 2);
+      assertThat(failures).isEmpty();
+    } finally {
+      executor.shutdown();
+    }
+    assertThat(slices)
+        .containsExactlyInAnyOrder(
+            new Integer[] {0, 1, 2}, new Integer[] {3, 4, 5}, new Integer[] {6});
+  }
+
+  @Test
+  void sliceAndExecuteConcurrentlyFailuresTest() {
+    Integer[] elements = getIntegers(7);
+    List<Integer[]> slices = new ArrayList<>();
+    RuntimeException failure = new IllegalStateException("failed");
+    SortedMap<Integer, RuntimeException> failures =
+        sliceAndExecuteConcurrently(
+            elements,
+            3,
+            slice -> {
+              if (slice[0] == 3) {
+                throw failure;
+              }
+              slices.add(slice);
+            },
+            Runnable::run,
+            2);
+    assertThat(failures).containsExactly(Map.entry(1, failure));
+    assertThat(slices).containsExactly(new Integer[] {0, 1, 2}, new Integer[] {6});
+  }
+
+  @Test
+  void sliceAndExecuteSingleSliceTest() {
+    Integer[] elements = getIntegers(3);
+    List<Integer[]> slices = new ArrayList<>();
+    sliceAndExecute(elements, 3, slices::add);
+    assertThat(slices).singleElement().isSameAs(elements);
+  }
+
   private Integer[] getIntegers(Integer inputSize) {
     Integer[] elements = new Integer[inputSize];
     for (int i = 0; i < inputSize; i++) {
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2023 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.spring.data.datastore.repository.query;
+
+import com.google.cloud.datastore.BaseEntity;
+import com.google.cloud.datastore.Query;
+import com.google.cloud.spring.data.datastore.core.DatastoreResultsIterable;
+import com.google.cloud.spring.data.datastore.core.DatastoreTemplate;
+import com.google.cloud.spring.data.datastore.core.convert.DatastoreServiceObjectToKeyFactory;
+import com.google.cloud.spring.data.datastore.core.convert.DefaultDatastoreEntityConverter;
+import com.google.cloud.spring.data.datastore.core.convert.ObjectToKeyFactory;
+import com.google.cloud.spring.data.datastore.core.mapping.DatastoreMappingContext;
+import com.google.cloud.spring.data.datastore.core.mapping.Entity;
+import com.google.cloud.spring.data.datastore.repository.DatastoreRepository;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.data.repository.core.support.DefaultRepositoryMetadata;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.query.QueryMethodEvaluationContextProvider;
+
+/**
+ * Measures the per-call cost of building and binding the GQL of a {@link GqlDatastoreQuery}, with
+ * a template that returns no results instead of calling Cloud Datastore.
+ *
+ * <p>Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.google.cloud.spring.data.datastore.repository.query.GqlDatastoreQueryBenchmark}
+ * from the module directory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GqlDatastoreQueryBenchmark {
+
+  private GqlDatastoreQuery<Trade> query;
+
+  private GqlDatastoreQuery<Trade> pagedQuery;
+
+  private final Object[] parameters = {"BUY", 10.0, Sort.by("price")};
+
+  private final Object[] pagedParameters = {"BUY", 10.0, PageRequest.of(2, 20, Sort.by("price"))};
+
+  @Setup
+  public void setUp() throws NoSuchMethodException {
+    DatastoreMappingContext mappingContext = new DatastoreMappingContext();
+    ObjectToKeyFactory objectToKeyFactory = new DatastoreServiceObjectToKeyFactory(() -> null);
+    DatastoreTemplate template =
+        new DatastoreTemplate(
+            () -> null,
+            new DefaultDatastoreEntityConverter(mappingContext, objectToKeyFactory),
+            mappingContext,
+            objectToKeyFactory) {
+          @Override
+          public <T> DatastoreResultsIterable<?> queryKeysOrEntities(
+              Query query, Class<T> entityClass) {
+            return new DatastoreResultsIterable<>(Collections.emptyIterator(), null);
+          }
+        };
+    this.query = createQuery("findTrades", Sort.class, template, mappingContext);
+    this.pagedQuery = createQuery("findTradesPaged", Pageable.class, template, mappingContext);
+  }
+
+  private static GqlDatastoreQuery<Trade> createQuery(
+      String methodName,
+      Class<?> pagingParameterType,
+      DatastoreTemplate template,
+      DatastoreMappingContext mappingContext)
+      throws NoSuchMethodException {
+    Method method =
+        TradeRepository.class.getMethod(
+            methodName, String.class, double.class, pagingParameterType);
+    DatastoreQueryMethod queryMethod =
+        new DatastoreQueryMethod(
+            method,
+            new DefaultRepositoryMetadata(TradeRepository.class),
+            new SpelAwareProxyProjectionFactory());
+    return new GqlDatastoreQuery<>(
+        Trade.class,
+        queryMethod,
+        template,
+        method.getAnnotation(
+                com.google.cloud.spring.data.datastore.repository.query.Query.class)
+            .value(),
+        QueryMethodEvaluationContextProvider.DEFAULT,
+        mappingContext);
+  }
+
+  @Benchmark
+  public Object sorted() {
+    return this.query.execute(this.parameters);
+  }
+
+  @Benchmark
+  public Object sortedAndPaged() {
+    return this.pagedQuery.execute(this.pagedParameters);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(GqlDatastoreQueryBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+        .run();
+  }
+
+  /** The repository whose query methods are measured. */
+  public interface TradeRepository extends DatastoreRepository<Trade, String> {
+
+    @com.google.cloud.spring.data.datastore.repository.query.Query(
+        "SELECT * FROM |com.google.cloud.spring.data.datastore.repository.query."
+            + "GqlDatastoreQueryBenchmark$Trade| WHERE action = @action"
+            + " AND price > :#{#minPrice * 0.9} AND price < :#{#minPrice * 1.1}")
+    List<Trade> findTrades(
+        @Param("action") String action, @Param("minPrice") double minPrice, Sort sort);
+
+    @com.google.cloud.spring.data.datastore.repository.query.Query(
+        "SELECT * FROM |com.google.cloud.spring.data.datastore.repository.query."
+            + "GqlDatastoreQueryBenchmark$Trade| WHERE action = @action"
+            + " AND price > :#{#minPrice * 0.9} AND price < :#{#minPrice * 1.1}")
+    List<Trade> findTradesPaged(
+        @Param("action") String action, @Param("minPrice") double minPrice, Pageable pageable);
+  }
+
+  /** The entity queried. */
+  @Entity(name = "trades")
+  public static class Trade {
+
+    @Id String id;
+
+    String action;
+
+    double price;
+  }
+}
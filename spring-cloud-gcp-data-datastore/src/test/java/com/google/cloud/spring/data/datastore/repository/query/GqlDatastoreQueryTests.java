@@ -20,8 +20,10 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
@@ -225,6 +227,8 @@ class GqlDatastoreQueryTests {
     gqlDatastoreQuery.execute(paramVals);
 
     verify(this.datastoreTemplate, times(1)).queryKeysOrEntities(any(), eq(Trade.class));
+    // all the SpEL expressions are evaluated in the same context
+    verify(this.evaluationContextProvider, times(1)).getEvaluationContext(any(), any());
   }
 
   @Test
@@ -307,6 +311,50 @@ class GqlDatastoreQueryTests {
     verify(this.datastoreTemplate, times(1)).queryKeysOrEntities(any(), eq(Trade.class));
   }
 
+  @Test
+  void sortedGqlReusedAcrossExecutionsTest() {
+
+    String gql = "SELECT * FROM trades WHERE price=@price";
+
+    Sort byP1 = Sort.by(Sort.Order.asc("p1"));
+    Sort byP2 = Sort.by(Sort.Order.desc("p2"));
+
+    String[] paramNames = new String[] {"price", null};
+
+    Parameters parameters = buildParameters(new Object[] {1, byP1}, paramNames);
+
+    when(parameters.hasSortParameter()).thenReturn(true);
+    when(parameters.getSortIndex()).thenReturn(1);
+
+    GqlDatastoreQuery gqlDatastoreQuery = createQuery(gql, false, false);
+
+    List<String> queryStrings = new ArrayList<>();
+    doAnswer(
+            invocation -> {
+              GqlQuery statement = invocation.getArgument(0);
+              queryStrings.add(statement.getQueryString());
+              Map<String, Value> paramMap = statement.getNamedBindings();
+              assertThat(paramMap.get("price").get()).isEqualTo(1L);
+              return null;
+            })
+        .when(this.datastoreTemplate)
+        .queryKeysOrEntities(any(), eq(Trade.class));
+
+    doReturn(false).when(gqlDatastoreQuery).isNonEntityReturnedType(any());
+
+    gqlDatastoreQuery.execute(new Object[] {1, byP1});
+    gqlDatastoreQuery.execute(new Object[] {1, byP2});
+    gqlDatastoreQuery.execute(new Object[] {1, Sort.by(Sort.Order.asc("p1"))});
+    gqlDatastoreQuery.execute(new Object[] {1, Sort.unsorted()});
+
+    assertThat(queryStrings)
+        .containsExactly(
+            "SELECT * FROM trades WHERE price=@price ORDER BY p1 ASC",
+            "SELECT * FROM trades WHERE price=@price ORDER BY p2 DESC",
+            "SELECT * FROM trades WHERE price=@price ORDER BY p1 ASC",
+            "SELECT * FROM trades WHERE price=@price");
+  }
+
   @Test
   void pageableTestSlice() {
 
@@ -386,28 +434,33 @@ class GqlDatastoreQueryTests {
             invocation -> {
               GqlQuery statement = invocation.getArgument(0);
 
-              assertThat(
-                      statement.getQueryString().equals(gql)
-                          || statement.getQueryString().equals(expected))
-                  .isTrue();
+              assertThat(statement.getQueryString()).isEqualTo(expected);
               Map<String, Value> paramMap = statement.getNamedBindings();
 
-              if (statement.getQueryString().equals(expected)) {
-                assertThat(paramMap).hasSize(3);
-                assertThat(paramMap.get("price").get()).isEqualTo(1L);
-                assertThat(paramMap.get("limit").get()).isEqualTo(2L);
-                assertThat(paramMap.get("offset").get()).isEqualTo(0L);
-                return new DatastoreResultsIterable(Collections.emptyList(), cursor);
-              } else if (statement.getQueryString().equals(gql)) {
-                assertThat(paramMap).hasSize(1);
-                assertThat(paramMap.get("price").get()).isEqualTo(1L);
-                return new DatastoreResultsIterable(Arrays.asList(1L, 2L), cursor);
-              }
-              return null;
+              assertThat(paramMap).hasSize(3);
+              assertThat(paramMap.get("price").get()).isEqualTo(1L);
+              assertThat(paramMap.get("limit").get()).isEqualTo(2L);
+              assertThat(paramMap.get("offset").get()).isEqualTo(0L);
+              return new DatastoreResultsIterable(Collections.emptyList(), cursor);
             })
         .when(this.datastoreTemplate)
         .queryKeysOrEntities(any(), eq(Trade.class));
 
+    // the total is counted in Cloud Datastore instead of fetching all the results
+    doAnswer(
+            invocation -> {
+              GqlQuery statement = invocation.getArgument(0);
+
+              assertThat(statement.getQueryString())
+                  .isEqualTo("AGGREGATE COUNT(*) AS total_count OVER (" + gql + ")");
+              Map<String, Value> paramMap = statement.getNamedBindings();
+              assertThat(paramMap).hasSize(1);
+              assertThat(paramMap.get("price").get()).isEqualTo(1L);
+              return 2L;
+            })
+        .when(this.datastoreTemplate)
+        .countResults(isA(GqlQuery.class));
+
     doReturn(false).when(gqlDatastoreQuery).isNonEntityReturnedType(any());
     doAnswer(invocation -> invocation.getArgument(0))
         .when(gqlDatastoreQuery)
@@ -420,6 +473,52 @@ class GqlDatastoreQueryTests {
 
     assertThat(((Page) result).getTotalElements()).isEqualTo(2L);
 
+    verify(this.datastoreTemplate, times(1)).queryKeysOrEntities(any(), eq(Trade.class));
+    verify(this.datastoreTemplate, times(1)).countResults(isA(GqlQuery.class));
+  }
+
+  @Test
+  void pageableTestPageCountsFetchedResultsWithoutAggregationSupport() {
+
+    String gql = "SELECT * FROM trades WHERE price=@price";
+
+    Object[] paramVals = new Object[] {1, PageRequest.of(0, 2)};
+
+    String[] paramNames = new String[] {"price", null};
+
+    Parameters parameters = buildParameters(paramVals, paramNames);
+
+    Mockito.<Class>when(this.queryMethod.getReturnedObjectType()).thenReturn(Trade.class);
+    when(parameters.hasPageableParameter()).thenReturn(true);
+    when(parameters.getPageableIndex()).thenReturn(1);
+
+    GqlDatastoreQuery gqlDatastoreQuery = createQuery(gql, true, true);
+
+    Cursor cursor = Cursor.copyFrom("abc".getBytes());
+
+    doAnswer(
+            invocation -> {
+              GqlQuery statement = invocation.getArgument(0);
+              if (statement.getQueryString().equals(gql)) {
+                assertThat(statement.getNamedBindings()).containsOnlyKeys("price");
+                return new DatastoreResultsIterable(Arrays.asList(1, 2, 3), cursor);
+              }
+              return new DatastoreResultsIterable(Collections.emptyList(), cursor);
+            })
+        .when(this.datastoreTemplate)
+        .queryKeysOrEntities(any(), eq(Trade.class));
+    doThrow(new UnsupportedOperationException())
+        .when(this.datastoreTemplate)
+        .countResults(isA(GqlQuery.class));
+
+    doReturn(false).when(gqlDatastoreQuery).isNonEntityReturnedType(any());
+    doAnswer(invocation -> invocation.getArgument(0))
+        .when(gqlDatastoreQuery)
+        .processRawObjectForProjection(any());
+
+    Page result = (Page) gqlDatastoreQuery.execute(paramVals);
+
+    assertThat(result.getTotalElements()).isEqualTo(3L);
     verify(this.datastoreTemplate, times(2)).queryKeysOrEntities(any(), eq(Trade.class));
   }
 
@@ -25,6 +25,7 @@ import static org.mockito.ArgumentMatchers.isNotNull;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -540,7 +541,8 @@ class PartTreeDatastoreQueryTests {
 
     verify(this.datastoreTemplate, times(1)).queryKeysOrEntities(isA(EntityQuery.class), any());
 
-    verify(this.datastoreTemplate, times(1)).queryKeysOrEntities(isA(KeyQuery.class), any());
+    verify(this.datastoreTemplate, times(1)).countResults(isA(KeyQuery.class));
+    verify(this.datastoreTemplate, never()).queryKeysOrEntities(isA(KeyQuery.class), any());
   }
 
   @Test
@@ -599,7 +601,8 @@ class PartTreeDatastoreQueryTests {
 
     verify(this.datastoreTemplate, times(1)).queryKeysOrEntities(isA(EntityQuery.class), any());
 
-    verify(this.datastoreTemplate, times(1)).queryKeysOrEntities(isA(KeyQuery.class), any());
+    verify(this.datastoreTemplate, times(1)).countResults(isA(KeyQuery.class));
+    verify(this.datastoreTemplate, never()).queryKeysOrEntities(isA(KeyQuery.class), any());
   }
 
   @Test
@@ -710,7 +713,7 @@ class PartTreeDatastoreQueryTests {
                               pageResults.iterator(), Cursor.copyFrom("abc".getBytes()));
                     });
 
-    when(this.datastoreTemplate.queryKeysOrEntities(isA(KeyQuery.class), any()))
+    when(this.datastoreTemplate.countResults(isA(KeyQuery.class)))
             .thenAnswer(
                     invocation -> {
                       KeyQuery statement = invocation.getArgument(0);
@@ -722,8 +725,7 @@ class PartTreeDatastoreQueryTests {
                                       .build();
 
                       assertThat(statement).isEqualTo(expected);
-                      return new DatastoreResultsIterable(
-                              fullResults.iterator(), Cursor.copyFrom("def".getBytes()));
+                      return (long) fullResults.size();
                     });
   }
 
@@ -878,12 +880,16 @@ class PartTreeDatastoreQueryTests {
 
     queryWithMockResult(
             "countByAction", results, getClass().getMethod("countByAction", String.class));
+    when(this.datastoreTemplate.countResults(isA(KeyQuery.class))).thenReturn(1L);
 
     PartTreeDatastoreQuery spyQuery = this.partTreeDatastoreQuery;
 
     Object[] params =
             new Object[] {"BUY", };
     assertThat(spyQuery.execute(params)).isEqualTo(1L);
+
+    // counted in Cloud Datastore without fetching the keys
+    verify(this.datastoreTemplate, never()).queryKeysOrEntities(any(), any());
   }
 
   @Test
@@ -1035,11 +1041,15 @@ class PartTreeDatastoreQueryTests {
             Arrays.asList(tradeA, tradeB),
             getClass().getMethod("findStreamByAction", String.class));
     when(this.queryMethod.isStreamQuery()).thenReturn(true);
+    when(this.datastoreTemplate.queryLazily(any(), Mockito.<Class<Trade>>any()))
+            .thenReturn(Arrays.asList(tradeA, tradeB));
     Object[] params =
             new Object[] {"BUY", };
     Object result = this.partTreeDatastoreQuery.execute(params);
     assertThat(result).isInstanceOf(Stream.class);
     assertThat((Stream) result).hasSize(2).contains(tradeA, tradeB);
+    verify(this.datastoreTemplate).queryLazily(any(EntityQuery.class), eq(Trade.class));
+    verify(this.datastoreTemplate, never()).queryKeysOrEntities(any(), any());
   }
 
   private void queryWithMockResult(
@@ -27,12 +27,13 @@ import com.google.cloud.spring.data.firestore.mapping.UpdateTime;
 import com.google.cloud.spring.data.firestore.transaction.ReactiveFirestoreResourceHolder;
 import com.google.cloud.spring.data.firestore.util.ObservableReactiveUtil;
 import com.google.cloud.spring.data.firestore.util.Util;
+import com.google.firestore.v1.BatchGetDocumentsRequest;
+import com.google.firestore.v1.BatchGetDocumentsResponse;
 import com.google.firestore.v1.CommitRequest;
 import com.google.firestore.v1.CommitResponse;
 import com.google.firestore.v1.Document;
 import com.google.firestore.v1.DocumentMask;
 import com.google.firestore.v1.FirestoreGrpc.FirestoreStub;
-import com.google.firestore.v1.GetDocumentRequest;
 import com.google.firestore.v1.Precondition;
 import com.google.firestore.v1.RunQueryRequest;
 import com.google.firestore.v1.RunQueryResponse;
@@ -40,7 +41,12 @@ import com.google.firestore.v1.StructuredQuery;
 import com.google.firestore.v1.Write;
 import com.google.firestore.v1.Write.Builder;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Consumer;
@@ -73,7 +79,7 @@ public class FirestoreTemplate implements FirestoreReactiveOperations {
   private static final DocumentMask NAME_ONLY_MASK =
       DocumentMask.newBuilder().addFieldPaths(NAME_FIELD).build();
 
-  private static final String NOT_FOUND_DOCUMENT_MESSAGE = "NOT_FOUND: Document";
+  private static final int DEFAULT_READ_BUFFER_SIZE = 100;
 
   private final FirestoreStub firestoreStub;
 
@@ -87,6 +93,12 @@ public class FirestoreTemplate implements FirestoreReactiveOperations {
 
   private int writeBufferSize = FIRESTORE_WRITE_MAX_SIZE;
 
+  private Duration readBufferTimeout = Duration.ofMillis(100);
+
+  private int readBufferSize = DEFAULT_READ_BUFFER_SIZE;
+
+  private boolean readInIdOrder;
+
   /**
    * Constructor for FirestoreTemplate.
    *
@@ -141,13 +153,54 @@ public class FirestoreTemplate implements FirestoreReactiveOperations {
     return this.writeBufferSize;
   }
 
+  /**
+   * Sets the {@link Duration} for how long to wait for the id buffer to fill before reading the
+   * documents of the buffered ids from Firestore for find-by-id operations.
+   *
+   * @param bufferTimeout duration to wait for id buffer to fill before reading from Firestore.
+   *     (default = 100ms)
+   */
+  public void setReadBufferTimeout(Duration bufferTimeout) {
+    this.readBufferTimeout = bufferTimeout;
+  }
+
+  public Duration getReadBufferTimeout() {
+    return this.readBufferTimeout;
+  }
+
+  /**
+   * Sets how many documents to read with a single {@code BatchGetDocuments} call in find-by-id
+   * operations.
+   *
+   * @param bufferReadSize the id buffer size for buffered reads (default = 100)
+   */
+  public void setReadBufferSize(int bufferReadSize) {
+    Assert.isTrue(bufferReadSize > 0, "The FirestoreTemplate buffer read size must be positive");
+    this.readBufferSize = bufferReadSize;
+  }
+
+  public int getReadBufferSize() {
+    return this.readBufferSize;
+  }
+
+  /**
+   * Sets whether find-by-id operations emit entities in the order of their ids, instead of as soon
+   * as each of them is read.
+   *
+   * @param readInIdOrder whether to emit entities in the order of their ids (default = false)
+   */
+  public void setReadInIdOrder(boolean readInIdOrder) {
+    this.readInIdOrder = readInIdOrder;
+  }
+
+  public boolean isReadInIdOrder() {
+    return this.readInIdOrder;
+  }
+
   @Override
   public <T> Mono<Boolean> existsById(Publisher<String> idPublisher, Class<T> entityClass) {
-    return Flux.from(idPublisher)
-        .next()
-        .flatMap(id -> getDocument(id, entityClass, NAME_ONLY_MASK))
-        .map(d -> true)
-        .switchIfEmpty(Mono.just(false))
+    return getDocuments(Flux.from(idPublisher).next().flux(), entityClass, NAME_ONLY_MASK)
+        .hasElements()
         .onErrorMap(
             throwable ->
                 new FirestoreDataException("Unable to determine if document exists", throwable));
@@ -158,10 +211,17 @@ public class FirestoreTemplate implements FirestoreReactiveOperations {
     return findAllById(idPublisher, entityClass).next();
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The ids are buffered and their documents read with a {@code BatchGetDocuments} call per
+   * buffer. The buffer size and buffer timeout, and whether the entities are emitted in the order
+   * of their ids, can be modified by calling {@link #setReadBufferSize}, {@link
+   * #setReadBufferTimeout} and {@link #setReadInIdOrder}.
+   */
   @Override
   public <T> Flux<T> findAllById(Publisher<String> idPublisher, Class<T> entityClass) {
-    return Flux.from(idPublisher)
-        .flatMap(id -> getDocument(id, entityClass, null))
+    return getDocuments(Flux.from(idPublisher), entityClass, null)
         .onErrorMap(
             throwable -> new FirestoreDataException("Error while reading entries by id", throwable))
         .map(document -> getClassMapper().documentToEntity(document, entityClass));
@@ -289,6 +349,9 @@ public class FirestoreTemplate implements FirestoreReactiveOperations {
             this.firestoreStub, resourceName, this.classMapper, this.mappingContext);
     firestoreTemplate.setWriteBufferSize(this.writeBufferSize);
     firestoreTemplate.setWriteBufferTimeout(this.writeBufferTimeout);
+    firestoreTemplate.setReadBufferSize(this.readBufferSize);
+    firestoreTemplate.setReadBufferTimeout(this.readBufferTimeout);
+    firestoreTemplate.setReadInIdOrder(this.readInIdOrder);
 
     return firestoreTemplate;
   }
@@ -383,26 +446,41 @@ public class FirestoreTemplate implements FirestoreReactiveOperations {
             });
   }
 
-  private Mono<Document> getDocument(String id, Class clazz, DocumentMask documentMask) {
-    return Mono.deferContextual(
-            ctx -> {
-              FirestorePersistentEntity<?> persistentEntity =
-                  this.mappingContext.getPersistentEntity(clazz);
-              GetDocumentRequest.Builder builder =
-                  GetDocumentRequest.newBuilder().setName(buildResourceName(persistentEntity, id));
+  private Flux<Document> getDocuments(Flux<String> ids, Class<?> clazz, DocumentMask documentMask) {
+    return Flux.deferContextual(
+        ctx -> {
+          FirestorePersistentEntity<?> persistentEntity =
+              this.mappingContext.getPersistentEntity(clazz);
+          Flux<List<String>> nameBuffers =
+              ids.map(id -> buildResourceName(persistentEntity, id))
+                  .bufferTimeout(this.readBufferSize, this.readBufferTimeout);
+          return this.readInIdOrder
+              ? nameBuffers.flatMapSequential(names -> batchGetDocuments(ctx, names, documentMask))
+              : nameBuffers.flatMap(names -> batchGetDocuments(ctx, names, documentMask));
+        });
+  }
 
-              doIfTransaction(ctx, holder -> builder.setTransaction(holder.getTransactionId()));
+  private Flux<Document> batchGetDocuments(
+      ContextView ctx, List<String> names, DocumentMask documentMask) {
+    // each document is requested once, however many times its id was given
+    BatchGetDocumentsRequest.Builder builder =
+        BatchGetDocumentsRequest.newBuilder()
+            .setDatabase(this.databasePath)
+            .addAllDocuments(new LinkedHashSet<>(names));
 
-              if (documentMask != null) {
-                builder.setMask(documentMask);
-              }
+    doIfTransaction(ctx, holder -> builder.setTransaction(holder.getTransactionId()));
 
-              return ObservableReactiveUtil.<Document>unaryCall(
-                      obs -> this.firestoreStub.getDocument(builder.build(), obs))
-                  .onErrorResume(
-                      throwable -> throwable.getMessage().startsWith(NOT_FOUND_DOCUMENT_MESSAGE),
-                      throwable -> Mono.empty());
-            });
+    if (documentMask != null) {
+      builder.setMask(documentMask);
+    }
+
+    return Flux.defer(
+        () -> {
+          BatchGetResults results = new BatchGetResults(names, this.readInIdOrder);
+          return ObservableReactiveUtil.<BatchGetDocumentsResponse>streamingCall(
+                  obs -> this.firestoreStub.batchGetDocuments(builder.build(), obs))
+              .concatMapIterable(results::accept);
+        });
   }
 
   private void doIfTransaction(
@@ -489,4 +567,62 @@ public class FirestoreTemplate implements FirestoreReactiveOperations {
   public FirestoreClassMapper getClassMapper() {
     return this.classMapper;
   }
+
+  /**
+   * Releases the documents of a {@code BatchGetDocuments} call as its responses arrive, once for
+   * each time their name was requested. Missing documents are reported by their own responses, and
+   * a response for a document that was not requested fails the read.
+   */
+  private static final class BatchGetResults {
+
+    private final List<String> names;
+
+    private final boolean inOrder;
+
+    private final Map<String, Optional<Document>> resolved = new HashMap<>();
+
+    private final Map<String, Integer> occurrences = new HashMap<>();
+
+    private int nextName;
+
+    private BatchGetResults(List<String> names, boolean inOrder) {
+      this.names = names;
+      this.inOrder = inOrder;
+      names.forEach(name -> this.occurrences.merge(name, 1, Integer::sum));
+    }
+
+    private List<Document> accept(BatchGetDocumentsResponse response) {
+      String name;
+      Document document;
+      switch (response.getResultCase()) {
+        case FOUND:
+          document = response.getFound();
+          name = document.getName();
+          break;
+        case MISSING:
+          document = null;
+          name = response.getMissing();
+          break;
+        default:
+          return Collections.emptyList();
+      }
+      if (!this.occurrences.containsKey(name)) {
+        throw new FirestoreDataException(
+            "BatchGetDocuments returned a document that was not requested: " + name);
+      }
+      if (!this.inOrder) {
+        return (document != null)
+            ? Collections.nCopies(this.occurrences.get(name), document)
+            : Collections.emptyList();
+      }
+      // documents are held until the documents of all the names before them have been released
+      this.resolved.put(name, Optional.ofNullable(document));
+      List<Document> released = new ArrayList<>();
+      while (this.nextName < this.names.size()
+          && this.resolved.containsKey(this.names.get(this.nextName))) {
+        this.resolved.get(this.names.get(this.nextName++)).ifPresent(released::add);
+      }
+      return released;
+    }
+  }
 }
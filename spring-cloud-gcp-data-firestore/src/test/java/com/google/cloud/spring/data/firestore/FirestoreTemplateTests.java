@@ -30,12 +30,13 @@ import com.google.cloud.firestore.annotation.DocumentId;
 import com.google.cloud.spring.data.firestore.mapping.FirestoreDefaultClassMapper;
 import com.google.cloud.spring.data.firestore.mapping.FirestoreMappingContext;
 import com.google.cloud.spring.data.firestore.mapping.UpdateTime;
+import com.google.firestore.v1.BatchGetDocumentsRequest;
+import com.google.firestore.v1.BatchGetDocumentsResponse;
 import com.google.firestore.v1.CommitRequest;
 import com.google.firestore.v1.CommitResponse;
 import com.google.firestore.v1.Document.Builder;
 import com.google.firestore.v1.DocumentMask;
 import com.google.firestore.v1.FirestoreGrpc.FirestoreStub;
-import com.google.firestore.v1.GetDocumentRequest;
 import com.google.firestore.v1.Precondition;
 import com.google.firestore.v1.RunQueryRequest;
 import com.google.firestore.v1.RunQueryResponse;
@@ -43,7 +44,11 @@ import com.google.firestore.v1.StructuredQuery;
 import com.google.firestore.v1.Value;
 import com.google.firestore.v1.Write;
 import io.grpc.stub.StreamObserver;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import org.junit.jupiter.api.BeforeEach;
@@ -63,6 +68,8 @@ public class FirestoreTemplateTests {
 
   private static final String parent = "projects/my-project/databases/(default)/documents";
 
+  private static final String DATABASE = "projects/my-project/databases/(default)";
+
   @BeforeEach
   void setup() {
     FirestoreMappingContext mappingContext = new FirestoreMappingContext();
@@ -294,39 +301,31 @@ public class FirestoreTemplateTests {
 
   @Test
   void findByIdTest() {
-    doAnswer(
-            invocation -> {
-              StreamObserver<com.google.firestore.v1.Document> streamObserver =
-                  invocation.getArgument(1);
-              streamObserver.onNext(buildDocument("e1", 100L));
-
-              streamObserver.onCompleted();
-              return null;
-            })
-        .when(this.firestoreStub)
-        .getDocument(any(), any());
+    mockBatchGetDocumentsMethod(false, "e1");
 
     StepVerifier.create(this.firestoreTemplate.findById(Mono.just("e1"), TestEntity.class))
         .expectNext(new TestEntity("e1", 100L))
         .verifyComplete();
 
-    GetDocumentRequest request =
-        GetDocumentRequest.newBuilder().setName(parent + "/testEntities/" + "e1").build();
+    BatchGetDocumentsRequest request =
+        BatchGetDocumentsRequest.newBuilder()
+            .setDatabase(DATABASE)
+            .addDocuments(parent + "/testEntities/" + "e1")
+            .build();
 
-    verify(this.firestoreStub, times(1)).getDocument(eq(request), any());
+    verify(this.firestoreStub, times(1)).batchGetDocuments(eq(request), any());
   }
 
   @Test
   void findByIdErrorTest() {
     doAnswer(
             invocation -> {
-              StreamObserver<com.google.firestore.v1.Document> streamObserver =
-                  invocation.getArgument(1);
+              StreamObserver<BatchGetDocumentsResponse> streamObserver = invocation.getArgument(1);
               streamObserver.onError(new RuntimeException("Firestore error"));
               return null;
             })
         .when(this.firestoreStub)
-        .getDocument(any(), any());
+        .batchGetDocuments(any(), any());
 
     StepVerifier.create(this.firestoreTemplate.findById(Mono.just("e1"), TestEntity.class))
         .expectErrorMatches(
@@ -336,87 +335,130 @@ public class FirestoreTemplateTests {
                     && e.getMessage().contains("Error while reading entries by id"))
         .verify();
 
-    GetDocumentRequest request =
-        GetDocumentRequest.newBuilder().setName(parent + "/testEntities/" + "e1").build();
+    BatchGetDocumentsRequest request =
+        BatchGetDocumentsRequest.newBuilder()
+            .setDatabase(DATABASE)
+            .addDocuments(parent + "/testEntities/" + "e1")
+            .build();
 
-    verify(this.firestoreStub, times(1)).getDocument(eq(request), any());
+    verify(this.firestoreStub, times(1)).batchGetDocuments(eq(request), any());
+    verify(this.firestoreStub, times(1)).batchGetDocuments(any(), any());
   }
 
   @Test
   void findByIdNotFoundTest() {
+    mockBatchGetDocumentsMethod(false);
+
+    StepVerifier.create(this.firestoreTemplate.findById(Mono.just("e1"), TestEntity.class))
+        .verifyComplete();
+
+    BatchGetDocumentsRequest request =
+        BatchGetDocumentsRequest.newBuilder()
+            .setDatabase(DATABASE)
+            .addDocuments(parent + "/testEntities/" + "e1")
+            .build();
+
+    verify(this.firestoreStub, times(1)).batchGetDocuments(eq(request), any());
+  }
+
+  @Test
+  void findByIdUnrequestedDocumentTest() {
     doAnswer(
             invocation -> {
-              StreamObserver<com.google.firestore.v1.Document> streamObserver =
-                  invocation.getArgument(1);
-              streamObserver.onError(new RuntimeException("NOT_FOUND: Document"));
-
+              StreamObserver<BatchGetDocumentsResponse> streamObserver = invocation.getArgument(1);
+              streamObserver.onNext(
+                  BatchGetDocumentsResponse.newBuilder()
+                      .setFound(buildDocument("e2", 100L))
+                      .build());
               streamObserver.onCompleted();
               return null;
             })
         .when(this.firestoreStub)
-        .getDocument(any(), any());
+        .batchGetDocuments(any(), any());
 
     StepVerifier.create(this.firestoreTemplate.findById(Mono.just("e1"), TestEntity.class))
-        .verifyComplete();
-
-    GetDocumentRequest request =
-        GetDocumentRequest.newBuilder().setName(parent + "/testEntities/" + "e1").build();
-
-    verify(this.firestoreStub, times(1)).getDocument(eq(request), any());
+        .expectErrorMatches(
+            e ->
+                e instanceof FirestoreDataException
+                    && e.getMessage().contains("Error while reading entries by id")
+                    && e.getCause() instanceof FirestoreDataException
+                    && e.getCause().getMessage().endsWith(parent + "/testEntities/e2"))
+        .verify();
   }
 
   @Test
   void findAllByIdTest() {
-    GetDocumentRequest request1 =
-        GetDocumentRequest.newBuilder().setName(parent + "/testEntities/e1").build();
+    mockBatchGetDocumentsMethod(false, "e1", "e2");
 
-    GetDocumentRequest request2 =
-        GetDocumentRequest.newBuilder().setName(parent + "/testEntities/e2").build();
+    StepVerifier.create(
+            this.firestoreTemplate.findAllById(Flux.just("e1", "e2", "e3"), TestEntity.class))
+        .expectNext(new TestEntity("e1", 100L), new TestEntity("e2", 100L))
+        .verifyComplete();
 
-    GetDocumentRequest request3 =
-        GetDocumentRequest.newBuilder().setName(parent + "/testEntities/e3").build();
+    BatchGetDocumentsRequest request =
+        BatchGetDocumentsRequest.newBuilder()
+            .setDatabase(DATABASE)
+            .addDocuments(parent + "/testEntities/e1")
+            .addDocuments(parent + "/testEntities/e2")
+            .addDocuments(parent + "/testEntities/e3")
+            .build();
 
-    doAnswer(
-            invocation -> {
-              StreamObserver<com.google.firestore.v1.Document> streamObserver =
-                  invocation.getArgument(1);
-              streamObserver.onNext(buildDocument("e1", 100L));
+    verify(this.firestoreStub, times(1)).batchGetDocuments(eq(request), any());
+    verify(this.firestoreStub, times(1)).batchGetDocuments(any(), any());
+  }
 
-              streamObserver.onCompleted();
-              return null;
-            })
-        .when(this.firestoreStub)
-        .getDocument(eq(request1), any());
+  @Test
+  void findAllByIdInArrivalOrderTest() {
+    mockBatchGetDocumentsMethod(true, "e1", "e2", "e3");
 
-    doAnswer(
-            invocation -> {
-              StreamObserver<com.google.firestore.v1.Document> streamObserver =
-                  invocation.getArgument(1);
-              streamObserver.onNext(buildDocument("e2", 200L));
+    StepVerifier.create(
+            this.firestoreTemplate.findAllById(Flux.just("e1", "e2", "e3"), TestEntity.class))
+        .expectNext(
+            new TestEntity("e3", 100L), new TestEntity("e2", 100L), new TestEntity("e1", 100L))
+        .verifyComplete();
+  }
 
-              streamObserver.onCompleted();
-              return null;
-            })
-        .when(this.firestoreStub)
-        .getDocument(eq(request2), any());
+  @Test
+  void findAllByIdInIdOrderTest() {
+    mockBatchGetDocumentsMethod(true, "e1", "e3", "e4");
+    this.firestoreTemplate.setReadInIdOrder(true);
+    this.firestoreTemplate.setReadBufferSize(2);
 
-    doAnswer(
-            invocation -> {
-              StreamObserver<com.google.firestore.v1.Document> streamObserver =
-                  invocation.getArgument(1);
-              streamObserver.onError(new RuntimeException("NOT_FOUND: Document"));
+    StepVerifier.create(
+            this.firestoreTemplate.findAllById(
+                Flux.just("e1", "e2", "e3", "e1", "e4"), TestEntity.class))
+        .expectNext(
+            new TestEntity("e1", 100L),
+            new TestEntity("e3", 100L),
+            new TestEntity("e1", 100L),
+            new TestEntity("e4", 100L))
+        .verifyComplete();
+  }
 
-              streamObserver.onCompleted();
-              return null;
-            })
-        .when(this.firestoreStub)
-        .getDocument(eq(request3), any());
+  @Test
+  void findAllByIdInBuffersTest() {
+    mockBatchGetDocumentsMethod(false, "e1", "e2", "e3");
+    this.firestoreTemplate.setReadBufferSize(2);
 
-    StepVerifier.create(this.firestoreTemplate.findAllById(Flux.just("e1", "e2"), TestEntity.class))
-        .expectNext(new TestEntity("e1", 100L), new TestEntity("e2", 200L))
+    StepVerifier.create(
+            this.firestoreTemplate.findAllById(Flux.just("e1", "e2", "e3"), TestEntity.class))
+        .expectNextCount(3)
         .verifyComplete();
 
-    verify(this.firestoreStub, times(1)).getDocument(eq(request1), any());
+    BatchGetDocumentsRequest request1 =
+        BatchGetDocumentsRequest.newBuilder()
+            .setDatabase(DATABASE)
+            .addDocuments(parent + "/testEntities/e1")
+            .addDocuments(parent + "/testEntities/e2")
+            .build();
+    BatchGetDocumentsRequest request2 =
+        BatchGetDocumentsRequest.newBuilder()
+            .setDatabase(DATABASE)
+            .addDocuments(parent + "/testEntities/e3")
+            .build();
+
+    verify(this.firestoreStub, times(1)).batchGetDocuments(eq(request1), any());
+    verify(this.firestoreStub, times(1)).batchGetDocuments(eq(request2), any());
   }
 
   @Test
@@ -505,110 +547,107 @@ public class FirestoreTemplateTests {
 
   @Test
   void existsByIdTest() {
-    GetDocumentRequest request =
-        GetDocumentRequest.newBuilder()
-            .setName(parent + "/testEntities/" + "e1")
+    BatchGetDocumentsRequest request =
+        BatchGetDocumentsRequest.newBuilder()
+            .setDatabase(DATABASE)
+            .addDocuments(parent + "/testEntities/" + "e1")
             .setMask(DocumentMask.newBuilder().addFieldPaths("__name__").build())
             .build();
 
-    doAnswer(
-            invocation -> {
-              StreamObserver<com.google.firestore.v1.Document> streamObserver =
-                  invocation.getArgument(1);
-              streamObserver.onNext(buildDocument("e1", 100L));
-
-              streamObserver.onCompleted();
-              return null;
-            })
-        .when(this.firestoreStub)
-        .getDocument(eq(request), any());
+    mockBatchGetDocumentsMethod(false, "e1");
 
     StepVerifier.create(this.firestoreTemplate.existsById(Mono.just("e1"), TestEntity.class))
         .expectNext(Boolean.TRUE)
         .verifyComplete();
 
-    verify(this.firestoreStub, times(1)).getDocument(eq(request), any());
-    verify(this.firestoreStub, times(1)).getDocument(any(), any());
+    verify(this.firestoreStub, times(1)).batchGetDocuments(eq(request), any());
+    verify(this.firestoreStub, times(1)).batchGetDocuments(any(), any());
   }
 
   @Test
   void existsByIdNotFoundTest() {
-    GetDocumentRequest request =
-        GetDocumentRequest.newBuilder()
-            .setName(parent + "/testEntities/" + "e1")
+    BatchGetDocumentsRequest request =
+        BatchGetDocumentsRequest.newBuilder()
+            .setDatabase(DATABASE)
+            .addDocuments(parent + "/testEntities/" + "e1")
             .setMask(DocumentMask.newBuilder().addFieldPaths("__name__").build())
             .build();
 
-    doAnswer(
-            invocation -> {
-              StreamObserver<com.google.firestore.v1.Document> streamObserver =
-                  invocation.getArgument(1);
-              streamObserver.onError(new RuntimeException("NOT_FOUND: Document"));
-
-              streamObserver.onCompleted();
-              return null;
-            })
-        .when(this.firestoreStub)
-        .getDocument(eq(request), any());
+    mockBatchGetDocumentsMethod(false);
 
     StepVerifier.create(this.firestoreTemplate.existsById(Mono.just("e1"), TestEntity.class))
         .expectNext(Boolean.FALSE)
         .verifyComplete();
 
-    verify(this.firestoreStub, times(1)).getDocument(eq(request), any());
-    verify(this.firestoreStub, times(1)).getDocument(any(), any());
+    verify(this.firestoreStub, times(1)).batchGetDocuments(eq(request), any());
+    verify(this.firestoreStub, times(1)).batchGetDocuments(any(), any());
   }
 
   @Test
   void withParentTest_entityReference() {
-    doAnswer(
-            invocation -> {
-              StreamObserver<com.google.firestore.v1.Document> streamObserver =
-                  invocation.getArgument(1);
-              streamObserver.onNext(buildDocument("e1", 100L));
-              streamObserver.onCompleted();
-              return null;
-            })
-        .when(this.firestoreStub)
-        .getDocument(any(), any());
+    mockBatchGetDocumentsMethod(false, "child");
 
     this.firestoreTemplate
         .withParent(new TestEntity("parent", 0L))
         .findById(Mono.just("child"), TestEntity.class)
         .block();
 
-    GetDocumentRequest request =
-        GetDocumentRequest.newBuilder()
-            .setName(parent + "/testEntities/parent/testEntities/child")
+    BatchGetDocumentsRequest request =
+        BatchGetDocumentsRequest.newBuilder()
+            .setDatabase(DATABASE)
+            .addDocuments(parent + "/testEntities/parent/testEntities/child")
             .build();
 
-    verify(this.firestoreStub, times(1)).getDocument(eq(request), any());
+    verify(this.firestoreStub, times(1)).batchGetDocuments(eq(request), any());
   }
 
   @Test
   void withParentTest_idClassReference() {
-    doAnswer(
-            invocation -> {
-              StreamObserver<com.google.firestore.v1.Document> streamObserver =
-                  invocation.getArgument(1);
-              streamObserver.onNext(buildDocument("e1", 100L));
-              streamObserver.onCompleted();
-              return null;
-            })
-        .when(this.firestoreStub)
-        .getDocument(any(), any());
+    mockBatchGetDocumentsMethod(false, "child");
 
     this.firestoreTemplate
         .withParent("parent", TestEntity.class)
         .findById(Mono.just("child"), TestEntity.class)
         .block();
 
-    GetDocumentRequest request =
-        GetDocumentRequest.newBuilder()
-            .setName(parent + "/testEntities/parent/testEntities/child")
+    BatchGetDocumentsRequest request =
+        BatchGetDocumentsRequest.newBuilder()
+            .setDatabase(DATABASE)
+            .addDocuments(parent + "/testEntities/parent/testEntities/child")
             .build();
 
-    verify(this.firestoreStub, times(1)).getDocument(eq(request), any());
+    verify(this.firestoreStub, times(1)).batchGetDocuments(eq(request), any());
+  }
+
+  /**
+   * Answers batch gets with the requested documents whose ids are given, and reports the others as
+   * missing.
+   */
+  private void mockBatchGetDocumentsMethod(boolean reverseOrder, String... foundIds) {
+    List<String> found = Arrays.asList(foundIds);
+    doAnswer(
+            invocation -> {
+              BatchGetDocumentsRequest request = invocation.getArgument(0);
+              StreamObserver<BatchGetDocumentsResponse> streamObserver = invocation.getArgument(1);
+              List<String> names = new ArrayList<>(request.getDocumentsList());
+              if (reverseOrder) {
+                Collections.reverse(names);
+              }
+              for (String name : names) {
+                String id = name.substring(name.lastIndexOf('/') + 1);
+                BatchGetDocumentsResponse.Builder response = BatchGetDocumentsResponse.newBuilder();
+                if (found.contains(id)) {
+                  response.setFound(buildDocument(id, 100L).toBuilder().setName(name));
+                } else {
+                  response.setMissing(name);
+                }
+                streamObserver.onNext(response.build());
+              }
+              streamObserver.onCompleted();
+              return null;
+            })
+        .when(this.firestoreStub)
+        .batchGetDocuments(any(), any());
   }
 
   private static Map<String, Value> createValuesMap(long value) {
@@ -30,12 +30,12 @@ import com.google.cloud.spring.data.firestore.FirestoreTemplateTests;
 import com.google.cloud.spring.data.firestore.FirestoreTemplateTests.TestEntity;
 import com.google.cloud.spring.data.firestore.mapping.FirestoreDefaultClassMapper;
 import com.google.cloud.spring.data.firestore.mapping.FirestoreMappingContext;
+import com.google.firestore.v1.BatchGetDocumentsRequest;
+import com.google.firestore.v1.BatchGetDocumentsResponse;
 import com.google.firestore.v1.BeginTransactionResponse;
 import com.google.firestore.v1.CommitRequest;
 import com.google.firestore.v1.CommitResponse;
-import com.google.firestore.v1.Document;
 import com.google.firestore.v1.FirestoreGrpc;
-import com.google.firestore.v1.GetDocumentRequest;
 import com.google.firestore.v1.RollbackRequest;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.Empty;
@@ -53,6 +53,8 @@ class ReactiveFirestoreTransactionManagerTest {
 
   private final String parent = "projects/my-project/databases/(default)/documents";
 
+  private final String database = "projects/my-project/databases/(default)";
+
   private FirestoreDefaultClassMapper classMapper =
       new FirestoreDefaultClassMapper(new FirestoreMappingContext());
 
@@ -78,19 +80,21 @@ class ReactiveFirestoreTransactionManagerTest {
     verify(this.firestoreStub).beginTransaction(any(), any());
     verify(this.firestoreStub).commit(any(), any());
 
-    GetDocumentRequest request1 =
-        GetDocumentRequest.newBuilder()
-            .setName(this.parent + "/testEntities/" + "e1")
+    BatchGetDocumentsRequest request1 =
+        BatchGetDocumentsRequest.newBuilder()
+            .setDatabase(this.database)
+            .addDocuments(this.parent + "/testEntities/" + "e1")
             .setTransaction(ByteString.copyFromUtf8("transaction1"))
             .build();
-    verify(this.firestoreStub, times(1)).getDocument(eq(request1), any());
+    verify(this.firestoreStub, times(1)).batchGetDocuments(eq(request1), any());
 
-    GetDocumentRequest request2 =
-        GetDocumentRequest.newBuilder()
-            .setName(this.parent + "/testEntities/" + "e2")
+    BatchGetDocumentsRequest request2 =
+        BatchGetDocumentsRequest.newBuilder()
+            .setDatabase(this.database)
+            .addDocuments(this.parent + "/testEntities/" + "e2")
             .setTransaction(ByteString.copyFromUtf8("transaction1"))
             .build();
-    verify(this.firestoreStub, times(1)).getDocument(eq(request2), any());
+    verify(this.firestoreStub, times(1)).batchGetDocuments(eq(request2), any());
   }
 
   @Test
@@ -169,12 +173,13 @@ class ReactiveFirestoreTransactionManagerTest {
     verify(this.firestoreStub).beginTransaction(any(), any());
     verify(this.firestoreStub).commit(any(), any());
 
-    GetDocumentRequest request1 =
-        GetDocumentRequest.newBuilder()
-            .setName(this.parent + "/testEntities/" + "e1")
+    BatchGetDocumentsRequest request1 =
+        BatchGetDocumentsRequest.newBuilder()
+            .setDatabase(this.database)
+            .addDocuments(this.parent + "/testEntities/" + "e1")
             .setTransaction(ByteString.copyFromUtf8("transaction1"))
             .build();
-    verify(this.firestoreStub, times(1)).getDocument(eq(request1), any());
+    verify(this.firestoreStub, times(1)).batchGetDocuments(eq(request1), any());
   }
 
   private FirestoreTemplate getFirestoreTemplate() {
@@ -223,20 +228,25 @@ class ReactiveFirestoreTransactionManagerTest {
 
     doAnswer(
             invocation -> {
-              GetDocumentRequest request = invocation.getArgument(0);
-              StreamObserver<Document> streamObserver = invocation.getArgument(1);
+              BatchGetDocumentsRequest request = invocation.getArgument(0);
+              StreamObserver<BatchGetDocumentsResponse> streamObserver = invocation.getArgument(1);
 
               assertThat(request.getTransaction())
                   .isEqualTo(ByteString.copyFromUtf8("transaction1"));
 
-              String name = request.getName();
-              streamObserver.onNext(
-                  FirestoreTemplateTests.buildDocument(name.substring(name.length() - 2), 100L));
+              for (String name : request.getDocumentsList()) {
+                streamObserver.onNext(
+                    BatchGetDocumentsResponse.newBuilder()
+                        .setFound(
+                            FirestoreTemplateTests.buildDocument(
+                                name.substring(name.length() - 2), 100L))
+                        .build());
+              }
               streamObserver.onCompleted();
               return null;
             })
         .when(this.firestoreStub)
-        .getDocument(any(), any());
+        .batchGetDocuments(any(), any());
 
     FirestoreMappingContext mappingContext = new FirestoreMappingContext();
     FirestoreTemplate template =
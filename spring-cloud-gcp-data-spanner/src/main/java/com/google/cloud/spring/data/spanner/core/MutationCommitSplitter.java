@@ -0,0 +1,143 @@
+/*
+ * Copyright 2023 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.spring.data.spanner.core;
+
+import com.google.cloud.spanner.Mutation;
+import com.google.cloud.spanner.Mutation.Op;
+import com.google.cloud.spanner.Value;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Splits the mutations of a bulk write into commits that stay within a number of mutations and a
+ * number of bytes. The mutations of an entity, including those of its interleaved children, are
+ * always applied in the same commit.
+ */
+final class MutationCommitSplitter {
+
+  /** The estimated size of a boolean, number, timestamp or date value. */
+  private static final int FIXED_VALUE_SIZE = 8;
+
+  private MutationCommitSplitter() {}
+
+  /**
+   * Splits groups of mutations into commits.
+   *
+   * @param mutationGroups the mutations of each entity
+   * @param maxMutations the maximum number of mutations of a commit, or 0 for no limit
+   * @param maxBytes the maximum estimated size of a commit in bytes, or 0 for no limit
+   * @return the index after the last group of each commit. A group that exceeds the limits on its
+   *     own is committed alone.
+   */
+  static List<Integer> split(
+      List<? extends Collection<Mutation>> mutationGroups, long maxMutations, long maxBytes) {
+    List<Integer> commitEnds = new ArrayList<>();
+    long commitMutations = 0;
+    long commitBytes = 0;
+    for (int i = 0; i < mutationGroups.size(); i++) {
+      long groupMutations = 0;
+      long groupBytes = 0;
+      for (Mutation mutation : mutationGroups.get(i)) {
+        groupMutations += countMutations(mutation);
+        if (maxBytes > 0) {
+          groupBytes += estimateSize(mutation);
+        }
+      }
+      boolean exceedsLimits =
+          (maxMutations > 0 && commitMutations + groupMutations > maxMutations)
+              || (maxBytes > 0 && commitBytes + groupBytes > maxBytes);
+      if (i > 0 && exceedsLimits) {
+        commitEnds.add(i);
+        commitMutations = 0;
+        commitBytes = 0;
+      }
+      commitMutations += groupMutations;
+      commitBytes += groupBytes;
+    }
+    if (!mutationGroups.isEmpty()) {
+      commitEnds.add(mutationGroups.size());
+    }
+    return commitEnds;
+  }
+
+  /**
+   * Counts the mutations of a {@link Mutation} the way Cloud Spanner does, not counting the
+   * secondary index entries it also changes.
+   *
+   * @param mutation the mutation
+   * @return one per column written, or one per key and key range deleted
+   */
+  static long countMutations(Mutation mutation) {
+    long count = 0;
+    if (mutation.getOperation() == Op.DELETE) {
+      for (Object unused : mutation.getKeySet().getKeys()) {
+        count++;
+      }
+      for (Object unused : mutation.getKeySet().getRanges()) {
+        count++;
+      }
+      // KeySet.all() has neither keys nor ranges
+      return Math.max(count, 1);
+    }
+    for (String unused : mutation.getColumns()) {
+      count++;
+    }
+    return count;
+  }
+
+  /**
+   * Estimates the number of bytes a {@link Mutation} adds to a commit.
+   *
+   * @param mutation the mutation
+   * @return the estimated size of the table name, columns and values
+   */
+  static long estimateSize(Mutation mutation) {
+    long size = mutation.getTable().length();
+    if (mutation.getOperation() == Op.DELETE) {
+      return size + mutation.getKeySet().toString().length();
+    }
+    for (String column : mutation.getColumns()) {
+      size += column.length();
+    }
+    for (Value value : mutation.getValues()) {
+      size += estimateSize(value);
+    }
+    return size;
+  }
+
+  private static long estimateSize(Value value) {
+    if (value.isNull()) {
+      return 1;
+    }
+    switch (value.getType().getCode()) {
+      case BOOL:
+      case INT64:
+      case FLOAT64:
+      case TIMESTAMP:
+      case DATE:
+        return FIXED_VALUE_SIZE;
+      case STRING:
+        return value.getString().length();
+      case BYTES:
+        return value.getBytes().length();
+      default:
+        // arrays, structs, numerics and JSON
+        return value.toString().length();
+    }
+  }
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2023 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.spring.data.spanner.core;
+
+import com.google.cloud.spanner.BatchReadOnlyTransaction;
+import com.google.cloud.spanner.Partition;
+import com.google.cloud.spanner.ResultSet;
+import com.google.cloud.spring.data.spanner.core.mapping.SpannerDataException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads the partitions of a batch read-only transaction, a bounded number at a time, and converts
+ * their rows. The transaction is cleaned up once every partition has been read, or the reading has
+ * failed or been abandoned.
+ *
+ * @param <T> the type the rows are converted to
+ */
+final class PartitionedResultsReader<T> {
+
+  /** The number of converted rows a merged stream holds for its consumer. */
+  static final int MERGED_RESULTS_BUFFER_SIZE = 1000;
+
+  private static final Object END_OF_RESULTS = new Object();
+
+  private final BatchReadOnlyTransaction transaction;
+
+  private final List<Partition> partitions;
+
+  private final Function<ResultSet, Stream<T>> partitionConverter;
+
+  private final int maxConcurrentPartitions;
+
+  private final Executor executor;
+
+  /**
+   * Constructor.
+   *
+   * @param transaction the transaction the partitions were created in
+   * @param partitions the partitions to read
+   * @param partitionConverter converts the rows of a partition as they are read
+   * @param maxConcurrentPartitions the maximum number of partitions read at the same time
+   * @param executor the executor the partitions are read on
+   */
+  PartitionedResultsReader(
+      BatchReadOnlyTransaction transaction,
+      List<Partition> partitions,
+      Function<ResultSet, Stream<T>> partitionConverter,
+      int maxConcurrentPartitions,
+      Executor executor) {
+    this.transaction = transaction;
+    this.partitions = partitions;
+    this.partitionConverter = partitionConverter;
+    this.maxConcurrentPartitions = maxConcurrentPartitions;
+    this.executor = executor;
+  }
+
+  /**
+   * Hands the converted rows of each partition to a consumer on the executor, and returns once
+   * every partition has been read. The consumer is called for several partitions at the same time.
+   * Once a partition fails, no more partitions are started and the first failure is thrown.
+   *
+   * @param partitionConsumer the consumer of the rows of each partition
+   */
+  void forEachPartition(Consumer<Stream<T>> partitionConsumer) {
+    try {
+      readPartitions(partitionConsumer, () -> false).join();
+    } catch (CompletionException ex) {
+      throw unwrap(ex);
+    }
+  }
+
+  /**
+   * Merges the converted rows of the partitions into one stream, in no particular order. The
+   * partitions are read in the background, and pause while the rows not consumed yet fill the
+   * buffer. Closing the stream abandons the partitions not read yet.
+   *
+   * @return the rows of all the partitions, to be closed after use
+   */
+  Stream<T> stream() {
+    MergedResults results = new MergedResults();
+    readPartitions(rows -> rows.forEach(results::put), results::isClosed)
+        .whenComplete((ignored, ex) -> results.finish(ex));
+    return StreamSupport.stream(results, false).onClose(results::close);
+  }
+
+  private CompletableFuture<Void> readPartitions(
+      Consumer<Stream<T>> partitionConsumer, BooleanSupplier abandoned) {
+    AtomicInteger nextPartition = new AtomicInteger();
+    AtomicReference<RuntimeException> failure = new AtomicReference<>();
+    Runnable worker =
+        () -> {
+          for (int i = nextPartition.getAndIncrement();
+              i < this.partitions.size() && failure.get() == null && !abandoned.getAsBoolean();
+              i = nextPartition.getAndIncrement()) {
+            try (Stream<T> rows =
+                this.partitionConverter.apply(this.transaction.execute(this.partitions.get(i)))) {
+              partitionConsumer.accept(rows);
+            } catch (RuntimeException ex) {
+              failure.compareAndSet(null, ex);
+            }
+          }
+        };
+    int numWorkers = Math.min(this.maxConcurrentPartitions, this.partitions.size());
+    List<CompletableFuture<?>> workers = new ArrayList<>(numWorkers);
+    try {
+      for (int i = 0; i < numWorkers; i++) {
+        workers.add(CompletableFuture.runAsync(worker, this.executor));
+      }
+    } catch (RuntimeException ex) {
+      // the transaction is cleaned up once the workers already started have stopped
+      failure.compareAndSet(null, ex);
+      workers.add(CompletableFuture.failedFuture(ex));
+    }
+    return CompletableFuture.allOf(workers.toArray(new CompletableFuture<?>[0]))
+        .handle(
+            (ignored, ex) -> {
+              this.transaction.cleanup();
+              if (ex != null) {
+                throw (ex instanceof CompletionException completionException)
+                    ? completionException
+                    : new CompletionException(ex);
+              }
+              if (failure.get() != null) {
+                throw failure.get();
+              }
+              return null;
+            });
+  }
+
+  private static RuntimeException unwrap(CompletionException ex) {
+    return (ex.getCause() instanceof RuntimeException cause) ? cause : ex;
+  }
+
+  /** The rows of all partitions, handed from the threads reading them to the consumer. */
+  private final class MergedResults extends Spliterators.AbstractSpliterator<T> {
+
+    private final BlockingQueue<Object> buffer =
+        new ArrayBlockingQueue<>(MERGED_RESULTS_BUFFER_SIZE);
+
+    private volatile boolean closed;
+
+    private boolean finished;
+
+    private MergedResults() {
+      super(Long.MAX_VALUE, 0);
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+      if (this.finished) {
+        return false;
+      }
+      Object item;
+      try {
+        item = this.buffer.take();
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new SpannerDataException("Interrupted while waiting for partitioned results.", ex);
+      }
+      if (item == END_OF_RESULTS) {
+        this.finished = true;
+        return false;
+      }
+      if (item instanceof Failure failure) {
+        this.finished = true;
+        throw failure.exception;
+      }
+      action.accept((T) item);
+      return true;
+    }
+
+    private void put(T row) {
+      offer(row);
+      if (this.closed) {
+        // stops reading the rest of the partition
+        throw new CancellationException("The partitioned results were closed.");
+      }
+    }
+
+    private void finish(Throwable ex) {
+      offer(
+          (ex == null)
+              ? END_OF_RESULTS
+              : new Failure(
+                  (ex instanceof CompletionException completionException)
+                      ? unwrap(completionException)
+                      : new CompletionException(ex)));
+    }
+
+    private void offer(Object item) {
+      try {
+        // the buffer is polled so that closing releases the threads waiting on it
+        while (!this.closed && !this.buffer.offer(item, 100, TimeUnit.MILLISECONDS)) {
+          // waits for the consumer to catch up
+        }
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new SpannerDataException("Interrupted while reading partitioned results.", ex);
+      }
+    }
+
+    private boolean isClosed() {
+      return this.closed;
+    }
+
+    private void close() {
+      this.closed = true;
+      this.buffer.clear();
+    }
+  }
+
+  private static final class Failure {
+
+    private final RuntimeException exception;
+
+    private Failure(RuntimeException exception) {
+      this.exception = exception;
+    }
+  }
+}
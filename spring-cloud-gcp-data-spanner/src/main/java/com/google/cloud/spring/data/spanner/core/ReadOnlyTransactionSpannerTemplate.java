@@ -16,6 +16,7 @@
 
 package com.google.cloud.spring.data.spanner.core;
 
+import com.google.cloud.spanner.BatchReadOnlyTransaction;
 import com.google.cloud.spanner.DatabaseClient;
 import com.google.cloud.spanner.Mutation;
 import com.google.cloud.spanner.ReadContext;
@@ -27,6 +28,7 @@ import com.google.cloud.spring.data.spanner.core.convert.SpannerEntityProcessor;
 import com.google.cloud.spring.data.spanner.core.mapping.SpannerDataException;
 import com.google.cloud.spring.data.spanner.core.mapping.SpannerMappingContext;
 import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -61,6 +63,11 @@ class ReadOnlyTransactionSpannerTemplate extends SpannerTemplate {
     throw new SpannerDataException("A read-only transaction template cannot perform mutations.");
   }
 
+  @Override
+  protected CompletableFuture<Void> applyMutationsAsync(Collection<Mutation> mutations) {
+    throw new SpannerDataException("A read-only transaction template cannot perform mutations.");
+  }
+
   @Override
   public long executeDmlStatement(Statement statement) {
     throw new SpannerDataException("A read-only transaction template cannot execute DML.");
@@ -72,6 +79,12 @@ class ReadOnlyTransactionSpannerTemplate extends SpannerTemplate {
         "A read-only transaction template cannot execute partitioned DML.");
   }
 
+  @Override
+  protected BatchReadOnlyTransaction beginBatchReadOnlyTransaction(TimestampBound timestampBound) {
+    throw new SpannerDataException(
+        "A read-only transaction template cannot execute partitioned reads.");
+  }
+
   @Override
   protected ReadContext getReadContext() {
     return this.readOnlyTransaction;
@@ -98,4 +111,12 @@ class ReadOnlyTransactionSpannerTemplate extends SpannerTemplate {
         "A read-only transaction is already under execution. "
             + "Opening sub-transactions is not supported!");
   }
+
+  @Override
+  public <T> CompletableFuture<T> performReadWriteTransactionAsync(
+      Function<SpannerTemplate, CompletableFuture<T>> operations) {
+    throw new SpannerDataException(
+        "A read-only transaction is already under execution. "
+            + "Opening sub-transactions is not supported!");
+  }
 }
@@ -16,6 +16,7 @@
 
 package com.google.cloud.spring.data.spanner.core;
 
+import com.google.cloud.spanner.BatchReadOnlyTransaction;
 import com.google.cloud.spanner.DatabaseClient;
 import com.google.cloud.spanner.Mutation;
 import com.google.cloud.spanner.ReadContext;
@@ -27,6 +28,7 @@ import com.google.cloud.spring.data.spanner.core.convert.SpannerEntityProcessor;
 import com.google.cloud.spring.data.spanner.core.mapping.SpannerDataException;
 import com.google.cloud.spring.data.spanner.core.mapping.SpannerMappingContext;
 import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -61,6 +63,12 @@ class ReadWriteTransactionSpannerTemplate extends SpannerTemplate {
     this.transactionContext.buffer(mutations);
   }
 
+  @Override
+  protected CompletableFuture<Void> applyMutationsAsync(Collection<Mutation> mutations) {
+    this.transactionContext.buffer(mutations);
+    return CompletableFuture.completedFuture(null);
+  }
+
   @Override
   protected ReadContext getReadContext() {
     return this.transactionContext;
@@ -77,6 +85,12 @@ class ReadWriteTransactionSpannerTemplate extends SpannerTemplate {
         "A read-write transaction template cannot execute partitioned DML.");
   }
 
+  @Override
+  protected BatchReadOnlyTransaction beginBatchReadOnlyTransaction(TimestampBound timestampBound) {
+    throw new SpannerDataException(
+        "A read-write transaction template cannot execute partitioned reads.");
+  }
+
   @Override
   protected ReadContext getReadContext(TimestampBound timestampBound) {
     throw new SpannerDataException(
@@ -98,4 +112,12 @@ class ReadWriteTransactionSpannerTemplate extends SpannerTemplate {
         "A read-write transaction is already under execution. "
             + "Opening sub-transactions is not supported!");
   }
+
+  @Override
+  public <T> CompletableFuture<T> performReadWriteTransactionAsync(
+      Function<SpannerTemplate, CompletableFuture<T>> operations) {
+    throw new SpannerDataException(
+        "A read-write transaction is already under execution. "
+            + "Opening sub-transactions is not supported!");
+  }
 }
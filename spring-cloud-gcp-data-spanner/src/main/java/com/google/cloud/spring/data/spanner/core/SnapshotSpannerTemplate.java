@@ -0,0 +1,62 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.spring.data.spanner.core;
+
+import com.google.cloud.Timestamp;
+import com.google.cloud.spanner.DatabaseClient;
+import com.google.cloud.spanner.ReadContext;
+import com.google.cloud.spanner.TimestampBound;
+import com.google.cloud.spring.data.spanner.core.admin.SpannerSchemaUtils;
+import com.google.cloud.spring.data.spanner.core.convert.SpannerEntityProcessor;
+import com.google.cloud.spring.data.spanner.core.mapping.SpannerMappingContext;
+import java.util.function.Supplier;
+
+/**
+ * A {@link SpannerTemplate} that reads with single-use reads at a fixed timestamp, such as the
+ * children of the entities of a partitioned read at the timestamp of its batch transaction. The
+ * reads of lazily loaded children are made at the same timestamp, and fail once it is older than
+ * the version retention period of the database. This template is not intended for the user to
+ * directly instantiate.
+ */
+class SnapshotSpannerTemplate extends SpannerTemplate {
+
+  private final Supplier<DatabaseClient> databaseClientProvider;
+
+  private final TimestampBound readTimestampBound;
+
+  SnapshotSpannerTemplate(
+      Supplier<DatabaseClient> databaseClientProvider,
+      SpannerMappingContext mappingContext,
+      SpannerEntityProcessor spannerEntityProcessor,
+      SpannerMutationFactory spannerMutationFactory,
+      SpannerSchemaUtils spannerSchemaUtils,
+      Timestamp readTimestamp) {
+    super(
+        databaseClientProvider,
+        mappingContext,
+        spannerEntityProcessor,
+        spannerMutationFactory,
+        spannerSchemaUtils);
+    this.databaseClientProvider = databaseClientProvider;
+    this.readTimestampBound = TimestampBound.ofReadTimestamp(readTimestamp);
+  }
+
+  @Override
+  protected ReadContext getReadContext() {
+    return this.databaseClientProvider.get().singleUse(this.readTimestampBound);
+  }
+}
@@ -23,7 +23,9 @@ import com.google.cloud.spanner.Statement;
 import com.google.cloud.spanner.Struct;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * Defines operations available to use with Spanner.
@@ -143,6 +145,130 @@ public interface SpannerOperations {
    */
   <T> List<T> query(Class<T> entityClass, Statement statement, SpannerQueryOptions options);
 
+  /**
+   * Executes a given query string with tags and parameters and applies a given function to each row
+   * of the result as the returned stream reaches it, so that the rows are not held in memory all at
+   * once. The stream keeps the result set open until it has been read to the end or closed, and
+   * within a transaction must be consumed before the transaction ends.
+   *
+   * <p>The default implementation reads all the rows with {@link #query(Function, Statement,
+   * SpannerQueryOptions)} before returning.
+   *
+   * @param rowFunc the function to apply to each row of the result.
+   * @param statement the SQL statement used to select the objects.
+   * @param options the options with which to run this query.
+   * @param <A> the type to convert each row Struct into.
+   * @return a stream of the rows each transformed with the given function, to be closed after use.
+   */
+  default <A> Stream<A> queryStream(
+      Function<Struct, A> rowFunc, Statement statement, SpannerQueryOptions options) {
+    return query(rowFunc, statement, options).stream();
+  }
+
+  /**
+   * Finds objects by using an SQL statement, converting each row as the returned stream reaches it
+   * so that the objects are not held in memory all at once. The stream keeps the result set open
+   * until it has been read to the end or closed, and within a transaction must be consumed before
+   * the transaction ends.
+   *
+   * <p>The default implementation reads all the objects with {@link #query(Class, Statement,
+   * SpannerQueryOptions)} before returning.
+   *
+   * @param entityClass the type of object to retrieve.
+   * @param statement the SQL statement used to select the objects.
+   * @param options the Cloud Spanner read options with which to conduct the read operation.
+   * @param <T> the type of object to retrieve.
+   * @return a stream of the objects found, to be closed after use.
+   */
+  default <T> Stream<T> queryStream(
+      Class<T> entityClass, Statement statement, SpannerQueryOptions options) {
+    return query(entityClass, statement, options).stream();
+  }
+
+  /**
+   * Finds objects by using an SQL statement that is split into partitions read in parallel, in a
+   * batch read-only transaction of their own. The statement must be root-partitionable. The rows of
+   * the partitions are merged into the returned stream in no particular order.
+   *
+   * <p>The default implementation runs the statement as a single query with {@link #query(Class,
+   * Statement, SpannerQueryOptions)}.
+   *
+   * @param entityClass the type of object to retrieve.
+   * @param statement the SQL statement used to select the objects.
+   * @param options the Cloud Spanner read options with which to conduct the read operation.
+   * @param <T> the type of object to retrieve.
+   * @return a stream of the objects found, to be closed after use.
+   */
+  default <T> Stream<T> queryPartitioned(
+      Class<T> entityClass, Statement statement, SpannerQueryOptions options) {
+    return query(entityClass, statement, options).stream();
+  }
+
+  /**
+   * Finds objects by using an SQL statement that is split into partitions read in parallel, in a
+   * batch read-only transaction of their own, and hands the objects of each partition to a
+   * consumer. The statement must be root-partitionable.
+   *
+   * <p>The default implementation runs the statement as a single query and hands all the objects
+   * to the consumer at once.
+   *
+   * @param entityClass the type of object to retrieve.
+   * @param statement the SQL statement used to select the objects.
+   * @param options the Cloud Spanner read options with which to conduct the read operation.
+   * @param partitionConsumer called with the objects of each partition, for several partitions at
+   *     the same time. Returns once every partition has been consumed.
+   * @param <T> the type of object to retrieve.
+   */
+  default <T> void queryPartitioned(
+      Class<T> entityClass,
+      Statement statement,
+      SpannerQueryOptions options,
+      Consumer<Stream<T>> partitionConsumer) {
+    partitionConsumer.accept(queryPartitioned(entityClass, statement, options));
+  }
+
+  /**
+   * Reads objects from their keys with a read that is split into partitions read in parallel, in a
+   * batch read-only transaction of their own. The rows of the partitions are merged into the
+   * returned stream in no particular order.
+   *
+   * <p>The default implementation reads the objects with a single {@link #read(Class, KeySet,
+   * SpannerReadOptions)}.
+   *
+   * @param entityClass the type of the object to retrieve.
+   * @param keys the keys of the objects to retrieve, or {@link KeySet#all()} for the whole table.
+   * @param options the Cloud Spanner read options with which to conduct the read operation.
+   * @param <T> the type of the object to retrieve.
+   * @return a stream of the objects found, to be closed after use.
+   */
+  default <T> Stream<T> readPartitioned(
+      Class<T> entityClass, KeySet keys, SpannerReadOptions options) {
+    return read(entityClass, keys, options).stream();
+  }
+
+  /**
+   * Reads objects from their keys with a read that is split into partitions read in parallel, in a
+   * batch read-only transaction of their own, and hands the objects of each partition to a
+   * consumer.
+   *
+   * <p>The default implementation reads the objects with a single read and hands them all to the
+   * consumer at once.
+   *
+   * @param entityClass the type of the object to retrieve.
+   * @param keys the keys of the objects to retrieve, or {@link KeySet#all()} for the whole table.
+   * @param options the Cloud Spanner read options with which to conduct the read operation.
+   * @param partitionConsumer called with the objects of each partition, for several partitions at
+   *     the same time. Returns once every partition has been consumed.
+   * @param <T> the type of the object to retrieve.
+   */
+  default <T> void readPartitioned(
+      Class<T> entityClass,
+      KeySet keys,
+      SpannerReadOptions options,
+      Consumer<Stream<T>> partitionConsumer) {
+    partitionConsumer.accept(readPartitioned(entityClass, keys, options));
+  }
+
   /**
    * Finds all objects of the given type.
    *
@@ -0,0 +1,343 @@
+/*
+ * Copyright 2023 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.spring.data.spanner.core;
+
+import com.google.cloud.spanner.AsyncResultSet;
+import com.google.cloud.spanner.AsyncResultSet.CallbackResponse;
+import com.google.cloud.spanner.Key;
+import com.google.cloud.spanner.KeySet;
+import com.google.cloud.spanner.Statement;
+import com.google.cloud.spanner.Struct;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.util.Assert;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+
+/**
+ * Runs Cloud Spanner queries whose results are published as a {@link Flux}. The rows are read from
+ * an {@link AsyncResultSet} only as subscribers request them, so a slow subscriber holds back the
+ * query instead of buffering its results, and are converted on a mapping executor rather than on
+ * the threads of the Cloud Spanner client. Reads, writes and read-write transactions are run with
+ * the asynchronous operations of the {@link SpannerTemplate}, without blocking.
+ *
+ * <p>Children of the entities that are not read with the entities themselves are read in batches
+ * with blocking queries on the mapping executor.
+ *
+ * <p>Requires Project Reactor on the classpath.
+ */
+public class SpannerReactiveTemplate implements DisposableBean {
+
+  private final SpannerTemplate spannerTemplate;
+
+  private @Nullable Executor mappingExecutor;
+
+  /** The executor created when no mapping executor is set, shut down with this template. */
+  private @Nullable ExecutorService defaultMappingExecutor;
+
+  /**
+   * Constructor.
+   *
+   * @param spannerTemplate the template whose read contexts, mapping and entity processor are used
+   */
+  public SpannerReactiveTemplate(SpannerTemplate spannerTemplate) {
+    Assert.notNull(spannerTemplate, "A non-null SpannerTemplate is required.");
+    this.spannerTemplate = spannerTemplate;
+  }
+
+  /**
+   * Sets the executor the rows are converted on. Defaults to a pool of as many daemon threads as
+   * there are available processors, owned by this template.
+   *
+   * @param mappingExecutor the executor
+   */
+  public synchronized void setMappingExecutor(Executor mappingExecutor) {
+    Assert.notNull(mappingExecutor, "A non-null mapping executor is required.");
+    destroy();
+    this.mappingExecutor = mappingExecutor;
+  }
+
+  /** Shuts down the mapping executor created by this template, if any. */
+  @Override
+  public synchronized void destroy() {
+    if (this.defaultMappingExecutor != null) {
+      this.defaultMappingExecutor.shutdown();
+      this.defaultMappingExecutor = null;
+      this.mappingExecutor = null;
+    }
+  }
+
+  private synchronized Executor getMappingExecutor() {
+    if (this.mappingExecutor == null) {
+      this.defaultMappingExecutor =
+          SpannerTemplate.newBoundedExecutor(
+              "spanner-reactive-mapping-", Runtime.getRuntime().availableProcessors());
+      this.mappingExecutor = this.defaultMappingExecutor;
+    }
+    return this.mappingExecutor;
+  }
+
+  /**
+   * Executes a given query string with tags and parameters and applies a given function to each row
+   * of the result.
+   *
+   * @param rowFunc the function to apply to each row of the result.
+   * @param statement the SQL statement used to select the objects.
+   * @param options the options with which to run this query.
+   * @param <A> the type to convert each row Struct into.
+   * @return the rows each transformed with the given function. The query runs once for each
+   *     subscription and is cancelled when the subscription is.
+   */
+  public <A> Flux<A> query(
+      Function<Struct, A> rowFunc, Statement statement, SpannerQueryOptions options) {
+    return publish(statement, options, () -> rowFunc);
+  }
+
+  /**
+   * Finds objects by using an SQL statement.
+   *
+   * @param entityClass the type of object to retrieve.
+   * @param statement the SQL statement used to select the objects.
+   * @param options the Cloud Spanner read options with which to conduct the read operation.
+   * @param <T> the type of object to retrieve.
+   * @return the objects found. The query runs once for each subscription and is cancelled when the
+   *     subscription is.
+   */
+  public <T> Flux<T> query(Class<T> entityClass, Statement statement, SpannerQueryOptions options) {
+    Set<String> includeProperties = (options != null) ? options.getIncludeProperties() : null;
+    boolean allowMissingColumns = options != null && options.isAllowPartialRead();
+    Flux<T> entities =
+        publish(
+            statement,
+            options,
+            () ->
+                this.spannerTemplate
+                    .getSpannerEntityProcessor()
+                    .getRowMapper(entityClass, includeProperties, allowMissingColumns));
+    if (!SpannerTemplate.hasInterleavedProperties(
+        this.spannerTemplate.getMappingContext().getPersistentEntityOrFail(entityClass))) {
+      return entities;
+    }
+    return entities
+        .buffer(SpannerTemplate.STREAMED_CHILD_RESOLUTION_BATCH_SIZE)
+        .concatMapIterable(
+            batch -> this.spannerTemplate.resolveChildEntities(batch, includeProperties));
+  }
+
+  /**
+   * Reads objects from their keys.
+   *
+   * @param entityClass the type of the object to retrieve.
+   * @param keys the keys of the objects to retrieve.
+   * @param options the Cloud Spanner read options with which to conduct the read operation.
+   * @param <T> the type of the object to retrieve.
+   * @return the objects found. The read runs once for each subscription.
+   */
+  public <T> Flux<T> read(Class<T> entityClass, KeySet keys, SpannerReadOptions options) {
+    return Mono.fromFuture(() -> this.spannerTemplate.readAsync(entityClass, keys, options))
+        .flatMapIterable(Function.identity());
+  }
+
+  /**
+   * Reads an object from its key.
+   *
+   * @param entityClass the type of the object to retrieve.
+   * @param key the key of the object.
+   * @param options the Cloud Spanner read options with which to conduct the read operation.
+   * @param <T> the type of the object to retrieve.
+   * @return the object, or empty if it is not found. The read runs once for each subscription.
+   */
+  public <T> Mono<T> read(Class<T> entityClass, Key key, SpannerReadOptions options) {
+    return Mono.fromFuture(() -> this.spannerTemplate.readAsync(entityClass, key, options));
+  }
+
+  /**
+   * Insert an object into storage.
+   *
+   * @param object the object to insert.
+   * @return completes once the insert is committed. The insert is applied for each subscription.
+   */
+  public Mono<Void> insert(Object object) {
+    return Mono.fromFuture(() -> this.spannerTemplate.insertAsync(object));
+  }
+
+  /**
+   * Insert objects into storage in batch.
+   *
+   * @param objects the objects to insert.
+   * @return completes once the inserts are committed. The inserts are applied for each
+   *     subscription.
+   */
+  public Mono<Void> insertAll(Iterable<?> objects) {
+    return Mono.fromFuture(() -> this.spannerTemplate.insertAllAsync(objects));
+  }
+
+  /**
+   * Update or insert an object into storage.
+   *
+   * @param object the object to update or insert.
+   * @return completes once the upsert is committed. The upsert is applied for each subscription.
+   */
+  public Mono<Void> upsert(Object object) {
+    return Mono.fromFuture(() -> this.spannerTemplate.upsertAsync(object));
+  }
+
+  /**
+   * Update or insert objects into storage in batch.
+   *
+   * @param objects the objects to update or insert.
+   * @return completes once the upserts are committed. The upserts are applied for each
+   *     subscription.
+   */
+  public Mono<Void> upsertAll(Iterable<?> objects) {
+    return Mono.fromFuture(() -> this.spannerTemplate.upsertAllAsync(objects));
+  }
+
+  /**
+   * Delete an object from storage.
+   *
+   * @param entity the object to delete from storage. The entity key is computed from this object.
+   * @return completes once the delete is committed. The delete is applied for each subscription.
+   */
+  public Mono<Void> delete(Object entity) {
+    return Mono.fromFuture(() -> this.spannerTemplate.deleteAsync(entity));
+  }
+
+  /**
+   * Delete objects from storage.
+   *
+   * @param objects the objects to delete from storage. The keys for these objects are computed
+   *     using the objects.
+   * @return completes once the deletes are committed. The deletes are applied for each
+   *     subscription.
+   */
+  public Mono<Void> deleteAll(Iterable<?> objects) {
+    return Mono.fromFuture(() -> this.spannerTemplate.deleteAllAsync(objects));
+  }
+
+  /**
+   * Performs multiple read and write operations in a single transaction. The operations are
+   * expected to use the asynchronous methods of the given template, and may be run more than once
+   * if the transaction is aborted.
+   *
+   * @param operations the function representing the operations to perform using a SpannerTemplate
+   *     based on a single transaction.
+   * @param <T> the final return type of the operations.
+   * @return the final result of the transaction, emitted once it is committed. The transaction runs
+   *     once for each subscription.
+   */
+  public <T> Mono<T> performReadWriteTransaction(Function<SpannerTemplate, Mono<T>> operations) {
+    return Mono.fromFuture(
+        () ->
+            this.spannerTemplate.performReadWriteTransactionAsync(
+                transactionTemplate -> operations.apply(transactionTemplate).toFuture()));
+  }
+
+  private <A> Flux<A> publish(
+      Statement statement,
+      SpannerQueryOptions options,
+      Supplier<Function<Struct, A>> rowFuncSupplier) {
+    return Flux.create(
+        sink -> {
+          AsyncResultSet resultSet = this.spannerTemplate.executeQueryAsync(statement, options);
+          ReadyCallback<A> callback = new ReadyCallback<>(sink, rowFuncSupplier.get());
+          Executor executor = getMappingExecutor();
+          resultSet.setCallback(
+              task ->
+                  executor.execute(
+                      () -> {
+                        try {
+                          task.run();
+                        } finally {
+                          // demand may have arrived while the callback was deciding to pause, in
+                          // which case resuming on request did nothing
+                          if (callback.paused && sink.requestedFromDownstream() > 0) {
+                            resultSet.resume();
+                          }
+                        }
+                      }),
+              callback);
+          sink.onRequest(demand -> resultSet.resume());
+          sink.onCancel(resultSet::cancel);
+        });
+  }
+
+  /**
+   * Emits rows while there is demand and pauses the result set while there is none. One row is read
+   * ahead of the demand, so that the end of the results is signalled without waiting for more
+   * demand. A row converted to {@code null}, which a {@link Flux} cannot emit, is signalled as an
+   * error.
+   */
+  private static final class ReadyCallback<A> implements AsyncResultSet.ReadyCallback {
+
+    private final FluxSink<A> sink;
+
+    private final Function<Struct, A> rowFunc;
+
+    private A readAhead;
+
+    private volatile boolean paused;
+
+    private ReadyCallback(FluxSink<A> sink, Function<Struct, A> rowFunc) {
+      this.sink = sink;
+      this.rowFunc = rowFunc;
+    }
+
+    @Override
+    public CallbackResponse cursorReady(AsyncResultSet resultSet) {
+      this.paused = false;
+      try {
+        while (!this.sink.isCancelled()) {
+          if (this.readAhead != null) {
+            if (this.sink.requestedFromDownstream() <= 0) {
+              this.paused = true;
+              return CallbackResponse.PAUSE;
+            }
+            this.sink.next(this.readAhead);
+            this.readAhead = null;
+          }
+          switch (resultSet.tryNext()) {
+            case DONE:
+              this.sink.complete();
+              return CallbackResponse.DONE;
+            case NOT_READY:
+              return CallbackResponse.CONTINUE;
+            default:
+              this.readAhead =
+                  Objects.requireNonNull(
+                      this.rowFunc.apply(resultSet.getCurrentRowAsStruct()),
+                      "The row function returned a null value.");
+          }
+        }
+        return CallbackResponse.DONE;
+      } catch (RuntimeException ex) {
+        // a cancelled subscription cancels the result set, which reports it as an error
+        if (!this.sink.isCancelled()) {
+          this.sink.error(ex);
+        }
+        return CallbackResponse.DONE;
+      }
+    }
+  }
+}
@@ -16,12 +16,22 @@
 
 package com.google.cloud.spring.data.spanner.core;
 
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutureCallback;
+import com.google.api.core.ApiFutures;
+import com.google.api.core.SettableApiFuture;
+import com.google.cloud.spanner.AsyncResultSet;
+import com.google.cloud.spanner.AsyncResultSet.CallbackResponse;
+import com.google.cloud.spanner.BatchClient;
+import com.google.cloud.spanner.BatchReadOnlyTransaction;
 import com.google.cloud.spanner.DatabaseClient;
 import com.google.cloud.spanner.Key;
 import com.google.cloud.spanner.KeySet;
 import com.google.cloud.spanner.Mutation;
 import com.google.cloud.spanner.Options.QueryOption;
 import com.google.cloud.spanner.Options.ReadOption;
+import com.google.cloud.spanner.Partition;
+import com.google.cloud.spanner.PartitionOptions;
 import com.google.cloud.spanner.ReadContext;
 import com.google.cloud.spanner.ReadOnlyTransaction;
 import com.google.cloud.spanner.ResultSet;
@@ -33,9 +43,11 @@ import com.google.cloud.spanner.TransactionRunner.TransactionCallable;
 import com.google.cloud.spring.data.spanner.core.admin.SpannerSchemaUtils;
 import com.google.cloud.spring.data.spanner.core.convert.ConversionUtils;
 import com.google.cloud.spring.data.spanner.core.convert.SpannerEntityProcessor;
+import com.google.cloud.spring.data.spanner.core.mapping.SpannerBatchWriteException;
 import com.google.cloud.spring.data.spanner.core.mapping.SpannerDataException;
 import com.google.cloud.spring.data.spanner.core.mapping.SpannerMappingContext;
 import com.google.cloud.spring.data.spanner.core.mapping.SpannerPersistentEntity;
+import com.google.cloud.spring.data.spanner.core.mapping.SpannerPersistentProperty;
 import com.google.cloud.spring.data.spanner.core.mapping.event.AfterDeleteEvent;
 import com.google.cloud.spring.data.spanner.core.mapping.event.AfterExecuteDmlEvent;
 import com.google.cloud.spring.data.spanner.core.mapping.event.AfterQueryEvent;
@@ -50,20 +62,43 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 import javax.annotation.Nullable;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.ApplicationEventPublisherAware;
 import org.springframework.data.mapping.PersistentPropertyAccessor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.Assert;
 
@@ -72,10 +107,17 @@ import org.springframework.util.Assert;
  *
  * @since 1.1
  */
-public class SpannerTemplate implements SpannerOperations, ApplicationEventPublisherAware {
+public class SpannerTemplate
+    implements SpannerOperations, ApplicationEventPublisherAware, DisposableBean {
 
   private static final Log LOGGER = LogFactory.getLog(SpannerTemplate.class);
 
+  /** Keeps the statements that read the children of many parents at once to a reasonable size. */
+  private static final int MAX_CHILD_QUERY_PARAMETERS = 900;
+
+  /** The number of streamed entities whose children are read together. */
+  static final int STREAMED_CHILD_RESOLUTION_BATCH_SIZE = 100;
+
   private final Supplier<DatabaseClient> databaseClientProvider;
 
   private final SpannerMappingContext mappingContext;
@@ -88,6 +130,31 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
 
   private @Nullable ApplicationEventPublisher eventPublisher;
 
+  private int maxMutationsPerCommit;
+
+  private long maxCommitBytes;
+
+  private int maxConcurrentCommits = 1;
+
+  private @Nullable Executor writeExecutor;
+
+  /** The executor created when no write executor is set, shut down with this template. */
+  private @Nullable ExecutorService defaultWriteExecutor;
+
+  private @Nullable Supplier<BatchClient> batchClientProvider;
+
+  private int maxConcurrentPartitions = Runtime.getRuntime().availableProcessors();
+
+  private @Nullable Executor readExecutor;
+
+  /** The executor created when no read executor is set, shut down with this template. */
+  private @Nullable ExecutorService defaultReadExecutor;
+
+  private @Nullable Executor asyncExecutor;
+
+  /** The executor created when no async executor is set, shut down with this template. */
+  private @Nullable ExecutorService defaultAsyncExecutor;
+
   public SpannerTemplate(
       Supplier<DatabaseClient> databaseClientProvider,
       SpannerMappingContext mappingContext,
@@ -111,6 +178,169 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
     this.eventPublisher = applicationEventPublisher;
   }
 
+  /**
+   * Sets the maximum number of mutations of the commits that {@link #insertAll}, {@link
+   * #updateAll}, {@link #upsertAll} and {@link #deleteAll} outside of transactions are split into.
+   * Cloud Spanner counts a mutation per column written, and also per secondary index entry, so the
+   * limit should leave room for the indexes of the tables written. The mutations of an entity and
+   * its interleaved children are always committed together, and each commit is atomic on its own.
+   *
+   * @param maxMutationsPerCommit the maximum number of mutations, or 0 for no limit. By default
+   *     there is no limit and bulk writes are applied in a single commit.
+   */
+  public void setMaxMutationsPerCommit(int maxMutationsPerCommit) {
+    Assert.isTrue(
+        maxMutationsPerCommit >= 0, "The maximum number of mutations can't be negative.");
+    this.maxMutationsPerCommit = maxMutationsPerCommit;
+  }
+
+  /**
+   * Sets the maximum estimated size of the commits that bulk writes outside of transactions are
+   * split into.
+   *
+   * @param maxCommitBytes the maximum size in bytes, or 0 for no limit. By default there is no
+   *     limit.
+   * @see #setMaxMutationsPerCommit(int)
+   */
+  public void setMaxCommitBytes(long maxCommitBytes) {
+    Assert.isTrue(maxCommitBytes >= 0, "The maximum commit size can't be negative.");
+    this.maxCommitBytes = maxCommitBytes;
+  }
+
+  /**
+   * Sets how many of the commits of a bulk write may be applied at the same time. When greater than
+   * 1, every commit is attempted and a {@link SpannerBatchWriteException} reports the entities of
+   * the commits that failed. Otherwise commits are applied one after the other until one fails.
+   *
+   * @param maxConcurrentCommits the maximum number of concurrent commits; 1 by default
+   */
+  public void setMaxConcurrentCommits(int maxConcurrentCommits) {
+    Assert.isTrue(
+        maxConcurrentCommits > 0, "The maximum number of concurrent commits must be positive.");
+    this.maxConcurrentCommits = maxConcurrentCommits;
+  }
+
+  /**
+   * Sets the executor the commits of a bulk write are applied on when they are applied
+   * concurrently.
+   *
+   * @param writeExecutor the executor; by default a pool of as many daemon threads as the maximum
+   *     number of concurrent commits, owned by this template and shared by its bulk writes
+   */
+  public synchronized void setWriteExecutor(Executor writeExecutor) {
+    Assert.notNull(writeExecutor, "A non-null write executor is required.");
+    shutdownDefaultWriteExecutor();
+    this.writeExecutor = writeExecutor;
+  }
+
+  /**
+   * Sets the client of the batch read-only transactions that partitioned reads and queries run in.
+   *
+   * @param batchClientProvider supplies the batch client of the database
+   */
+  public void setBatchClientProvider(Supplier<BatchClient> batchClientProvider) {
+    this.batchClientProvider = batchClientProvider;
+  }
+
+  /**
+   * Sets how many partitions of a partitioned read or query may be read at the same time.
+   *
+   * @param maxConcurrentPartitions the maximum number of concurrent partitions; the number of
+   *     available processors by default
+   */
+  public void setMaxConcurrentPartitions(int maxConcurrentPartitions) {
+    Assert.isTrue(
+        maxConcurrentPartitions > 0,
+        "The maximum number of concurrent partitions must be positive.");
+    this.maxConcurrentPartitions = maxConcurrentPartitions;
+  }
+
+  /**
+   * Sets the executor the partitions of partitioned reads and queries are read on.
+   *
+   * @param readExecutor the executor; by default a pool of as many daemon threads as the maximum
+   *     number of concurrent partitions, owned by this template and shared by its partitioned reads
+   */
+  public synchronized void setReadExecutor(Executor readExecutor) {
+    Assert.notNull(readExecutor, "A non-null read executor is required.");
+    shutdownDefaultReadExecutor();
+    this.readExecutor = readExecutor;
+  }
+
+  /**
+   * Sets the executor the results of asynchronous operations are converted on and their futures
+   * are completed on, instead of the threads of the Cloud Spanner client. Children of entities that
+   * are not read with the entities themselves, and bulk writes split into several commits, are
+   * read and written with blocking calls on this executor.
+   *
+   * @param asyncExecutor the executor; by default a pool of as many daemon threads as there are
+   *     available processors, owned by this template
+   */
+  public synchronized void setAsyncExecutor(Executor asyncExecutor) {
+    Assert.notNull(asyncExecutor, "A non-null async executor is required.");
+    shutdownDefaultAsyncExecutor();
+    this.asyncExecutor = asyncExecutor;
+  }
+
+  /** Shuts down the executors created by this template, if any. */
+  @Override
+  public synchronized void destroy() {
+    shutdownDefaultAsyncExecutor();
+    shutdownDefaultWriteExecutor();
+    shutdownDefaultReadExecutor();
+  }
+
+  private void shutdownDefaultAsyncExecutor() {
+    if (this.defaultAsyncExecutor != null) {
+      this.defaultAsyncExecutor.shutdown();
+      this.defaultAsyncExecutor = null;
+      this.asyncExecutor = null;
+    }
+  }
+
+  private void shutdownDefaultReadExecutor() {
+    if (this.defaultReadExecutor != null) {
+      this.defaultReadExecutor.shutdown();
+      this.defaultReadExecutor = null;
+      this.readExecutor = null;
+    }
+  }
+
+  private void shutdownDefaultWriteExecutor() {
+    if (this.defaultWriteExecutor != null) {
+      this.defaultWriteExecutor.shutdown();
+      this.defaultWriteExecutor = null;
+      this.writeExecutor = null;
+    }
+  }
+
+  private synchronized Executor getAsyncExecutor() {
+    if (this.asyncExecutor == null) {
+      this.defaultAsyncExecutor =
+          newBoundedExecutor("spanner-async-", Runtime.getRuntime().availableProcessors());
+      this.asyncExecutor = this.defaultAsyncExecutor;
+    }
+    return this.asyncExecutor;
+  }
+
+  // not the async executor, whose threads may be the ones waiting for the commits
+  private synchronized Executor getWriteExecutor() {
+    if (this.writeExecutor == null) {
+      this.defaultWriteExecutor = newBoundedExecutor("spanner-commit-", this.maxConcurrentCommits);
+      this.writeExecutor = this.defaultWriteExecutor;
+    }
+    return this.writeExecutor;
+  }
+
+  private synchronized Executor getReadExecutor() {
+    if (this.readExecutor == null) {
+      this.defaultReadExecutor =
+          newBoundedExecutor("spanner-partition-", this.maxConcurrentPartitions);
+      this.readExecutor = this.defaultReadExecutor;
+    }
+    return this.readExecutor;
+  }
+
   protected ReadContext getReadContext() {
     return doWithOrWithoutTransactionContext(x -> x, this.databaseClientProvider.get()::singleUse);
   }
@@ -260,6 +490,246 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
     return entities;
   }
 
+  @Override
+  public <A> Stream<A> queryStream(
+      Function<Struct, A> rowFunc, Statement statement, SpannerQueryOptions options) {
+    return stream(executeQuery(statement, options), rowFunc);
+  }
+
+  @Override
+  public <T> Stream<T> queryStream(
+      Class<T> entityClass, Statement statement, SpannerQueryOptions options) {
+    return streamEntities(
+        executeQuery(statement, options),
+        entityClass,
+        (options != null) ? options.getIncludeProperties() : null,
+        options != null && options.isAllowPartialRead());
+  }
+
+  @Override
+  public <T> Stream<T> queryPartitioned(
+      Class<T> entityClass, Statement statement, SpannerQueryOptions options) {
+    return partitionQuery(entityClass, statement, options).stream();
+  }
+
+  @Override
+  public <T> void queryPartitioned(
+      Class<T> entityClass,
+      Statement statement,
+      SpannerQueryOptions options,
+      Consumer<Stream<T>> partitionConsumer) {
+    Assert.notNull(partitionConsumer, "A non-null partition consumer is required.");
+    partitionQuery(entityClass, statement, options).forEachPartition(partitionConsumer);
+  }
+
+  @Override
+  public <T> Stream<T> readPartitioned(
+      Class<T> entityClass, KeySet keys, SpannerReadOptions options) {
+    return partitionRead(entityClass, keys, options).stream();
+  }
+
+  @Override
+  public <T> void readPartitioned(
+      Class<T> entityClass,
+      KeySet keys,
+      SpannerReadOptions options,
+      Consumer<Stream<T>> partitionConsumer) {
+    Assert.notNull(partitionConsumer, "A non-null partition consumer is required.");
+    partitionRead(entityClass, keys, options).forEachPartition(partitionConsumer);
+  }
+
+  private <T> PartitionedResultsReader<T> partitionQuery(
+      Class<T> entityClass, Statement statement, SpannerQueryOptions options) {
+    Assert.notNull(statement, "A non-null statement is required.");
+    BatchReadOnlyTransaction transaction =
+        beginBatchReadOnlyTransaction((options != null) ? options.getTimestampBound() : null);
+    List<Partition> partitions;
+    try {
+      partitions =
+          (options == null)
+              ? transaction.partitionQuery(PartitionOptions.getDefaultInstance(), statement)
+              : transaction.partitionQuery(
+                  PartitionOptions.getDefaultInstance(), statement, options.getOptions());
+    } catch (RuntimeException ex) {
+      transaction.cleanup();
+      throw ex;
+    }
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug(
+          "Split query into " + partitions.size() + " partitions: " + statement.getSql());
+    }
+    return newPartitionedResultsReader(
+        transaction,
+        partitions,
+        entityClass,
+        (options != null) ? options.getIncludeProperties() : null,
+        options != null && options.isAllowPartialRead());
+  }
+
+  private <T> PartitionedResultsReader<T> partitionRead(
+      Class<T> entityClass, KeySet keys, SpannerReadOptions options) {
+    Assert.notNull(keys, "A non-null key set is required.");
+    SpannerPersistentEntity<?> persistentEntity =
+        this.mappingContext.getPersistentEntityOrFail(entityClass);
+    if (persistentEntity.hasEagerlyLoadedProperties() || persistentEntity.hasWhere()) {
+      // read with a query, like non-partitioned reads of these entities
+      return partitionQuery(
+          entityClass,
+          SpannerStatementQueryExecutor.buildQuery(
+              keys,
+              persistentEntity,
+              this.spannerEntityProcessor.getWriteConverter(),
+              this.mappingContext,
+              persistentEntity.getWhere(),
+              (options != null) ? options.getIndex() : null),
+          toQueryOption(keys, options));
+    }
+    BatchReadOnlyTransaction transaction =
+        beginBatchReadOnlyTransaction((options != null) ? options.getTimestampBound() : null);
+    List<Partition> partitions;
+    try {
+      ReadOption[] readOptions = (options != null) ? options.getOptions() : new ReadOption[0];
+      partitions =
+          (options == null || options.getIndex() == null)
+              ? transaction.partitionRead(
+                  PartitionOptions.getDefaultInstance(),
+                  persistentEntity.tableName(),
+                  keys,
+                  persistentEntity.columns(),
+                  readOptions)
+              : transaction.partitionReadUsingIndex(
+                  PartitionOptions.getDefaultInstance(),
+                  persistentEntity.tableName(),
+                  options.getIndex(),
+                  keys,
+                  persistentEntity.columns(),
+                  readOptions);
+    } catch (RuntimeException ex) {
+      transaction.cleanup();
+      throw ex;
+    }
+    if (LOGGER.isDebugEnabled()) {
+      StringBuilder logs = logColumns(persistentEntity.tableName(), keys, persistentEntity.columns());
+      logReadOptions(options, logs);
+      LOGGER.debug("Split read into " + partitions.size() + " partitions: " + logs);
+    }
+    return newPartitionedResultsReader(
+        transaction,
+        partitions,
+        entityClass,
+        (options != null) ? options.getIncludeProperties() : null,
+        options != null && options.isAllowPartialRead());
+  }
+
+  protected BatchReadOnlyTransaction beginBatchReadOnlyTransaction(TimestampBound timestampBound) {
+    if (getTransactionContext() != null) {
+      throw new SpannerDataException("Cannot execute partitioned reads in a transaction.");
+    }
+    Assert.state(
+        this.batchClientProvider != null, "A batch client is required for partitioned reads.");
+    return this.batchClientProvider
+        .get()
+        .batchReadOnlyTransaction(
+            (timestampBound != null) ? timestampBound : TimestampBound.strong());
+  }
+
+  private <T> PartitionedResultsReader<T> newPartitionedResultsReader(
+      BatchReadOnlyTransaction transaction,
+      List<Partition> partitions,
+      Class<T> entityClass,
+      Set<String> includeProperties,
+      boolean allowMissingColumns) {
+    // children are read at the timestamp of the batch transaction, so that they are consistent
+    // with their parents
+    SpannerTemplate childReader =
+        hasInterleavedProperties(this.mappingContext.getPersistentEntityOrFail(entityClass))
+            ? new SnapshotSpannerTemplate(
+                this.databaseClientProvider,
+                this.mappingContext,
+                this.spannerEntityProcessor,
+                this.mutationFactory,
+                this.spannerSchemaUtils,
+                transaction.getReadTimestamp())
+            : this;
+    return new PartitionedResultsReader<>(
+        transaction,
+        partitions,
+        resultSet ->
+            childReader.streamEntities(
+                resultSet, entityClass, includeProperties, allowMissingColumns),
+        this.maxConcurrentPartitions,
+        getReadExecutor());
+  }
+
+  private <T> Stream<T> streamEntities(
+      ResultSet resultSet,
+      Class<T> entityClass,
+      Set<String> includeProperties,
+      boolean allowMissingColumns) {
+    Stream<T> entities =
+        stream(
+            resultSet,
+            this.spannerEntityProcessor.getRowMapper(
+                entityClass, includeProperties, allowMissingColumns));
+    if (!hasInterleavedProperties(this.mappingContext.getPersistentEntityOrFail(entityClass))) {
+      return entities;
+    }
+    // the children of the entities are read a batch of entities at a time
+    Iterator<T> entityIterator = entities.iterator();
+    Iterator<T> resolvedIterator =
+        new Iterator<T>() {
+
+          private Iterator<T> batch = Collections.emptyIterator();
+
+          @Override
+          public boolean hasNext() {
+            while (!this.batch.hasNext() && entityIterator.hasNext()) {
+              List<T> nextBatch = new ArrayList<>(STREAMED_CHILD_RESOLUTION_BATCH_SIZE);
+              while (entityIterator.hasNext()
+                  && nextBatch.size() < STREAMED_CHILD_RESOLUTION_BATCH_SIZE) {
+                nextBatch.add(entityIterator.next());
+              }
+              this.batch = resolveChildEntities(nextBatch, includeProperties).iterator();
+            }
+            return this.batch.hasNext();
+          }
+
+          @Override
+          public T next() {
+            if (!hasNext()) {
+              throw new NoSuchElementException();
+            }
+            return this.batch.next();
+          }
+        };
+    return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(resolvedIterator, Spliterator.ORDERED), false)
+        .onClose(entities::close);
+  }
+
+  private static <A> Stream<A> stream(ResultSet resultSet, Function<Struct, A> rowFunc) {
+    Spliterator<A> rows =
+        new Spliterators.AbstractSpliterator<A>(Long.MAX_VALUE, Spliterator.ORDERED) {
+          @Override
+          public boolean tryAdvance(Consumer<? super A> action) {
+            if (!resultSet.next()) {
+              // release the session as soon as the results are exhausted
+              resultSet.close();
+              return false;
+            }
+            action.accept(rowFunc.apply(resultSet.getCurrentRowAsStruct()));
+            return true;
+          }
+        };
+    return StreamSupport.stream(rows, false).onClose(resultSet::close);
+  }
+
+  static boolean hasInterleavedProperties(SpannerPersistentEntity<?> persistentEntity) {
+    boolean[] found = new boolean[1];
+    persistentEntity.doWithInterleavedProperties(property -> found[0] = true);
+    return found[0];
+  }
+
   @Override
   public <T> List<T> readAll(Class<T> entityClass, SpannerReadOptions options) {
     return read(entityClass, KeySet.all(), options);
@@ -302,8 +772,7 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
 
   @Override
   public void insertAll(Iterable<?> objects) {
-    applySaveMutations(
-        () -> getMutationsForMultipleObjects(objects, this.mutationFactory::insert), objects, null);
+    applyBulkSaveMutations(objects, this.mutationFactory::insert);
   }
 
   @Override
@@ -314,10 +783,7 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
 
   @Override
   public void updateAll(Iterable<?> objects) {
-    applySaveMutations(
-        () -> getMutationsForMultipleObjects(objects, x -> this.mutationFactory.update(x, null)),
-        objects,
-        null);
+    applyBulkSaveMutations(objects, x -> this.mutationFactory.update(x, null));
   }
 
   @Override
@@ -344,10 +810,7 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
 
   @Override
   public void upsertAll(Iterable<?> objects) {
-    applySaveMutations(
-        () -> getMutationsForMultipleObjects(objects, x -> this.mutationFactory.upsert(x, null)),
-        objects,
-        null);
+    applyBulkSaveMutations(objects, x -> this.mutationFactory.upsert(x, null));
   }
 
   @Override
@@ -376,6 +839,24 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
     maybeEmitEvent(new AfterSaveEvent(mutations, entities, includeProperties));
   }
 
+  private void applyBulkSaveMutations(
+      Iterable<?> entities, Function<Object, Collection<Mutation>> entityMutationsFunc) {
+    if (!isSplittingCommits()) {
+      applySaveMutations(
+          () -> getMutationsForMultipleObjects(entities, entityMutationsFunc), entities, null);
+      return;
+    }
+    maybeEmitEvent(new BeforeSaveEvent(entities, null));
+    List<Object> entityList = new ArrayList<>();
+    List<Collection<Mutation>> mutationGroups = new ArrayList<>();
+    for (Object entity : entities) {
+      entityList.add(entity);
+      mutationGroups.add(entityMutationsFunc.apply(entity));
+    }
+    applyMutationsInCommits(entityList, mutationGroups);
+    maybeEmitEvent(new AfterSaveEvent(flatten(mutationGroups), entities, null));
+  }
+
   @Override
   public void delete(Object entity) {
     applyDeleteMutations(
@@ -385,11 +866,19 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
 
   @Override
   public void deleteAll(Iterable<?> objects) {
-    applyDeleteMutations(
-        objects,
+    List<Mutation> mutations =
         StreamSupport.stream(objects.spliterator(), false)
             .map(this.mutationFactory::delete)
-            .collect(Collectors.toList()));
+            .collect(Collectors.toList());
+    if (!isSplittingCommits()) {
+      applyDeleteMutations(objects, mutations);
+      return;
+    }
+    maybeEmitEvent(new BeforeDeleteEvent(mutations, objects, null, null));
+    applyMutationsInCommits(
+        StreamSupport.stream(objects.spliterator(), false).collect(Collectors.toList()),
+        mutations.stream().map(Collections::singletonList).collect(Collectors.toList()));
+    maybeEmitEvent(new AfterDeleteEvent(mutations, objects, null, null));
   }
 
   private void applyDeleteMutations(Iterable<?> objects, List<Mutation> mutations) {
@@ -449,21 +938,26 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
                     new TransactionCallable<T>() {
                       @Nullable
                       @Override
-                      public T run(TransactionContext transaction) { // @formatter:off
-                        ReadWriteTransactionSpannerTemplate transactionSpannerTemplate =
-                            new ReadWriteTransactionSpannerTemplate(
-                                // @formatter:on
-                                SpannerTemplate.this.databaseClientProvider,
-                                SpannerTemplate.this.mappingContext,
-                                SpannerTemplate.this.spannerEntityProcessor,
-                                SpannerTemplate.this.mutationFactory,
-                                SpannerTemplate.this.spannerSchemaUtils,
-                                transaction);
-                        return operations.apply(transactionSpannerTemplate);
+                      public T run(TransactionContext transaction) {
+                        return operations.apply(newReadWriteTransactionTemplate(transaction));
                       }
                     }));
   }
 
+  private ReadWriteTransactionSpannerTemplate newReadWriteTransactionTemplate(
+      TransactionContext transaction) {
+    ReadWriteTransactionSpannerTemplate transactionSpannerTemplate =
+        new ReadWriteTransactionSpannerTemplate(
+            this.databaseClientProvider,
+            this.mappingContext,
+            this.spannerEntityProcessor,
+            this.mutationFactory,
+            this.spannerSchemaUtils,
+            transaction);
+    transactionSpannerTemplate.setAsyncExecutor(getAsyncExecutor());
+    return transactionSpannerTemplate;
+  }
+
   @Override
   public <T> T performReadOnlyTransaction(
       Function<SpannerTemplate, T> operations, SpannerReadOptions readOptions) {
@@ -482,18 +976,271 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
                       .get()
                       .readOnlyTransaction(options.getTimestampBound())
                   : this.databaseClientProvider.get().readOnlyTransaction()) {
-            return operations.apply(
+            ReadOnlyTransactionSpannerTemplate transactionSpannerTemplate =
                 new ReadOnlyTransactionSpannerTemplate(
                     SpannerTemplate.this.databaseClientProvider,
                     SpannerTemplate.this.mappingContext,
                     SpannerTemplate.this.spannerEntityProcessor,
                     SpannerTemplate.this.mutationFactory,
                     SpannerTemplate.this.spannerSchemaUtils,
-                    readOnlyTransaction));
+                    readOnlyTransaction);
+            transactionSpannerTemplate.setAsyncExecutor(getAsyncExecutor());
+            return operations.apply(transactionSpannerTemplate);
           }
         });
   }
 
+  /**
+   * Finds objects by using an SQL statement, without blocking. The rows are read and converted on
+   * the async executor of the template rather than on the threads of the Cloud Spanner client.
+   *
+   * @param rowFunc the function to apply to each row of the result.
+   * @param statement the SQL statement used to select the objects.
+   * @param options the options with which to run this query.
+   * @param <A> the type to convert each row Struct into.
+   * @return a future of the rows each transformed with the given function. Cancelling it cancels
+   *     the query.
+   */
+  public <A> CompletableFuture<List<A>> queryAsync(
+      Function<Struct, A> rowFunc, Statement statement, SpannerQueryOptions options) {
+    CompletableFuture<List<A>> rows = toListAsync(executeQueryAsync(statement, options), rowFunc);
+    return propagateCancellation(
+        rows.thenApply(
+            result -> {
+              maybeEmitEvent(new AfterQueryEvent(result, statement, options));
+              return result;
+            }),
+        rows);
+  }
+
+  /**
+   * Finds objects by using an SQL statement, without blocking. The rows are read and converted on
+   * the async executor of the template rather than on the threads of the Cloud Spanner client.
+   *
+   * @param entityClass the type of object to retrieve.
+   * @param statement the SQL statement used to select the objects.
+   * @param options the Cloud Spanner read options with which to conduct the read operation.
+   * @param <T> the type of object to retrieve.
+   * @return a future of the objects found. Cancelling it cancels the query.
+   */
+  public <T> CompletableFuture<List<T>> queryAsync(
+      Class<T> entityClass, Statement statement, SpannerQueryOptions options) {
+    CompletableFuture<List<T>> entities =
+        mapToListAsyncAndResolveChildren(
+            executeQueryAsync(statement, options),
+            entityClass,
+            (options != null) ? options.getIncludeProperties() : null,
+            options != null && options.isAllowPartialRead());
+    return propagateCancellation(
+        entities.thenApply(
+            result -> {
+              maybeEmitEvent(new AfterQueryEvent(result, statement, options));
+              return result;
+            }),
+        entities);
+  }
+
+  /**
+   * Reads an object from its key, without blocking.
+   *
+   * @param entityClass the type of the object to retrieve.
+   * @param key the key of the object.
+   * @param options the Cloud Spanner read options with which to conduct the read operation.
+   * @param <T> the type of the object to retrieve.
+   * @return a future of the object, or of {@code null} if it is not found.
+   */
+  public <T> CompletableFuture<T> readAsync(
+      Class<T> entityClass, Key key, SpannerReadOptions options) {
+    CompletableFuture<List<T>> entities = readAsync(entityClass, KeySet.singleKey(key), options);
+    return propagateCancellation(
+        entities.thenApply(items -> items.isEmpty() ? null : items.get(0)), entities);
+  }
+
+  /**
+   * Reads objects from their keys, without blocking.
+   *
+   * @param entityClass the type of the object to retrieve.
+   * @param keys the keys of the objects to retrieve.
+   * @param options the Cloud Spanner read options with which to conduct the read operation.
+   * @param <T> the type of the object to retrieve.
+   * @return a future of the objects found. Cancelling it cancels the read.
+   */
+  public <T> CompletableFuture<List<T>> readAsync(
+      Class<T> entityClass, KeySet keys, SpannerReadOptions options) {
+    SpannerPersistentEntity<T> persistentEntity =
+        (SpannerPersistentEntity<T>) this.mappingContext.getPersistentEntityOrFail(entityClass);
+
+    AsyncResultSet resultSet;
+    if (persistentEntity.hasEagerlyLoadedProperties() || persistentEntity.hasWhere()) {
+      resultSet =
+          executeQueryAsync(
+              SpannerStatementQueryExecutor.buildQuery(
+                  keys,
+                  persistentEntity,
+                  this.spannerEntityProcessor.getWriteConverter(),
+                  this.mappingContext,
+                  persistentEntity.getWhere(),
+                  (options != null) ? options.getIndex() : null),
+              toQueryOption(keys, options));
+    } else {
+      resultSet =
+          executeReadAsync(persistentEntity.tableName(), keys, persistentEntity.columns(), options);
+    }
+    CompletableFuture<List<T>> entities =
+        mapToListAsyncAndResolveChildren(
+            resultSet,
+            entityClass,
+            (options != null) ? options.getIncludeProperties() : null,
+            options != null && options.isAllowPartialRead());
+    return propagateCancellation(
+        entities.thenApply(
+            result -> {
+              maybeEmitEvent(new AfterReadEvent(result, keys, options));
+              return result;
+            }),
+        entities);
+  }
+
+  /**
+   * Reads all objects of the given type, without blocking.
+   *
+   * @param entityClass the type of the object to retrieve.
+   * @param options the Cloud Spanner read options with which to conduct the read operation.
+   * @param <T> the type of the object to retrieve.
+   * @return a future of the objects found. Cancelling it cancels the read.
+   */
+  public <T> CompletableFuture<List<T>> readAllAsync(
+      Class<T> entityClass, SpannerReadOptions options) {
+    return readAsync(entityClass, KeySet.all(), options);
+  }
+
+  /**
+   * Insert an object into storage, without blocking.
+   *
+   * @param object the object to insert.
+   * @return a future completed once the insert is committed.
+   */
+  public CompletableFuture<Void> insertAsync(Object object) {
+    return applySaveMutationsAsync(
+        () -> this.mutationFactory.insert(object), Collections.singletonList(object));
+  }
+
+  /**
+   * Insert objects into storage in batch, without blocking.
+   *
+   * @param objects the objects to insert.
+   * @return a future completed once the inserts are committed.
+   */
+  public CompletableFuture<Void> insertAllAsync(Iterable<?> objects) {
+    if (isSplittingCommits()) {
+      return CompletableFuture.runAsync(() -> insertAll(objects), getAsyncExecutor());
+    }
+    return applySaveMutationsAsync(
+        () -> getMutationsForMultipleObjects(objects, this.mutationFactory::insert), objects);
+  }
+
+  /**
+   * Update or insert an object into storage, without blocking.
+   *
+   * @param object the object to update or insert.
+   * @return a future completed once the upsert is committed.
+   */
+  public CompletableFuture<Void> upsertAsync(Object object) {
+    return applySaveMutationsAsync(
+        () -> this.mutationFactory.upsert(object, null), Collections.singletonList(object));
+  }
+
+  /**
+   * Update or insert objects into storage in batch, without blocking.
+   *
+   * @param objects the objects to update or insert.
+   * @return a future completed once the upserts are committed.
+   */
+  public CompletableFuture<Void> upsertAllAsync(Iterable<?> objects) {
+    if (isSplittingCommits()) {
+      return CompletableFuture.runAsync(() -> upsertAll(objects), getAsyncExecutor());
+    }
+    return applySaveMutationsAsync(
+        () -> getMutationsForMultipleObjects(objects, x -> this.mutationFactory.upsert(x, null)),
+        objects);
+  }
+
+  private CompletableFuture<Void> applySaveMutationsAsync(
+      Supplier<List<Mutation>> mutationsSupplier, Iterable<?> entities) {
+    maybeEmitEvent(new BeforeSaveEvent(entities, null));
+    List<Mutation> mutations = mutationsSupplier.get();
+    return applyMutationsAsync(mutations)
+        .thenRun(() -> maybeEmitEvent(new AfterSaveEvent(mutations, entities, null)));
+  }
+
+  /**
+   * Delete an object from storage, without blocking.
+   *
+   * @param entity the object to delete from storage. The entity key is computed from this object.
+   * @return a future completed once the delete is committed.
+   */
+  public CompletableFuture<Void> deleteAsync(Object entity) {
+    return applyDeleteMutationsAsync(
+        Collections.singletonList(entity),
+        Collections.singletonList(this.mutationFactory.delete(entity)));
+  }
+
+  /**
+   * Delete objects from storage, without blocking.
+   *
+   * @param objects the objects to delete from storage. The keys for these objects are computed
+   *     using the objects.
+   * @return a future completed once the deletes are committed.
+   */
+  public CompletableFuture<Void> deleteAllAsync(Iterable<?> objects) {
+    if (isSplittingCommits()) {
+      return CompletableFuture.runAsync(() -> deleteAll(objects), getAsyncExecutor());
+    }
+    return applyDeleteMutationsAsync(
+        objects,
+        StreamSupport.stream(objects.spliterator(), false)
+            .map(this.mutationFactory::delete)
+            .collect(Collectors.toList()));
+  }
+
+  private CompletableFuture<Void> applyDeleteMutationsAsync(
+      Iterable<?> objects, List<Mutation> mutations) {
+    maybeEmitEvent(new BeforeDeleteEvent(mutations, objects, null, null));
+    return applyMutationsAsync(mutations)
+        .thenRun(() -> maybeEmitEvent(new AfterDeleteEvent(mutations, objects, null, null)));
+  }
+
+  /**
+   * Performs multiple read and write operations in a single transaction, without blocking. The
+   * operations are expected to use the asynchronous methods of the given template, and the
+   * transaction commits once the future they return completes. The operations may be run more than
+   * once if the transaction is aborted.
+   *
+   * @param operations the function representing the operations to perform using a SpannerOperations
+   *     based on a single transaction.
+   * @param <T> the final return type of the operations.
+   * @return a future of the final result of the transaction, completed once it is committed.
+   */
+  public <T> CompletableFuture<T> performReadWriteTransactionAsync(
+      Function<SpannerTemplate, CompletableFuture<T>> operations) {
+    return doWithOrWithoutTransactionContext(
+        x -> {
+          throw new IllegalStateException(
+              "There is already declarative transaction open. "
+                  + "Spanner does not support nested transactions");
+        },
+        () ->
+            toCompletableFuture(
+                this.databaseClientProvider
+                    .get()
+                    .runAsync()
+                    .runAsync(
+                        transaction ->
+                            toApiFuture(
+                                operations.apply(newReadWriteTransactionTemplate(transaction))),
+                        getAsyncExecutor())));
+  }
+
   public ResultSet executeQuery(Statement statement, SpannerQueryOptions options) {
     ResultSet resultSet = performQuery(statement, options);
     if (LOGGER.isDebugEnabled()) {
@@ -508,6 +1255,33 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
     return resultSet;
   }
 
+  /**
+   * Starts a query whose results are read asynchronously.
+   *
+   * @param statement the SQL statement of the query
+   * @param options the options with which to run the query
+   * @return the result set, to be read with a callback
+   */
+  public AsyncResultSet executeQueryAsync(Statement statement, SpannerQueryOptions options) {
+    AsyncResultSet resultSet;
+    if (options == null) {
+      resultSet = getReadContext().executeQueryAsync(statement);
+    } else {
+      resultSet =
+          ((options.getTimestampBound() != null)
+                  ? getReadContext(options.getTimestampBound())
+                  : getReadContext())
+              .executeQueryAsync(statement, options.getOptions());
+    }
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug(
+          options == null
+              ? "Executing query without additional options: " + statement
+              : getQueryLogMessageWithOptions(statement, options));
+    }
+    return resultSet;
+  }
+
   private String getQueryLogMessageWithOptions(Statement statement, SpannerQueryOptions options) {
     String message;
     StringBuilder logSb = new StringBuilder("Executing query");
@@ -585,6 +1359,32 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
     return resultSet;
   }
 
+  private AsyncResultSet executeReadAsync(
+      String tableName, KeySet keys, Iterable<String> columns, SpannerReadOptions options) {
+    ReadContext readContext =
+        (options != null && options.getTimestampBound() != null)
+            ? getReadContext(options.getTimestampBound())
+            : getReadContext();
+
+    AsyncResultSet resultSet;
+    if (options == null) {
+      resultSet = readContext.readAsync(tableName, keys, columns);
+    } else if (options.getIndex() == null) {
+      resultSet = readContext.readAsync(tableName, keys, columns, options.getOptions());
+    } else {
+      resultSet =
+          readContext.readUsingIndexAsync(
+              tableName, options.getIndex(), keys, columns, options.getOptions());
+    }
+
+    if (LOGGER.isDebugEnabled()) {
+      StringBuilder logs = logColumns(tableName, keys, columns);
+      logReadOptions(options, logs);
+      LOGGER.debug(logs.toString());
+    }
+    return resultSet;
+  }
+
   private void logReadOptions(SpannerReadOptions options, StringBuilder logs) {
     if (options == null) {
       return;
@@ -614,6 +1414,34 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
     return logSb;
   }
 
+  /**
+   * Applies mutations without blocking, in a read-write transaction of their own unless there is a
+   * transaction in progress.
+   *
+   * @param mutations the mutations to apply
+   * @return a future completed once the mutations are committed, or buffered in the transaction in
+   *     progress
+   */
+  protected CompletableFuture<Void> applyMutationsAsync(Collection<Mutation> mutations) {
+    LOGGER.debug("Applying Mutation: " + mutations);
+    return doWithOrWithoutTransactionContext(
+        x -> {
+          x.buffer(mutations);
+          return CompletableFuture.completedFuture(null);
+        },
+        () ->
+            toCompletableFuture(
+                this.databaseClientProvider
+                    .get()
+                    .runAsync()
+                    .runAsync(
+                        transaction -> {
+                          transaction.buffer(mutations);
+                          return ApiFutures.<Void>immediateFuture(null);
+                        },
+                        getAsyncExecutor())));
+  }
+
   protected void applyMutations(Collection<Mutation> mutations) {
     LOGGER.debug("Applying Mutation: " + mutations);
     doWithOrWithoutTransactionContext(
@@ -627,6 +1455,84 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
         });
   }
 
+  private boolean isSplittingCommits() {
+    return (this.maxMutationsPerCommit > 0 || this.maxCommitBytes > 0)
+        && getTransactionContext() == null;
+  }
+
+  private void applyMutationsInCommits(
+      List<Object> entities, List<? extends Collection<Mutation>> mutationGroups) {
+    List<Integer> commitEnds =
+        MutationCommitSplitter.split(
+            mutationGroups, this.maxMutationsPerCommit, this.maxCommitBytes);
+    int numCommits = commitEnds.size();
+    if (numCommits <= 1 || this.maxConcurrentCommits == 1) {
+      for (int i = 0; i < numCommits; i++) {
+        applyMutations(flatten(getCommit(mutationGroups, commitEnds, i)));
+      }
+      return;
+    }
+
+    AtomicInteger nextCommit = new AtomicInteger();
+    ConcurrentMap<Integer, RuntimeException> failures = new ConcurrentHashMap<>();
+    Runnable worker =
+        () -> {
+          for (int i = nextCommit.getAndIncrement();
+              i < numCommits;
+              i = nextCommit.getAndIncrement()) {
+            try {
+              applyMutations(flatten(getCommit(mutationGroups, commitEnds, i)));
+            } catch (RuntimeException ex) {
+              failures.put(i, ex);
+            }
+          }
+        };
+    int numWorkers = Math.min(this.maxConcurrentCommits, numCommits);
+    Executor executor = getWriteExecutor();
+    CompletableFuture.allOf(
+            Stream.generate(() -> CompletableFuture.runAsync(worker, executor))
+                .limit(numWorkers)
+                .toArray(CompletableFuture<?>[]::new))
+        .join();
+
+    if (!failures.isEmpty()) {
+      SortedMap<Integer, RuntimeException> sortedFailures = new TreeMap<>(failures);
+      SortedMap<Integer, List<Object>> failedCommits = new TreeMap<>();
+      sortedFailures
+          .keySet()
+          .forEach(i -> failedCommits.put(i, new ArrayList<>(getCommit(entities, commitEnds, i))));
+      throw new SpannerBatchWriteException(numCommits, failedCommits, sortedFailures.values());
+    }
+  }
+
+  /** Creates an executor whose daemon threads are started on demand and stop when idle. */
+  static ExecutorService newBoundedExecutor(String threadNamePrefix, int maxThreads) {
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            maxThreads,
+            maxThreads,
+            60L,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            newThreadFactory(threadNamePrefix));
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  static ThreadFactory newThreadFactory(String threadNamePrefix) {
+    CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(threadNamePrefix);
+    threadFactory.setDaemon(true);
+    return threadFactory;
+  }
+
+  private static <T> List<T> getCommit(List<T> groups, List<Integer> commitEnds, int commit) {
+    return groups.subList(commit == 0 ? 0 : commitEnds.get(commit - 1), commitEnds.get(commit));
+  }
+
+  private static List<Mutation> flatten(List<? extends Collection<Mutation>> mutationGroups) {
+    return mutationGroups.stream().flatMap(Collection::stream).collect(Collectors.toList());
+  }
+
   private <T> List<T> queryAndResolveChildren(
       Class<T> entityClass, Statement statement, SpannerQueryOptions options) {
     return mapToListAndResolveChildren(
@@ -647,51 +1553,231 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
         includeProperties);
   }
 
-  private <T> List<T> resolveChildEntities(List<T> entities, Set<String> includeProperties) {
+  private <T> CompletableFuture<List<T>> mapToListAsyncAndResolveChildren(
+      AsyncResultSet resultSet,
+      Class<T> entityClass,
+      Set<String> includeProperties,
+      boolean allowMissingColumns) {
+    CompletableFuture<List<T>> entities =
+        toListAsync(
+            resultSet,
+            this.spannerEntityProcessor.getRowMapper(
+                entityClass, includeProperties, allowMissingColumns));
+    if (!hasInterleavedProperties(this.mappingContext.getPersistentEntityOrFail(entityClass))) {
+      return entities;
+    }
+    return propagateCancellation(
+        entities.thenApplyAsync(
+            result -> resolveChildEntities(result, includeProperties), getAsyncExecutor()),
+        entities);
+  }
+
+  /**
+   * Reads and converts the rows of a result set on the async executor, as they are received.
+   * Cancelling the returned future cancels the result set.
+   */
+  private <A> CompletableFuture<List<A>> toListAsync(
+      AsyncResultSet resultSet, Function<Struct, A> rowFunc) {
+    CompletableFuture<List<A>> result = new CompletableFuture<>();
+    List<A> rows = new ArrayList<>();
+    resultSet.setCallback(
+        getAsyncExecutor(),
+        cursor -> {
+          try {
+            while (true) {
+              switch (cursor.tryNext()) {
+                case DONE:
+                  result.complete(rows);
+                  return CallbackResponse.DONE;
+                case NOT_READY:
+                  return CallbackResponse.CONTINUE;
+                default:
+                  rows.add(rowFunc.apply(cursor.getCurrentRowAsStruct()));
+              }
+            }
+          } catch (RuntimeException ex) {
+            result.completeExceptionally(ex);
+            return CallbackResponse.DONE;
+          }
+        });
+    result.whenComplete(
+        (rowList, ex) -> {
+          if (result.isCancelled()) {
+            resultSet.cancel();
+          }
+        });
+    return result;
+  }
+
+  private static <T> CompletableFuture<T> propagateCancellation(
+      CompletableFuture<T> future, CompletableFuture<?> source) {
+    future.whenComplete(
+        (result, ex) -> {
+          if (future.isCancelled()) {
+            source.cancel(false);
+          }
+        });
+    return future;
+  }
+
+  private <T> CompletableFuture<T> toCompletableFuture(ApiFuture<T> apiFuture) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    ApiFutures.addCallback(
+        apiFuture,
+        new ApiFutureCallback<>() {
+          @Override
+          public void onFailure(Throwable throwable) {
+            future.completeExceptionally(throwable);
+          }
+
+          @Override
+          public void onSuccess(T result) {
+            future.complete(result);
+          }
+        },
+        getAsyncExecutor());
+    return future;
+  }
+
+  private static <T> ApiFuture<T> toApiFuture(CompletableFuture<T> future) {
+    SettableApiFuture<T> apiFuture = SettableApiFuture.create();
+    future.whenComplete(
+        (result, ex) -> {
+          if (ex == null) {
+            apiFuture.set(result);
+          } else {
+            // an aborted transaction is retried only if its exception is not wrapped
+            apiFuture.setException(
+                (ex instanceof CompletionException && ex.getCause() != null)
+                    ? ex.getCause()
+                    : ex);
+          }
+        });
+    return apiFuture;
+  }
+
+  <T> List<T> resolveChildEntities(List<T> entities, Set<String> includeProperties) {
+    Map<Class<?>, List<Object>> entitiesByType = new LinkedHashMap<>();
     for (Object entity : entities) {
-      resolveChildEntity(entity, includeProperties);
+      entitiesByType.computeIfAbsent(entity.getClass(), x -> new ArrayList<>()).add(entity);
     }
+    entitiesByType.forEach(
+        (type, typeEntities) ->
+            resolveChildEntities(
+                this.mappingContext.getPersistentEntityOrFail(type),
+                typeEntities,
+                includeProperties));
     return entities;
   }
 
-  private void resolveChildEntity(Object entity, Set<String> includeProperties) {
-    SpannerPersistentEntity<?> spannerPersistentEntity =
-        this.mappingContext.getPersistentEntityOrFail(entity.getClass());
-
-    PersistentPropertyAccessor<?> accessor = spannerPersistentEntity.getPropertyAccessor(entity);
+  private void resolveChildEntities(
+      SpannerPersistentEntity<?> spannerPersistentEntity,
+      List<Object> entities,
+      Set<String> includeProperties) {
     spannerPersistentEntity.doWithInterleavedProperties(
         spannerPersistentProperty -> {
           if (includeProperties != null
               && !includeProperties.contains(spannerPersistentEntity.getName())) {
             return;
           }
-          // an interleaved property can only be List
-          List propertyValue = (List) accessor.getProperty(spannerPersistentProperty);
-          if (propertyValue != null) {
-            resolveChildEntities(propertyValue, null);
-            return;
+          List<Object> loadedChildren = new ArrayList<>();
+          List<Object> parentsToLoad = new ArrayList<>();
+          for (Object entity : entities) {
+            PersistentPropertyAccessor<?> accessor =
+                spannerPersistentEntity.getPropertyAccessor(entity);
+            // an interleaved property can only be List
+            List propertyValue = (List) accessor.getProperty(spannerPersistentProperty);
+            if (propertyValue != null) {
+              loadedChildren.addAll(propertyValue);
+            } else if (spannerPersistentProperty.isLazyInterleaved()) {
+              Supplier<List> getChildrenEntitiesFunc =
+                  () ->
+                      queryAndResolveChildren(
+                          spannerPersistentProperty.getColumnInnerType(),
+                          SpannerStatementQueryExecutor.getChildrenRowsQuery(
+                              this.spannerSchemaUtils.getKey(entity),
+                              spannerPersistentProperty,
+                              this.spannerEntityProcessor.getWriteConverter(),
+                              this.mappingContext),
+                          null);
+              accessor.setProperty(
+                  spannerPersistentProperty,
+                  ConversionUtils.wrapSimpleLazyProxy(getChildrenEntitiesFunc, List.class));
+            } else {
+              parentsToLoad.add(entity);
+            }
           }
-          Class<?> childType = spannerPersistentProperty.getColumnInnerType();
-
-          Supplier<List> getChildrenEntitiesFunc =
-              () ->
-                  queryAndResolveChildren(
-                      childType,
-                      SpannerStatementQueryExecutor.getChildrenRowsQuery(
-                          this.spannerSchemaUtils.getKey(entity),
-                          spannerPersistentProperty,
-                          this.spannerEntityProcessor.getWriteConverter(),
-                          this.mappingContext),
-                      null);
-
-          accessor.setProperty(
-              spannerPersistentProperty,
-              spannerPersistentProperty.isLazyInterleaved()
-                  ? ConversionUtils.wrapSimpleLazyProxy(getChildrenEntitiesFunc, List.class)
-                  : getChildrenEntitiesFunc.get());
+          resolveChildEntities(loadedChildren, null);
+          readChildEntities(spannerPersistentEntity, spannerPersistentProperty, parentsToLoad);
         });
   }
 
+  /**
+   * Reads the interleaved children of many parents with a query per batch of parents, instead of
+   * one per parent, and resolves their own children the same way.
+   */
+  private void readChildEntities(
+      SpannerPersistentEntity<?> parentPersistentEntity,
+      SpannerPersistentProperty spannerPersistentProperty,
+      List<Object> parents) {
+    if (parents.isEmpty()) {
+      return;
+    }
+    Class<?> childType = spannerPersistentProperty.getColumnInnerType();
+    int parentKeySize = parentPersistentEntity.getFlattenedPrimaryKeyProperties().size();
+    int parentsPerQuery = Math.max(1, MAX_CHILD_QUERY_PARAMETERS / parentKeySize);
+    List<Object> children = new ArrayList<>();
+    for (int start = 0; start < parents.size(); start += parentsPerQuery) {
+      List<Object> batch = parents.subList(start, Math.min(start + parentsPerQuery, parents.size()));
+      Map<Key, List<Object>> childrenByParentKey = new LinkedHashMap<>();
+      for (Object parent : batch) {
+        childrenByParentKey.putIfAbsent(this.spannerSchemaUtils.getKey(parent), new ArrayList<>());
+      }
+      KeySet.Builder parentKeys = KeySet.newBuilder();
+      childrenByParentKey.keySet().forEach(parentKeys::addKey);
+
+      List<?> batchChildren =
+          this.spannerEntityProcessor.mapToList(
+              executeQuery(
+                  SpannerStatementQueryExecutor.getChildrenRowsQuery(
+                      parentKeys.build(),
+                      spannerPersistentProperty,
+                      this.spannerEntityProcessor.getWriteConverter(),
+                      this.mappingContext),
+                  null),
+              childType,
+              null,
+              false);
+      for (Object child : batchChildren) {
+        List<Object> parentChildren =
+            childrenByParentKey.get(
+                getParentKey(this.spannerSchemaUtils.getKey(child), parentKeySize));
+        if (parentChildren != null) {
+          parentChildren.add(child);
+        }
+      }
+      for (Object parent : batch) {
+        // parents read more than once get lists of their own
+        List<Object> parentChildren =
+            new ArrayList<>(childrenByParentKey.get(this.spannerSchemaUtils.getKey(parent)));
+        parentPersistentEntity
+            .getPropertyAccessor(parent)
+            .setProperty(spannerPersistentProperty, parentChildren);
+      }
+      children.addAll(batchChildren);
+    }
+    resolveChildEntities(children, null);
+  }
+
+  private static Key getParentKey(Key childKey, int parentKeySize) {
+    Key.Builder parentKey = Key.newBuilder();
+    Iterator<Object> parts = childKey.getParts().iterator();
+    for (int i = 0; i < parentKeySize && parts.hasNext(); i++) {
+      parentKey.appendObject(parts.next());
+    }
+    return parentKey.build();
+  }
+
   private List<Mutation> getMutationsForMultipleObjects(
       Iterable<?> it, Function<Object, Collection<Mutation>> individualEntityMutationFunc) {
     return StreamSupport.stream(it.spliterator(), false)
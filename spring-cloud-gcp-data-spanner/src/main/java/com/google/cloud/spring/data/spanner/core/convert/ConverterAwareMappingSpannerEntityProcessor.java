@@ -27,6 +27,7 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Function;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.util.Assert;
 
@@ -77,13 +78,9 @@ public class ConverterAwareMappingSpannerEntityProcessor implements SpannerEntit
       boolean allowMissingColumns) {
     ArrayList<T> result = new ArrayList<>();
     try {
+      Function<Struct, T> rowMapper = getRowMapper(entityClass, includeColumns, allowMissingColumns);
       while (resultSet.next()) {
-        result.add(
-            this.entityReader.read(
-                entityClass,
-                resultSet.getCurrentRowAsStruct(),
-                includeColumns,
-                allowMissingColumns));
+        result.add(rowMapper.apply(resultSet.getCurrentRowAsStruct()));
       }
     } finally {
       resultSet.close();
@@ -91,6 +88,26 @@ public class ConverterAwareMappingSpannerEntityProcessor implements SpannerEntit
     return result;
   }
 
+  @Override
+  public <T> Function<Struct, T> getRowMapper(
+      Class<T> entityClass, Set<String> includeColumns, boolean allowMissingColumns) {
+    return new Function<Struct, T>() {
+
+      // the rows of a result set normally all have the same type
+      private SpannerRowReader<T> rowReader;
+
+      @Override
+      public T apply(Struct row) {
+        if (this.rowReader == null || !this.rowReader.canRead(row.getType())) {
+          this.rowReader =
+              ConverterAwareMappingSpannerEntityProcessor.this.entityReader.getRowReader(
+                  entityClass, row.getType(), includeColumns, allowMissingColumns);
+        }
+        return this.rowReader.read(row);
+      }
+    };
+  }
+
   @Override
   public <T> List<T> mapToList(
       ResultSet resultSet, Class<T> entityClass, String... includeColumns) {
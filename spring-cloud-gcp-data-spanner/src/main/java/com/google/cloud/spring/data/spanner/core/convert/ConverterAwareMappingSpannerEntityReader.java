@@ -17,6 +17,7 @@
 package com.google.cloud.spring.data.spanner.core.convert;
 
 import com.google.cloud.spanner.Struct;
+import com.google.cloud.spanner.Type;
 import com.google.cloud.spring.data.spanner.core.mapping.SpannerDataException;
 import com.google.cloud.spring.data.spanner.core.mapping.SpannerMappingContext;
 import com.google.cloud.spring.data.spanner.core.mapping.SpannerPersistentEntity;
@@ -116,6 +117,30 @@ class ConverterAwareMappingSpannerEntityReader implements SpannerEntityReader {
     return instance;
   }
 
+  /**
+   * Creates a reader of POJOs from rows that all have the same type, which resolves the columns of
+   * the POJO properties once instead of for every row.
+   *
+   * @param type the type of POJO
+   * @param rowType the type of the rows
+   * @param includeColumns the columns to read. If null then all columns will be read.
+   * @param allowMissingColumns if true, then properties with no corresponding column are not
+   *     mapped. If false, then an exception is thrown.
+   * @param <R> the type of the POJO.
+   * @return the reader
+   */
+  <R> SpannerRowReader<R> getRowReader(
+      Class<R> type, Type rowType, Set<String> includeColumns, boolean allowMissingColumns) {
+    return new SpannerRowReader<>(
+        this.spannerMappingContext,
+        this.instantiators,
+        this.converter,
+        type,
+        rowType,
+        includeColumns,
+        allowMissingColumns);
+  }
+
   private boolean shouldSkipProperty(
       StructAccessor struct,
       SpannerPersistentProperty spannerPersistentProperty,
@@ -17,8 +17,10 @@
 package com.google.cloud.spring.data.spanner.core.convert;
 
 import com.google.cloud.spanner.ResultSet;
+import com.google.cloud.spanner.Struct;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Function;
 
 /**
  * Interface for processors that can populate fields from Spanner Structs and write them to Spanner
@@ -67,6 +69,24 @@ public interface SpannerEntityProcessor extends SpannerEntityReader, SpannerEnti
    */
   <T> List<T> mapToList(ResultSet resultSet, Class<T> entityClass, String... includeColumns);
 
+  /**
+   * Gets a function that converts the rows of one Spanner result set into objects one at a time,
+   * for results that are not read all at once. The function may reuse what it resolved for a row
+   * for the following rows, so it must not be shared between threads.
+   *
+   * @param entityClass the type of the objects the Spanner results represent.
+   * @param <T> the type of the objects the Spanner results represent.
+   * @param includeColumns the Set of columns to read. If this param is null then all columns will
+   *     be read.
+   * @param allowMissingColumns if true, then properties with no corresponding column are not
+   *     mapped. If false, then an exception is thrown.
+   * @return the function converting rows to objects.
+   */
+  default <T> Function<Struct, T> getRowMapper(
+      Class<T> entityClass, Set<String> includeColumns, boolean allowMissingColumns) {
+    return row -> read(entityClass, row, includeColumns, allowMissingColumns);
+  }
+
   /**
    * Gets the type that will work for both read and writes with Spanner directly.
    *
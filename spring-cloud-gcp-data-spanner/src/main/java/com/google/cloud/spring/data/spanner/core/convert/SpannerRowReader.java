@@ -0,0 +1,366 @@
+/*
+ * Copyright 2023 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.spring.data.spanner.core.convert;
+
+import com.google.cloud.spanner.Struct;
+import com.google.cloud.spanner.Type;
+import com.google.cloud.spanner.Type.Code;
+import com.google.cloud.spring.data.spanner.core.mapping.SpannerDataException;
+import com.google.cloud.spring.data.spanner.core.mapping.SpannerMappingContext;
+import com.google.cloud.spring.data.spanner.core.mapping.SpannerPersistentEntity;
+import com.google.cloud.spring.data.spanner.core.mapping.SpannerPersistentProperty;
+import com.google.gson.Gson;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import org.springframework.data.mapping.InstanceCreatorMetadata;
+import org.springframework.data.mapping.Parameter;
+import org.springframework.data.mapping.PersistentPropertyAccessor;
+import org.springframework.data.mapping.PropertyHandler;
+import org.springframework.data.mapping.model.EntityInstantiator;
+import org.springframework.data.mapping.model.EntityInstantiators;
+import org.springframework.data.mapping.model.ParameterValueProvider;
+import org.springframework.data.mapping.model.PersistentEntityParameterValueProvider;
+import org.springframework.data.mapping.model.PropertyValueProvider;
+
+/**
+ * Reads POJOs from rows that all have the same type, such as the rows of a {@link
+ * com.google.cloud.spanner.ResultSet}. The column of each property and the way it is read are
+ * resolved once from the type of the rows, so rows are then read by column index without looking
+ * up columns by name.
+ *
+ * <p>Not thread-safe, as the readers of nested structs are only compiled when first used.
+ *
+ * @param <R> the type of the POJOs
+ */
+final class SpannerRowReader<R> {
+
+  private final ReaderContext context;
+
+  private final SpannerPersistentEntity<R> persistentEntity;
+
+  private final Type rowType;
+
+  private final EntityInstantiator instantiator;
+
+  private final boolean hasCreatorParameters;
+
+  private final List<PropertyReader> propertyReaders = new ArrayList<>();
+
+  private final Map<SpannerPersistentProperty, ColumnReader> creatorParameterReaders =
+      new HashMap<>();
+
+  /**
+   * Constructor.
+   *
+   * @param mappingContext the mapping context
+   * @param instantiators the instantiators of POJOs
+   * @param converter the converter of column values
+   * @param type the type of POJO
+   * @param rowType the type of the rows
+   * @param includeColumns the columns to read. If null then all columns will be read.
+   * @param allowMissingColumns if true, then properties with no corresponding column are not
+   *     mapped. If false, then an exception is thrown.
+   */
+  SpannerRowReader(
+      SpannerMappingContext mappingContext,
+      EntityInstantiators instantiators,
+      SpannerReadConverter converter,
+      Class<R> type,
+      Type rowType,
+      Set<String> includeColumns,
+      boolean allowMissingColumns) {
+    this(
+        new ReaderContext(mappingContext, instantiators, converter, allowMissingColumns),
+        type,
+        rowType,
+        includeColumns);
+  }
+
+  @SuppressWarnings("unchecked")
+  private SpannerRowReader(
+      ReaderContext context, Class<R> type, Type rowType, Set<String> includeColumns) {
+    this.context = context;
+    this.persistentEntity =
+        (SpannerPersistentEntity<R>) context.mappingContext.getPersistentEntityOrFail(type);
+    this.rowType = rowType;
+    this.instantiator = context.instantiators.getInstantiatorFor(this.persistentEntity);
+    InstanceCreatorMetadata<SpannerPersistentProperty> instanceCreatorMetadata =
+        this.persistentEntity.getInstanceCreatorMetadata();
+    this.hasCreatorParameters =
+        instanceCreatorMetadata != null && instanceCreatorMetadata.hasParameters();
+
+    Map<String, Integer> columnIndexes = new HashMap<>();
+    List<Type.StructField> fields = rowType.getStructFields();
+    for (int i = 0; i < fields.size(); i++) {
+      columnIndexes.putIfAbsent(fields.get(i).getName(), i);
+    }
+
+    this.persistentEntity.doWithProperties(
+        (PropertyHandler<SpannerPersistentProperty>)
+            property -> {
+              if (property.isEmbedded()) {
+                SpannerRowReader<?> embeddedReader =
+                    new SpannerRowReader<>(context, property.getType(), rowType, includeColumns);
+                this.propertyReaders.add(new PropertyReader(property, -1, embeddedReader::read));
+                return;
+              }
+              String columnName = property.getColumnName();
+              Integer index = columnIndexes.get(columnName);
+              boolean creatorParameter =
+                  this.hasCreatorParameters
+                      && instanceCreatorMetadata.isCreatorParameter(property);
+              ColumnReader columnReader =
+                  index != null
+                      ? new ColumnReader(property, index, fields.get(index).getType())
+                      : null;
+              if (creatorParameter && columnReader != null) {
+                this.creatorParameterReaders.put(property, columnReader);
+              }
+              if (property.isLazyInterleaved()
+                  || (includeColumns != null && !includeColumns.contains(columnName))) {
+                return;
+              }
+              if (columnReader == null) {
+                if (!context.allowMissingColumns) {
+                  throw new SpannerDataException(
+                      "Unable to read column from Cloud Spanner results: " + columnName);
+                }
+                return;
+              }
+              if (!creatorParameter) {
+                this.propertyReaders.add(new PropertyReader(property, index, columnReader::read));
+              }
+            });
+  }
+
+  /**
+   * Returns whether rows of a type can be read by this reader.
+   *
+   * @param type the type of the rows
+   * @return true if the type is the one this reader was created for
+   */
+  boolean canRead(Type type) {
+    // the rows of a result set usually share the same type instance
+    return type == this.rowType || type.equals(this.rowType);
+  }
+
+  /**
+   * Reads a POJO from a row.
+   *
+   * @param row the row, of the type this reader was created for
+   * @return the POJO
+   */
+  R read(Struct row) {
+    R instance =
+        this.instantiator.createInstance(this.persistentEntity, getParameterValueProvider(row));
+    PersistentPropertyAccessor<R> accessor = this.persistentEntity.getPropertyAccessor(instance);
+    for (PropertyReader propertyReader : this.propertyReaders) {
+      // null columns leave the property as initialized
+      if (propertyReader.index < 0 || !row.isNull(propertyReader.index)) {
+        accessor.setProperty(propertyReader.property, propertyReader.valueReader.apply(row));
+      }
+    }
+    return instance;
+  }
+
+  private ParameterValueProvider<SpannerPersistentProperty> getParameterValueProvider(Struct row) {
+    if (!this.hasCreatorParameters) {
+      return NoParameterValueProvider.INSTANCE;
+    }
+    return new PersistentEntityParameterValueProvider<>(
+        this.persistentEntity,
+        new PropertyValueProvider<SpannerPersistentProperty>() {
+          @Override
+          @SuppressWarnings("unchecked")
+          public <T> T getPropertyValue(SpannerPersistentProperty property) {
+            ColumnReader columnReader = SpannerRowReader.this.creatorParameterReaders.get(property);
+            if (columnReader == null) {
+              throw new SpannerDataException("Column not found: " + property.getColumnName());
+            }
+            return row.isNull(columnReader.index) ? null : (T) columnReader.read(row);
+          }
+        },
+        null);
+  }
+
+  /** The dependencies shared by a reader and the readers of its embedded and nested POJOs. */
+  private static final class ReaderContext {
+
+    private final SpannerMappingContext mappingContext;
+
+    private final EntityInstantiators instantiators;
+
+    private final SpannerReadConverter converter;
+
+    private final Gson gson;
+
+    private final boolean allowMissingColumns;
+
+    private ReaderContext(
+        SpannerMappingContext mappingContext,
+        EntityInstantiators instantiators,
+        SpannerReadConverter converter,
+        boolean allowMissingColumns) {
+      this.mappingContext = mappingContext;
+      this.instantiators = instantiators;
+      this.converter = converter;
+      this.gson = mappingContext.getGson();
+      this.allowMissingColumns = allowMissingColumns;
+    }
+  }
+
+  private static final class PropertyReader {
+
+    private final SpannerPersistentProperty property;
+
+    /** The index of the column of the property, or -1 for embedded properties. */
+    private final int index;
+
+    private final Function<Struct, Object> valueReader;
+
+    private PropertyReader(
+        SpannerPersistentProperty property,
+        int index,
+        Function<Struct, Object> valueReader) {
+      this.property = property;
+      this.index = index;
+      this.valueReader = valueReader;
+    }
+  }
+
+  /** Reads and converts the non-null value of a column, as {@link StructPropertyValueProvider}. */
+  private final class ColumnReader {
+
+    private final SpannerPersistentProperty property;
+
+    private final int index;
+
+    private final Type columnType;
+
+    private final Class<?> targetType;
+
+    private final BiFunction<Struct, Integer, ?> readFunction;
+
+    private final boolean json;
+
+    private final boolean iterable;
+
+    private SpannerRowReader<?> nestedStructReader;
+
+    private ColumnReader(SpannerPersistentProperty property, int index, Type columnType) {
+      this.property = property;
+      this.index = index;
+      this.columnType = columnType;
+      this.json = property.getAnnotatedColumnItemType() == Code.JSON;
+      this.iterable = ConversionUtils.isIterableNonByteArrayType(property.getType());
+      this.targetType = this.iterable ? property.getColumnInnerType() : property.getType();
+      if (this.iterable) {
+        this.readFunction =
+            columnType.getCode() == Code.ARRAY
+                ? StructAccessor.readIterableMappingIntCol.get(
+                    SpannerTypeMapper.getSimpleJavaClassFor(
+                        columnType.getArrayElementType().getCode()))
+                : null;
+      } else {
+        this.readFunction =
+            StructAccessor.singleItemReadMethodMappingIntCol.get(
+                StructAccessor.getSingleItemTypeCode(columnType));
+      }
+    }
+
+    private Object read(Struct row) {
+      Object value = this.iterable ? readIterable(row) : readSingle(row);
+      if (value == null) {
+        throw new SpannerDataException(
+            String.format(
+                "The value in column with name %s"
+                    + " could not be converted to the corresponding property in the entity."
+                    + " The property's type is %s.",
+                this.property.getColumnName(), this.property.getType()));
+      }
+      return value;
+    }
+
+    private Object readSingle(Struct row) {
+      if (this.json) {
+        return SpannerRowReader.this.context.gson.fromJson(
+            row.getJson(this.index), this.targetType);
+      }
+      if (this.readFunction == null) {
+        // a non-iterable property with a column of arrays of structs, dates or strings
+        return null;
+      }
+      Object value = this.readFunction.apply(row, this.index);
+      return value != null ? convertOrRead(value) : null;
+    }
+
+    private List<Object> readIterable(Struct row) {
+      if (this.columnType.getCode() != Code.ARRAY) {
+        throw new SpannerDataException(
+            StructAccessor.EXCEPTION_COL_NOT_ARRAY + this.property.getColumnName());
+      }
+      List<Object> result = new ArrayList<>();
+      if (this.json) {
+        Gson gson = SpannerRowReader.this.context.gson;
+        for (String item : row.getJsonList(this.index)) {
+          result.add(gson.fromJson(item, this.targetType));
+        }
+        return result;
+      }
+      for (Object item : (List<?>) this.readFunction.apply(row, this.index)) {
+        result.add(convertOrRead(item));
+      }
+      return result;
+    }
+
+    private Object convertOrRead(Object sourceValue) {
+      ReaderContext context = SpannerRowReader.this.context;
+      if (sourceValue instanceof Struct struct
+          && !context.converter.canConvert(sourceValue.getClass(), this.targetType)) {
+        return getNestedStructReader(struct.getType()).read(struct);
+      }
+      return context.converter.convert(sourceValue, this.targetType);
+    }
+
+    private SpannerRowReader<?> getNestedStructReader(Type structType) {
+      // the structs of a column, and of the elements of an array, usually have the same type
+      if (this.nestedStructReader == null || !this.nestedStructReader.canRead(structType)) {
+        this.nestedStructReader =
+            new SpannerRowReader<>(SpannerRowReader.this.context, this.targetType, structType, null);
+      }
+      return this.nestedStructReader;
+    }
+  }
+
+  /** The parameter value provider of POJOs created without constructor arguments. */
+  private static final class NoParameterValueProvider
+      implements ParameterValueProvider<SpannerPersistentProperty> {
+
+    private static final NoParameterValueProvider INSTANCE = new NoParameterValueProvider();
+
+    @Override
+    public <T> T getParameterValue(
+        Parameter<T, SpannerPersistentProperty> parameter) {
+      throw new SpannerDataException("No constructor parameter to read: " + parameter.getName());
+    }
+  }
+}
@@ -56,6 +56,19 @@ public class StructAccessor {
           .put(Struct.class, AbstractStructReader::getStructList)
           .build();
 
+  static final Map<Class, BiFunction<Struct, Integer, List>> readIterableMappingIntCol =
+      new MapBuilder<Class, BiFunction<Struct, Integer, List>>()
+          .put(Boolean.class, AbstractStructReader::getBooleanList)
+          .put(Long.class, AbstractStructReader::getLongList)
+          .put(String.class, AbstractStructReader::getStringList)
+          .put(Double.class, AbstractStructReader::getDoubleList)
+          .put(Timestamp.class, AbstractStructReader::getTimestampList)
+          .put(Date.class, AbstractStructReader::getDateList)
+          .put(ByteArray.class, AbstractStructReader::getBytesList)
+          .put(BigDecimal.class, AbstractStructReader::getBigDecimalList)
+          .put(Struct.class, AbstractStructReader::getStructList)
+          .build();
+
   static final Map<Class, BiFunction<Struct, String, ?>> singleItemReadMethodMapping =
       new MapBuilder<Class, BiFunction<Struct, String, ?>>()
           .put(Boolean.class, AbstractStructReader::getBoolean)
@@ -100,7 +113,7 @@ public class StructAccessor {
           .build();
 
   // @formatter:on
-  private static final String EXCEPTION_COL_NOT_ARRAY = "Column is not an ARRAY type: ";
+  static final String EXCEPTION_COL_NOT_ARRAY = "Column is not an ARRAY type: ";
 
   private Struct struct;
 
@@ -110,12 +123,10 @@ public class StructAccessor {
 
   public StructAccessor(Struct struct) {
     this.struct = struct;
-    this.columnNamesIndex = indexColumnNames();
   }
 
   public StructAccessor(Struct struct, Gson gson) {
     this.struct = struct;
-    this.columnNamesIndex = indexColumnNames();
     this.gson = gson;
   }
 
@@ -188,6 +199,10 @@ public class StructAccessor {
   }
 
   boolean hasColumn(String columnName) {
+    // only indexed when needed, as many accessors only read columns by index
+    if (this.columnNamesIndex == null) {
+      this.columnNamesIndex = indexColumnNames();
+    }
     return this.columnNamesIndex.contains(columnName);
   }
 
@@ -203,7 +218,7 @@ public class StructAccessor {
     return cols;
   }
 
-  private Class getSingleItemTypeCode(Type colType) {
+  static Class getSingleItemTypeCode(Type colType) {
     Code code = colType.getCode();
     return code.equals(Code.ARRAY)
         ? SpannerTypeMapper.getArrayJavaClassFor(colType.getArrayElementType().getCode())
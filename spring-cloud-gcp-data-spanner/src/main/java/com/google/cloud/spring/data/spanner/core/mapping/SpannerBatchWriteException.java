@@ -0,0 +1,64 @@
+/*
+ * Copyright 2023 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.spring.data.spanner.core.mapping;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedMap;
+
+/**
+ * Thrown when some of the commits of a bulk write performed concurrently failed. The other commits
+ * were applied.
+ */
+public class SpannerBatchWriteException extends SpannerDataException {
+
+  private final transient SortedMap<Integer, List<Object>> failedCommits;
+
+  /**
+   * Constructor.
+   *
+   * @param numCommits the number of commits the bulk write was split into
+   * @param failedCommits the entities of each failed commit, by commit index
+   * @param failures the exceptions the failed commits were applied with; the first is the cause,
+   *     the others are suppressed
+   */
+  public SpannerBatchWriteException(
+      int numCommits,
+      SortedMap<Integer, List<Object>> failedCommits,
+      Collection<? extends Throwable> failures) {
+    super(
+        "Failed to apply "
+            + failedCommits.size()
+            + " of "
+            + numCommits
+            + " commits: "
+            + failedCommits.keySet(),
+        failures.isEmpty() ? null : failures.iterator().next());
+    failures.stream().skip(1).forEach(this::addSuppressed);
+    this.failedCommits = Collections.unmodifiableSortedMap(failedCommits);
+  }
+
+  /**
+   * Returns the failed commits.
+   *
+   * @return the entities of each failed commit, by commit index
+   */
+  public SortedMap<Integer, List<Object>> getFailedCommits() {
+    return this.failedCommits;
+  }
+}
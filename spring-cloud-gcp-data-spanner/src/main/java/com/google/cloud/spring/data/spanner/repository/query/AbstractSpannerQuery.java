@@ -21,6 +21,7 @@ import com.google.cloud.spring.data.spanner.core.mapping.SpannerMappingContext;
 import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.springframework.data.repository.query.RepositoryQuery;
 
 /**
@@ -60,6 +61,9 @@ abstract class AbstractSpannerQuery<T> implements RepositoryQuery {
 
   @Override
   public Object execute(Object[] parameters) {
+    if (this.queryMethod.isStreamQuery()) {
+      return convertStream(executeStreamResult(parameters));
+    }
     List results = executeRawResult(parameters);
     Class<?> simpleConvertedType = getReturnedSimpleConvertableItemType();
     if (simpleConvertedType != null) {
@@ -89,6 +93,19 @@ abstract class AbstractSpannerQuery<T> implements RepositoryQuery {
             .convert(getFirstElementOrNull(results), simpleConvertedType);
   }
 
+  private Stream<?> convertStream(Stream<?> results) {
+    Class<?> simpleConvertedType = getReturnedSimpleConvertableItemType();
+    if (simpleConvertedType != null) {
+      return results.map(
+          x ->
+              this.spannerTemplate
+                  .getSpannerEntityProcessor()
+                  .getReadConverter()
+                  .convert(x, simpleConvertedType));
+    }
+    return results.map(this::processRawObjectForProjection);
+  }
+
   private Object getFirstElementOrNull(List<?> results) {
     return !results.isEmpty() ? results.get(0) : null;
   }
@@ -129,4 +146,15 @@ abstract class AbstractSpannerQuery<T> implements RepositoryQuery {
   }
 
   protected abstract List executeRawResult(Object[] parameters);
+
+  /**
+   * Executes a query method that returns a {@link Stream}. Query methods that read rows override
+   * this to convert them as the stream is consumed.
+   *
+   * @param parameters the parameters of the call
+   * @return the stream of results, to be closed after use
+   */
+  protected Stream<?> executeStreamResult(Object[] parameters) {
+    return executeRawResult(parameters).stream();
+  }
 }
@@ -21,6 +21,7 @@ import com.google.cloud.spring.data.spanner.core.mapping.SpannerMappingContext;
 import java.util.Collections;
 import java.util.List;
 import java.util.function.Function;
+import java.util.stream.Stream;
 import org.springframework.data.repository.query.ParameterAccessor;
 import org.springframework.data.repository.query.ParametersParameterAccessor;
 import org.springframework.data.repository.query.parser.PartTree;
@@ -36,6 +37,9 @@ public class PartTreeSpannerQuery<T> extends AbstractSpannerQuery<T> {
 
   private final PartTree tree;
 
+  /** Built on the first execution, when the mapping of the entity type is known to be complete. */
+  private volatile PartTreeStatementTemplate statementTemplate;
+
   /**
    * Constructor.
    *
@@ -60,23 +64,29 @@ public class PartTreeSpannerQuery<T> extends AbstractSpannerQuery<T> {
     if (isCountOrExistsQuery()) {
       return SpannerStatementQueryExecutor.executeQuery(
           struct -> isCountQuery() ? struct.getLong(0) : struct.getBoolean(0),
-          this.entityType,
-          this.tree,
+          getStatementTemplate(),
           paramAccessor,
-          getQueryMethod().getQueryMethod().getParameters(),
-          this.spannerTemplate,
-          this.spannerMappingContext);
+          this.spannerTemplate);
     }
     if (this.tree.isDelete()) {
       return this.spannerTemplate.performReadWriteTransaction(getDeleteFunction(parameters));
     }
     return SpannerStatementQueryExecutor.executeQuery(
+        this.entityType, getStatementTemplate(), paramAccessor, this.spannerTemplate);
+  }
+
+  @Override
+  protected Stream<?> executeStreamResult(Object[] parameters) {
+    if (isCountOrExistsQuery() || this.tree.isDelete()) {
+      return super.executeStreamResult(parameters);
+    }
+    return this.spannerTemplate.queryStream(
         this.entityType,
-        this.tree,
-        paramAccessor,
-        getQueryMethod().getQueryMethod().getParameters(),
-        this.spannerTemplate,
-        this.spannerMappingContext);
+        getStatementTemplate()
+            .bind(
+                new ParametersParameterAccessor(getQueryMethod().getParameters(), parameters),
+                this.spannerTemplate.getSpannerEntityProcessor().getWriteConverter()),
+        null);
   }
 
   private Function<SpannerTemplate, List> getDeleteFunction(Object[] parameters) {
@@ -85,12 +95,7 @@ public class PartTreeSpannerQuery<T> extends AbstractSpannerQuery<T> {
           new ParametersParameterAccessor(getQueryMethod().getParameters(), parameters);
       List<T> entitiesToDelete =
           SpannerStatementQueryExecutor.executeQuery(
-              this.entityType,
-              this.tree,
-              paramAccessor,
-              getQueryMethod().getQueryMethod().getParameters(),
-              transactionTemplate,
-              this.spannerMappingContext);
+              this.entityType, getStatementTemplate(), paramAccessor, transactionTemplate);
       transactionTemplate.deleteAll(entitiesToDelete);
 
       List result = null;
@@ -103,6 +108,21 @@ public class PartTreeSpannerQuery<T> extends AbstractSpannerQuery<T> {
     };
   }
 
+  private PartTreeStatementTemplate getStatementTemplate() {
+    PartTreeStatementTemplate template = this.statementTemplate;
+    if (template == null) {
+      // building the same template twice in a race is harmless
+      template =
+          new PartTreeStatementTemplate(
+              this.entityType,
+              this.tree,
+              getQueryMethod().getQueryMethod().getParameters(),
+              this.spannerMappingContext);
+      this.statementTemplate = template;
+    }
+    return template;
+  }
+
   private boolean isCountOrExistsQuery() {
     return isCountQuery() || isExistsQuery();
   }
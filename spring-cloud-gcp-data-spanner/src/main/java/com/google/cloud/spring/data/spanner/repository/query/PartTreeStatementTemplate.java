@@ -0,0 +1,140 @@
+/*
+ * Copyright 2023 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.spring.data.spanner.repository.query;
+
+import com.google.cloud.spanner.Statement;
+import com.google.cloud.spring.data.spanner.core.convert.SpannerCustomConverter;
+import com.google.cloud.spring.data.spanner.core.mapping.SpannerMappingContext;
+import com.google.cloud.spring.data.spanner.core.mapping.SpannerPersistentEntity;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.StreamSupport;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.query.ParameterAccessor;
+import org.springframework.data.repository.query.parser.PartTree;
+
+/**
+ * The SQL of a PartTree query method, built once so that executing the method only appends the
+ * sort and paging of the call and binds its parameters.
+ */
+final class PartTreeStatementTemplate {
+
+  private final PartTree tree;
+
+  private final SpannerPersistentEntity<?> persistentEntity;
+
+  private final List<String> tags;
+
+  private final Map<String, Parameter> paramMetadataMap;
+
+  /** The {@code SELECT ... FROM ... WHERE ...} part of the query, without sort and limit. */
+  private final String selectSql;
+
+  /** The select part sorted by the method name. */
+  private final String defaultSortedSelectSql;
+
+  /** The final SQL when the call is neither sorted nor paged. */
+  private final String unsortedSql;
+
+  private final ConcurrentMap<Sort, String> sortedSelectSql = new ConcurrentHashMap<>();
+
+  PartTreeStatementTemplate(
+      Class<?> type,
+      PartTree tree,
+      Parameter[] queryMethodParamsMetadata,
+      SpannerMappingContext spannerMappingContext) {
+    this.tree = tree;
+    this.persistentEntity = spannerMappingContext.getPersistentEntityOrFail(type);
+    List<String> placeholders = new ArrayList<>();
+    StringBuilder stringBuilder = new StringBuilder();
+    SpannerStatementQueryExecutor.buildSelect(
+        this.persistentEntity, tree, stringBuilder, spannerMappingContext);
+    SpannerStatementQueryExecutor.buildFrom(this.persistentEntity, stringBuilder);
+    SpannerStatementQueryExecutor.buildWhere(
+        tree, this.persistentEntity, placeholders, stringBuilder);
+    this.selectSql = stringBuilder.toString();
+    this.tags = Collections.unmodifiableList(placeholders);
+    this.paramMetadataMap =
+        Collections.unmodifiableMap(
+            SpannerStatementQueryExecutor.preparePartTreeSqlTagParameterMap(
+                queryMethodParamsMetadata, placeholders));
+    this.defaultSortedSelectSql = sortSelectSql(tree.getSort());
+    this.unsortedSql = buildSql(this.defaultSortedSelectSql, Pageable.unpaged());
+  }
+
+  /**
+   * Binds the parameters of a call to the SQL of its sort and paging.
+   *
+   * @param parameterAccessor the parameters of the call
+   * @param writeConverter converts the parameters to the types Cloud Spanner binds
+   * @return the statement to run
+   */
+  Statement bind(ParameterAccessor parameterAccessor, SpannerCustomConverter writeConverter) {
+    Object[] params = StreamSupport.stream(parameterAccessor.spliterator(), false).toArray();
+    return SpannerStatementQueryExecutor.buildStatementFromSqlWithArgs(
+        getSql(parameterAccessor.getSort(), parameterAccessor.getPageable()),
+        this.tags,
+        null,
+        writeConverter,
+        params,
+        this.paramMetadataMap);
+  }
+
+  /**
+   * Gets the SQL of a call.
+   *
+   * @param sort the sort passed to the call, which overrides the sort of the method name
+   * @param pageable the paging passed to the call
+   * @return the SQL
+   */
+  String getSql(Sort sort, Pageable pageable) {
+    boolean sorted = sort.isSorted();
+    if (!sorted && !pageable.isPaged()) {
+      return this.unsortedSql;
+    }
+    return buildSql(
+        sorted
+            ? SpannerStatementQueryExecutor.getSortedSql(
+                this.sortedSelectSql, sort, this::sortSelectSql)
+            : this.defaultSortedSelectSql,
+        pageable);
+  }
+
+  private String sortSelectSql(Sort sort) {
+    return SpannerStatementQueryExecutor.applySort(
+            sort, new StringBuilder(this.selectSql), this.persistentEntity)
+        .toString();
+  }
+
+  private String buildSql(String sortedSelectSql, Pageable pageable) {
+    StringBuilder stringBuilder = new StringBuilder(sortedSelectSql);
+    SpannerStatementQueryExecutor.buildLimit(this.tree, stringBuilder, pageable);
+    String sql = stringBuilder.toString();
+    if (this.tree.isCountProjection()) {
+      return "SELECT COUNT(1) FROM (" + sql + ")";
+    } else if (this.tree.isExistsProjection()) {
+      return "SELECT EXISTS(" + sql + ")";
+    }
+    return sql;
+  }
+}
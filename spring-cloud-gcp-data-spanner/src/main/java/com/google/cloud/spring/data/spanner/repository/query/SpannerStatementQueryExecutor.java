@@ -39,10 +39,10 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.repository.query.ParameterAccessor;
@@ -66,6 +66,9 @@ public final class SpannerStatementQueryExecutor {
 
   private static final String LOWER_LHS = "LOWER(";
 
+  /** The number of sort orders passed as parameters whose SQL is cached per query method. */
+  static final int MAX_CACHED_SORTS = 32;
+
   private SpannerStatementQueryExecutor() {}
 
   /**
@@ -87,25 +90,28 @@ public final class SpannerStatementQueryExecutor {
       Parameter[] queryMethodParamsMetadata,
       SpannerTemplate spannerTemplate,
       SpannerMappingContext spannerMappingContext) {
-    SqlStringAndPlaceholders sqlStringAndPlaceholders =
-        buildPartTreeSqlString(tree, spannerMappingContext, type, parameterAccessor);
-    Map<String, Parameter> paramMetadataMap =
-        preparePartTreeSqlTagParameterMap(queryMethodParamsMetadata, sqlStringAndPlaceholders);
-    Object[] params = StreamSupport.stream(parameterAccessor.spliterator(), false).toArray();
+    return executeQuery(
+        type,
+        new PartTreeStatementTemplate(
+            type, tree, queryMethodParamsMetadata, spannerMappingContext),
+        parameterAccessor,
+        spannerTemplate);
+  }
+
+  static <T> List<T> executeQuery(
+      Class<T> type,
+      PartTreeStatementTemplate statementTemplate,
+      ParameterAccessor parameterAccessor,
+      SpannerTemplate spannerTemplate) {
     return spannerTemplate.query(
         type,
-        buildStatementFromSqlWithArgs(
-            sqlStringAndPlaceholders.getSql(),
-            sqlStringAndPlaceholders.getPlaceholders(),
-            null,
-            spannerTemplate.getSpannerEntityProcessor().getWriteConverter(),
-            params,
-            paramMetadataMap),
+        statementTemplate.bind(
+            parameterAccessor, spannerTemplate.getSpannerEntityProcessor().getWriteConverter()),
         null);
   }
 
-  private static Map<String, Parameter> preparePartTreeSqlTagParameterMap(
-      Parameter[] paramsMetadata, SqlStringAndPlaceholders sqlStringAndPlaceholders) {
+  static Map<String, Parameter> preparePartTreeSqlTagParameterMap(
+      Parameter[] paramsMetadata, List<String> placeholders) {
     Map<String, Parameter> paramMetadataMap = new HashMap<>();
     int nextPlaceholderIdx = 0;
     for (int paramIdx = 0; paramIdx < paramsMetadata.length; paramIdx++) {
@@ -114,7 +120,7 @@ public final class SpannerStatementQueryExecutor {
       // query.
       // They are processed separately in applySort and buildLimit methods.
       if (param.getType() != Pageable.class && param.getType() != Sort.class) {
-        paramMetadataMap.put(sqlStringAndPlaceholders.getPlaceholders().get(nextPlaceholderIdx++), param);
+        paramMetadataMap.put(placeholders.get(nextPlaceholderIdx++), param);
       }
     }
     return paramMetadataMap;
@@ -142,20 +148,23 @@ public final class SpannerStatementQueryExecutor {
       Parameter[] queryMethodParamsMetadata,
       SpannerTemplate spannerTemplate,
       SpannerMappingContext spannerMappingContext) {
-    SqlStringAndPlaceholders sqlStringAndPlaceholders =
-        buildPartTreeSqlString(tree, spannerMappingContext, type, parameterAccessor);
-    Map<String, Parameter> paramMetadataMap =
-        preparePartTreeSqlTagParameterMap(queryMethodParamsMetadata, sqlStringAndPlaceholders);
-    Object[] params = StreamSupport.stream(parameterAccessor.spliterator(), false).toArray();
+    return executeQuery(
+        rowFunc,
+        new PartTreeStatementTemplate(
+            type, tree, queryMethodParamsMetadata, spannerMappingContext),
+        parameterAccessor,
+        spannerTemplate);
+  }
+
+  static <A> List<A> executeQuery(
+      Function<Struct, A> rowFunc,
+      PartTreeStatementTemplate statementTemplate,
+      ParameterAccessor parameterAccessor,
+      SpannerTemplate spannerTemplate) {
     return spannerTemplate.query(
         rowFunc,
-        buildStatementFromSqlWithArgs(
-            sqlStringAndPlaceholders.getSql(),
-            sqlStringAndPlaceholders.getPlaceholders(),
-            null,
-            spannerTemplate.getSpannerEntityProcessor().getWriteConverter(),
-            params,
-            paramMetadataMap),
+        statementTemplate.bind(
+            parameterAccessor, spannerTemplate.getSpannerEntityProcessor().getWriteConverter()),
         null);
   }
 
@@ -191,15 +200,30 @@ public final class SpannerStatementQueryExecutor {
       return sql;
     }
 
+    return applyPaging(
+        wrapSorted(entityClass, options.getSort(), sql, mappingContext, fetchInterleaved),
+        options.getLimit(),
+        options.getOffset());
+  }
+
+  /**
+   * Wraps a query string in a query that applies the sort, the {@link Where} clause and the
+   * eager-interleaved subqueries of the domain type, but no paging.
+   */
+  static String wrapSorted(
+      Class<?> entityClass,
+      Sort sort,
+      String sql,
+      SpannerMappingContext mappingContext,
+      boolean fetchInterleaved) {
     SpannerPersistentEntity<?> persistentEntity =
         mappingContext.getPersistentEntityOrFail(entityClass);
 
     final String subquery =
         fetchInterleaved ? getChildrenSubquery(persistentEntity, mappingContext) : "";
     final String alias = subquery.isEmpty() ? "" : " " + persistentEntity.tableName();
-    StringBuilder sb =
-        applySort(
-            options.getSort(),
+    return applySort(
+            sort,
             new StringBuilder("SELECT *")
                 .append(subquery)
                 .append(" FROM (")
@@ -207,12 +231,38 @@ public final class SpannerStatementQueryExecutor {
                 .append(")")
                 .append(alias)
                 .append(buildWhere(persistentEntity)),
-            persistentEntity);
-    if (options.getLimit() != null) {
-      sb.append(LIMIT).append(options.getLimit());
+            persistentEntity)
+        .toString();
+  }
+
+  /**
+   * Gets the SQL of a sort order from a cache of a query method, building and caching it if it is
+   * not cached yet.
+   */
+  static String getSortedSql(
+      ConcurrentMap<Sort, String> cache, Sort sort, Function<Sort, String> sqlBuilder) {
+    String sql = cache.get(sort);
+    if (sql == null) {
+      sql = sqlBuilder.apply(sort);
+      // sorts are usually constants, but don't let request-specific ones fill up the cache
+      if (cache.size() < MAX_CACHED_SORTS) {
+        cache.putIfAbsent(sort, sql);
+      }
+    }
+    return sql;
+  }
+
+  /** Appends the limit and offset, if any, to a query string produced by {@link #wrapSorted}. */
+  static String applyPaging(String sortedSql, Integer limit, Long offset) {
+    if (limit == null && offset == null) {
+      return sortedSql;
+    }
+    StringBuilder sb = new StringBuilder(sortedSql);
+    if (limit != null) {
+      sb.append(LIMIT).append(limit);
     }
-    if (options.getOffset() != null) {
-      sb.append(" OFFSET ").append(options.getOffset());
+    if (offset != null) {
+      sb.append(" OFFSET ").append(offset);
     }
     return sb.toString();
   }
@@ -247,12 +297,32 @@ public final class SpannerStatementQueryExecutor {
       SpannerPersistentProperty spannerPersistentProperty,
       SpannerCustomConverter writeConverter,
       SpannerMappingContext mappingContext) {
+    return getChildrenRowsQuery(
+        KeySet.singleKey(parentKey), spannerPersistentProperty, writeConverter, mappingContext);
+  }
+
+  /**
+   * Gets a {@link Statement} that returns the rows associated with any of several parent entities,
+   * so that the children of many parents are retrieved with a single query.
+   *
+   * @param parentKeys the parent keys whose children to get.
+   * @param spannerPersistentProperty the property with interleaved list of child entries in the
+   *     parent entity.
+   * @param writeConverter a converter to convert key values as needed to bind to the query
+   *     statement.
+   * @param mappingContext mapping context
+   * @return the Spanner statement to perform the retrieval.
+   */
+  public static Statement getChildrenRowsQuery(
+      KeySet parentKeys,
+      SpannerPersistentProperty spannerPersistentProperty,
+      SpannerCustomConverter writeConverter,
+      SpannerMappingContext mappingContext) {
     Class<?> childType = spannerPersistentProperty.getColumnInnerType();
     SpannerPersistentEntity<?> persistentEntity =
         mappingContext.getPersistentEntityOrFail(childType);
     String whereClause = getWhere(spannerPersistentProperty, persistentEntity);
-    return buildQuery(
-        KeySet.singleKey(parentKey), persistentEntity, writeConverter, mappingContext, whereClause);
+    return buildQuery(parentKeys, persistentEntity, writeConverter, mappingContext, whereClause);
   }
 
   /**
@@ -334,8 +404,10 @@ public final class SpannerStatementQueryExecutor {
     for (Key key : keySet.getKeys()) {
       StringJoiner andJoiner = new StringJoiner(AND);
       Iterator parentKeyParts = key.getParts().iterator();
+      // keys may be partial, like those of the parents of interleaved rows
+      int partNum = 0;
       while (parentKeyParts.hasNext()) {
-        SpannerPersistentProperty keyProp = keyProperties.get(tagNum % keyProperties.size());
+        SpannerPersistentProperty keyProp = keyProperties.get(partNum++);
         String tagName = "tag" + tagNum;
         andJoiner.add(keyProp.getColumnName() + " = @" + tagName);
         tags.add(tagName);
@@ -538,39 +610,7 @@ public final class SpannerStatementQueryExecutor {
     return joiner.toString();
   }
 
-  private static SqlStringAndPlaceholders buildPartTreeSqlString(
-      PartTree tree,
-      SpannerMappingContext spannerMappingContext,
-      Class type,
-      ParameterAccessor params) {
-
-    SpannerPersistentEntity<?> persistentEntity =
-        spannerMappingContext.getPersistentEntityOrFail(type);
-    List<String> tags = new ArrayList<>();
-    StringBuilder stringBuilder = new StringBuilder();
-
-    buildSelect(persistentEntity, tree, stringBuilder, spannerMappingContext);
-    buildFrom(persistentEntity, stringBuilder);
-    buildWhere(tree, persistentEntity, tags, stringBuilder);
-    applySort(
-        params.getSort().isSorted() ? params.getSort() : tree.getSort(),
-        stringBuilder,
-        persistentEntity);
-    buildLimit(tree, stringBuilder, params.getPageable());
-
-    String selectSql = stringBuilder.toString();
-
-    String finalSql = selectSql;
-
-    if (tree.isCountProjection()) {
-      finalSql = "SELECT COUNT(1) FROM (" + selectSql + ")";
-    } else if (tree.isExistsProjection()) {
-      finalSql = "SELECT EXISTS(" + selectSql + ")";
-    }
-    return new SqlStringAndPlaceholders(finalSql, tags);
-  }
-
-  private static void buildSelect(
+  static void buildSelect(
       SpannerPersistentEntity<?> spannerPersistentEntity,
       PartTree tree,
       StringBuilder stringBuilder,
@@ -586,7 +626,7 @@ public final class SpannerStatementQueryExecutor {
         .append(" ");
   }
 
-  private static void buildFrom(
+  static void buildFrom(
       SpannerPersistentEntity<?> persistentEntity, StringBuilder stringBuilder) {
     stringBuilder.append("FROM ").append(persistentEntity.tableName()).append(" ");
   }
@@ -612,7 +652,7 @@ public final class SpannerStatementQueryExecutor {
     return sql.append(sj);
   }
 
-  private static void buildWhere(
+  static void buildWhere(
       PartTree tree,
       SpannerPersistentEntity<?> persistentEntity,
       List<String> tags,
@@ -722,7 +762,7 @@ public final class SpannerStatementQueryExecutor {
     }
   }
 
-  private static void buildLimit(PartTree tree, StringBuilder stringBuilder, Pageable pageable) {
+  static void buildLimit(PartTree tree, StringBuilder stringBuilder, Pageable pageable) {
     if (tree.isExistsProjection()) {
       stringBuilder.append(" LIMIT 1");
     } else if (pageable.isPaged()) {
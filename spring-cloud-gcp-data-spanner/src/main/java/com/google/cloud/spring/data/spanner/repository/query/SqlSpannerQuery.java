@@ -35,9 +35,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -84,6 +87,9 @@ public class SqlSpannerQuery<T> extends AbstractSpannerQuery<T> {
 
   private SpelExpressionParser expressionParser;
 
+  /** Built on the first execution, when the mapping of the entity types is known to be complete. */
+  private volatile CompiledSql compiledSql;
+
   SqlSpannerQuery(
       Class<T> type,
       SpannerQueryMethod queryMethod,
@@ -153,8 +159,7 @@ public class SqlSpannerQuery<T> extends AbstractSpannerQuery<T> {
     return result;
   }
 
-  private void resolveSpelTags(QueryTagValue queryTagValue) {
-    Expression[] expressions = detectExpressions(queryTagValue.sql);
+  private void resolveSpelTags(Expression[] expressions, QueryTagValue queryTagValue) {
     StringBuilder sb = new StringBuilder();
     Map<Object, String> valueToTag = new HashMap<>();
     int tagNum = 0;
@@ -190,66 +195,107 @@ public class SqlSpannerQuery<T> extends AbstractSpannerQuery<T> {
 
   @Override
   public List executeRawResult(Object[] parameters) {
+    CompiledSql compiled = getCompiledSql();
+    ParameterAccessor paramAccessor =
+        new ParametersParameterAccessor(getQueryMethod().getParameters(), parameters);
+    QueryTagValue queryTagValue = getQueryTagValue(compiled, paramAccessor, parameters);
+
+    if (this.isDml) {
+      return Collections.singletonList(
+          this.spannerTemplate.executeDmlStatement(
+              buildStatementFromQueryAndTags(compiled, queryTagValue)));
+    }
+    SpannerPageableQueryOptions spannerQueryOptions = getReadQueryOptions(paramAccessor);
+    Statement statement = buildReadStatement(compiled, spannerQueryOptions, queryTagValue);
+    Function<Struct, ?> rowFunc = getReadRowFunc();
+    return rowFunc != null
+        ? this.spannerTemplate.query(rowFunc, statement, spannerQueryOptions)
+        : this.spannerTemplate.query(this.entityType, statement, spannerQueryOptions);
+  }
 
+  @Override
+  protected Stream<?> executeStreamResult(Object[] parameters) {
+    if (this.isDml) {
+      return super.executeStreamResult(parameters);
+    }
+    CompiledSql compiled = getCompiledSql();
     ParameterAccessor paramAccessor =
         new ParametersParameterAccessor(getQueryMethod().getParameters(), parameters);
-    Object[] params = StreamSupport.stream(paramAccessor.spliterator(), false).toArray();
+    QueryTagValue queryTagValue = getQueryTagValue(compiled, paramAccessor, parameters);
+
+    SpannerPageableQueryOptions spannerQueryOptions = getReadQueryOptions(paramAccessor);
+    Statement statement = buildReadStatement(compiled, spannerQueryOptions, queryTagValue);
+    Function<Struct, ?> rowFunc = getReadRowFunc();
+    return rowFunc != null
+        ? this.spannerTemplate.queryStream(rowFunc, statement, spannerQueryOptions)
+        : this.spannerTemplate.queryStream(this.entityType, statement, spannerQueryOptions);
+  }
 
+  private CompiledSql getCompiledSql() {
+    CompiledSql compiled = this.compiledSql;
+    if (compiled == null) {
+      // compiling the same query twice in a race is harmless
+      compiled = new CompiledSql();
+      this.compiledSql = compiled;
+    }
+    return compiled;
+  }
+
+  private QueryTagValue getQueryTagValue(
+      CompiledSql compiled, ParameterAccessor paramAccessor, Object[] parameters) {
+    Object[] params = StreamSupport.stream(paramAccessor.spliterator(), false).toArray();
     QueryTagValue queryTagValue =
-        new QueryTagValue(
-            getParamTags(),
-            parameters,
-            params,
-            resolveEntityClassNames(this.sql, this.spannerMappingContext));
-
-    resolveSpelTags(queryTagValue);
-
-    return this.isDml
-        ? Collections.singletonList(
-            this.spannerTemplate.executeDmlStatement(buildStatementFromQueryAndTags(queryTagValue)))
-        : executeReadSql(paramAccessor.getPageable(), paramAccessor.getSort(), queryTagValue);
+        new QueryTagValue(compiled.tags, compiled.initialTags, parameters, params, compiled.sql);
+    if (!compiled.isLiteral) {
+      resolveSpelTags(compiled.expressions, queryTagValue);
+    }
+    return queryTagValue;
   }
 
-  private List executeReadSql(Pageable pageable, Sort sort, QueryTagValue queryTagValue) {
+  private static SpannerPageableQueryOptions getReadQueryOptions(ParameterAccessor paramAccessor) {
     SpannerPageableQueryOptions spannerQueryOptions =
         new SpannerPageableQueryOptions().setAllowPartialRead(true);
 
+    Sort sort = paramAccessor.getSort();
     if (sort != null && sort.isSorted()) {
       spannerQueryOptions.setSort(sort);
     }
 
+    Pageable pageable = paramAccessor.getPageable();
     if (pageable != null && pageable.isPaged()) {
       spannerQueryOptions.setOffset(pageable.getOffset()).setLimit(pageable.getPageSize());
     }
+    return spannerQueryOptions;
+  }
 
-    final Class<?> returnedType = getReturnedType();
-    final SpannerPersistentEntity<?> entity =
-        returnedType == null ? null : this.spannerMappingContext.getPersistentEntity(returnedType);
-
+  private Statement buildReadStatement(
+      CompiledSql compiled,
+      SpannerPageableQueryOptions spannerQueryOptions,
+      QueryTagValue queryTagValue) {
     queryTagValue.sql =
-        SpannerStatementQueryExecutor.applySortingPagingQueryOptions(
-            this.entityType,
-            spannerQueryOptions,
-            queryTagValue.sql,
-            this.spannerMappingContext,
-            entity != null && entity.hasEagerlyLoadedProperties());
-
-    Statement statement = buildStatementFromQueryAndTags(queryTagValue);
+        compiled.isLiteral
+            ? compiled.getReadSql(spannerQueryOptions)
+            : SpannerStatementQueryExecutor.applySortingPagingQueryOptions(
+                this.entityType,
+                spannerQueryOptions,
+                queryTagValue.sql,
+                this.spannerMappingContext,
+                compiled.fetchInterleaved);
+    return buildStatementFromQueryAndTags(compiled, queryTagValue);
+  }
 
+  /** Gets the function converting rows that are not read as entities, or null for entities. */
+  private Function<Struct, ?> getReadRowFunc() {
     if (getReturnedSimpleConvertableItemType() != null) {
-      return this.spannerTemplate.query(
-          struct -> new StructAccessor(struct).getSingleValue(0), statement, spannerQueryOptions);
+      return struct -> new StructAccessor(struct).getSingleValue(0);
     }
+    final Class<?> returnedType = getReturnedType();
     // check if returnedType is a field annotated as json or is inner-type of a field annotated as json
     if (isJsonFieldType(returnedType)) {
-      return this.spannerTemplate.query(
-          struct -> new StructAccessor(struct,
-              this.spannerMappingContext.getGson()).getJsonValue(0, returnedType),
-          statement,
-          spannerQueryOptions);
+      return struct -> new StructAccessor(struct,
+          this.spannerMappingContext.getGson()).getJsonValue(0, returnedType);
     }
-
-    return this.spannerTemplate.query(this.entityType, statement, spannerQueryOptions);
+    return null;
   }
 
   private boolean isJsonFieldType(Class<?> returnedType) {
@@ -262,19 +308,15 @@ public class SqlSpannerQuery<T> extends AbstractSpannerQuery<T> {
     return persistentEntity.isJsonProperty(returnedType);
   }
 
-  private Statement buildStatementFromQueryAndTags(QueryTagValue queryTagValue) {
-    Map<String, java.lang.reflect.Parameter> paramMetadataMap = new HashMap<>();
-    for (java.lang.reflect.Parameter param : getQueryMethod().getQueryMethod().getParameters()) {
-      Param annotation = param.getAnnotation(Param.class);
-      paramMetadataMap.put(annotation == null ? param.getName() : annotation.value(), param);
-    }
+  private Statement buildStatementFromQueryAndTags(
+      CompiledSql compiled, QueryTagValue queryTagValue) {
     return SpannerStatementQueryExecutor.buildStatementFromSqlWithArgs(
         queryTagValue.sql,
         queryTagValue.tags,
         this.paramStructConvertFunc,
         this.spannerTemplate.getSpannerEntityProcessor().getWriteConverter(),
         queryTagValue.params.toArray(),
-        paramMetadataMap);
+        compiled.paramMetadataMap);
   }
 
   private Expression[] detectExpressions(String sql) {
@@ -291,6 +333,77 @@ public class SqlSpannerQuery<T> extends AbstractSpannerQuery<T> {
     }
   }
 
+  /**
+   * The parts of the query that don't depend on the parameters of a call: the SQL with entity
+   * class names resolved, its parsed SpEL expressions, the parameter tags and, when the SQL has no
+   * SpEL expressions, its sorted and paged variants.
+   */
+  private final class CompiledSql {
+
+    final List<String> tags;
+
+    final Set<String> initialTags;
+
+    final String sql;
+
+    final Expression[] expressions;
+
+    final boolean isLiteral;
+
+    final Map<String, java.lang.reflect.Parameter> paramMetadataMap = new HashMap<>();
+
+    final boolean fetchInterleaved;
+
+    private final ConcurrentMap<Sort, String> unpagedSql = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Sort, String> pagedSql = new ConcurrentHashMap<>();
+
+    CompiledSql() {
+      this.tags = Collections.unmodifiableList(getParamTags());
+      this.initialTags = Collections.unmodifiableSet(new HashSet<>(this.tags));
+      this.sql = resolveEntityClassNames(SqlSpannerQuery.this.sql, spannerMappingContext);
+      this.expressions = detectExpressions(this.sql);
+      this.isLiteral =
+          Arrays.stream(this.expressions).allMatch(LiteralExpression.class::isInstance);
+      for (java.lang.reflect.Parameter param :
+          getQueryMethod().getQueryMethod().getParameters()) {
+        Param annotation = param.getAnnotation(Param.class);
+        this.paramMetadataMap.put(
+            annotation == null ? param.getName() : annotation.value(), param);
+      }
+      Class<?> returnedType = isDml ? null : getReturnedType();
+      SpannerPersistentEntity<?> entity =
+          returnedType == null ? null : spannerMappingContext.getPersistentEntity(returnedType);
+      this.fetchInterleaved = entity != null && entity.hasEagerlyLoadedProperties();
+    }
+
+    /** Gets the SQL with the sort and paging of a call applied, for SQL without SpEL. */
+    String getReadSql(SpannerPageableQueryOptions options) {
+      Sort sort = options.getSort() != null ? options.getSort() : Sort.unsorted();
+      if (options.getLimit() == null && options.getOffset() == null) {
+        return SpannerStatementQueryExecutor.getSortedSql(
+            this.unpagedSql,
+            sort,
+            s ->
+                SpannerStatementQueryExecutor.applySortingPagingQueryOptions(
+                    entityType,
+                    new SpannerPageableQueryOptions().setSort(s),
+                    this.sql,
+                    spannerMappingContext,
+                    this.fetchInterleaved));
+      }
+      return SpannerStatementQueryExecutor.applyPaging(
+          SpannerStatementQueryExecutor.getSortedSql(
+              this.pagedSql,
+              sort,
+              s ->
+                  SpannerStatementQueryExecutor.wrapSorted(
+                      entityType, s, this.sql, spannerMappingContext, this.fetchInterleaved)),
+          options.getLimit(),
+          options.getOffset());
+    }
+  }
+
   // Convenience class to hold a grouping of SQL, tags, and parameter values.
   private static class QueryTagValue {
 
@@ -306,11 +419,16 @@ public class SqlSpannerQuery<T> extends AbstractSpannerQuery<T> {
 
     String sql;
 
-    QueryTagValue(List<String> tags, Object[] rawParams, Object[] params, String sql) {
-      this.tags = tags;
+    QueryTagValue(
+        List<String> tags,
+        Set<String> initialTags,
+        Object[] rawParams,
+        Object[] params,
+        String sql) {
+      this.tags = new ArrayList<>(tags);
       this.intialParams = params;
       this.sql = sql;
-      this.initialTags = new HashSet<>(tags);
+      this.initialTags = initialTags;
       this.params = new ArrayList<>(Arrays.asList(params));
       this.rawParams = rawParams;
     }
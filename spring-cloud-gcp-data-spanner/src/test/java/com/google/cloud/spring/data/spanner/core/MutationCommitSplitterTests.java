@@ -0,0 +1,82 @@
+/*
+ * Copyright 2023 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.spring.data.spanner.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.cloud.ByteArray;
+import com.google.cloud.spanner.Key;
+import com.google.cloud.spanner.KeySet;
+import com.google.cloud.spanner.Mutation;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/** Tests for the splitting of bulk writes into commits. */
+class MutationCommitSplitterTests {
+
+  private static final Mutation TWO_COLUMNS =
+      Mutation.newInsertBuilder("table").set("id").to("a").set("value").to(1L).build();
+
+  @Test
+  void countMutationsTest() {
+    assertThat(MutationCommitSplitter.countMutations(TWO_COLUMNS)).isEqualTo(2);
+    assertThat(
+            MutationCommitSplitter.countMutations(
+                Mutation.delete(
+                    "table", KeySet.newBuilder().addKey(Key.of("a")).addKey(Key.of("b")).build())))
+        .isEqualTo(2);
+    assertThat(MutationCommitSplitter.countMutations(Mutation.delete("table", KeySet.all())))
+        .isEqualTo(1);
+  }
+
+  @Test
+  void estimateSizeTest() {
+    Mutation mutation =
+        Mutation.newInsertBuilder("table")
+            .set("name")
+            .to("abcdef")
+            .set("data")
+            .to(ByteArray.copyFrom(new byte[100]))
+            .build();
+
+    assertThat(MutationCommitSplitter.estimateSize(mutation)).isEqualTo(5 + 8 + 6 + 100);
+  }
+
+  @Test
+  void splitByMutationsTest() {
+    List<List<Mutation>> groups =
+        Arrays.asList(
+            Collections.singletonList(TWO_COLUMNS),
+            Collections.singletonList(TWO_COLUMNS),
+            Arrays.asList(TWO_COLUMNS, TWO_COLUMNS, TWO_COLUMNS),
+            Collections.singletonList(TWO_COLUMNS));
+
+    assertThat(MutationCommitSplitter.split(groups, 4, 0)).containsExactly(2, 3, 4);
+  }
+
+  @Test
+  void splitByBytesTest() {
+    long size = MutationCommitSplitter.estimateSize(TWO_COLUMNS);
+    List<List<Mutation>> groups = Collections.nCopies(5, Collections.singletonList(TWO_COLUMNS));
+
+    assertThat(MutationCommitSplitter.split(groups, 0, size * 2)).containsExactly(2, 4, 5);
+    assertThat(MutationCommitSplitter.split(groups, 0, 0)).containsExactly(5);
+    assertThat(MutationCommitSplitter.split(Collections.emptyList(), 1, 0)).isEmpty();
+  }
+}
@@ -0,0 +1,290 @@
+/*
+ * Copyright 2023 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.spring.data.spanner.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.cloud.spanner.AsyncRunner;
+import com.google.cloud.spanner.AsyncRunner.AsyncWork;
+import com.google.cloud.spanner.DatabaseClient;
+import com.google.cloud.spanner.Key;
+import com.google.cloud.spanner.KeySet;
+import com.google.cloud.spanner.Mutation;
+import com.google.cloud.spanner.ReadContext;
+import com.google.cloud.spanner.ResultSet;
+import com.google.cloud.spanner.ResultSets;
+import com.google.cloud.spanner.Statement;
+import com.google.cloud.spanner.Struct;
+import com.google.cloud.spanner.TransactionContext;
+import com.google.cloud.spanner.Type;
+import com.google.cloud.spanner.Type.StructField;
+import com.google.cloud.spring.data.spanner.core.admin.SpannerSchemaUtils;
+import com.google.cloud.spring.data.spanner.core.convert.SpannerEntityProcessor;
+import com.google.cloud.spring.data.spanner.core.mapping.PrimaryKey;
+import com.google.cloud.spring.data.spanner.core.mapping.SpannerMappingContext;
+import com.google.cloud.spring.data.spanner.core.mapping.Table;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+/** Tests for the reactive Spanner Template. */
+class SpannerReactiveTemplateTests {
+
+  private static final Statement QUERY = Statement.of("SELECT id FROM custom_test_table");
+
+  private static final Type ROW_TYPE = Type.struct(StructField.of("id", Type.string()));
+
+  private DatabaseClient databaseClient;
+
+  private ReadContext readContext;
+
+  private SpannerEntityProcessor entityProcessor;
+
+  private SpannerMutationFactory mutationFactory;
+
+  private SpannerReactiveTemplate reactiveTemplate;
+
+  @BeforeEach
+  void setUp() {
+    this.databaseClient = mock(DatabaseClient.class);
+    this.readContext = mock(ReadContext.class);
+    when(this.databaseClient.singleUse()).thenReturn(this.readContext);
+    SpannerMappingContext mappingContext = new SpannerMappingContext();
+    this.entityProcessor = mock(SpannerEntityProcessor.class);
+    this.mutationFactory = mock(SpannerMutationFactory.class);
+    this.reactiveTemplate =
+        new SpannerReactiveTemplate(
+            new SpannerTemplate(
+                () -> this.databaseClient,
+                mappingContext,
+                this.entityProcessor,
+                this.mutationFactory,
+                new SpannerSchemaUtils(mappingContext, this.entityProcessor, true)));
+  }
+
+  private ResultSet returnRows(String... ids) {
+    ResultSet resultSet = spy(rows(ids));
+    when(this.readContext.executeQueryAsync(QUERY))
+        .thenAnswer(invocation -> ResultSets.toAsyncResultSet(resultSet));
+    return resultSet;
+  }
+
+  private static ResultSet rows(String... ids) {
+    List<Struct> rows = new ArrayList<>();
+    for (String id : ids) {
+      rows.add(Struct.newBuilder().set("id").to(id).build());
+    }
+    return ResultSets.forRows(ROW_TYPE, rows);
+  }
+
+  private void mapEntities() {
+    when(this.entityProcessor.getRowMapper(eq(TestEntity.class), isNull(), eq(false)))
+        .thenReturn(
+            row -> {
+              TestEntity entity = new TestEntity();
+              entity.id = row.getString("id");
+              return entity;
+            });
+  }
+
+  private TransactionContext setUpAsyncRunner() {
+    AsyncRunner asyncRunner = mock(AsyncRunner.class);
+    when(this.databaseClient.runAsync()).thenReturn(asyncRunner);
+    TransactionContext transactionContext = mock(TransactionContext.class);
+    when(asyncRunner.runAsync(any(), any()))
+        .thenAnswer(
+            invocation ->
+                invocation.<AsyncWork<?>>getArgument(0).doWorkAsync(transactionContext));
+    return transactionContext;
+  }
+
+  @Test
+  void queryEmitsRowsOnDemandTest() {
+    returnRows("a", "b", "c");
+
+    StepVerifier.create(this.reactiveTemplate.query(row -> row.getString("id"), QUERY, null), 0)
+        .expectSubscription()
+        .thenRequest(1)
+        .expectNext("a")
+        .thenRequest(1)
+        .expectNext("b")
+        .thenRequest(1)
+        .expectNext("c")
+        .verifyComplete();
+  }
+
+  @Test
+  void queryConvertsRowsOnMappingExecutorTest() {
+    returnRows("a", "b");
+    AtomicInteger mappingTasks = new AtomicInteger();
+    Executor executor =
+        task -> {
+          mappingTasks.incrementAndGet();
+          new Thread(task).start();
+        };
+    this.reactiveTemplate.setMappingExecutor(executor);
+
+    StepVerifier.create(
+            this.reactiveTemplate.query(
+                row -> Thread.currentThread().getName() + row.getString("id"), QUERY, null))
+        .expectNextCount(2)
+        .verifyComplete();
+    assertThat(mappingTasks).hasPositiveValue();
+  }
+
+  @Test
+  void cancelClosesResultSetTest() {
+    ResultSet resultSet = returnRows("a", "b", "c");
+
+    StepVerifier.create(this.reactiveTemplate.query(row -> row.getString("id"), QUERY, null), 1)
+        .expectNext("a")
+        .thenCancel()
+        .verify();
+
+    verify(resultSet, timeout(5000)).close();
+  }
+
+  @Test
+  void queryErrorTest() {
+    returnRows("a", "b");
+
+    StepVerifier.create(
+            this.reactiveTemplate.query(
+                row -> {
+                  if (row.getString("id").equals("b")) {
+                    throw new IllegalStateException("conversion failed");
+                  }
+                  return row.getString("id");
+                },
+                QUERY,
+                null))
+        .expectNext("a")
+        .expectErrorMessage("conversion failed")
+        .verify();
+  }
+
+  @Test
+  void queryNullRowErrorTest() {
+    returnRows("a", "b");
+
+    StepVerifier.create(
+            this.reactiveTemplate.query(
+                row -> row.getString("id").equals("b") ? null : row.getString("id"), QUERY, null))
+        .expectNext("a")
+        .expectErrorMatches(
+            ex ->
+                ex instanceof NullPointerException
+                    && ex.getMessage().equals("The row function returned a null value."))
+        .verify();
+  }
+
+  @Test
+  void queryConvertsRowsOnOwnThreadsByDefaultTest() {
+    returnRows("a");
+
+    StepVerifier.create(
+            this.reactiveTemplate.query(row -> Thread.currentThread().getName(), QUERY, null))
+        .assertNext(name -> assertThat(name).startsWith("spanner-reactive-mapping-"))
+        .verifyComplete();
+    this.reactiveTemplate.destroy();
+  }
+
+  @Test
+  void queryEntitiesTest() {
+    returnRows("a", "b");
+    mapEntities();
+
+    StepVerifier.create(this.reactiveTemplate.query(TestEntity.class, QUERY, null))
+        .assertNext(entity -> assertThat(entity.id).isEqualTo("a"))
+        .assertNext(entity -> assertThat(entity.id).isEqualTo("b"))
+        .verifyComplete();
+  }
+
+  @Test
+  void readTest() {
+    when(this.readContext.readAsync(eq("custom_test_table"), eq(KeySet.all()), any()))
+        .thenAnswer(invocation -> ResultSets.toAsyncResultSet(rows("a", "b")));
+    mapEntities();
+
+    StepVerifier.create(this.reactiveTemplate.read(TestEntity.class, KeySet.all(), null))
+        .assertNext(entity -> assertThat(entity.id).isEqualTo("a"))
+        .assertNext(entity -> assertThat(entity.id).isEqualTo("b"))
+        .verifyComplete();
+  }
+
+  @Test
+  void readMissingKeyIsEmptyTest() {
+    when(this.readContext.readAsync(
+            eq("custom_test_table"), eq(KeySet.singleKey(Key.of("a"))), any()))
+        .thenAnswer(invocation -> ResultSets.toAsyncResultSet(rows()));
+    mapEntities();
+
+    StepVerifier.create(this.reactiveTemplate.read(TestEntity.class, Key.of("a"), null))
+        .verifyComplete();
+  }
+
+  @Test
+  void insertOnSubscriptionTest() {
+    TransactionContext transactionContext = setUpAsyncRunner();
+    TestEntity entity = new TestEntity();
+    List<Mutation> mutations =
+        Collections.singletonList(Mutation.newInsertBuilder("custom_test_table").build());
+    when(this.mutationFactory.insert(entity)).thenReturn(mutations);
+
+    Mono<Void> insert = this.reactiveTemplate.insert(entity);
+    verify(this.databaseClient, never()).runAsync();
+
+    StepVerifier.create(insert).verifyComplete();
+    verify(transactionContext).buffer(mutations);
+  }
+
+  @Test
+  void performReadWriteTransactionTest() {
+    TransactionContext transactionContext = setUpAsyncRunner();
+    when(transactionContext.executeQueryAsync(QUERY))
+        .thenAnswer(invocation -> ResultSets.toAsyncResultSet(rows("a", "b")));
+
+    StepVerifier.create(
+            this.reactiveTemplate.performReadWriteTransaction(
+                spannerTemplate ->
+                    Mono.fromFuture(
+                        spannerTemplate.queryAsync(row -> row.getString("id"), QUERY, null))))
+        .expectNext(List.of("a", "b"))
+        .verifyComplete();
+    verify(this.databaseClient, never()).singleUse();
+  }
+
+  @Table(name = "custom_test_table")
+  private static class TestEntity {
+    @PrimaryKey String id;
+  }
+}
@@ -18,34 +18,51 @@ package com.google.cloud.spring.data.spanner.core;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.cloud.ByteArray;
 import com.google.cloud.Timestamp;
+import com.google.cloud.spanner.AsyncResultSet;
+import com.google.cloud.spanner.AsyncRunner;
+import com.google.cloud.spanner.AsyncRunner.AsyncWork;
+import com.google.cloud.spanner.BatchClient;
+import com.google.cloud.spanner.BatchReadOnlyTransaction;
 import com.google.cloud.spanner.DatabaseClient;
+import com.google.cloud.spanner.ErrorCode;
 import com.google.cloud.spanner.Key;
 import com.google.cloud.spanner.KeySet;
 import com.google.cloud.spanner.Mutation;
 import com.google.cloud.spanner.Options;
 import com.google.cloud.spanner.Options.ReadOption;
+import com.google.cloud.spanner.Partition;
 import com.google.cloud.spanner.ReadContext;
 import com.google.cloud.spanner.ReadOnlyTransaction;
 import com.google.cloud.spanner.ResultSet;
+import com.google.cloud.spanner.ResultSets;
+import com.google.cloud.spanner.SpannerException;
+import com.google.cloud.spanner.SpannerExceptionFactory;
 import com.google.cloud.spanner.Statement;
+import com.google.cloud.spanner.Struct;
 import com.google.cloud.spanner.TimestampBound;
 import com.google.cloud.spanner.TransactionContext;
 import com.google.cloud.spanner.TransactionRunner;
 import com.google.cloud.spanner.TransactionRunner.TransactionCallable;
+import com.google.cloud.spanner.Type;
+import com.google.cloud.spanner.Type.StructField;
 import com.google.cloud.spring.data.spanner.core.admin.CachingComposingSupplier;
 import com.google.cloud.spring.data.spanner.core.admin.SpannerSchemaUtils;
 import com.google.cloud.spring.data.spanner.core.convert.SpannerEntityProcessor;
@@ -54,6 +71,7 @@ import com.google.cloud.spring.data.spanner.core.mapping.Column;
 import com.google.cloud.spring.data.spanner.core.mapping.Embedded;
 import com.google.cloud.spring.data.spanner.core.mapping.Interleaved;
 import com.google.cloud.spring.data.spanner.core.mapping.PrimaryKey;
+import com.google.cloud.spring.data.spanner.core.mapping.SpannerBatchWriteException;
 import com.google.cloud.spring.data.spanner.core.mapping.SpannerMappingContext;
 import com.google.cloud.spring.data.spanner.core.mapping.Table;
 import com.google.cloud.spring.data.spanner.core.mapping.Where;
@@ -69,14 +87,22 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InOrder;
 import org.mockito.Mockito;
 import org.springframework.context.ApplicationEvent;
@@ -325,6 +351,20 @@ class SpannerTemplateTests {
             .hasMessage("A read-only transaction template cannot execute partitioned DML.");
   }
 
+  @Test
+  void readOnlyTransactionPartitionedReadTest() {
+    ReadOnlyTransaction readOnlyTransaction = mock(ReadOnlyTransaction.class);
+    when(this.databaseClient.readOnlyTransaction()).thenReturn(readOnlyTransaction);
+
+    assertThatThrownBy(
+            () ->
+                this.spannerTemplate.performReadOnlyTransaction(
+                    spannerOperations ->
+                        spannerOperations.readPartitioned(TestEntity.class, KeySet.all(), null),
+                    null))
+        .hasMessage("A read-only transaction template cannot execute partitioned reads.");
+  }
+
   @Test
   void readWriteTransactionPartitionedDmlTest() {
 
@@ -424,6 +464,485 @@ class SpannerTemplateTests {
         x -> {});
   }
 
+  @Test
+  void queryStreamConvertsRowsLazilyTest() {
+    ResultSet resultSet = mock(ResultSet.class);
+    when(resultSet.next()).thenReturn(true, true, true, false);
+    when(resultSet.getCurrentRowAsStruct())
+        .thenReturn(
+            Struct.newBuilder().set("id").to("a").build(),
+            Struct.newBuilder().set("id").to("b").build(),
+            Struct.newBuilder().set("id").to("c").build());
+    Statement query = Statement.of("test");
+    when(this.readContext.executeQuery(query)).thenReturn(resultSet);
+
+    try (Stream<String> ids = this.spannerTemplate.queryStream(x -> x.getString("id"), query, null)) {
+      verify(resultSet, never()).next();
+      assertThat(ids.limit(2).collect(Collectors.toList())).containsExactly("a", "b");
+      verify(resultSet, times(2)).next();
+      verify(resultSet, never()).close();
+    }
+    verify(resultSet, times(1)).close();
+  }
+
+  @Test
+  void queryStreamClosesExhaustedResultSetTest() {
+    ResultSet resultSet = mock(ResultSet.class);
+    when(resultSet.next()).thenReturn(true, false);
+    when(resultSet.getCurrentRowAsStruct())
+        .thenReturn(Struct.newBuilder().set("id").to("a").build());
+    Statement query = Statement.of("test");
+    when(this.readContext.executeQuery(query)).thenReturn(resultSet);
+
+    Iterator<String> ids =
+        this.spannerTemplate.queryStream(x -> x.getString("id"), query, null).iterator();
+
+    assertThat(ids.next()).isEqualTo("a");
+    assertThat(ids.hasNext()).isFalse();
+    verify(resultSet, times(1)).close();
+  }
+
+  @Test
+  void queryStreamResolvesChildEntitiesInBatchesTest() {
+    ParentEntity p1 = new ParentEntity();
+    p1.id = "a";
+    p1.id2 = "b";
+    ParentEntity p2 = new ParentEntity();
+    p2.id = "c";
+    p2.id2 = "d";
+    ChildEntity c1 = new ChildEntity();
+    c1.id = "a";
+    c1.id_2 = "b";
+    c1.id3 = "x";
+    ChildEntity c2 = new ChildEntity();
+    c2.id = "c";
+    c2.id_2 = "d";
+    c2.id3 = "y";
+    ResultSet resultSet = mock(ResultSet.class);
+    when(resultSet.next()).thenReturn(true, true, false);
+    when(resultSet.getCurrentRowAsStruct())
+        .thenReturn(
+            Struct.newBuilder().set("id").to("a").build(),
+            Struct.newBuilder().set("id").to("c").build());
+    Statement query = Statement.of("SELECT * FROM parent_test_table");
+    when(this.readContext.executeQuery(query)).thenReturn(resultSet);
+    when(this.objectMapper.getRowMapper(eq(ParentEntity.class), isNull(), eq(false)))
+        .thenReturn(row -> row.getString("id").equals("a") ? p1 : p2);
+    when(this.objectMapper.mapToList(any(), eq(ChildEntity.class), any(), eq(false)))
+        .thenReturn(Arrays.asList(c1, c2));
+
+    try (Stream<ParentEntity> parents =
+        this.spannerTemplate.queryStream(ParentEntity.class, query, null)) {
+      assertThat(parents).containsExactly(p1, p2);
+    }
+
+    assertThat(p1.childEntities).containsExactly(c1);
+    assertThat(p2.childEntities).containsExactly(c2);
+    verify(this.objectMapper, times(1)).mapToList(any(), eq(ChildEntity.class), any(), eq(false));
+    verify(resultSet, atLeastOnce()).close();
+  }
+
+  @Test
+  void queryPartitionedMergesPartitionsTest() {
+    BatchReadOnlyTransaction transaction = setUpBatchTransaction();
+    Statement query = Statement.of("SELECT * FROM custom_test_table");
+    List<Partition> partitions = setUpPartitions(transaction, 3, 2);
+    when(transaction.partitionQuery(any(), eq(query))).thenReturn(partitions);
+    this.spannerTemplate.setMaxConcurrentPartitions(2);
+
+    try (Stream<TestEntity> entities =
+        this.spannerTemplate.queryPartitioned(TestEntity.class, query, null)) {
+      assertThat(entities.map(entity -> entity.id).collect(Collectors.toList()))
+          .containsExactlyInAnyOrder("0-0", "0-1", "1-0", "1-1", "2-0", "2-1");
+    }
+
+    verify(transaction, times(3)).execute(any());
+    verify(transaction, timeout(5000)).cleanup();
+  }
+
+  @Test
+  void readPartitionedHandsPartitionsToConsumerTest() {
+    BatchReadOnlyTransaction transaction =
+        setUpBatchTransaction(TimestampBound.ofExactStaleness(10, TimeUnit.SECONDS));
+    List<Partition> partitions = setUpPartitions(transaction, 2, 3);
+    when(transaction.partitionReadUsingIndex(
+            any(), eq("custom_test_table"), eq("index"), eq(KeySet.all()), any()))
+        .thenReturn(partitions);
+    SpannerReadOptions options =
+        new SpannerReadOptions()
+            .setIndex("index")
+            .setTimestampBound(TimestampBound.ofExactStaleness(10, TimeUnit.SECONDS));
+
+    List<List<String>> partitionIds = Collections.synchronizedList(new ArrayList<>());
+    this.spannerTemplate.readPartitioned(
+        TestEntity.class,
+        KeySet.all(),
+        options,
+        entities ->
+            partitionIds.add(entities.map(entity -> entity.id).collect(Collectors.toList())));
+
+    assertThat(partitionIds)
+        .containsExactlyInAnyOrder(
+            Arrays.asList("0-0", "0-1", "0-2"), Arrays.asList("1-0", "1-1", "1-2"));
+    verify(transaction, times(1)).cleanup();
+  }
+
+  @Test
+  void queryPartitionedReadsChildrenAtTransactionTimestampTest() {
+    BatchReadOnlyTransaction transaction = setUpBatchTransaction();
+    Timestamp readTimestamp = Timestamp.ofTimeMicroseconds(333L);
+    when(transaction.getReadTimestamp()).thenReturn(readTimestamp);
+    Statement query = Statement.of("SELECT * FROM parent_test_table");
+    List<Partition> partitions = setUpPartitions(transaction, 1, 1);
+    when(transaction.partitionQuery(any(), eq(query))).thenReturn(partitions);
+    ParentEntity parent = new ParentEntity();
+    parent.id = "0-0";
+    parent.id2 = "b";
+    ChildEntity child = new ChildEntity();
+    child.id = "0-0";
+    child.id_2 = "b";
+    child.id3 = "x";
+    when(this.objectMapper.getRowMapper(eq(ParentEntity.class), isNull(), eq(false)))
+        .thenReturn(row -> parent);
+    when(this.objectMapper.mapToList(any(), eq(ChildEntity.class), any(), eq(false)))
+        .thenReturn(Collections.singletonList(child));
+    when(this.databaseClient.singleUse(TimestampBound.ofReadTimestamp(readTimestamp)))
+        .thenReturn(this.readContext);
+
+    try (Stream<ParentEntity> parents =
+        this.spannerTemplate.queryPartitioned(ParentEntity.class, query, null)) {
+      assertThat(parents).containsExactly(parent);
+    }
+
+    assertThat(parent.childEntities).containsExactly(child);
+    verify(this.databaseClient, times(1))
+        .singleUse(TimestampBound.ofReadTimestamp(readTimestamp));
+    verify(this.databaseClient, never()).singleUse();
+  }
+
+  @Test
+  void queryPartitionedReadsOnOwnThreadsByDefaultTest() {
+    BatchReadOnlyTransaction transaction = setUpBatchTransaction();
+    Statement query = Statement.of("SELECT * FROM custom_test_table");
+    List<Partition> partitions = setUpPartitions(transaction, 2, 1);
+    when(transaction.partitionQuery(any(), eq(query))).thenReturn(partitions);
+    List<String> partitionThreads = Collections.synchronizedList(new ArrayList<>());
+
+    this.spannerTemplate.queryPartitioned(
+        TestEntity.class,
+        query,
+        null,
+        entities -> {
+          partitionThreads.add(Thread.currentThread().getName());
+          entities.forEach(entity -> {});
+        });
+
+    assertThat(partitionThreads)
+        .hasSize(2)
+        .allSatisfy(name -> assertThat(name).startsWith("spanner-partition-"));
+  }
+
+  @Test
+  void readPartitionedAppliesWhereWithIndexTest() {
+    BatchReadOnlyTransaction transaction = setUpBatchTransaction();
+    when(transaction.partitionQuery(any(), any())).thenReturn(Collections.emptyList());
+    SpannerReadOptions options = new SpannerReadOptions().setIndex("index");
+
+    this.spannerTemplate.readPartitioned(WhereEntity.class, KeySet.all(), options, x -> {});
+
+    ArgumentCaptor<Statement> statement = ArgumentCaptor.forClass(Statement.class);
+    verify(transaction, times(1)).partitionQuery(any(), statement.capture());
+    assertThat(statement.getValue().getSql())
+        .endsWith(" FROM where_test_table@{FORCE_INDEX=index} WHERE deleted = false");
+  }
+
+  @Test
+  void partitionedReadFailureTest() {
+    BatchReadOnlyTransaction transaction = setUpBatchTransaction();
+    Statement query = Statement.of("SELECT * FROM custom_test_table");
+    List<Partition> partitions = setUpPartitions(transaction, 2, 1);
+    when(transaction.partitionQuery(any(), eq(query))).thenReturn(partitions);
+    when(transaction.execute(partitions.get(1)))
+        .thenThrow(
+            SpannerExceptionFactory.newSpannerException(ErrorCode.UNAVAILABLE, "unavailable"));
+    this.spannerTemplate.setMaxConcurrentPartitions(1);
+
+    assertThatThrownBy(
+            () -> this.spannerTemplate.queryPartitioned(TestEntity.class, query, null, x -> {}))
+        .isInstanceOf(SpannerException.class)
+        .hasMessageContaining("unavailable");
+    verify(transaction, times(1)).cleanup();
+
+    try (Stream<TestEntity> entities =
+        this.spannerTemplate.queryPartitioned(TestEntity.class, query, null)) {
+      assertThatThrownBy(() -> entities.collect(Collectors.toList()))
+          .isInstanceOf(SpannerException.class)
+          .hasMessageContaining("unavailable");
+    }
+  }
+
+  @Test
+  void partitionedReadRejectedByExecutorCleansUpTest() {
+    BatchReadOnlyTransaction transaction = setUpBatchTransaction();
+    Statement query = Statement.of("SELECT * FROM custom_test_table");
+    List<Partition> partitions = setUpPartitions(transaction, 2, 1);
+    when(transaction.partitionQuery(any(), eq(query))).thenReturn(partitions);
+    this.spannerTemplate.setReadExecutor(
+        task -> {
+          throw new RejectedExecutionException("shut down");
+        });
+
+    assertThatThrownBy(
+            () -> this.spannerTemplate.queryPartitioned(TestEntity.class, query, null, x -> {}))
+        .isInstanceOf(RejectedExecutionException.class);
+    verify(transaction, times(1)).cleanup();
+    verify(transaction, never()).execute(any());
+  }
+
+  @Test
+  void closingPartitionedStreamAbandonsPartitionsTest() {
+    BatchReadOnlyTransaction transaction = setUpBatchTransaction();
+    Statement query = Statement.of("SELECT * FROM custom_test_table");
+    int rowsPerPartition = PartitionedResultsReader.MERGED_RESULTS_BUFFER_SIZE * 2;
+    List<Partition> partitions = setUpPartitions(transaction, 4, rowsPerPartition);
+    when(transaction.partitionQuery(any(), eq(query))).thenReturn(partitions);
+    this.spannerTemplate.setMaxConcurrentPartitions(1);
+
+    try (Stream<TestEntity> entities =
+        this.spannerTemplate.queryPartitioned(TestEntity.class, query, null)) {
+      assertThat(entities.findFirst()).isPresent();
+    }
+
+    verify(transaction, timeout(5000)).cleanup();
+    verify(transaction, times(1)).execute(any());
+  }
+
+  @Test
+  void partitionedReadRequiresBatchClientTest() {
+    SpannerTemplate template =
+        new SpannerTemplate(
+            () -> this.databaseClient,
+            this.mappingContext,
+            this.objectMapper,
+            this.mutationFactory,
+            this.schemaUtils);
+
+    assertThatThrownBy(() -> template.readPartitioned(TestEntity.class, KeySet.all(), null))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("A batch client is required for partitioned reads.");
+  }
+
+  private BatchReadOnlyTransaction setUpBatchTransaction() {
+    return setUpBatchTransaction(TimestampBound.strong());
+  }
+
+  private BatchReadOnlyTransaction setUpBatchTransaction(TimestampBound timestampBound) {
+    BatchClient batchClient = mock(BatchClient.class);
+    BatchReadOnlyTransaction transaction = mock(BatchReadOnlyTransaction.class);
+    when(batchClient.batchReadOnlyTransaction(timestampBound)).thenReturn(transaction);
+    this.spannerTemplate.setBatchClientProvider(() -> batchClient);
+    when(this.objectMapper.getRowMapper(eq(TestEntity.class), isNull(), eq(false)))
+        .thenReturn(
+            row -> {
+              TestEntity entity = new TestEntity();
+              entity.id = row.getString("id");
+              return entity;
+            });
+    return transaction;
+  }
+
+  private static List<Partition> setUpPartitions(
+      BatchReadOnlyTransaction transaction, int numPartitions, int rowsPerPartition) {
+    List<Partition> partitions = new ArrayList<>();
+    for (int i = 0; i < numPartitions; i++) {
+      Partition partition = mock(Partition.class);
+      List<Struct> rows = new ArrayList<>();
+      for (int j = 0; j < rowsPerPartition; j++) {
+        rows.add(Struct.newBuilder().set("id").to(i + "-" + j).build());
+      }
+      when(transaction.execute(partition))
+          .thenAnswer(
+              invocation ->
+                  ResultSets.forRows(Type.struct(StructField.of("id", Type.string())), rows));
+      partitions.add(partition);
+    }
+    return partitions;
+  }
+
+  @Test
+  void queryAsyncConvertsRowsOnAsyncExecutorTest() {
+    Statement query = Statement.of("test");
+    when(this.readContext.executeQueryAsync(query))
+        .thenReturn(ResultSets.toAsyncResultSet(idRows("a", "b")));
+    AtomicInteger asyncTasks = new AtomicInteger();
+    this.spannerTemplate.setAsyncExecutor(
+        task -> {
+          asyncTasks.incrementAndGet();
+          ForkJoinPool.commonPool().execute(task);
+        });
+
+    verifyAfterEvents(
+        new AfterQueryEvent(Arrays.asList("a", "b"), query, null),
+        () ->
+            assertThat(this.spannerTemplate.queryAsync(x -> x.getString("id"), query, null).join())
+                .containsExactly("a", "b"),
+        x -> {});
+    assertThat(asyncTasks).hasPositiveValue();
+  }
+
+  @Test
+  void queryAsyncConvertsRowsOnOwnThreadsByDefaultTest() {
+    Statement query = Statement.of("test");
+    when(this.readContext.executeQueryAsync(query))
+        .thenReturn(ResultSets.toAsyncResultSet(idRows("a")));
+
+    assertThat(
+            this.spannerTemplate
+                .queryAsync(x -> Thread.currentThread().getName(), query, null)
+                .join())
+        .singleElement()
+        .satisfies(name -> assertThat(name).startsWith("spanner-async-"));
+    this.spannerTemplate.destroy();
+  }
+
+  @Test
+  void cancellingQueryAsyncCancelsResultSetTest() {
+    Statement query = Statement.of("test");
+    AsyncResultSet resultSet = mock(AsyncResultSet.class);
+    when(this.readContext.executeQueryAsync(query)).thenReturn(resultSet);
+
+    CompletableFuture<List<Struct>> rows = this.spannerTemplate.queryAsync(x -> x, query, null);
+    rows.cancel(false);
+
+    verify(resultSet, times(1)).cancel();
+  }
+
+  @Test
+  void readAsyncTest() {
+    KeySet keys = KeySet.singleKey(Key.of("a"));
+    TestEntity entity = new TestEntity();
+    when(this.readContext.readAsync(eq("custom_test_table"), eq(keys), any()))
+        .thenReturn(ResultSets.toAsyncResultSet(idRows("a")));
+    when(this.objectMapper.getRowMapper(eq(TestEntity.class), isNull(), eq(false)))
+        .thenReturn(row -> entity);
+
+    verifyAfterEvents(
+        new AfterReadEvent(Collections.singletonList(entity), keys, null),
+        () ->
+            assertThat(this.spannerTemplate.readAsync(TestEntity.class, Key.of("a"), null).join())
+                .isSameAs(entity),
+        x -> {});
+    verify(this.readContext, never()).read(any(), any(), any());
+  }
+
+  @Test
+  void readAsyncAppliesWhereTest() {
+    WhereEntity entity = new WhereEntity();
+    when(this.readContext.executeQueryAsync(any()))
+        .thenReturn(ResultSets.toAsyncResultSet(idRows("a")));
+    when(this.objectMapper.getRowMapper(eq(WhereEntity.class), isNull(), eq(false)))
+        .thenReturn(row -> entity);
+
+    assertThat(this.spannerTemplate.readAsync(WhereEntity.class, Key.of("a"), null).join())
+        .isSameAs(entity);
+
+    ArgumentCaptor<Statement> statement = ArgumentCaptor.forClass(Statement.class);
+    verify(this.readContext, times(1)).executeQueryAsync(statement.capture());
+    assertThat(statement.getValue().getSql())
+        .endsWith(" FROM where_test_table WHERE (id = @tag0) AND (deleted = false)");
+  }
+
+  @Test
+  void insertAsyncTest() {
+    TransactionContext transactionContext = setUpAsyncRunner();
+    Mutation mutation = Mutation.newInsertBuilder("custom_test_table").build();
+    TestEntity entity = new TestEntity();
+    List<Mutation> mutations = Collections.singletonList(mutation);
+    when(this.mutationFactory.insert(entity)).thenReturn(mutations);
+
+    verifyBeforeAndAfterEvents(
+        new BeforeSaveEvent(Collections.singletonList(entity), null),
+        new AfterSaveEvent(mutations, Collections.singletonList(entity), null),
+        () -> this.spannerTemplate.insertAsync(entity).join(),
+        x -> {});
+    verify(transactionContext, times(1)).buffer(mutations);
+    verify(this.databaseClient, never()).write(any());
+  }
+
+  @Test
+  void deleteAllAsyncTest() {
+    TransactionContext transactionContext = setUpAsyncRunner();
+    Mutation mutation = Mutation.delete("custom_test_table", Key.of("key"));
+    TestEntity entity = new TestEntity();
+    List<Mutation> mutations = Arrays.asList(mutation, mutation);
+    List<TestEntity> entities = Arrays.asList(entity, entity);
+    when(this.mutationFactory.delete(entity)).thenReturn(mutation);
+
+    verifyBeforeAndAfterEvents(
+        new BeforeDeleteEvent(mutations, entities, null, null),
+        new AfterDeleteEvent(mutations, entities, null, null),
+        () -> this.spannerTemplate.deleteAllAsync(entities).join(),
+        x -> {});
+    verify(transactionContext, times(1)).buffer(mutations);
+  }
+
+  @Test
+  void readWriteTransactionAsyncTest() {
+    TransactionContext transactionContext = setUpAsyncRunner();
+    Statement query = Statement.of("test");
+    when(transactionContext.executeQueryAsync(query))
+        .thenReturn(ResultSets.toAsyncResultSet(idRows("a")));
+    TestEntity entity = new TestEntity();
+    List<Mutation> mutations =
+        Collections.singletonList(Mutation.newInsertOrUpdateBuilder("custom_test_table").build());
+    when(this.mutationFactory.upsert(entity, null)).thenReturn(mutations);
+
+    String result =
+        this.spannerTemplate
+            .performReadWriteTransactionAsync(
+                spannerTemplate ->
+                    spannerTemplate
+                        .queryAsync(x -> x.getString("id"), query, null)
+                        .thenCompose(
+                            ids -> spannerTemplate.upsertAsync(entity).thenApply(x -> ids.get(0))))
+            .join();
+
+    assertThat(result).isEqualTo("a");
+    verify(transactionContext, times(1)).buffer(mutations);
+    verify(this.databaseClient, never()).singleUse();
+  }
+
+  @Test
+  void readOnlyTransactionAsyncWriteTest() {
+    ReadOnlyTransaction readOnlyTransaction = mock(ReadOnlyTransaction.class);
+    when(this.databaseClient.readOnlyTransaction()).thenReturn(readOnlyTransaction);
+
+    assertThatThrownBy(
+            () ->
+                this.spannerTemplate.performReadOnlyTransaction(
+                    spannerTemplate -> spannerTemplate.insertAsync(new TestEntity()), null))
+        .hasMessage("A read-only transaction template cannot perform mutations.");
+  }
+
+  private TransactionContext setUpAsyncRunner() {
+    AsyncRunner asyncRunner = mock(AsyncRunner.class);
+    when(this.databaseClient.runAsync()).thenReturn(asyncRunner);
+    TransactionContext transactionContext = mock(TransactionContext.class);
+    when(asyncRunner.runAsync(any(), any()))
+        .thenAnswer(
+            invocation ->
+                invocation.<AsyncWork<?>>getArgument(0).doWorkAsync(transactionContext));
+    return transactionContext;
+  }
+
+  private static ResultSet idRows(String... ids) {
+    List<Struct> rows = new ArrayList<>();
+    for (String id : ids) {
+      rows.add(Struct.newBuilder().set("id").to(id).build());
+    }
+    return ResultSets.forRows(Type.struct(StructField.of("id", Type.string())), rows);
+  }
+
   @Test
   void findSingleKeyTest() {
     SpannerTemplate spyTemplate = spy(this.spannerTemplate);
@@ -474,7 +993,7 @@ class SpannerTemplateTests {
                 "SELECT other, id, custom_col, id_2, ARRAY (SELECT AS STRUCT deleted, id3, id, id_2"
                     + " FROM child_test_table WHERE (child_test_table.id = parent_test_table.id AND"
                     + " child_test_table.id_2 = parent_test_table.id_2) AND (deleted = false)) AS"
-                    + " childEntities FROM parent_test_table WHERE (id = @tag0) OR (id_2 = @tag1)")
+                    + " childEntities FROM parent_test_table WHERE (id = @tag0) OR (id = @tag1)")
             .bind("tag0")
             .to("key1")
             .bind("tag1")
@@ -582,6 +1101,95 @@ class SpannerTemplateTests {
         x -> x.verify(this.databaseClient, times(1)).write(mutations));
   }
 
+  @Test
+  void insertAllSplitsCommitsTest() {
+    Mutation mutation = Mutation.newInsertBuilder("custom_test_table").set("id").to("a").build();
+    TestEntity entity = new TestEntity();
+    List<Mutation> mutations = Arrays.asList(mutation, mutation, mutation);
+    List entities = Arrays.asList(entity, entity, entity);
+    when(this.mutationFactory.insert(same(entity))).thenReturn(Collections.singletonList(mutation));
+    this.spannerTemplate.setMaxMutationsPerCommit(2);
+
+    verifyBeforeAndAfterEvents(
+        new BeforeSaveEvent(entities, null),
+        new AfterSaveEvent(mutations, entities, null),
+        () -> this.spannerTemplate.insertAll(entities),
+        x -> {
+          x.verify(this.databaseClient, times(1)).write(Arrays.asList(mutation, mutation));
+          x.verify(this.databaseClient, times(1)).write(Collections.singletonList(mutation));
+        });
+  }
+
+  @Test
+  void upsertAllKeepsEntityMutationsInOneCommitTest() {
+    Mutation parent = Mutation.newInsertOrUpdateBuilder("parent").set("id").to("a").build();
+    Mutation child = Mutation.newInsertOrUpdateBuilder("child").set("id").to("a").build();
+    TestEntity entity = new TestEntity();
+    when(this.mutationFactory.upsert(same(entity), isNull()))
+        .thenReturn(Arrays.asList(parent, child));
+    this.spannerTemplate.setMaxMutationsPerCommit(3);
+
+    this.spannerTemplate.upsertAll(Arrays.asList(entity, entity));
+
+    verify(this.databaseClient, times(2)).write(Arrays.asList(parent, child));
+  }
+
+  @Test
+  void updateAllConcurrentCommitsFailureTest() {
+    Mutation mutation1 = Mutation.newUpdateBuilder("custom_test_table").set("id").to("a").build();
+    Mutation mutation2 = Mutation.newUpdateBuilder("custom_test_table").set("id").to("b").build();
+    TestEntity entity1 = new TestEntity();
+    TestEntity entity2 = new TestEntity();
+    when(this.mutationFactory.update(same(entity1), isNull()))
+        .thenReturn(Collections.singletonList(mutation1));
+    when(this.mutationFactory.update(same(entity2), isNull()))
+        .thenReturn(Collections.singletonList(mutation2));
+    RuntimeException failure = new RuntimeException("commit failed");
+    when(this.databaseClient.write(Collections.singletonList(mutation2))).thenThrow(failure);
+    this.spannerTemplate.setMaxMutationsPerCommit(1);
+    this.spannerTemplate.setMaxConcurrentCommits(2);
+    this.spannerTemplate.setWriteExecutor(Runnable::run);
+
+    assertThatThrownBy(() -> this.spannerTemplate.updateAll(Arrays.asList(entity1, entity2)))
+        .isInstanceOfSatisfying(
+            SpannerBatchWriteException.class,
+            ex -> {
+              assertThat(ex.getFailedCommits())
+                  .containsExactly(entry(1, Collections.singletonList(entity2)));
+              assertThat(ex).hasCause(failure);
+            });
+    verify(this.databaseClient, times(1)).write(Collections.singletonList(mutation1));
+  }
+
+  @Test
+  void updateAllConcurrentCommitsOnOwnThreadsTest() {
+    TestEntity entity1 = new TestEntity();
+    TestEntity entity2 = new TestEntity();
+    when(this.mutationFactory.update(any(), isNull()))
+        .thenReturn(
+            Collections.singletonList(Mutation.newUpdateBuilder("custom_test_table").build()));
+    List<Thread> commitThreads = Collections.synchronizedList(new ArrayList<>());
+    when(this.databaseClient.write(any()))
+        .thenAnswer(
+            invocation -> {
+              commitThreads.add(Thread.currentThread());
+              return null;
+            });
+    this.spannerTemplate.setMaxMutationsPerCommit(1);
+    this.spannerTemplate.setMaxConcurrentCommits(2);
+
+    this.spannerTemplate.updateAll(Arrays.asList(entity1, entity2));
+    this.spannerTemplate.updateAll(Arrays.asList(entity1, entity2));
+
+    // the threads of the template's pool are reused by later bulk writes
+    assertThat(commitThreads)
+        .hasSize(4)
+        .allSatisfy(thread -> assertThat(thread.getName()).startsWith("spanner-commit-"));
+    assertThat(new HashSet<>(commitThreads)).hasSizeLessThanOrEqualTo(2);
+
+    this.spannerTemplate.destroy();
+  }
+
   @Test
   void updateTest() {
     Mutation mutation = Mutation.newUpdateBuilder("custom_test_table").build();
@@ -861,6 +1469,54 @@ class SpannerTemplateTests {
         x -> {});
   }
 
+  @Test
+  void resolveChildEntitiesWithOneQueryTest() {
+    ParentEntity p1 = new ParentEntity();
+    p1.id = "a";
+    p1.id2 = "b";
+    ParentEntity p2 = new ParentEntity();
+    p2.id = "c";
+    p2.id2 = "d";
+    ChildEntity c1 = new ChildEntity();
+    c1.id = "a";
+    c1.id_2 = "b";
+    c1.id3 = "x";
+    ChildEntity c2 = new ChildEntity();
+    c2.id = "c";
+    c2.id_2 = "d";
+    c2.id3 = "y";
+    ChildEntity c3 = new ChildEntity();
+    c3.id = "a";
+    c3.id_2 = "b";
+    c3.id3 = "z";
+    when(this.objectMapper.mapToList(any(), eq(ParentEntity.class), any(), eq(false)))
+        .thenReturn(Arrays.asList(p1, p2));
+    when(this.objectMapper.mapToList(any(), eq(ChildEntity.class), any(), eq(false)))
+        .thenReturn(Arrays.asList(c1, c2, c3));
+    SpannerTemplate spyTemplate = spy(this.spannerTemplate);
+
+    List<ParentEntity> results = spyTemplate.readAll(ParentEntity.class);
+
+    assertThat(results).containsExactly(p1, p2);
+    assertThat(p1.childEntities).containsExactly(c1, c3);
+    assertThat(p2.childEntities).containsExactly(c2);
+    Statement childrenStatement =
+        Statement.newBuilder(
+                "SELECT deleted, id3, id, id_2 FROM child_test_table WHERE ((id = @tag0 AND id_2 ="
+                    + " @tag1) OR (id = @tag2 AND id_2 = @tag3)) AND (deleted = false)")
+            .bind("tag0")
+            .to("a")
+            .bind("tag1")
+            .to("b")
+            .bind("tag2")
+            .to("c")
+            .bind("tag3")
+            .to("d")
+            .build();
+    verify(spyTemplate, times(1)).executeQuery(eq(childrenStatement), isNull());
+    verify(this.objectMapper, times(1)).mapToList(any(), eq(ChildEntity.class), any(), eq(false));
+  }
+
   @Test
   void lazyFetchChildrenTest() {
     ChildEntity c = new ChildEntity();
@@ -975,6 +1631,14 @@ class SpannerTemplateTests {
     double[] doubles;
   }
 
+  @Table(name = "where_test_table")
+  @Where("deleted = false")
+  private static class WhereEntity {
+    @PrimaryKey String id;
+
+    boolean deleted;
+  }
+
   @Table(name = "parent_test_table")
   private static class ParentEntity {
     @PrimaryKey(keyOrder = 1)
@@ -427,4 +427,101 @@ class ConverterAwareMappingSpannerEntityReaderTests {
 
     assertThat(result.paramsList.get(2)).isNull();
   }
+
+  @Test
+  void rowReaderReadsRowsOfTheSameTypeTest() {
+    Type innerType = Type.struct(StructField.of("value", Type.string()));
+    Struct row1 =
+        Struct.newBuilder()
+            .set("id")
+            .to(Value.string("key1"))
+            .set("innerTestEntities")
+            .toStructArray(
+                innerType,
+                List.of(
+                    Struct.newBuilder().set("value").to("a").build(),
+                    Struct.newBuilder().set("value").to("b").build()))
+            .build();
+    Struct row2 =
+        Struct.newBuilder()
+            .set("id")
+            .to(Value.string("key2"))
+            .set("innerTestEntities")
+            .toStructArray(innerType, List.of())
+            .build();
+    SpannerRowReader<TestEntities.OuterTestEntityWithConstructor> rowReader =
+        ((ConverterAwareMappingSpannerEntityReader) this.spannerEntityReader)
+            .getRowReader(
+                TestEntities.OuterTestEntityWithConstructor.class, row1.getType(), null, true);
+
+    assertThat(rowReader.canRead(row2.getType())).isTrue();
+    TestEntities.OuterTestEntityWithConstructor result1 = rowReader.read(row1);
+    TestEntities.OuterTestEntityWithConstructor result2 = rowReader.read(row2);
+    assertThat(result1.id).isEqualTo("key1");
+    assertThat(result1.innerTestEntities).extracting(inner -> inner.value).containsExactly("a", "b");
+    assertThat(result2.id).isEqualTo("key2");
+    assertThat(result2.innerTestEntities).isEmpty();
+  }
+
+  @Test
+  void rowReaderPartialConstructorTest() {
+    Struct row =
+        Struct.newBuilder()
+            .set("id")
+            .to(Value.string("key1"))
+            .set("custom_col")
+            .to(Value.string("string1"))
+            .set("booleanField")
+            .to(Value.bool(true))
+            .set("longField")
+            .to(Value.int64(3L))
+            .set("doubleField")
+            .to(Value.float64(3.14))
+            .build();
+    SpannerRowReader<TestEntities.PartialConstructor> rowReader =
+        ((ConverterAwareMappingSpannerEntityReader) this.spannerEntityReader)
+            .getRowReader(TestEntities.PartialConstructor.class, row.getType(), null, false);
+
+    TestEntities.PartialConstructor result = rowReader.read(row);
+    assertThat(result.longField).isEqualTo(3L);
+    assertThat(result.doubleField).isEqualTo(3.14);
+  }
+
+  @Test
+  void rowReaderNotFoundColumnTest() {
+    Type rowType = Type.struct(StructField.of("id", Type.string()));
+    ConverterAwareMappingSpannerEntityReader reader =
+        (ConverterAwareMappingSpannerEntityReader) this.spannerEntityReader;
+
+    assertThatThrownBy(() -> reader.getRowReader(TestEntity.class, rowType, null, false))
+        .isInstanceOf(SpannerDataException.class)
+        .hasMessageStartingWith("Unable to read column from Cloud Spanner results: ");
+    assertThatThrownBy(
+            () ->
+                reader
+                    .getRowReader(TestEntities.PartialConstructor.class, rowType, null, true)
+                    .read(Struct.newBuilder().set("id").to("key1").build()))
+        .isInstanceOf(SpannerDataException.class)
+        .hasMessage("Column not found: custom_col");
+  }
+
+  @Test
+  void rowReaderJsonFieldTest() {
+    Struct row =
+        Struct.newBuilder()
+            .set("id")
+            .to(Value.string("1234"))
+            .set("params")
+            .to(Value.json("{\"p1\":\"address line\",\"p2\":\"5\"}"))
+            .build();
+
+    TestEntities.TestEntityJson result =
+        ((ConverterAwareMappingSpannerEntityReader) this.spannerEntityReader)
+            .getRowReader(TestEntities.TestEntityJson.class, row.getType(), null, false)
+            .read(row);
+
+    assertThat(result.id).isEqualTo("1234");
+    assertThat(result.params.p1).isEqualTo("address line");
+    assertThat(result.params.p2).isEqualTo("5");
+  }
 }
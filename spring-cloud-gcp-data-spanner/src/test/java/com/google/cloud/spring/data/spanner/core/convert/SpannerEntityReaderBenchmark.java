@@ -0,0 +1,183 @@
+/*
+ * Copyright 2023 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.spring.data.spanner.core.convert;
+
+import com.google.cloud.Timestamp;
+import com.google.cloud.spanner.ResultSets;
+import com.google.cloud.spanner.Struct;
+import com.google.cloud.spring.data.spanner.core.mapping.PrimaryKey;
+import com.google.cloud.spring.data.spanner.core.mapping.SpannerMappingContext;
+import com.google.cloud.spring.data.spanner.core.mapping.Table;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures reading result sets of wide rows into entities, one row at a time with {@link
+ * ConverterAwareMappingSpannerEntityProcessor#read} and with the row readers used by {@link
+ * ConverterAwareMappingSpannerEntityProcessor#mapToList}.
+ *
+ * <p>Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.google.cloud.spring.data.spanner.core.convert.SpannerEntityReaderBenchmark}
+ * from the module directory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SpannerEntityReaderBenchmark {
+
+  @Param({"1", "1000"})
+  public int rowCount;
+
+  private ConverterAwareMappingSpannerEntityProcessor entityProcessor;
+
+  private List<Struct> rows;
+
+  @Setup
+  public void setUp() {
+    this.entityProcessor =
+        new ConverterAwareMappingSpannerEntityProcessor(new SpannerMappingContext());
+    this.rows = new ArrayList<>();
+    for (int i = 0; i < this.rowCount; i++) {
+      Struct.Builder row = Struct.newBuilder().set("id").to("id" + i);
+      for (int column = 0; column < 10; column++) {
+        row.set("s" + column).to("value" + i + "_" + column);
+        row.set("l" + column).to((long) i * column);
+      }
+      for (int column = 0; column < 5; column++) {
+        row.set("d" + column).to(i / (column + 1.0));
+      }
+      for (int column = 0; column < 3; column++) {
+        row.set("t" + column).to(Timestamp.ofTimeSecondsAndNanos(i, column));
+      }
+      for (int column = 0; column < 2; column++) {
+        row.set("list" + column).toStringArray(Arrays.asList("a" + i, "b" + i, "c" + i));
+      }
+      this.rows.add(row.build());
+    }
+  }
+
+  @Benchmark
+  public Object readRowByRow() {
+    List<WideEntity> entities = new ArrayList<>(this.rows.size());
+    for (Struct row : this.rows) {
+      entities.add(this.entityProcessor.read(WideEntity.class, row));
+    }
+    return entities;
+  }
+
+  @Benchmark
+  public Object mapToList() {
+    return this.entityProcessor.mapToList(
+        ResultSets.forRows(this.rows.get(0).getType(), this.rows), WideEntity.class);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(SpannerEntityReaderBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+        .run();
+  }
+
+  /** An entity with many columns. */
+  @Table(name = "wide")
+  public static class WideEntity {
+
+    @PrimaryKey String id;
+
+    String s0;
+
+    String s1;
+
+    String s2;
+
+    String s3;
+
+    String s4;
+
+    String s5;
+
+    String s6;
+
+    String s7;
+
+    String s8;
+
+    String s9;
+
+    long l0;
+
+    long l1;
+
+    long l2;
+
+    long l3;
+
+    long l4;
+
+    long l5;
+
+    long l6;
+
+    long l7;
+
+    long l8;
+
+    long l9;
+
+    double d0;
+
+    double d1;
+
+    double d2;
+
+    double d3;
+
+    double d4;
+
+    Timestamp t0;
+
+    Timestamp t1;
+
+    Timestamp t2;
+
+    List<String> list0;
+
+    List<String> list1;
+  }
+}
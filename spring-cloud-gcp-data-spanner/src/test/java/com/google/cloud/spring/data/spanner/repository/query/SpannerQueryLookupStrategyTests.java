@@ -182,6 +182,25 @@ class SpannerQueryLookupStrategyTests {
     assertThat(statement.getParameters().get("tag1").getString()).isEqualTo("key2");
   }
 
+  @Test
+  void getChildrenRowsQueryForManyParentsTest() {
+    Statement statement =
+        SpannerStatementQueryExecutor.getChildrenRowsQuery(
+            KeySet.newBuilder().addKey(Key.of("a", "b")).addKey(Key.of("c", "d")).build(),
+            this.spannerMappingContext
+                .getPersistentEntity(TestEntity.class)
+                .getPersistentProperty("childEntities"),
+            new SpannerWriteConverter(),
+            this.spannerMappingContext);
+    assertThat(statement.getSql())
+        .isEqualTo(
+            "SELECT deleted, id3, id, id_2 FROM child_test_table WHERE ((id = @tag0 AND id_2 ="
+                + " @tag1) OR (id = @tag2 AND id_2 = @tag3)) AND (deleted = false)");
+    assertThat(statement.getParameters()).hasSize(4);
+    assertThat(statement.getParameters().get("tag2").getString()).isEqualTo("c");
+    assertThat(statement.getParameters().get("tag3").getString()).isEqualTo("d");
+  }
+
   @Test
   void getColumnsStringForSelectTest() {
     TestEntity t = new TestEntity();
@@ -21,6 +21,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -38,12 +39,14 @@ import com.google.cloud.spring.data.spanner.core.mapping.SpannerMappingContext;
 import com.google.cloud.spring.data.spanner.core.mapping.Table;
 import java.lang.reflect.Method;
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.PageRequest;
@@ -288,6 +291,71 @@ class SpannerStatementQueryTests {
     runPageableOrSortTest(params, method, expectedSql);
   }
 
+  @Test
+  void statementTemplateReusedAcrossPagesTest() throws NoSuchMethodException {
+    when(this.queryMethod.getName()).thenReturn("findByPriceLessThan");
+    this.partTreeSpannerQuery = spy(createQuery());
+    Method method = QueryHolder.class.getMethod("repositoryMethod5", Double.class, Pageable.class);
+    doReturn(new DefaultParameters(method)).when(this.queryMethod).getParameters();
+
+    List<String> sqls = new ArrayList<>();
+    when(this.spannerTemplate.query((Class) any(), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              Statement statement = invocation.getArgument(1);
+              sqls.add(statement.getSql());
+              assertThat(statement.getParameters().get("tag0").getFloat64()).isEqualTo(8.88);
+              return null;
+            });
+    doReturn(Object.class).when(this.partTreeSpannerQuery).getReturnedSimpleConvertableItemType();
+    doReturn(null).when(this.partTreeSpannerQuery).convertToSimpleReturnType(any(), any());
+
+    this.partTreeSpannerQuery.execute(
+        new Object[] {8.88, PageRequest.of(1, 10, Sort.by("traderId"))});
+    this.partTreeSpannerQuery.execute(new Object[] {8.88, PageRequest.of(2, 5)});
+    this.partTreeSpannerQuery.execute(new Object[] {8.88, Pageable.unpaged()});
+    this.partTreeSpannerQuery.execute(
+        new Object[] {8.88, PageRequest.of(3, 10, Sort.by("traderId"))});
+
+    String selectSql =
+        "SELECT shares, trader_id, ticker, price, action, id, value "
+            + "FROM trades WHERE ( price<@tag0 )";
+    assertThat(sqls)
+        .containsExactly(
+            selectSql + " ORDER BY trader_id ASC LIMIT 10 OFFSET 10",
+            selectSql + " LIMIT 5 OFFSET 10",
+            selectSql,
+            selectSql + " ORDER BY trader_id ASC LIMIT 10 OFFSET 30");
+  }
+
+  @Test
+  void streamQueryTest() throws NoSuchMethodException {
+    when(this.queryMethod.getName()).thenReturn("findByPriceLessThan");
+    when(this.queryMethod.isStreamQuery()).thenReturn(true);
+    this.partTreeSpannerQuery = spy(createQuery());
+    Method method = QueryHolder.class.getMethod("repositoryMethod5", Double.class, Pageable.class);
+    doReturn(new DefaultParameters(method)).when(this.queryMethod).getParameters();
+
+    Trade trade = new Trade();
+    when(this.spannerTemplate.queryStream((Class) any(), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              Statement statement = invocation.getArgument(1);
+              assertThat(statement.getSql())
+                  .isEqualTo(
+                      "SELECT shares, trader_id, ticker, price, action, id, value "
+                          + "FROM trades WHERE ( price<@tag0 ) LIMIT 5 OFFSET 10");
+              return Stream.of(trade);
+            });
+    doReturn(null).when(this.partTreeSpannerQuery).getReturnedSimpleConvertableItemType();
+    doReturn(trade).when(this.partTreeSpannerQuery).processRawObjectForProjection(trade);
+
+    Object result = this.partTreeSpannerQuery.execute(new Object[] {8.88, PageRequest.of(2, 5)});
+
+    assertThat((Stream<Object>) result).containsExactly(trade);
+    verify(this.spannerTemplate, never()).query((Class) any(), any(), any());
+  }
+
   private void runPageableOrSortTest(Object[] params, Method method, String expectedSql) {
     when(this.queryMethod.getName()).thenReturn("findByPriceLessThan");
     this.partTreeSpannerQuery = spy(createQuery());
@@ -244,6 +244,52 @@ class SqlSpannerQueryTests {
     verify(this.spannerTemplate, times(1)).executeQuery(any(), any());
   }
 
+  @Test
+  void compiledSqlReusedAcrossPagesTest() throws NoSuchMethodException {
+    String sql =
+        "SELECT * FROM"
+            + " :com.google.cloud.spring.data.spanner.repository.query.SqlSpannerQueryTests$Child:"
+            + " WHERE id = @id AND trader_id = @trader_id";
+    // @formatter:off
+    String wrappedSql =
+        "SELECT *, ARRAY (SELECT AS STRUCT canceled, documentId, id, childId, content FROM"
+            + " documents WHERE (documents.id = children.id AND documents.childId ="
+            + " children.childId) AND (canceled = false)) AS documents FROM (SELECT * FROM children"
+            + " WHERE id = @id AND trader_id = @trader_id) children WHERE disabled = false";
+    // @formatter:on
+
+    when(queryMethod.isCollectionQuery()).thenReturn(false);
+    when(queryMethod.getReturnedObjectType()).thenReturn((Class) Child.class);
+
+    SqlSpannerQuery sqlSpannerQuery = createQuery(sql, Child.class, false);
+
+    ArgumentCaptor<Statement> statements = ArgumentCaptor.forClass(Statement.class);
+    doReturn(null).when(this.spannerTemplate).executeQuery(statements.capture(), any());
+
+    Method method =
+        QueryHolder.class.getMethod("dummyMethod4", String.class, String.class, Pageable.class);
+    when(this.queryMethod.getQueryMethod()).thenReturn(method);
+    Mockito.<Parameters>when(this.queryMethod.getParameters())
+        .thenReturn(new DefaultParameters(method));
+
+    sqlSpannerQuery.execute(
+        new Object[] {"ID", "TRADER_ID", PageRequest.of(3, 10, Sort.by(Order.asc("trader_id")))});
+    sqlSpannerQuery.execute(new Object[] {"ID2", "TRADER_ID", PageRequest.of(1, 5)});
+    sqlSpannerQuery.execute(new Object[] {"ID3", "TRADER_ID", Pageable.unpaged()});
+
+    assertThat(statements.getAllValues())
+        .extracting(Statement::getSql)
+        .containsExactly(
+            wrappedSql + " ORDER BY trader_id ASC LIMIT 10 OFFSET 30",
+            wrappedSql + " LIMIT 5 OFFSET 5",
+            wrappedSql);
+    assertThat(statements.getAllValues())
+        .extracting(statement -> statement.getParameters().get("id").getString())
+        .containsExactly("ID", "ID2", "ID3");
+    // the SQL has no SpEL expressions to evaluate
+    verify(this.evaluationContextProvider, times(0)).getEvaluationContext(any(), any());
+  }
+
   @Test
   void sortParamQueryTest() throws NoSuchMethodException {
 
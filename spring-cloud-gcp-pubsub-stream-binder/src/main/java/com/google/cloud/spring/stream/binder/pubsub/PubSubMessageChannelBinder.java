@@ -114,6 +114,7 @@ public class PubSubMessageChannelBinder
         registerErrorInfrastructure(destination, group, properties);
     adapter.setErrorChannel(errorInfrastructure.getErrorChannel());
     adapter.setAckMode(properties.getExtension().getAckMode());
+    adapter.setOrderingKeyConcurrency(properties.getExtension().getOrderingKeyConcurrency());
     adapter.setBeanFactory(getBeanFactory());
 
     return adapter;
@@ -173,6 +174,10 @@ public class PubSubMessageChannelBinder
     PubSubMessageSource source =
         new PubSubMessageSource(this.pubSubTemplate, destination.getName());
     source.setMaxFetchSize(consumerProperties.getExtension().getMaxFetchSize());
+    Integer prefetchLowWatermark = consumerProperties.getExtension().getPrefetchLowWatermark();
+    if (prefetchLowWatermark != null) {
+      source.setPrefetchLowWatermark(prefetchLowWatermark);
+    }
     return source;
   }
 }
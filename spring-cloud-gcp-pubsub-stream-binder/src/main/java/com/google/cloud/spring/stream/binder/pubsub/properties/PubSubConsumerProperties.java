@@ -25,6 +25,10 @@ public class PubSubConsumerProperties extends PubSubCommonProperties {
 
   private Integer maxFetchSize = 1;
 
+  private Integer prefetchLowWatermark = null;
+
+  private int orderingKeyConcurrency = 0;
+
   private String subscriptionName = null;
 
   private DeadLetterPolicy deadLetterPolicy = null;
@@ -45,6 +49,22 @@ public class PubSubConsumerProperties extends PubSubCommonProperties {
     this.maxFetchSize = maxFetchSize;
   }
 
+  public Integer getPrefetchLowWatermark() {
+    return prefetchLowWatermark;
+  }
+
+  public void setPrefetchLowWatermark(Integer prefetchLowWatermark) {
+    this.prefetchLowWatermark = prefetchLowWatermark;
+  }
+
+  public int getOrderingKeyConcurrency() {
+    return orderingKeyConcurrency;
+  }
+
+  public void setOrderingKeyConcurrency(int orderingKeyConcurrency) {
+    this.orderingKeyConcurrency = orderingKeyConcurrency;
+  }
+
   public String getSubscriptionName() {
     return subscriptionName;
   }
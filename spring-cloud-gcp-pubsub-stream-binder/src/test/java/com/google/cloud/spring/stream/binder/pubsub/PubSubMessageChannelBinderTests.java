@@ -189,6 +189,7 @@ class PubSubMessageChannelBinderTests {
     baseContext
         .withPropertyValues(
             "spring.cloud.stream.gcp.pubsub.default.consumer.maxFetchSize=20",
+            "spring.cloud.stream.gcp.pubsub.default.consumer.prefetch-low-watermark=10",
             "spring.cloud.stream.gcp.pubsub.default.consumer.subscription-name=mock",
             "spring.cloud.stream.gcp.pubsub.default.consumer.auto-create-resources=false"
         )
@@ -213,6 +214,8 @@ class PubSubMessageChannelBinderTests {
                       new ExtendedConsumerProperties<>(
                           props.getExtendedConsumerProperties("test")));
               assertThat(source.getMaxFetchSize()).isEqualTo(20);
+              assertThat(FieldUtils.readField(source, "prefetchLowWatermark", true))
+                  .isEqualTo(10);
             });
   }
 
@@ -281,7 +284,8 @@ class PubSubMessageChannelBinderTests {
     baseContext
         .withPropertyValues(
             "spring.cloud.stream.bindings.input.group=testGroup",
-            "spring.cloud.stream.gcp.pubsub.default.consumer.ackMode=MANUAL")
+            "spring.cloud.stream.gcp.pubsub.default.consumer.ackMode=MANUAL",
+            "spring.cloud.stream.gcp.pubsub.default.consumer.ordering-key-concurrency=8")
         .run(
             ctx -> {
               PubSubMessageChannelBinder binder = ctx.getBean(PubSubMessageChannelBinder.class);
@@ -301,6 +305,9 @@ class PubSubMessageChannelBinderTests {
               PubSubInboundChannelAdapter inboundChannelAdapter =
                   (PubSubInboundChannelAdapter) messageProducer;
               assertThat(inboundChannelAdapter.getAckMode()).isSameAs(AckMode.MANUAL);
+              assertThat(
+                      FieldUtils.readField(inboundChannelAdapter, "orderingKeyConcurrency", true))
+                  .isEqualTo(8);
               inboundChannelAdapter.start();
               inboundChannelAdapter.setErrorChannelName("test-subscription.errors");
               assertThat(inboundChannelAdapter.getErrorChannel()).isNotNull();
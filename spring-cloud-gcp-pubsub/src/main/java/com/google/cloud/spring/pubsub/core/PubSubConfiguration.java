@@ -192,6 +192,21 @@ public class PubSubConfiguration {
         : this.globalSubscriber.getParallelPullCount();
   }
 
+  /**
+   * Computes whether message receivers run on virtual threads. The subscription-specific property
+   * takes precedence if both global and subscription-specific properties are set. If
+   * subscription-specific configuration is not set then the global configuration is picked.
+   *
+   * @param projectSubscriptionName Fully qualified subscription name
+   * @return whether to use virtual threads
+   */
+  public boolean computeVirtualThreads(ProjectSubscriptionName projectSubscriptionName) {
+    Boolean virtualThreads = getSubscriptionProperties(projectSubscriptionName).getVirtualThreads();
+    return virtualThreads != null
+        ? virtualThreads
+        : Boolean.TRUE.equals(this.globalSubscriber.getVirtualThreads());
+  }
+
   /**
    * Retrieves collection of retryable codes from configuration. The subscription-specific property
    * takes precedence if both global and subscription-specific properties are set. If
@@ -338,22 +353,42 @@ public class PubSubConfiguration {
     /** Number of threads used by every publisher. */
     private int executorThreads = 4;
 
+    /**
+     * Run publisher callbacks each on a virtual thread (Java 21+) instead of a pool of {@code
+     * executor-threads} threads. On earlier Java versions, an unbounded pool of platform threads
+     * is used.
+     */
+    private boolean virtualThreads;
+
     /** Retry properties. */
     private final Retry retry = new Retry();
 
     /** Batching properties. */
     private final Batching batching = new Batching();
 
+    /** Publisher cache properties. */
+    private final Cache cache = new Cache();
+
     /** Enable message ordering setting. */
     private Boolean enableMessageOrdering;
 
     /** Set publisher endpoint. Example: "us-east1-pubsub.googleapis.com:443". */
     private String endpoint;
 
+    /**
+     * Number of gRPC channels shared by all publishers. If not set, every publisher creates its
+     * own channels.
+     */
+    private Integer channelPoolSize;
+
     public Batching getBatching() {
       return this.batching;
     }
 
+    public Cache getCache() {
+      return this.cache;
+    }
+
     public Retry getRetry() {
       return this.retry;
     }
@@ -366,6 +401,14 @@ public class PubSubConfiguration {
       this.executorThreads = executorThreads;
     }
 
+    public boolean isVirtualThreads() {
+      return this.virtualThreads;
+    }
+
+    public void setVirtualThreads(boolean virtualThreads) {
+      this.virtualThreads = virtualThreads;
+    }
+
     public Boolean getEnableMessageOrdering() {
       return enableMessageOrdering;
     }
@@ -381,6 +424,46 @@ public class PubSubConfiguration {
     public void setEndpoint(String endpoint) {
       this.endpoint = endpoint;
     }
+
+    public Integer getChannelPoolSize() {
+      return this.channelPoolSize;
+    }
+
+    public void setChannelPoolSize(Integer channelPoolSize) {
+      this.channelPoolSize = channelPoolSize;
+    }
+  }
+
+  /** Publisher cache settings. */
+  public static class Cache {
+
+    /**
+     * Maximum number of publishers to keep. When exceeded, the least recently used publisher is
+     * shut down. Unlimited if not set.
+     */
+    private Long maximumSize;
+
+    /**
+     * Number of seconds a publisher may stay unused before it is shut down. Publishers never
+     * expire if not set.
+     */
+    private Long expireAfterAccessSeconds;
+
+    public Long getMaximumSize() {
+      return this.maximumSize;
+    }
+
+    public void setMaximumSize(Long maximumSize) {
+      this.maximumSize = maximumSize;
+    }
+
+    public Long getExpireAfterAccessSeconds() {
+      return this.expireAfterAccessSeconds;
+    }
+
+    public void setExpireAfterAccessSeconds(Long expireAfterAccessSeconds) {
+      this.expireAfterAccessSeconds = expireAfterAccessSeconds;
+    }
   }
 
   /** Subscriber settings. */
@@ -392,9 +475,26 @@ public class PubSubConfiguration {
     /** Number of threads used by every subscriber. */
     private Integer executorThreads;
 
+    /**
+     * Run message receivers each on a virtual thread (Java 21+) instead of a pool of {@code
+     * executor-threads} threads, so that the number of messages processed concurrently is limited
+     * by flow control only. On earlier Java versions, an unbounded pool of platform threads is
+     * used.
+     */
+    private Boolean virtualThreads;
+
     /** Number of threads used for batch acknowledgement. */
     private int maxAcknowledgementThreads = 4;
 
+    /**
+     * How long, in milliseconds, to hold acknowledgements of pulled messages so that they can be
+     * sent together with other acknowledgements. Acknowledgements are sent right away if not set.
+     */
+    private Long ackBatchingDelayMillis;
+
+    /** Maximum number of ack IDs sent in a single acknowledgement request. */
+    private int ackBatchingMaxSize = 2500;
+
     /** The optional pull endpoint setting for the subscriber factory. */
     private String pullEndpoint;
 
@@ -504,6 +604,14 @@ public class PubSubConfiguration {
       this.executorThreads = executorThreads;
     }
 
+    public Boolean getVirtualThreads() {
+      return this.virtualThreads;
+    }
+
+    public void setVirtualThreads(Boolean virtualThreads) {
+      this.virtualThreads = virtualThreads;
+    }
+
     public int getMaxAcknowledgementThreads() {
       return this.maxAcknowledgementThreads;
     }
@@ -511,6 +619,22 @@ public class PubSubConfiguration {
     public void setMaxAcknowledgementThreads(int maxAcknowledgementThreads) {
       this.maxAcknowledgementThreads = maxAcknowledgementThreads;
     }
+
+    public Long getAckBatchingDelayMillis() {
+      return this.ackBatchingDelayMillis;
+    }
+
+    public void setAckBatchingDelayMillis(Long ackBatchingDelayMillis) {
+      this.ackBatchingDelayMillis = ackBatchingDelayMillis;
+    }
+
+    public int getAckBatchingMaxSize() {
+      return this.ackBatchingMaxSize;
+    }
+
+    public void setAckBatchingMaxSize(int ackBatchingMaxSize) {
+      this.ackBatchingMaxSize = ackBatchingMaxSize;
+    }
   }
 
   /** Health Check settings. */
@@ -536,6 +660,19 @@ public class PubSubConfiguration {
     /** Number of threads used for Health Check Executors. */
     private int executorThreads = 4;
 
+    /**
+     * Interval in seconds for sampling the backlog of all tracked subscriptions in the background.
+     * When set, health checks read the latest samples instead of querying the backlog of every
+     * subscription from GCP Monitoring.
+     */
+    private Integer backlogSamplingInterval;
+
+    /**
+     * How long in seconds a backlog sample is used for. Defaults to three times the backlog
+     * sampling interval.
+     */
+    private Integer backlogSampleTimeToLive;
+
     public Integer getLagThreshold() {
       return lagThreshold;
     }
@@ -567,6 +704,22 @@ public class PubSubConfiguration {
     public void setExecutorThreads(int executorThreads) {
       this.executorThreads = executorThreads;
     }
+
+    public Integer getBacklogSamplingInterval() {
+      return backlogSamplingInterval;
+    }
+
+    public void setBacklogSamplingInterval(Integer backlogSamplingInterval) {
+      this.backlogSamplingInterval = backlogSamplingInterval;
+    }
+
+    public Integer getBacklogSampleTimeToLive() {
+      return backlogSampleTimeToLive;
+    }
+
+    public void setBacklogSampleTimeToLive(Integer backlogSampleTimeToLive) {
+      this.backlogSampleTimeToLive = backlogSampleTimeToLive;
+    }
   }
 
   /** Retry settings. */
@@ -17,6 +17,7 @@
 package com.google.cloud.spring.pubsub.core;
 
 import com.google.cloud.pubsub.v1.Subscriber;
+import com.google.cloud.spring.pubsub.core.publisher.BulkPublishResult;
 import com.google.cloud.spring.pubsub.core.publisher.PubSubPublisherTemplate;
 import com.google.cloud.spring.pubsub.core.subscriber.PubSubSubscriberTemplate;
 import com.google.cloud.spring.pubsub.support.AcknowledgeablePubsubMessage;
@@ -120,6 +121,18 @@ public class PubSubTemplate implements PubSubOperations {
     return this.pubSubPublisherTemplate.publish(topic, pubsubMessage);
   }
 
+  @Override
+  public <T> CompletableFuture<BulkPublishResult> publishAll(
+      String topic, Collection<T> payloads, Map<String, String> headers) {
+    return this.pubSubPublisherTemplate.publishAll(topic, payloads, headers);
+  }
+
+  @Override
+  public <T> CompletableFuture<BulkPublishResult> publishAll(
+      String topic, Collection<T> payloads) {
+    return this.pubSubPublisherTemplate.publishAll(topic, payloads, null);
+  }
+
   @Override
   public Subscriber subscribe(
       String subscription, Consumer<BasicAcknowledgeablePubsubMessage> messageConsumer) {
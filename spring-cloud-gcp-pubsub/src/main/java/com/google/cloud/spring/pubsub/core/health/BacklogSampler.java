@@ -0,0 +1,182 @@
+/*
+ * Copyright 2023 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.spring.pubsub.core.health;
+
+import static com.google.monitoring.v3.ListTimeSeriesRequest.TimeSeriesView.FULL;
+
+import com.google.api.gax.rpc.ApiException;
+import com.google.cloud.monitoring.v3.MetricServiceClient;
+import com.google.common.collect.Iterables;
+import com.google.monitoring.v3.ProjectName;
+import com.google.monitoring.v3.TimeInterval;
+import com.google.monitoring.v3.TimeSeries;
+import com.google.protobuf.util.Timestamps;
+import com.google.pubsub.v1.ProjectSubscriptionName;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.util.Assert;
+
+/**
+ * Samples the message backlog of many Pub/Sub subscriptions at once and caches the results, so
+ * that {@link HealthTracker}s can be evaluated without calling the Monitoring API.
+ *
+ * <p>The backlogs of the subscriptions of a project are fetched with a single {@code
+ * listTimeSeries} call per {@value #MAX_SUBSCRIPTIONS_PER_FILTER} subscriptions. Samples older than
+ * the time-to-live are discarded, so a tracker stops reporting a backlog rather than report a stale
+ * one when sampling fails.
+ */
+public class BacklogSampler {
+
+  private static final Log LOGGER = LogFactory.getLog(BacklogSampler.class);
+
+  /** Keeps the filters well under the length limit of the Monitoring API. */
+  static final int MAX_SUBSCRIPTIONS_PER_FILTER = 50;
+
+  private static final String SUBSCRIPTIONS_FILTER_TEMPLATE =
+      "metric.type=\"pubsub.googleapis.com/subscription/num_undelivered_messages\""
+          + " resource.type=\"pubsub_subscription\" resource.label.subscription_id=one_of(%s)";
+
+  private static final String SUBSCRIPTION_ID_LABEL = "subscription_id";
+
+  private final MetricServiceClient metricServiceClient;
+
+  private final Integer lookUpInterval;
+
+  private final long timeToLiveMillis;
+
+  private final ConcurrentMap<ProjectSubscriptionName, Sample> samples = new ConcurrentHashMap<>();
+
+  /**
+   * Creates the sampler.
+   *
+   * @param metricServiceClient the client used to fetch the backlog metrics
+   * @param lookUpInterval how far back, in minutes, to look for backlog metrics
+   * @param timeToLive how long a sample is used for
+   */
+  public BacklogSampler(
+      MetricServiceClient metricServiceClient, Integer lookUpInterval, Duration timeToLive) {
+    Assert.notNull(metricServiceClient, "MetricServiceClient can't be null");
+    Assert.notNull(lookUpInterval, "The look up interval can't be null");
+    Assert.isTrue(
+        timeToLive != null && !timeToLive.isNegative() && !timeToLive.isZero(),
+        "The time to live must be positive");
+    this.metricServiceClient = metricServiceClient;
+    this.lookUpInterval = lookUpInterval;
+    this.timeToLiveMillis = timeToLive.toMillis();
+  }
+
+  /**
+   * Fetches the current backlog of the given subscriptions, and forgets the samples of other
+   * subscriptions. A failed fetch is logged and leaves the previous samples in place until they
+   * expire.
+   *
+   * @param subscriptions the subscriptions to sample
+   */
+  public void sample(Collection<ProjectSubscriptionName> subscriptions) {
+    Set<ProjectSubscriptionName> sampled = new HashSet<>(subscriptions);
+    this.samples.keySet().retainAll(sampled);
+
+    long currentMillis = System.currentTimeMillis();
+    TimeInterval timeInterval =
+        TimeInterval.newBuilder()
+            .setStartTime(Timestamps.fromMillis(currentMillis - lookUpInterval * 60 * 1000))
+            .setEndTime(Timestamps.fromMillis(currentMillis))
+            .build();
+
+    Map<String, List<ProjectSubscriptionName>> subscriptionsByProject =
+        sampled.stream().collect(Collectors.groupingBy(ProjectSubscriptionName::getProject));
+    subscriptionsByProject.forEach(
+        (project, projectSubscriptions) -> {
+          for (List<ProjectSubscriptionName> chunk :
+              Iterables.partition(projectSubscriptions, MAX_SUBSCRIPTIONS_PER_FILTER)) {
+            sample(project, chunk, timeInterval, currentMillis);
+          }
+        });
+  }
+
+  private void sample(
+      String project,
+      List<ProjectSubscriptionName> subscriptions,
+      TimeInterval timeInterval,
+      long currentMillis) {
+    String filter =
+        String.format(
+            SUBSCRIPTIONS_FILTER_TEMPLATE,
+            subscriptions.stream()
+                .map(subscription -> "\"" + subscription.getSubscription() + "\"")
+                .collect(Collectors.joining(",")));
+    try {
+      Iterable<TimeSeries> timeSeriesList =
+          this.metricServiceClient
+              .listTimeSeries(ProjectName.of(project), filter, timeInterval, FULL)
+              .iterateAll();
+      Set<ProjectSubscriptionName> withoutBacklog = new HashSet<>(subscriptions);
+      for (TimeSeries timeSeries : timeSeriesList) {
+        String subscriptionId =
+            timeSeries.getResource().getLabelsOrDefault(SUBSCRIPTION_ID_LABEL, "");
+        ProjectSubscriptionName subscription = ProjectSubscriptionName.of(project, subscriptionId);
+        if (timeSeries.getPointsCount() > 0 && withoutBacklog.remove(subscription)) {
+          // points are returned in reverse time order
+          long backlog = timeSeries.getPoints(0).getValue().getInt64Value();
+          this.samples.put(subscription, new Sample(backlog, currentMillis));
+        }
+      }
+      // no backlog metric was reported in the look up interval
+      withoutBacklog.forEach(
+          subscription -> this.samples.put(subscription, new Sample(null, currentMillis)));
+    } catch (ApiException ex) {
+      LOGGER.warn("Failed to sample the backlog of the subscriptions of project " + project, ex);
+    }
+  }
+
+  /**
+   * Returns the backlog of a subscription from the last successful sample.
+   *
+   * @param subscription the subscription
+   * @return the number of undelivered messages, or empty if the subscription has not been sampled
+   *     within the time-to-live or has no backlog metric
+   */
+  public Optional<Long> getBacklog(ProjectSubscriptionName subscription) {
+    Sample sample = this.samples.get(subscription);
+    if (sample == null || System.currentTimeMillis() - sample.sampledAt > this.timeToLiveMillis) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(sample.backlog);
+  }
+
+  private static final class Sample {
+
+    private final Long backlog;
+
+    private final long sampledAt;
+
+    private Sample(Long backlog, long sampledAt) {
+      this.backlog = backlog;
+      this.sampledAt = sampledAt;
+    }
+  }
+}
@@ -45,6 +45,7 @@ public class HealthTrackerImpl implements HealthTracker {
   private final Integer lagThreshold;
   private final Integer backlogThreshold;
   private final Integer lookUpInternal;
+  private final BacklogSampler backlogSampler;
 
   private final AtomicLong processedAt = new AtomicLong(System.currentTimeMillis());
 
@@ -54,12 +55,40 @@ public class HealthTrackerImpl implements HealthTracker {
       Integer lagThreshold,
       Integer backlogThreshold,
       Integer lookUpInterval) {
+    this(
+        projectSubscriptionName,
+        metricServiceClient,
+        lagThreshold,
+        backlogThreshold,
+        lookUpInterval,
+        null);
+  }
+
+  /**
+   * Creates a tracker that reads the subscription backlog from a {@link BacklogSampler} instead of
+   * querying the Monitoring API every time its health is evaluated.
+   *
+   * @param projectSubscriptionName the subscription to track
+   * @param metricServiceClient the client used to query the backlog when there is no sampler
+   * @param lagThreshold the processing lag threshold in seconds
+   * @param backlogThreshold the backlog threshold in number of messages
+   * @param lookUpInterval the backlog look up interval
+   * @param backlogSampler the sampler to read the backlog from, or {@code null} to query it
+   */
+  public HealthTrackerImpl(
+      ProjectSubscriptionName projectSubscriptionName,
+      MetricServiceClient metricServiceClient,
+      Integer lagThreshold,
+      Integer backlogThreshold,
+      Integer lookUpInterval,
+      BacklogSampler backlogSampler) {
     this.projectSubscriptionName = projectSubscriptionName;
     this.metricServiceClient = metricServiceClient;
     this.undeliveredFilter = undeliveredFilter(projectSubscriptionName.getSubscription());
     this.lagThreshold = lagThreshold;
     this.backlogThreshold = backlogThreshold;
     this.lookUpInternal = lookUpInterval;
+    this.backlogSampler = backlogSampler;
   }
 
   @Override
@@ -107,6 +136,10 @@ public class HealthTrackerImpl implements HealthTracker {
   }
 
   private Optional<Long> getBackLogMessages(long currentMillis) {
+    if (backlogSampler != null) {
+      return backlogSampler.getBacklog(projectSubscriptionName);
+    }
+
     TimeInterval timeInterval = timeInterval(currentMillis);
 
     ListTimeSeriesResponse timeSeriesResponse =
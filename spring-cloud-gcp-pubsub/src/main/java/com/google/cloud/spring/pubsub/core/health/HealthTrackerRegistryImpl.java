@@ -23,9 +23,11 @@ import com.google.cloud.monitoring.v3.MetricServiceClient;
 import com.google.cloud.pubsub.v1.Subscriber;
 import com.google.cloud.spring.pubsub.support.PubSubSubscriptionUtils;
 import com.google.pubsub.v1.ProjectSubscriptionName;
+import java.time.Duration;
 import java.util.Collection;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.springframework.util.Assert;
@@ -49,6 +51,8 @@ public class HealthTrackerRegistryImpl implements HealthTrackerRegistry {
 
   private final ConcurrentMap<ProjectSubscriptionName, HealthTracker> healthTrackers;
 
+  private volatile BacklogSampler backlogSampler;
+
   public HealthTrackerRegistryImpl(
       String projectId,
       MetricServiceClient metricServiceClient,
@@ -99,7 +103,8 @@ public class HealthTrackerRegistryImpl implements HealthTrackerRegistry {
             metricServiceClient,
             lagThreshold,
             backlogThreshold,
-            lookUpInterval);
+            lookUpInterval,
+            backlogSampler);
     healthTrackers.put(projectSubscriptionName, healthTracker);
     return healthTracker;
   }
@@ -143,6 +148,39 @@ public class HealthTrackerRegistryImpl implements HealthTrackerRegistry {
     subscriber.addListener(listener, executorProvider.getExecutor());
   }
 
+  /**
+   * Samples the backlog of all tracked subscriptions in the background, with one batched
+   * Monitoring API query per project, and lets health trackers registered from now on read the
+   * cached samples instead of querying the backlog themselves. The sampling runs on the executor
+   * of the executor provider.
+   *
+   * @param samplingInterval how often to sample the backlogs
+   * @param timeToLive how long a sample is used for; should be longer than the sampling interval
+   *     so that a single slow or failed sampling does not leave the trackers without samples
+   */
+  public void startBacklogSampling(Duration samplingInterval, Duration timeToLive) {
+    Assert.isNull(this.backlogSampler, "Backlog sampling has already been started");
+    Assert.isTrue(
+        samplingInterval != null && !samplingInterval.isNegative() && !samplingInterval.isZero(),
+        "The sampling interval must be positive");
+    this.backlogSampler = new BacklogSampler(metricServiceClient, lookUpInterval, timeToLive);
+    executorProvider
+        .getExecutor()
+        .scheduleAtFixedRate(
+            this::sampleBacklogs, 0, samplingInterval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  private void sampleBacklogs() {
+    try {
+      if (!healthTrackers.isEmpty()) {
+        backlogSampler.sample(healthTrackers.keySet());
+      }
+    } catch (RuntimeException ex) {
+      // keep the periodic sampling going
+      LOGGER.warn("Failed to sample subscription backlogs", ex);
+    }
+  }
+
   public Collection<HealthTracker> healthTrackers() {
     return healthTrackers.values();
   }
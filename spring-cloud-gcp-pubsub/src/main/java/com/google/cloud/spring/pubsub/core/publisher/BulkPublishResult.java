@@ -0,0 +1,86 @@
+/*
+ * Copyright 2023 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.spring.pubsub.core.publisher;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import org.springframework.lang.Nullable;
+
+/**
+ * The outcome of publishing a collection of messages with {@link
+ * PubSubPublisherOperations#publishAll(String, java.util.Collection)}.
+ *
+ * <p>Results are indexed by the position of each payload in the published collection.
+ */
+public final class BulkPublishResult {
+
+  private final String[] messageIds;
+
+  private final SortedMap<Integer, Throwable> failures;
+
+  BulkPublishResult(String[] messageIds, Map<Integer, Throwable> failures) {
+    this.messageIds = messageIds;
+    this.failures = Collections.unmodifiableSortedMap(new TreeMap<>(failures));
+  }
+
+  /**
+   * Returns the server-assigned message IDs, in the order of the published payloads.
+   *
+   * @return the message IDs, with {@code null} for messages that failed to publish
+   */
+  public List<String> getMessageIds() {
+    return Collections.unmodifiableList(Arrays.asList(this.messageIds));
+  }
+
+  /**
+   * Returns the message ID of the payload at the given position.
+   *
+   * @param index the position of the payload in the published collection
+   * @return the message ID, or {@code null} if the message failed to publish
+   */
+  @Nullable
+  public String getMessageId(int index) {
+    return this.messageIds[index];
+  }
+
+  /**
+   * Returns the failures keyed by the position of the payload that failed. Conversion failures
+   * are reported as thrown by the message converter, and publishing failures as {@link
+   * com.google.cloud.spring.pubsub.core.PubSubDeliveryException}s holding the failed message.
+   *
+   * @return the failures by payload position
+   */
+  public SortedMap<Integer, Throwable> getFailures() {
+    return this.failures;
+  }
+
+  public int getSuccessCount() {
+    return this.messageIds.length - this.failures.size();
+  }
+
+  public int getFailureCount() {
+    return this.failures.size();
+  }
+
+  public boolean hasFailures() {
+    return !this.failures.isEmpty();
+  }
+}
@@ -17,8 +17,11 @@
 package com.google.cloud.spring.pubsub.core.publisher;
 
 import com.google.pubsub.v1.PubsubMessage;
+import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * An abstraction for Google Cloud Pub/Sub publisher operations.
@@ -59,4 +62,70 @@ public interface PubSubPublisherOperations {
    * @return the listenable future of the call
    */
   CompletableFuture<String> publish(String topic, PubsubMessage pubsubMessage);
+
+  /**
+   * Send a collection of messages to Pub/Sub. Payloads that already are {@code PubsubMessage}s are
+   * published as they are.
+   *
+   * <p>The default implementation publishes the payloads one by one, in iteration order, with
+   * {@link #publish(String, Object, Map)} and {@link #publish(String, PubsubMessage)}.
+   *
+   * @param topic short topic name, e.g., "topicName", or the fully-qualified topic name in the
+   *     {@code projects/[project_name]/topics/[topic_name]} format
+   * @param payloads the objects that will be serialized and sent
+   * @param headers the headers to publish with every message
+   * @param <T> the type of the payloads to publish
+   * @return a future completing with the message IDs and failures once every message has been
+   *     either published or has failed
+   */
+  default <T> CompletableFuture<BulkPublishResult> publishAll(
+      String topic, Collection<T> payloads, Map<String, String> headers) {
+    String[] messageIds = new String[payloads.size()];
+    Map<Integer, Throwable> failures = new ConcurrentHashMap<>();
+    CompletableFuture<?>[] results = new CompletableFuture<?>[messageIds.length];
+    int index = 0;
+    for (T payload : payloads) {
+      int position = index++;
+      CompletableFuture<String> publishFuture;
+      try {
+        publishFuture =
+            payload instanceof PubsubMessage message
+                ? publish(topic, message)
+                : publish(topic, payload, headers);
+      } catch (RuntimeException ex) {
+        publishFuture = CompletableFuture.failedFuture(ex);
+      }
+      results[position] =
+          publishFuture.whenComplete(
+              (messageId, failure) -> {
+                if (failure == null) {
+                  messageIds[position] = messageId;
+                } else {
+                  failures.put(
+                      position,
+                      failure instanceof CompletionException && failure.getCause() != null
+                          ? failure.getCause()
+                          : failure);
+                }
+              });
+    }
+    return CompletableFuture.allOf(results)
+        .handle((ignored, failure) -> new BulkPublishResult(messageIds, failures));
+  }
+
+  /**
+   * Send a collection of messages to Pub/Sub.
+   *
+   * @param topic short topic name, e.g., "topicName", or the fully-qualified topic name in the
+   *     {@code projects/[project_name]/topics/[topic_name]} format
+   * @param payloads the objects that will be serialized and sent
+   * @param <T> the type of the payloads to publish
+   * @return a future completing with the message IDs and failures once every message has been
+   *     either published or has failed
+   * @see #publishAll(String, Collection, Map)
+   */
+  default <T> CompletableFuture<BulkPublishResult> publishAll(
+      String topic, Collection<T> payloads) {
+    return publishAll(topic, payloads, null);
+  }
 }
@@ -21,15 +21,34 @@ import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
 import com.google.api.core.ApiFuture;
 import com.google.api.core.ApiFutureCallback;
 import com.google.api.core.ApiFutures;
+import com.google.cloud.pubsub.v1.Publisher;
 import com.google.cloud.spring.pubsub.core.PubSubDeliveryException;
 import com.google.cloud.spring.pubsub.support.PublisherFactory;
 import com.google.cloud.spring.pubsub.support.converter.PubSubMessageConverter;
 import com.google.cloud.spring.pubsub.support.converter.SimplePubSubMessageConverter;
+import com.google.common.collect.Iterables;
 import com.google.pubsub.v1.PubsubMessage;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.util.Assert;
 
 /**
@@ -39,12 +58,22 @@ import org.springframework.util.Assert;
  *
  * @since 1.1
  */
-public class PubSubPublisherTemplate implements PubSubPublisherOperations {
+public class PubSubPublisherTemplate implements PubSubPublisherOperations, DisposableBean {
 
   private static final Log LOGGER = LogFactory.getLog(PubSubPublisherTemplate.class);
 
+  /** Number of payloads converted together before being handed to the publisher. */
+  private static final int BULK_CONVERSION_CHUNK_SIZE = 100;
+
   private PubSubMessageConverter pubSubMessageConverter = new SimplePubSubMessageConverter();
 
+  private int bulkPublishMaxOutstandingMessages = 1000;
+
+  @Nullable private Executor bulkPublishExecutor;
+
+  /** The bulk publish executor created when none is set, shut down on destroy. */
+  @Nullable private ExecutorService defaultBulkPublishExecutor;
+
   private final PublisherFactory publisherFactory;
 
   /**
@@ -70,6 +99,66 @@ public class PubSubPublisherTemplate implements PubSubPublisherOperations {
     this.pubSubMessageConverter = pubSubMessageConverter;
   }
 
+  /**
+   * Set the maximum number of messages of a single {@link #publishAll(String, Collection, Map)}
+   * call that may be awaiting a publish result, which bounds the memory held by the publisher's
+   * batching buffer for bulk publishing. Defaults to 1000.
+   *
+   * @param bulkPublishMaxOutstandingMessages the maximum number of outstanding messages
+   */
+  public void setBulkPublishMaxOutstandingMessages(int bulkPublishMaxOutstandingMessages) {
+    Assert.isTrue(
+        bulkPublishMaxOutstandingMessages > 0,
+        "The maximum number of outstanding messages must be greater than zero.");
+    this.bulkPublishMaxOutstandingMessages = bulkPublishMaxOutstandingMessages;
+  }
+
+  /**
+   * Set the executor on which {@link #publishAll(String, Collection, Map)} converts messages and
+   * hands them to the publisher, rather than on the calling thread or on the threads completing
+   * publishes, which the publisher's flow control may block. Defaults to a pool of as many daemon
+   * threads as there are available processors, created when first needed and shut down when the
+   * template is destroyed.
+   *
+   * @param bulkPublishExecutor the executor to set
+   */
+  public synchronized void setBulkPublishExecutor(Executor bulkPublishExecutor) {
+    Assert.notNull(bulkPublishExecutor, "The bulkPublishExecutor can't be null.");
+    destroy();
+    this.bulkPublishExecutor = bulkPublishExecutor;
+  }
+
+  /** Shuts down the bulk publish executor created by the template, if any. */
+  @Override
+  public synchronized void destroy() {
+    if (this.defaultBulkPublishExecutor != null) {
+      this.defaultBulkPublishExecutor.shutdown();
+      this.defaultBulkPublishExecutor = null;
+      this.bulkPublishExecutor = null;
+    }
+  }
+
+  private synchronized Executor getBulkPublishExecutor() {
+    if (this.bulkPublishExecutor == null) {
+      int maxThreads = Runtime.getRuntime().availableProcessors();
+      CustomizableThreadFactory threadFactory =
+          new CustomizableThreadFactory("gcp-pubsub-bulk-publish-");
+      threadFactory.setDaemon(true);
+      ThreadPoolExecutor executor =
+          new ThreadPoolExecutor(
+              maxThreads,
+              maxThreads,
+              60L,
+              TimeUnit.SECONDS,
+              new LinkedBlockingQueue<>(),
+              threadFactory);
+      executor.allowCoreThreadTimeOut(true);
+      this.defaultBulkPublishExecutor = executor;
+      this.bulkPublishExecutor = executor;
+    }
+    return this.bulkPublishExecutor;
+  }
+
   /**
    * Uses the configured message converter to first convert the payload and headers to a {@code
    * PubsubMessage} and then publish it.
@@ -90,8 +179,13 @@ public class PubSubPublisherTemplate implements PubSubPublisherOperations {
     Assert.hasText(topic, "The topic can't be null or empty.");
     Assert.notNull(pubsubMessage, "The pubsubMessage can't be null.");
 
-    ApiFuture<String> publishFuture =
-        this.publisherFactory.createPublisher(topic).publish(pubsubMessage);
+    Publisher publisher = this.publisherFactory.createPublisher(topic);
+    ApiFuture<String> publishFuture;
+    try {
+      publishFuture = publisher.publish(pubsubMessage);
+    } finally {
+      this.publisherFactory.releasePublisher(topic, publisher);
+    }
 
     final CompletableFuture<String> completableFuture = new CompletableFuture<>();
     ApiFutures.addCallback(
@@ -120,7 +214,226 @@ public class PubSubPublisherTemplate implements PubSubPublisherOperations {
     return completableFuture;
   }
 
+  /**
+   * Converts the payloads with the configured message converter, in parallel chunks, and publishes
+   * them in iteration order. Payloads that already are {@code PubsubMessage}s are published as they
+   * are.
+   *
+   * <p>The number of messages awaiting a publish result is kept within {@link
+   * #setBulkPublishMaxOutstandingMessages(int)}. Once the limit is reached, the remaining messages
+   * are published as earlier ones complete. Messages are converted and published on the {@link
+   * #setBulkPublishExecutor(Executor) bulk publish executor}, so neither the calling thread nor the
+   * threads completing publishes are blocked waiting for the publisher.
+   */
+  @Override
+  public <T> CompletableFuture<BulkPublishResult> publishAll(
+      String topic, Collection<T> payloads, Map<String, String> headers) {
+    Assert.hasText(topic, "The topic can't be null or empty.");
+    Assert.notNull(payloads, "The payloads can't be null.");
+
+    Publisher publisher = this.publisherFactory.createPublisher(topic);
+    BulkPublish<T> bulkPublish =
+        new BulkPublish<>(
+            topic,
+            publisher,
+            payloads,
+            headers,
+            this.bulkPublishMaxOutstandingMessages,
+            getBulkPublishExecutor());
+    bulkPublish.drain();
+    return bulkPublish.result;
+  }
+
+  private Object convertForBulkPublish(Object payload, Map<String, String> headers) {
+    if (payload instanceof PubsubMessage) {
+      return payload;
+    }
+    try {
+      return this.pubSubMessageConverter.toPubSubMessage(payload, headers);
+    } catch (RuntimeException ex) {
+      return ex;
+    }
+  }
+
   public PublisherFactory getPublisherFactory() {
     return this.publisherFactory;
   }
+
+  /**
+   * Tracks the messages of one {@link #publishAll(String, Collection, Map)} call, without
+   * allocating a future per message.
+   *
+   * <p>Messages are published by {@link #drain()} while outstanding permits are available. Every
+   * completed publish releases its permit and drains again, so publishing resumes on the executor.
+   * The work-in-progress counter lets only one drain be scheduled at a time, and makes the draining
+   * thread loop again when a permit is released while it is draining.
+   */
+  private final class BulkPublish<T> {
+
+    private final String topic;
+
+    private final Publisher publisher;
+
+    private final Executor executor;
+
+    private Iterator<List<T>> chunks;
+
+    private final Map<String, String> headers;
+
+    private final String[] messageIds;
+
+    private final Map<Integer, Throwable> failures = new ConcurrentHashMap<>();
+
+    private final AtomicInteger remaining;
+
+    private final Semaphore outstandingPermits;
+
+    private final AtomicInteger drainsInProgress = new AtomicInteger();
+
+    private final CompletableFuture<BulkPublishResult> result = new CompletableFuture<>();
+
+    /** The converted messages, or conversion failures, of the current chunk. */
+    private Object[] converted = new Object[0];
+
+    private int position;
+
+    private int index;
+
+    BulkPublish(
+        String topic,
+        Publisher publisher,
+        Collection<T> payloads,
+        Map<String, String> headers,
+        int maxOutstandingMessages,
+        Executor executor) {
+      this.topic = topic;
+      this.publisher = publisher;
+      this.executor = executor;
+      this.chunks = Iterables.partition(payloads, BULK_CONVERSION_CHUNK_SIZE).iterator();
+      this.headers = headers;
+      this.messageIds = new String[payloads.size()];
+      this.remaining = new AtomicInteger(payloads.size());
+      this.outstandingPermits = new Semaphore(maxOutstandingMessages);
+      if (payloads.isEmpty()) {
+        complete();
+      }
+    }
+
+    void drain() {
+      if (this.drainsInProgress.getAndIncrement() != 0) {
+        return;
+      }
+      try {
+        this.executor.execute(this::drainLoop);
+      } catch (RejectedExecutionException ex) {
+        // the drain in progress is never ended, so that nothing is published any more
+        abort(ex);
+      }
+    }
+
+    private void drainLoop() {
+      int missed = 1;
+      do {
+        publishWhilePermitted();
+        missed = this.drainsInProgress.addAndGet(-missed);
+      } while (missed != 0);
+    }
+
+    private void publishWhilePermitted() {
+      while (true) {
+        if (this.position == this.converted.length) {
+          if (!this.chunks.hasNext()) {
+            return;
+          }
+          List<T> chunk = this.chunks.next();
+          this.converted =
+              (chunk.size() > 1 ? chunk.parallelStream() : chunk.stream())
+                  .map(payload -> convertForBulkPublish(payload, this.headers))
+                  .toArray();
+          this.position = 0;
+        }
+        Object messageOrFailure = this.converted[this.position];
+        if (messageOrFailure instanceof PubsubMessage message) {
+          if (!this.outstandingPermits.tryAcquire()) {
+            // resumed by the drain of the next completed publish
+            return;
+          }
+          publish(this.index, message);
+        } else {
+          fail(this.index, (Throwable) messageOrFailure);
+        }
+        this.converted[this.position++] = null;
+        this.index++;
+      }
+    }
+
+    private void publish(int index, PubsubMessage message) {
+      ApiFuture<String> publishFuture;
+      try {
+        publishFuture = this.publisher.publish(message);
+      } catch (RuntimeException ex) {
+        this.outstandingPermits.release();
+        fail(index, new PubSubDeliveryException(message, failureMessage(), ex));
+        return;
+      }
+      publishFuture.addListener(
+          () -> {
+            try {
+              this.messageIds[index] = publishFuture.get();
+              countDown();
+            } catch (ExecutionException ex) {
+              fail(index, new PubSubDeliveryException(message, failureMessage(), ex.getCause()));
+            } catch (InterruptedException ex) {
+              // not reachable, the future is done
+              Thread.currentThread().interrupt();
+            }
+            this.outstandingPermits.release();
+            drain();
+          },
+          directExecutor());
+    }
+
+    private void abort(RuntimeException ex) {
+      this.chunks = Collections.emptyIterator();
+      this.converted = new Object[0];
+      this.position = 0;
+      while (this.index < this.messageIds.length) {
+        fail(this.index++, ex);
+      }
+    }
+
+    private void fail(int index, Throwable failure) {
+      this.failures.put(index, failure);
+      countDown();
+    }
+
+    private String failureMessage() {
+      return "Publishing to " + this.topic + " topic failed.";
+    }
+
+    private void countDown() {
+      if (this.remaining.decrementAndGet() == 0) {
+        complete();
+      }
+    }
+
+    private void complete() {
+      PubSubPublisherTemplate.this.publisherFactory.releasePublisher(this.topic, this.publisher);
+      if (!this.failures.isEmpty()) {
+        LOGGER.warn(
+            "Publishing "
+                + this.failures.size()
+                + " of "
+                + this.messageIds.length
+                + " messages to "
+                + this.topic
+                + " topic failed.");
+      } else if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug(
+            "Publishing " + this.messageIds.length + " messages to " + this.topic
+                + " was successful.");
+      }
+      this.result.complete(new BulkPublishResult(this.messageIds, this.failures));
+    }
+  }
 }
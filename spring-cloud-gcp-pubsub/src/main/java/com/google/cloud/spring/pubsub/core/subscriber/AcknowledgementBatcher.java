@@ -0,0 +1,253 @@
+/*
+ * Copyright 2023 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.spring.pubsub.core.subscriber;
+
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutureCallback;
+import com.google.api.core.ApiFutures;
+import com.google.api.core.SettableApiFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.protobuf.Empty;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.util.Assert;
+
+/**
+ * Coalesces acknowledgement and ack deadline modification requests for the same subscription, so
+ * that ack IDs handed over by many callers within a short window are sent in a single request.
+ *
+ * <p>A batch is sent when the configured delay has elapsed since its first ack ID was added, or
+ * as soon as it reaches the maximum number of ack IDs or the request size limit, whichever comes
+ * first. The future returned for a call completes once every batch holding one of its ack IDs has
+ * completed. Once the scheduler is shut down, ack IDs are sent right away instead of being batched.
+ */
+class AcknowledgementBatcher {
+
+  /** Maximum number of ack IDs Pub/Sub accepts in a single request. */
+  static final int MAX_ACK_IDS_PER_REQUEST = 2500;
+
+  /** Maximum request size, slightly under the 512 KB limit to leave room for the other fields. */
+  static final int MAX_REQUEST_BYTES = 500 * 1024;
+
+  /** Tag and length prefix added to each ack ID in the serialized request. */
+  private static final int ACK_ID_OVERHEAD_BYTES = 3;
+
+  /** Ack deadline used in batch keys for acknowledgements, as opposed to deadline changes. */
+  static final int ACK = -1;
+
+  private final Duration delay;
+
+  private final int maxBatchSize;
+
+  private final ScheduledExecutorService scheduler;
+
+  private final BatchSender sender;
+
+  /** Batches still accepting ack IDs; guarded by {@code this}. */
+  private final Map<BatchKey, Batch> openBatches = new HashMap<>();
+
+  AcknowledgementBatcher(
+      Duration delay, int maxBatchSize, ScheduledExecutorService scheduler, BatchSender sender) {
+    Assert.isTrue(!delay.isNegative(), "The batching delay must not be negative.");
+    Assert.isTrue(
+        maxBatchSize > 0 && maxBatchSize <= MAX_ACK_IDS_PER_REQUEST,
+        "The maximum batch size must be between 1 and " + MAX_ACK_IDS_PER_REQUEST + ".");
+    this.delay = delay;
+    this.maxBatchSize = maxBatchSize;
+    this.scheduler = scheduler;
+    this.sender = sender;
+  }
+
+  /**
+   * Adds ack IDs to the open batch of a subscription and operation.
+   *
+   * @param subscriptionName the fully-qualified subscription name
+   * @param ackDeadlineSeconds the new ack deadline, or {@link #ACK} to acknowledge the messages
+   * @param ackIds the ack IDs to add
+   * @return a future completing when all the ack IDs have been sent
+   */
+  ApiFuture<Empty> add(String subscriptionName, int ackDeadlineSeconds, Collection<String> ackIds) {
+    BatchKey key = new BatchKey(subscriptionName, ackDeadlineSeconds);
+    List<Batch> joinedBatches = new ArrayList<>();
+    List<Batch> fullBatches = new ArrayList<>();
+
+    synchronized (this) {
+      Batch batch = this.openBatches.get(key);
+      for (String ackId : ackIds) {
+        int ackIdBytes = ackId.length() + ACK_ID_OVERHEAD_BYTES;
+        if (batch != null && !batch.canAdd(ackIdBytes)) {
+          this.openBatches.remove(key, batch);
+          fullBatches.add(batch);
+          batch = null;
+        }
+        if (batch == null) {
+          batch = openBatch(key);
+        }
+        batch.add(ackId, ackIdBytes);
+        if (joinedBatches.isEmpty() || joinedBatches.get(joinedBatches.size() - 1) != batch) {
+          joinedBatches.add(batch);
+        }
+      }
+      if (batch != null && (!batch.scheduled || batch.ackIds.size() >= this.maxBatchSize)) {
+        this.openBatches.remove(key, batch);
+        fullBatches.add(batch);
+      }
+    }
+
+    fullBatches.forEach(this::send);
+    return whenAllComplete(joinedBatches);
+  }
+
+  /** Sends all open batches right away. */
+  void flush() {
+    List<Batch> batches;
+    synchronized (this) {
+      batches = new ArrayList<>(this.openBatches.values());
+      this.openBatches.clear();
+    }
+    batches.forEach(this::send);
+  }
+
+  /**
+   * Must be called while holding the lock, which also keeps the scheduled send from running before
+   * the batch is registered.
+   */
+  private Batch openBatch(BatchKey key) {
+    Batch batch = new Batch(key);
+    try {
+      this.scheduler.schedule(
+          () -> sendIfOpen(batch), this.delay.toNanos(), TimeUnit.NANOSECONDS);
+    } catch (RejectedExecutionException ex) {
+      // the scheduler is shut down: the batch is sent once the ack IDs of the call are added
+      batch.scheduled = false;
+      return batch;
+    }
+    this.openBatches.put(key, batch);
+    return batch;
+  }
+
+  private void sendIfOpen(Batch batch) {
+    synchronized (this) {
+      if (!this.openBatches.remove(batch.key, batch)) {
+        // already sent because it was full or flushed
+        return;
+      }
+    }
+    send(batch);
+  }
+
+  private void send(Batch batch) {
+    ApiFuture<Empty> result;
+    try {
+      result =
+          this.sender.send(batch.key.subscriptionName, batch.key.ackDeadlineSeconds, batch.ackIds);
+    } catch (RuntimeException ex) {
+      batch.result.setException(ex);
+      return;
+    }
+    ApiFutures.addCallback(
+        result,
+        new ApiFutureCallback<>() {
+          @Override
+          public void onFailure(Throwable throwable) {
+            batch.result.setException(throwable);
+          }
+
+          @Override
+          public void onSuccess(Empty empty) {
+            batch.result.set(empty);
+          }
+        },
+        MoreExecutors.directExecutor());
+  }
+
+  /**
+   * Combines batch results into a new future, so that a caller cancelling or completing it does not
+   * affect the other callers sharing the batches.
+   */
+  private static ApiFuture<Empty> whenAllComplete(List<Batch> batches) {
+    SettableApiFuture<Empty> combined = SettableApiFuture.create();
+    if (batches.isEmpty()) {
+      combined.set(Empty.getDefaultInstance());
+      return combined;
+    }
+    AtomicInteger remaining = new AtomicInteger(batches.size());
+    for (Batch batch : batches) {
+      ApiFutures.addCallback(
+          batch.result,
+          new ApiFutureCallback<>() {
+            @Override
+            public void onFailure(Throwable throwable) {
+              combined.setException(throwable);
+            }
+
+            @Override
+            public void onSuccess(Empty empty) {
+              if (remaining.decrementAndGet() == 0) {
+                combined.set(empty);
+              }
+            }
+          },
+          MoreExecutors.directExecutor());
+    }
+    return combined;
+  }
+
+  /** Sends one batch of ack IDs to Pub/Sub. */
+  @FunctionalInterface
+  interface BatchSender {
+    ApiFuture<Empty> send(String subscriptionName, int ackDeadlineSeconds, List<String> ackIds);
+  }
+
+  private record BatchKey(String subscriptionName, int ackDeadlineSeconds) {}
+
+  private final class Batch {
+
+    private final BatchKey key;
+
+    private final List<String> ackIds = new ArrayList<>();
+
+    private final SettableApiFuture<Empty> result = SettableApiFuture.create();
+
+    private int requestBytes;
+
+    private boolean scheduled = true;
+
+    Batch(BatchKey key) {
+      this.key = key;
+      this.requestBytes = key.subscriptionName.length() + ACK_ID_OVERHEAD_BYTES;
+    }
+
+    boolean canAdd(int ackIdBytes) {
+      return this.ackIds.size() < AcknowledgementBatcher.this.maxBatchSize
+          && this.requestBytes + ackIdBytes <= MAX_REQUEST_BYTES;
+    }
+
+    void add(String ackId, int ackIdBytes) {
+      this.ackIds.add(ackId);
+      this.requestBytes += ackIdBytes;
+    }
+  }
+}
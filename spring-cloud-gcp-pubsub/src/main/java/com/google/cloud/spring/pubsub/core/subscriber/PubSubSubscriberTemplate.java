@@ -38,6 +38,7 @@ import com.google.pubsub.v1.PubsubMessage;
 import com.google.pubsub.v1.PullRequest;
 import com.google.pubsub.v1.PullResponse;
 import com.google.pubsub.v1.ReceivedMessage;
+import java.time.Duration;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -47,11 +48,13 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.util.Assert;
 
 /**
@@ -68,6 +71,10 @@ import org.springframework.util.Assert;
  * the asynchronous pull callback operations. By default, this is executed on the same thread that
  * executes the callback.
  *
+ * <p>Acknowledgements and ack deadline modifications of pulled messages are sent right away by
+ * default. Use {@link #setAckBatching(Duration, int)} to coalesce the ack IDs of many calls into
+ * fewer requests.
+ *
  * @since 1.1
  */
 public class PubSubSubscriberTemplate implements PubSubSubscriberOperations, DisposableBean {
@@ -82,6 +89,10 @@ public class PubSubSubscriberTemplate implements PubSubSubscriberOperations, Dis
 
   private Executor asyncPullExecutor = Runnable::run;
 
+  private volatile AcknowledgementBatcher ackBatcher;
+
+  private ScheduledExecutorService ackBatchingScheduler;
+
   private final ConcurrentHashMap<String, SubscriberStub> subscriptionNameToStubMap =
       new ConcurrentHashMap<>();
 
@@ -139,6 +150,34 @@ public class PubSubSubscriberTemplate implements PubSubSubscriberOperations, Dis
     this.asyncPullExecutor = asyncPullExecutor;
   }
 
+  /**
+   * Coalesce the acknowledgements and ack deadline modifications of pulled messages. Ack IDs for
+   * the same subscription and operation are held for up to {@code delay} and sent in a single
+   * request, together with the ack IDs of any other call made in the meantime. A request is sent
+   * earlier if it reaches {@code maxBatchSize} ack IDs or the request size limit. The futures
+   * returned by the acknowledgement methods complete once the requests holding their ack IDs have
+   * completed.
+   *
+   * @param delay how long to wait for more ack IDs before sending a request
+   * @param maxBatchSize the maximum number of ack IDs per request, at most 2500
+   */
+  public synchronized void setAckBatching(Duration delay, int maxBatchSize) {
+    Assert.notNull(delay, "The ack batching delay can't be null.");
+    CustomizableThreadFactory threadFactory =
+        new CustomizableThreadFactory("gcp-pubsub-ack-batching-");
+    threadFactory.setDaemon(true);
+    ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+    AcknowledgementBatcher batcher =
+        new AcknowledgementBatcher(delay, maxBatchSize, scheduler, this::sendAckBatch);
+
+    if (this.ackBatcher != null) {
+      this.ackBatcher.flush();
+      this.ackBatchingScheduler.shutdown();
+    }
+    this.ackBatcher = batcher;
+    this.ackBatchingScheduler = scheduler;
+  }
+
   @Override
   public Subscriber subscribe(
       String subscription, Consumer<BasicAcknowledgeablePubsubMessage> messageConsumer) {
@@ -392,6 +431,13 @@ public class PubSubSubscriberTemplate implements PubSubSubscriberOperations, Dis
     Assert.notEmpty(
         acknowledgeablePubsubMessages, "The acknowledgeablePubsubMessages can't be empty.");
 
+    AcknowledgementBatcher batcher = this.ackBatcher;
+    if (batcher != null) {
+      return doBatchedAsyncOperation(
+          acknowledgeablePubsubMessages,
+          (String subscriptionName, List<String> ackIds) ->
+              batcher.add(subscriptionName, AcknowledgementBatcher.ACK, ackIds));
+    }
     return doBatchedAsyncOperation(acknowledgeablePubsubMessages, this::ack);
   }
 
@@ -425,15 +471,31 @@ public class PubSubSubscriberTemplate implements PubSubSubscriberOperations, Dis
         acknowledgeablePubsubMessages, "The acknowledgeablePubsubMessages can't be empty.");
     Assert.isTrue(ackDeadlineSeconds >= 0, "The ackDeadlineSeconds must not be negative.");
 
+    AcknowledgementBatcher batcher = this.ackBatcher;
+    if (batcher != null) {
+      return doBatchedAsyncOperation(
+          acknowledgeablePubsubMessages,
+          (String subscriptionName, List<String> ackIds) ->
+              batcher.add(subscriptionName, ackDeadlineSeconds, ackIds));
+    }
     return doBatchedAsyncOperation(
         acknowledgeablePubsubMessages,
         (String subscriptionName, List<String> ackIds) ->
             modifyAckDeadline(subscriptionName, ackIds, ackDeadlineSeconds));
   }
 
-  /** Destroys the default executor, regardless of whether it was used. */
+  /**
+   * Sends any pending acknowledgement batches and destroys the default executor, regardless of
+   * whether it was used.
+   */
   @Override
   public void destroy() {
+    synchronized (this) {
+      if (this.ackBatcher != null) {
+        this.ackBatcher.flush();
+        this.ackBatchingScheduler.shutdown();
+      }
+    }
     this.defaultAckExecutor.shutdown();
     for (SubscriberStub stub : subscriptionNameToStubMap.values()) {
       stub.close();
@@ -450,6 +512,13 @@ public class PubSubSubscriberTemplate implements PubSubSubscriberOperations, Dis
     return subscriberStub.acknowledgeCallable().futureCall(acknowledgeRequest);
   }
 
+  private ApiFuture<Empty> sendAckBatch(
+      String subscriptionName, int ackDeadlineSeconds, List<String> ackIds) {
+    return ackDeadlineSeconds == AcknowledgementBatcher.ACK
+        ? ack(subscriptionName, ackIds)
+        : modifyAckDeadline(subscriptionName, ackIds, ackDeadlineSeconds);
+  }
+
   private ApiFuture<Empty> modifyAckDeadline(
       String subscriptionName, Collection<String> ackIds, int ackDeadlineSeconds) {
     ModifyAckDeadlineRequest modifyAckDeadlineRequest =
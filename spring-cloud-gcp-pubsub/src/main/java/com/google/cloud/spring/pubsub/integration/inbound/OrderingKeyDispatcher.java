@@ -0,0 +1,109 @@
+/*
+ * Copyright 2023 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.spring.pubsub.integration.inbound;
+
+import com.google.cloud.spring.pubsub.support.BasicAcknowledgeablePubsubMessage;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Predicate;
+import org.springframework.util.Assert;
+
+/**
+ * Processes messages with different ordering keys concurrently, while processing the messages of
+ * each ordering key one at a time and in the order they were dispatched.
+ *
+ * <p>Ordering keys are hashed onto a fixed number of stripes, each running its messages
+ * sequentially on the shared executor. Once processing a message fails, the following messages of
+ * the same ordering key are nacked instead of processed, so that Pub/Sub redelivers them after the
+ * failed message rather than them being acknowledged out of order. The failure is cleared when the
+ * failed message itself is redelivered, which resumes processing the ordering key.
+ */
+class OrderingKeyDispatcher {
+
+  private final Executor[] stripes;
+
+  /** Ordering keys with dispatched messages that have not been processed yet, or that failed. */
+  private final Map<String, KeyState> keys = new ConcurrentHashMap<>();
+
+  OrderingKeyDispatcher(Executor executor, int concurrency) {
+    Assert.notNull(executor, "The executor can't be null.");
+    Assert.isTrue(concurrency > 0, "The concurrency must be greater than zero.");
+    this.stripes = new Executor[concurrency];
+    for (int i = 0; i < concurrency; i++) {
+      this.stripes[i] = MoreExecutors.newSequentialExecutor(executor);
+    }
+  }
+
+  /**
+   * Queues a message for processing after the previously dispatched messages of its ordering key.
+   * The message is nacked if it cannot be queued.
+   *
+   * @param message the message to process
+   * @param handler processes the message, returning whether it was processed successfully
+   */
+  <T extends BasicAcknowledgeablePubsubMessage> void dispatch(T message, Predicate<T> handler) {
+    String orderingKey = message.getPubsubMessage().getOrderingKey();
+    KeyState state =
+        this.keys.compute(
+            orderingKey,
+            (key, existing) -> {
+              KeyState keyState = (existing != null) ? existing : new KeyState();
+              keyState.pending++;
+              return keyState;
+            });
+    Executor stripe = this.stripes[Math.floorMod(orderingKey.hashCode(), this.stripes.length)];
+    try {
+      stripe.execute(
+          () -> {
+            try {
+              String messageId = message.getPubsubMessage().getMessageId();
+              if (state.failedMessageId != null && !state.failedMessageId.equals(messageId)) {
+                message.nack();
+                return;
+              }
+              // the redelivery of the failed message resumes the ordering key
+              state.failedMessageId = handler.test(message) ? null : messageId;
+            } finally {
+              release(orderingKey);
+            }
+          });
+    } catch (RejectedExecutionException ex) {
+      release(orderingKey);
+      message.nack();
+    }
+  }
+
+  private void release(String orderingKey) {
+    // failed keys are kept until their failed message is redelivered
+    this.keys.computeIfPresent(
+        orderingKey,
+        (key, keyState) ->
+            (--keyState.pending == 0 && keyState.failedMessageId == null) ? null : keyState);
+  }
+
+  private static final class KeyState {
+
+    /** Guarded by the map entry of the ordering key. */
+    private int pending;
+
+    /** The ID of the message whose processing failed, if any; only changed by the key's stripe. */
+    private volatile String failedMessageId;
+  }
+}
@@ -25,16 +25,27 @@ import com.google.cloud.spring.pubsub.support.GcpPubSubHeaders;
 import com.google.cloud.spring.pubsub.support.converter.ConvertedBasicAcknowledgeablePubsubMessage;
 import com.google.pubsub.v1.ProjectSubscriptionName;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.springframework.integration.endpoint.MessageProducerSupport;
 import org.springframework.integration.mapping.HeaderMapper;
 import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.util.Assert;
 
 /**
  * Converts from GCP Pub/Sub message to Spring message and sends the Spring message to the attached
  * channels.
+ *
+ * <p>With message ordering enabled on the subscription, the subscriber only hands over the next
+ * message of an ordering key once the previous one has been sent downstream, so the number of
+ * ordering keys processed at a time is bounded by the subscriber's executor threads. Setting
+ * {@link #setOrderingKeyConcurrency(int)} hands ordered messages over to a dispatcher instead,
+ * which processes up to that many ordering keys concurrently while keeping the messages of each
+ * key in order.
  */
 public class PubSubInboundChannelAdapter extends MessageProducerSupport {
 
@@ -54,6 +65,14 @@ public class PubSubInboundChannelAdapter extends MessageProducerSupport {
 
   private HealthTrackerRegistry healthTrackerRegistry;
 
+  private int orderingKeyConcurrency;
+
+  private Executor orderingKeyExecutor;
+
+  private ExecutorService defaultOrderingKeyExecutor;
+
+  private OrderingKeyDispatcher orderingKeyDispatcher;
+
   /**
    * Instantiates a streaming Pub/Sub subscription adapter.
    *
@@ -112,15 +131,54 @@ public class PubSubInboundChannelAdapter extends MessageProducerSupport {
     this.headerMapper = headerMapper;
   }
 
+  /**
+   * Set the number of ordering keys whose messages are processed concurrently. Messages with the
+   * same ordering key are still processed one at a time and in order, and messages without an
+   * ordering key are processed on the subscriber's threads as usual. Defaults to 0, which processes
+   * ordered messages on the subscriber's threads.
+   *
+   * <p>Messages handed over to the dispatcher count against the subscriber's flow control limits
+   * until acked or nacked, which bounds the number of messages waiting to be processed.
+   *
+   * @param orderingKeyConcurrency the number of ordering keys processed concurrently
+   */
+  public void setOrderingKeyConcurrency(int orderingKeyConcurrency) {
+    Assert.isTrue(orderingKeyConcurrency >= 0, "The concurrency can't be negative.");
+    this.orderingKeyConcurrency = orderingKeyConcurrency;
+  }
+
+  /**
+   * Set the executor processing ordered messages when {@link #setOrderingKeyConcurrency(int)} is
+   * set. By default, a fixed pool with one thread per concurrently processed ordering key is
+   * created when the adapter starts and shut down when it stops.
+   *
+   * @param orderingKeyExecutor the executor processing ordered messages
+   */
+  public void setOrderingKeyExecutor(Executor orderingKeyExecutor) {
+    this.orderingKeyExecutor = orderingKeyExecutor;
+  }
+
   @Override
   protected void doStart() {
     super.doStart();
 
     addToHealthRegistry();
 
+    if (this.orderingKeyConcurrency > 0) {
+      Executor executor = this.orderingKeyExecutor;
+      if (executor == null) {
+        this.defaultOrderingKeyExecutor =
+            Executors.newFixedThreadPool(
+                this.orderingKeyConcurrency,
+                new CustomizableThreadFactory("gcp-pubsub-ordering-key-"));
+        executor = this.defaultOrderingKeyExecutor;
+      }
+      this.orderingKeyDispatcher = new OrderingKeyDispatcher(executor, this.orderingKeyConcurrency);
+    }
+
     this.subscriber =
         this.pubSubSubscriberOperations.subscribeAndConvert(
-            this.subscriptionName, this::consumeMessage, this.payloadType);
+            this.subscriptionName, this::receiveMessage, this.payloadType);
 
     addListeners();
   }
@@ -130,11 +188,25 @@ public class PubSubInboundChannelAdapter extends MessageProducerSupport {
     if (this.subscriber != null) {
       this.subscriber.stopAsync();
     }
+    if (this.defaultOrderingKeyExecutor != null) {
+      this.defaultOrderingKeyExecutor.shutdown();
+      this.defaultOrderingKeyExecutor = null;
+    }
 
     super.doStop();
   }
 
-  private void consumeMessage(ConvertedBasicAcknowledgeablePubsubMessage<?> message) {
+  private void receiveMessage(ConvertedBasicAcknowledgeablePubsubMessage<?> message) {
+    if (this.orderingKeyDispatcher != null
+        && !message.getPubsubMessage().getOrderingKey().isEmpty()) {
+      this.orderingKeyDispatcher.dispatch(message, this::consumeMessage);
+    } else {
+      consumeMessage(message);
+    }
+  }
+
+  /** Returns whether the message was sent downstream successfully. */
+  private boolean consumeMessage(ConvertedBasicAcknowledgeablePubsubMessage<?> message) {
     Map<String, Object> messageHeaders =
         this.headerMapper.toHeaders(message.getPubsubMessage().getAttributesMap());
 
@@ -154,6 +226,7 @@ public class PubSubInboundChannelAdapter extends MessageProducerSupport {
       if (this.ackMode == AckMode.AUTO_ACK || this.ackMode == AckMode.AUTO) {
         message.ack();
       }
+      return true;
     } catch (RuntimeException re) {
       if (this.ackMode == AckMode.AUTO) {
         message.nack();
@@ -161,6 +234,7 @@ public class PubSubInboundChannelAdapter extends MessageProducerSupport {
       } else {
         logWarning(message, re, "message neither acked nor nacked.");
       }
+      return false;
     }
   }
 
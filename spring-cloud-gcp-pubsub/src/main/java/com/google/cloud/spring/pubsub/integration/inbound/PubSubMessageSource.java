@@ -21,24 +21,46 @@ import com.google.cloud.spring.pubsub.integration.AckMode;
 import com.google.cloud.spring.pubsub.integration.PubSubHeaderMapper;
 import com.google.cloud.spring.pubsub.support.GcpPubSubHeaders;
 import com.google.cloud.spring.pubsub.support.converter.ConvertedAcknowledgeablePubsubMessage;
-import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.context.Lifecycle;
 import org.springframework.integration.IntegrationMessageHeaderAccessor;
 import org.springframework.integration.endpoint.AbstractFetchLimitingMessageSource;
 import org.springframework.integration.endpoint.AbstractMessageSource;
 import org.springframework.integration.mapping.HeaderMapper;
 import org.springframework.integration.support.AbstractIntegrationMessageBuilder;
 import org.springframework.messaging.Message;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.util.Assert;
 
 /**
  * A <a href="https://cloud.google.com/pubsub/docs/pull#pubsub-pull-messages-sync-java">PubSub
  * Synchronous pull</a> implementation of {@link AbstractMessageSource}.
  *
+ * <p>By default, the next batch of messages is pulled only once all previously pulled messages
+ * have been delivered, which stalls the polling thread for a round trip at every batch boundary.
+ * With prefetching enabled through {@link #setPrefetchLowWatermark(int)}, the next batch is pulled
+ * asynchronously as soon as the number of buffered messages drops to the low watermark. Buffered
+ * messages have their ack deadline extended as soon as they are received and then periodically
+ * while they wait, and are nacked when the source is stopped.
+ *
  * @since 1.2
  */
-public class PubSubMessageSource extends AbstractFetchLimitingMessageSource<Object> {
+public class PubSubMessageSource extends AbstractFetchLimitingMessageSource<Object>
+    implements Lifecycle {
+
+  private static final Log LOGGER = LogFactory.getLog(PubSubMessageSource.class);
 
   private final String subscriptionName;
 
@@ -52,8 +74,20 @@ public class PubSubMessageSource extends AbstractFetchLimitingMessageSource<Obje
 
   private boolean blockOnPull;
 
-  private final ArrayDeque<ConvertedAcknowledgeablePubsubMessage<?>> cachedMessages =
-      new ArrayDeque<>();
+  private int prefetchLowWatermark = -1;
+
+  private int prefetchAckDeadlineSeconds = 60;
+
+  private final BlockingDeque<ConvertedAcknowledgeablePubsubMessage<?>> cachedMessages =
+      new LinkedBlockingDeque<>();
+
+  /** The prefetching pull in progress, if any. */
+  private final AtomicReference<CompletableFuture<Void>> prefetch = new AtomicReference<>();
+
+  /** Extends the ack deadline of prefetched messages; created on first prefetch. */
+  private ScheduledExecutorService ackDeadlineExtender;
+
+  private volatile boolean running = true;
 
   /**
    * Instantiates a Pub/Sub inbound message adapter to poll a given subscription for messages.
@@ -93,6 +127,58 @@ public class PubSubMessageSource extends AbstractFetchLimitingMessageSource<Obje
     this.blockOnPull = blockOnPull;
   }
 
+  /**
+   * Enables prefetching: the next batch of messages is pulled asynchronously once the number of
+   * buffered messages drops to the given low watermark, so that the pull overlaps with the
+   * processing of the remaining messages. A negative value disables prefetching, which is the
+   * default.
+   *
+   * @param prefetchLowWatermark the number of buffered messages at or below which the next batch
+   *     is pulled
+   */
+  public void setPrefetchLowWatermark(int prefetchLowWatermark) {
+    this.prefetchLowWatermark = prefetchLowWatermark;
+  }
+
+  /**
+   * Set the ack deadline that prefetched messages have while waiting to be delivered. The deadline
+   * is set as soon as a batch is received and renewed at half this interval. Defaults to 60
+   * seconds.
+   *
+   * @param prefetchAckDeadlineSeconds the ack deadline of buffered messages, in seconds
+   */
+  public void setPrefetchAckDeadlineSeconds(int prefetchAckDeadlineSeconds) {
+    Assert.isTrue(
+        prefetchAckDeadlineSeconds >= 10 && prefetchAckDeadlineSeconds <= 600,
+        "The ack deadline must be between 10 and 600 seconds.");
+    this.prefetchAckDeadlineSeconds = prefetchAckDeadlineSeconds;
+  }
+
+  @Override
+  public void start() {
+    this.running = true;
+  }
+
+  /** Stops prefetching and nacks the messages that were pulled but not delivered yet. */
+  @Override
+  public synchronized void stop() {
+    this.running = false;
+    if (this.ackDeadlineExtender != null) {
+      this.ackDeadlineExtender.shutdownNow();
+      this.ackDeadlineExtender = null;
+    }
+    if (isPrefetching()) {
+      List<ConvertedAcknowledgeablePubsubMessage<?>> undelivered = new ArrayList<>();
+      this.cachedMessages.drainTo(undelivered);
+      nack(undelivered);
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return this.running;
+  }
+
   /**
    * Provides a single polled message.
    *
@@ -104,6 +190,9 @@ public class PubSubMessageSource extends AbstractFetchLimitingMessageSource<Obje
    */
   @Override
   protected Object doReceive(int fetchSize) {
+    if (isPrefetching()) {
+      return doReceivePrefetched((fetchSize > 0) ? fetchSize : 1);
+    }
     if (this.cachedMessages.isEmpty()) {
       Integer maxMessages = (fetchSize > 0) ? fetchSize : 1;
 
@@ -123,6 +212,107 @@ public class PubSubMessageSource extends AbstractFetchLimitingMessageSource<Obje
     return processMessage(this.cachedMessages.pollFirst());
   }
 
+  private Object doReceivePrefetched(int maxMessages) {
+    ConvertedAcknowledgeablePubsubMessage<?> message = this.cachedMessages.pollFirst();
+    if (message == null) {
+      // nothing buffered: wait for the pull like a non-prefetching source would
+      awaitPrefetch(startPrefetch(maxMessages));
+      message = this.cachedMessages.pollFirst();
+    }
+    if (this.cachedMessages.size() <= this.prefetchLowWatermark) {
+      startPrefetch(maxMessages);
+    }
+    return processMessage(message);
+  }
+
+  /** Starts a pull unless one is already in progress, and returns the pull in progress. */
+  private CompletableFuture<Void> startPrefetch(int maxMessages) {
+    if (!this.running) {
+      return CompletableFuture.completedFuture(null);
+    }
+    CompletableFuture<Void> started = new CompletableFuture<>();
+    CompletableFuture<Void> inProgress = this.prefetch.compareAndExchange(null, started);
+    if (inProgress != null) {
+      return inProgress;
+    }
+    scheduleAckDeadlineExtension();
+    this.pubSubSubscriberOperations
+        .pullAndConvertAsync(
+            this.subscriptionName, maxMessages, !this.blockOnPull, this.payloadType)
+        .whenComplete(
+            (messages, throwable) -> {
+              if (throwable != null) {
+                LOGGER.warn(
+                    "Prefetching messages from " + this.subscriptionName + " failed.", throwable);
+              } else if (this.running) {
+                this.cachedMessages.addAll(messages);
+                // the subscription's own deadline may be shorter than the time spent buffered
+                extendAckDeadline(messages);
+              } else {
+                nack(messages);
+              }
+              this.prefetch.set(null);
+              if (throwable != null) {
+                started.completeExceptionally(throwable);
+              } else {
+                started.complete(null);
+              }
+            });
+    return started;
+  }
+
+  private static void awaitPrefetch(CompletableFuture<Void> prefetch) {
+    try {
+      prefetch.join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw ex;
+    }
+  }
+
+  private synchronized void scheduleAckDeadlineExtension() {
+    if (this.ackDeadlineExtender != null || !this.running) {
+      return;
+    }
+    CustomizableThreadFactory threadFactory =
+        new CustomizableThreadFactory("gcp-pubsub-prefetch-ack-deadline-");
+    threadFactory.setDaemon(true);
+    this.ackDeadlineExtender = Executors.newSingleThreadScheduledExecutor(threadFactory);
+    long period = this.prefetchAckDeadlineSeconds * 1000L / 2;
+    this.ackDeadlineExtender.scheduleWithFixedDelay(
+        this::extendAckDeadlines, period, period, TimeUnit.MILLISECONDS);
+  }
+
+  private void extendAckDeadlines() {
+    extendAckDeadline(new ArrayList<>(this.cachedMessages));
+  }
+
+  private void extendAckDeadline(
+      List<? extends ConvertedAcknowledgeablePubsubMessage<?>> messages) {
+    if (messages.isEmpty()) {
+      return;
+    }
+    try {
+      this.pubSubSubscriberOperations.modifyAckDeadline(
+          messages, this.prefetchAckDeadlineSeconds);
+    } catch (RuntimeException ex) {
+      // keep the extension task scheduled
+      LOGGER.warn("Extending the ack deadline of prefetched messages failed.", ex);
+    }
+  }
+
+  private void nack(List<? extends ConvertedAcknowledgeablePubsubMessage<?>> messages) {
+    if (!messages.isEmpty()) {
+      this.pubSubSubscriberOperations.nack(messages);
+    }
+  }
+
+  private boolean isPrefetching() {
+    return this.prefetchLowWatermark >= 0;
+  }
+
   @Override
   public String getComponentType() {
     return "gcp-pubsub:message-source";
@@ -16,9 +16,13 @@
 
 package com.google.cloud.spring.pubsub.reactive;
 
+import com.google.api.core.ApiService;
 import com.google.api.gax.rpc.DeadlineExceededException;
+import com.google.cloud.pubsub.v1.Subscriber;
 import com.google.cloud.spring.pubsub.core.subscriber.PubSubSubscriberOperations;
 import com.google.cloud.spring.pubsub.support.AcknowledgeablePubsubMessage;
+import com.google.cloud.spring.pubsub.support.BasicAcknowledgeablePubsubMessage;
+import com.google.common.util.concurrent.MoreExecutors;
 import java.time.Duration;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -38,6 +42,9 @@ import reactor.core.scheduler.Scheduler;
  * subscription, when the demand is unlimited. The scheduler is not used when there is a specific
  * demand (a.k.a backpressure).
  *
+ * <p>Streams returned by {@link #streamingPull(String)} use Pub/Sub Streaming Pull instead of
+ * polling, and neither use the scheduler.
+ *
  * @since 1.2
  */
 public final class PubSubReactiveFactory {
@@ -120,6 +127,53 @@ public final class PubSubReactiveFactory {
                 }));
   }
 
+  /**
+   * Create an infinite stream {@link Flux} of {@link BasicAcknowledgeablePubsubMessage} objects
+   * backed by Pub/Sub Streaming Pull.
+   *
+   * <p>Unlike {@link #poll(String, long)}, messages are delivered as soon as the server sends
+   * them, without polling delay and without pulls returning empty on a quiet subscription. A
+   * {@link com.google.cloud.pubsub.v1.Subscriber} is started when the {@link Flux} is subscribed
+   * to, and stopped when the subscription is cancelled or terminates.
+   *
+   * <p>Messages received beyond the current demand are held until requested. The number of such
+   * messages is bounded by the flow control settings of the subscription (1000 messages by
+   * default), because the server stops streaming once that many messages are neither acked nor
+   * nacked. Messages still held when the stream is cancelled are nacked, so that they are
+   * redelivered right away.
+   *
+   * <p>Messages must be acked or nacked through {@link BasicAcknowledgeablePubsubMessage#ack()} or
+   * {@link BasicAcknowledgeablePubsubMessage#nack()}. Until then, their ack deadline is extended
+   * by the client library. Subscriber failures are passed as an error to the stream.
+   *
+   * @param subscriptionName subscription from which to receive messages.
+   * @return infinite stream of {@link BasicAcknowledgeablePubsubMessage} objects.
+   */
+  public Flux<BasicAcknowledgeablePubsubMessage> streamingPull(String subscriptionName) {
+    Assert.hasText(subscriptionName, "subscriptionName cannot be null or empty.");
+
+    return Flux.<BasicAcknowledgeablePubsubMessage>create(
+            sink -> {
+              Subscriber subscriber =
+                  this.subscriberOperations.subscribe(subscriptionName, sink::next);
+              subscriber.addListener(
+                  new ApiService.Listener() {
+                    @Override
+                    public void failed(ApiService.State from, Throwable failure) {
+                      sink.error(failure);
+                    }
+                  },
+                  MoreExecutors.directExecutor());
+              if (subscriber.state() == ApiService.State.FAILED) {
+                sink.error(subscriber.failureCause());
+              }
+              sink.onDispose(subscriber::stopAsync);
+            },
+            FluxSink.OverflowStrategy.BUFFER)
+        .doOnDiscard(
+            BasicAcknowledgeablePubsubMessage.class, BasicAcknowledgeablePubsubMessage::nack);
+  }
+
   private void pollingPull(
       String subscriptionName, long pollingPeriodMs, FluxSink<AcknowledgeablePubsubMessage> sink) {
     Disposable disposable =
@@ -17,33 +17,167 @@
 package com.google.cloud.spring.pubsub.support;
 
 import com.google.cloud.pubsub.v1.Publisher;
+import com.google.cloud.spring.pubsub.core.PubSubException;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListeners;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.time.Duration;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
 
 /**
  * The caching implementation of the {@link PublisherFactory}.
  *
  * <p>Creates {@link Publisher}s for topics once using delegate, caches and reuses them.
+ *
+ * <p>By default the cache is unbounded and publishers live until {@link #shutdown()}. When a
+ * maximum size or an idle expiration is configured, the least recently used publishers are evicted
+ * and shut down in the background, so the number of live publishers stays bounded regardless of how
+ * many topics are published to. The maximum size should be comfortably larger than the number of
+ * topics that are actively published to at the same time.
+ *
+ * <p>An evicted publisher is only shut down once every caller that obtained it from {@link
+ * #createPublisher(String)} has returned it with {@link #releasePublisher(String, Publisher)}, so
+ * that publishing to a topic that is evicted meanwhile does not fail.
  */
 public class CachingPublisherFactory implements PublisherFactory {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(CachingPublisherFactory.class);
+
+  private static final Duration DEFAULT_SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+
   /** {@link Publisher} cache, enforces only one {@link Publisher} per Pub/Sub topic exists. */
-  private final ConcurrentHashMap<String, Publisher> publishers =
-      new ConcurrentHashMap<>();
+  private final Cache<String, CachedPublisher> publishers;
+
+  /** The cached and the evicted but still used publishers, to find them on release. */
+  private final Map<Publisher, CachedPublisher> publishersInUse = new ConcurrentHashMap<>();
 
   private final PublisherFactory delegate;
 
   /**
-   * Constructs a caching {@link PublisherFactory} using the delegate.
+   * Shuts down evicted publishers, so that flushing them does not block the publishing thread, and
+   * periodically expires idle publishers. Only created for a bounded cache.
+   */
+  @Nullable private final ScheduledExecutorService evictionExecutor;
+
+  private Duration shutdownTimeout = DEFAULT_SHUTDOWN_TIMEOUT;
+
+  /**
+   * Constructs an unbounded caching {@link PublisherFactory} using the delegate.
    *
    * @param delegate a {@link PublisherFactory} that needs to be cached.
    */
   public CachingPublisherFactory(PublisherFactory delegate) {
+    this(delegate, null, null);
+  }
+
+  /**
+   * Constructs a caching {@link PublisherFactory} using the delegate, optionally bounding the
+   * number of cached publishers and the time a publisher may stay unused.
+   *
+   * @param delegate a {@link PublisherFactory} that needs to be cached.
+   * @param maximumSize the maximum number of cached publishers, or {@code null} for no limit.
+   * @param expireAfterAccess how long a publisher may go unused before it is evicted and shut
+   *     down, or {@code null} to never expire idle publishers.
+   */
+  public CachingPublisherFactory(
+      PublisherFactory delegate,
+      @Nullable Long maximumSize,
+      @Nullable Duration expireAfterAccess) {
+    Assert.notNull(delegate, "The delegate publisher factory can't be null.");
     this.delegate = delegate;
+
+    CacheBuilder<Object, Object> cacheBuilder = CacheBuilder.newBuilder().recordStats();
+    if (maximumSize != null) {
+      Assert.isTrue(maximumSize > 0, "The maximum cache size must be greater than zero.");
+      cacheBuilder.maximumSize(maximumSize);
+    }
+    if (expireAfterAccess != null) {
+      Assert.isTrue(
+          !expireAfterAccess.isNegative() && !expireAfterAccess.isZero(),
+          "The publisher expiration must be positive.");
+      cacheBuilder.expireAfterAccess(expireAfterAccess);
+    }
+    if (maximumSize == null && expireAfterAccess == null) {
+      // nothing is ever evicted
+      this.evictionExecutor = null;
+      this.publishers = cacheBuilder.build();
+      return;
+    }
+
+    CustomizableThreadFactory threadFactory =
+        new CustomizableThreadFactory("gcp-pubsub-publisher-eviction-");
+    threadFactory.setDaemon(true);
+    this.evictionExecutor = Executors.newSingleThreadScheduledExecutor(threadFactory);
+    this.publishers =
+        cacheBuilder
+            .removalListener(
+                RemovalListeners.asynchronous(this::onRemoval, this.evictionExecutor))
+            .build();
+
+    if (expireAfterAccess != null) {
+      // Expiration is otherwise only applied when the cache is used, so idle topics would
+      // keep their publishers alive for as long as nothing else is published.
+      long period = expireAfterAccess.toMillis();
+      this.evictionExecutor.scheduleWithFixedDelay(
+          this.publishers::cleanUp, period, period, TimeUnit.MILLISECONDS);
+    }
   }
 
   @Override
   public Publisher createPublisher(String topic) {
-    return this.publishers.computeIfAbsent(topic, delegate::createPublisher);
+    while (true) {
+      CachedPublisher cachedPublisher = getCachedPublisher(topic);
+      // nothing is evicted from an unbounded cache, so its users are not counted
+      if (this.evictionExecutor == null || cachedPublisher.acquire()) {
+        return cachedPublisher.publisher;
+      }
+      // evicted and shut down since it was looked up, the next look up creates a new one
+    }
+  }
+
+  /**
+   * Returns a publisher obtained from {@link #createPublisher(String)} once the caller is done
+   * publishing with it, so that it can be shut down if it was evicted meanwhile.
+   */
+  @Override
+  public void releasePublisher(String topic, Publisher publisher) {
+    CachedPublisher cachedPublisher = this.publishersInUse.get(publisher);
+    if (this.evictionExecutor != null && cachedPublisher != null && cachedPublisher.release()) {
+      this.evictionExecutor.execute(() -> shutdownEvicted(cachedPublisher));
+    }
+  }
+
+  private CachedPublisher getCachedPublisher(String topic) {
+    try {
+      return this.publishers.get(
+          topic,
+          () -> {
+            CachedPublisher cachedPublisher =
+                new CachedPublisher(topic, this.delegate.createPublisher(topic));
+            this.publishersInUse.put(cachedPublisher.publisher, cachedPublisher);
+            return cachedPublisher;
+          });
+    } catch (UncheckedExecutionException ex) {
+      Throwables.throwIfUnchecked(ex.getCause());
+      throw ex;
+    } catch (ExecutionException ex) {
+      throw new PubSubException("Failed to create a publisher for topic " + topic, ex.getCause());
+    }
   }
 
   /**
@@ -55,11 +189,129 @@ public class CachingPublisherFactory implements PublisherFactory {
     return delegate;
   }
 
+  /**
+   * Set how long to wait for an evicted {@link Publisher} to publish its outstanding messages
+   * before giving up on it. Defaults to 10 seconds.
+   *
+   * @param shutdownTimeout the maximum time to wait for a publisher to terminate
+   */
+  public void setShutdownTimeout(Duration shutdownTimeout) {
+    Assert.notNull(shutdownTimeout, "The shutdown timeout can't be null.");
+    this.shutdownTimeout = shutdownTimeout;
+  }
+
+  /**
+   * Returns the number of {@link Publisher}s currently cached.
+   *
+   * @return the number of cached publishers.
+   */
+  public long getCachedPublisherCount() {
+    return this.publishers.size();
+  }
+
+  /**
+   * Returns the number of times a cached {@link Publisher} was reused.
+   *
+   * @return the cache hit count.
+   */
+  public long getHitCount() {
+    return this.publishers.stats().hitCount();
+  }
+
+  /**
+   * Returns the number of times a new {@link Publisher} had to be created.
+   *
+   * @return the cache miss count.
+   */
+  public long getMissCount() {
+    return this.publishers.stats().missCount();
+  }
+
+  /**
+   * Returns the number of {@link Publisher}s evicted because of the size or idle-time limits.
+   *
+   * @return the cache eviction count.
+   */
+  public long getEvictionCount() {
+    return this.publishers.stats().evictionCount();
+  }
+
   /**
    * Shutdown all cached {@link Publisher} gracefully.
    */
   @PreDestroy
   public void shutdown() {
-    publishers.forEachValue(1L, Publisher::shutdown);
+    this.publishers.asMap().values().forEach(cached -> cached.publisher.shutdown());
+    if (this.evictionExecutor != null) {
+      this.evictionExecutor.shutdown();
+    }
+  }
+
+  private void onRemoval(RemovalNotification<String, CachedPublisher> notification) {
+    CachedPublisher cachedPublisher = notification.getValue();
+    if (notification.wasEvicted() && cachedPublisher != null && cachedPublisher.evict()) {
+      shutdownEvicted(cachedPublisher);
+    }
+  }
+
+  private void shutdownEvicted(CachedPublisher cachedPublisher) {
+    this.publishersInUse.remove(cachedPublisher.publisher);
+    Publisher publisher = cachedPublisher.publisher;
+    String topic = cachedPublisher.topic;
+    LOGGER.debug("Shutting down evicted publisher for topic {}.", topic);
+    try {
+      publisher.shutdown();
+      if (!publisher.awaitTermination(this.shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+        LOGGER.warn(
+            "Publisher for topic {} did not terminate within {}.",
+            topic,
+            this.shutdownTimeout);
+      }
+    } catch (InterruptedException ie) {
+      Thread.currentThread().interrupt();
+    } catch (RuntimeException ex) {
+      LOGGER.warn("Failed to shut down publisher for topic " + topic, ex);
+    }
+  }
+
+  /** A cached {@link Publisher} with the number of callers currently publishing with it. */
+  private static final class CachedPublisher {
+
+    private final String topic;
+
+    private final Publisher publisher;
+
+    /** The number of callers, or -1 once the publisher is shut down. */
+    private final AtomicInteger users = new AtomicInteger();
+
+    private volatile boolean evicted;
+
+    CachedPublisher(String topic, Publisher publisher) {
+      this.topic = topic;
+      this.publisher = publisher;
+    }
+
+    /** Returns whether the publisher may be used, that is it is not shut down yet. */
+    boolean acquire() {
+      int current;
+      do {
+        current = this.users.get();
+        if (current < 0) {
+          return false;
+        }
+      } while (!this.users.compareAndSet(current, current + 1));
+      return true;
+    }
+
+    /** Returns whether the publisher is to be shut down, as it was evicted and is now unused. */
+    boolean release() {
+      return this.users.decrementAndGet() == 0 && this.evicted && this.users.compareAndSet(0, -1);
+    }
+
+    /** Returns whether the publisher is to be shut down, as it is unused. */
+    boolean evict() {
+      this.evicted = true;
+      return this.users.compareAndSet(0, -1);
+    }
   }
 }
@@ -29,4 +29,15 @@ public interface PublisherFactory {
    */
   Publisher createPublisher(String topic);
 
+  /**
+   * Returns a {@link Publisher} obtained from {@link #createPublisher(String)} once the caller is
+   * done publishing with it, so that a factory reusing publishers knows when it may shut it down.
+   *
+   * <p>The default implementation does nothing.
+   *
+   * @param topic the topic the publisher was created for
+   * @param publisher the publisher that is no longer used by the caller
+   */
+  default void releasePublisher(String topic, Publisher publisher) {}
+
 }
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2023 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.spring.pubsub.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link ScheduledExecutorService} that runs every submitted task on a thread of its own, for
+ * Pub/Sub subscribers and publishers whose message receivers or callbacks block.
+ *
+ * <p>On Java 21 and later, tasks run on virtual threads. On earlier runtimes, they run on platform
+ * threads from an unbounded cached pool. Either way, the number of tasks running at the same time
+ * is not limited by a pool size, so it should be limited by other means, such as the subscriber's
+ * flow control settings.
+ *
+ * <p>Delayed and periodic tasks, which the client libraries use for short housekeeping work, are
+ * triggered and run on a single scheduler thread.
+ */
+public class ThreadPerTaskScheduledExecutorService extends AbstractExecutorService
+    implements ScheduledExecutorService {
+
+  private static final Logger LOGGER =
+      LoggerFactory.getLogger(ThreadPerTaskScheduledExecutorService.class);
+
+  private final ExecutorService taskExecutor;
+
+  private final ScheduledExecutorService scheduler;
+
+  private final boolean virtualThreads;
+
+  /**
+   * Creates the executor.
+   *
+   * @param threadNamePrefix the prefix of the names of the threads created by the executor
+   */
+  public ThreadPerTaskScheduledExecutorService(String threadNamePrefix) {
+    Assert.hasText(threadNamePrefix, "The thread name prefix can't be null or empty.");
+    ExecutorService virtualThreadExecutor = createVirtualThreadPerTaskExecutor(threadNamePrefix);
+    this.virtualThreads = virtualThreadExecutor != null;
+    if (this.virtualThreads) {
+      this.taskExecutor = virtualThreadExecutor;
+    } else {
+      LOGGER.warn(
+          "Virtual threads are not available on this Java runtime; {} tasks run on platform"
+              + " threads of an unbounded pool instead.",
+          threadNamePrefix);
+      this.taskExecutor = Executors.newCachedThreadPool(daemonThreadFactory(threadNamePrefix));
+    }
+    this.scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            daemonThreadFactory(threadNamePrefix + "scheduler-"));
+  }
+
+  /**
+   * Returns whether tasks run on virtual threads.
+   *
+   * @return {@code true} on Java 21 and later
+   */
+  public boolean isVirtualThreads() {
+    return this.virtualThreads;
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    this.taskExecutor.execute(command);
+  }
+
+  @Override
+  public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+    return this.scheduler.schedule(command, delay, unit);
+  }
+
+  @Override
+  public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+    return this.scheduler.schedule(callable, delay, unit);
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleAtFixedRate(
+      Runnable command, long initialDelay, long period, TimeUnit unit) {
+    return this.scheduler.scheduleAtFixedRate(command, initialDelay, period, unit);
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleWithFixedDelay(
+      Runnable command, long initialDelay, long delay, TimeUnit unit) {
+    return this.scheduler.scheduleWithFixedDelay(command, initialDelay, delay, unit);
+  }
+
+  @Override
+  public void shutdown() {
+    this.scheduler.shutdown();
+    this.taskExecutor.shutdown();
+  }
+
+  @Override
+  public List<Runnable> shutdownNow() {
+    List<Runnable> pending = new ArrayList<>(this.scheduler.shutdownNow());
+    pending.addAll(this.taskExecutor.shutdownNow());
+    return pending;
+  }
+
+  @Override
+  public boolean isShutdown() {
+    return this.taskExecutor.isShutdown();
+  }
+
+  @Override
+  public boolean isTerminated() {
+    return this.scheduler.isTerminated() && this.taskExecutor.isTerminated();
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    return this.scheduler.awaitTermination(timeout, unit)
+        && this.taskExecutor.awaitTermination(
+            deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Looks up the Java 21 virtual thread API reflectively, as this module is compiled for an
+   * earlier Java version.
+   */
+  private static ExecutorService createVirtualThreadPerTaskExecutor(String threadNamePrefix) {
+    try {
+      Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      builder =
+          builderClass
+              .getMethod("name", String.class, long.class)
+              .invoke(builder, threadNamePrefix, 0L);
+      ThreadFactory threadFactory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+      return (ExecutorService)
+          Executors.class
+              .getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+              .invoke(null, threadFactory);
+    } catch (ReflectiveOperationException | LinkageError ex) {
+      return null;
+    }
+  }
+
+  private static ThreadFactory daemonThreadFactory(String threadNamePrefix) {
+    CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(threadNamePrefix);
+    threadFactory.setDaemon(true);
+    return threadFactory;
+  }
+}
@@ -16,19 +16,36 @@
 
 package com.google.cloud.spring.pubsub.support.converter;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.google.protobuf.ByteString;
 import com.google.pubsub.v1.PubsubMessage;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.springframework.util.Assert;
 
-/** A converter using Jackson JSON. */
+/**
+ * A converter using Jackson JSON.
+ *
+ * <p>By default, payloads are serialized to an intermediate byte array which is then copied into
+ * the message, and message data is copied out into a byte array before being read. In zero-copy
+ * mode (see {@link #setZeroCopy(boolean)}), JSON is written directly into the message's {@link
+ * ByteString} and read straight from it, which avoids two full copies of every payload and is
+ * worth enabling for large messages.
+ */
 public class JacksonPubSubMessageConverter implements PubSubMessageConverter {
 
   private final ObjectMapper objectMapper;
 
+  private final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+
+  private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+  private boolean zeroCopy;
+
   /**
    * Constructor.
    *
@@ -39,12 +56,31 @@ public class JacksonPubSubMessageConverter implements PubSubMessageConverter {
     this.objectMapper = objectMapper;
   }
 
+  /**
+   * Set whether payloads are written to and read from message data without intermediate byte
+   * arrays. In this mode, {@link ObjectReader}s and {@link ObjectWriter}s are created once per
+   * payload type and reused, so changes to the {@link ObjectMapper} configuration after the first
+   * conversion of a type are not picked up. Defaults to {@code false}.
+   *
+   * @param zeroCopy whether to enable zero-copy conversion
+   */
+  public void setZeroCopy(boolean zeroCopy) {
+    this.zeroCopy = zeroCopy;
+  }
+
   @Override
   public PubsubMessage toPubSubMessage(Object payload, Map<String, String> headers) {
     try {
-      return byteStringToPubSubMessage(
-          ByteString.copyFrom(this.objectMapper.writeValueAsBytes(payload)), headers);
-    } catch (JsonProcessingException ex) {
+      ByteString data;
+      if (this.zeroCopy) {
+        ByteString.Output output = ByteString.newOutput();
+        writerFor(payload).writeValue(output, payload);
+        data = output.toByteString();
+      } else {
+        data = ByteString.copyFrom(this.objectMapper.writeValueAsBytes(payload));
+      }
+      return byteStringToPubSubMessage(data, headers);
+    } catch (IOException ex) {
       throw new PubSubMessageConversionException(
           "JSON serialization of an object of type " + payload.getClass().getName() + " failed.",
           ex);
@@ -54,6 +90,13 @@ public class JacksonPubSubMessageConverter implements PubSubMessageConverter {
   @Override
   public <T> T fromPubSubMessage(PubsubMessage message, Class<T> payloadType) {
     try {
+      if (this.zeroCopy) {
+        ObjectReader reader =
+            this.readers.computeIfAbsent(payloadType, this.objectMapper::readerFor);
+        try (InputStream input = message.getData().newInput()) {
+          return reader.readValue(input);
+        }
+      }
       return (T)
           this.objectMapper.readerFor(payloadType).readValue(message.getData().toByteArray());
     } catch (IOException ex) {
@@ -61,4 +104,11 @@ public class JacksonPubSubMessageConverter implements PubSubMessageConverter {
           "JSON deserialization of an object of type " + payloadType.getName() + " failed.", ex);
     }
   }
+
+  private ObjectWriter writerFor(Object payload) {
+    if (payload == null) {
+      return this.objectMapper.writer();
+    }
+    return this.writers.computeIfAbsent(payload.getClass(), this.objectMapper::writerFor);
+  }
 }
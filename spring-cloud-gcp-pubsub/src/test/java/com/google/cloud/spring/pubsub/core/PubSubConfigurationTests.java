@@ -210,6 +210,33 @@ class PubSubConfigurationTests {
     assertThat(result).isEqualTo(2);
   }
 
+  @Test
+  void testComputeVirtualThreads_returnCustom() {
+    globalSubscriber.setVirtualThreads(true);
+    subscriber.setVirtualThreads(false);
+    pubSubConfiguration.setSubscription(
+        Collections.singletonMap(QUALIFIED_SUBSCRIPTION_NAME, subscriber));
+    pubSubConfiguration.initialize("projectId");
+
+    boolean result =
+        pubSubConfiguration.computeVirtualThreads(
+            ProjectSubscriptionName.of("projectId", "subscription-name"));
+
+    assertThat(result).isFalse();
+  }
+
+  @Test
+  void testComputeVirtualThreads_returnGlobal() {
+    globalSubscriber.setVirtualThreads(true);
+    pubSubConfiguration.initialize("projectId");
+
+    boolean result =
+        pubSubConfiguration.computeVirtualThreads(
+            ProjectSubscriptionName.of("projectId", "subscription-name"));
+
+    assertThat(result).isTrue();
+  }
+
   @Test
   void testComputePullEndpoint_returnCustom() {
     subscriber.setPullEndpoint("endpoint");
@@ -24,6 +24,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -35,21 +36,35 @@ import com.google.api.core.SettableApiFuture;
 import com.google.cloud.pubsub.v1.MessageReceiver;
 import com.google.cloud.pubsub.v1.Publisher;
 import com.google.cloud.pubsub.v1.Subscriber;
+import com.google.cloud.spring.pubsub.core.publisher.BulkPublishResult;
+import com.google.cloud.spring.pubsub.core.publisher.PubSubPublisherOperations;
 import com.google.cloud.spring.pubsub.core.publisher.PubSubPublisherTemplate;
 import com.google.cloud.spring.pubsub.core.test.allowed.AllowedPayload;
+import com.google.cloud.spring.pubsub.support.GcpPubSubHeaders;
 import com.google.cloud.spring.pubsub.support.PublisherFactory;
 import com.google.cloud.spring.pubsub.support.SubscriberFactory;
 import com.google.cloud.spring.pubsub.support.converter.JacksonPubSubMessageConverter;
+import com.google.cloud.spring.pubsub.support.converter.PubSubMessageConversionException;
 import com.google.protobuf.ByteString;
 import com.google.pubsub.v1.PubsubMessage;
 import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.awaitility.Awaitility;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -100,6 +115,7 @@ class PubSubTemplateTests {
     CompletableFuture<String> future = this.pubSubTemplate.publish("testTopic", this.pubsubMessage);
 
     assertThat(future.get()).isEqualTo("result");
+    verify(this.mockPublisherFactory).releasePublisher("testTopic", this.mockPublisher);
   }
 
   @Test
@@ -199,6 +215,205 @@ class PubSubTemplateTests {
         .hasStackTraceContaining("Publish failed");
   }
 
+  @Test
+  void testPublishAll() throws ExecutionException, InterruptedException {
+    List<SettableApiFuture<String>> publishFutures =
+        Collections.synchronizedList(new ArrayList<>());
+    when(this.mockPublisherFactory.createPublisher("testTopic")).thenReturn(this.mockPublisher);
+    when(this.mockPublisher.publish(isA(PubsubMessage.class)))
+        .thenAnswer(
+            invocation -> {
+              SettableApiFuture<String> publishFuture = SettableApiFuture.create();
+              publishFutures.add(publishFuture);
+              return publishFuture;
+            });
+    List<String> payloads =
+        IntStream.range(0, 250).mapToObj(i -> "payload" + i).collect(Collectors.toList());
+
+    CompletableFuture<BulkPublishResult> future =
+        this.pubSubTemplate.publishAll(
+            "testTopic", payloads, Collections.singletonMap(GcpPubSubHeaders.ORDERING_KEY, "key"));
+
+    Awaitility.await().atMost(Duration.ofSeconds(5)).until(() -> publishFutures.size() == 250);
+    assertThat(future).isNotDone();
+    ArgumentCaptor<PubsubMessage> messages = ArgumentCaptor.forClass(PubsubMessage.class);
+    verify(this.mockPublisher, times(250)).publish(messages.capture());
+    assertThat(messages.getAllValues())
+        .extracting(message -> message.getData().toStringUtf8())
+        .containsExactlyElementsOf(payloads);
+    assertThat(messages.getAllValues()).allMatch(message -> message.getOrderingKey().equals("key"));
+    verify(this.mockPublisherFactory, times(1)).createPublisher("testTopic");
+    verify(this.mockPublisherFactory, never()).releasePublisher("testTopic", this.mockPublisher);
+
+    for (int i = publishFutures.size() - 1; i >= 0; i--) {
+      publishFutures.get(i).set("id" + i);
+    }
+
+    BulkPublishResult result = future.get();
+    assertThat(result.hasFailures()).isFalse();
+    assertThat(result.getSuccessCount()).isEqualTo(250);
+    assertThat(result.getMessageId(0)).isEqualTo("id0");
+    assertThat(result.getMessageId(249)).isEqualTo("id249");
+    verify(this.mockPublisherFactory).releasePublisher("testTopic", this.mockPublisher);
+  }
+
+  @Test
+  void testPublishAll_partialFailure() throws ExecutionException, InterruptedException {
+    SettableApiFuture<String> failedFuture = SettableApiFuture.create();
+    failedFuture.setException(new Exception("Publish failed"));
+    SettableApiFuture<String> successfulFuture = SettableApiFuture.create();
+    successfulFuture.set("id");
+    PubsubMessage failingMessage =
+        PubsubMessage.newBuilder().setData(ByteString.copyFromUtf8("fail")).build();
+    when(this.mockPublisherFactory.createPublisher("testTopic")).thenReturn(this.mockPublisher);
+    when(this.mockPublisher.publish(isA(PubsubMessage.class))).thenReturn(successfulFuture);
+    when(this.mockPublisher.publish(failingMessage)).thenReturn(failedFuture);
+
+    BulkPublishResult result =
+        this.pubSubTemplate
+            .publishAll("testTopic", Arrays.asList("payload", failingMessage, new Object()))
+            .get();
+
+    assertThat(result.getMessageIds()).containsExactly("id", null, null);
+    assertThat(result.getFailureCount()).isEqualTo(2);
+    assertThat(result.getFailures().get(1))
+        .isInstanceOf(PubSubDeliveryException.class)
+        .hasMessage("Publishing to testTopic topic failed.")
+        .hasRootCauseMessage("Publish failed");
+    assertThat(((PubSubDeliveryException) result.getFailures().get(1)).getFailedMessage())
+        .isEqualTo(failingMessage);
+    assertThat(result.getFailures().get(2)).isInstanceOf(PubSubMessageConversionException.class);
+  }
+
+  @Test
+  void testPublishAll_limitsOutstandingMessages() {
+    PubSubPublisherTemplate publisherTemplate = createPublisherTemplate();
+    publisherTemplate.setBulkPublishMaxOutstandingMessages(2);
+    publisherTemplate.setBulkPublishExecutor(Runnable::run);
+    List<SettableApiFuture<String>> publishFutures =
+        Collections.synchronizedList(new ArrayList<>());
+    when(this.mockPublisherFactory.createPublisher("testTopic")).thenReturn(this.mockPublisher);
+    when(this.mockPublisher.publish(isA(PubsubMessage.class)))
+        .thenAnswer(
+            invocation -> {
+              SettableApiFuture<String> publishFuture = SettableApiFuture.create();
+              publishFutures.add(publishFuture);
+              return publishFuture;
+            });
+
+    CompletableFuture<BulkPublishResult> future =
+        publisherTemplate.publishAll("testTopic", Arrays.asList("a", "b", "c"));
+
+    // the caller returns at the limit instead of blocking for a permit
+    assertThat(future).isNotDone();
+    assertThat(publishFutures).hasSize(2);
+
+    publishFutures.get(0).set("id0");
+    assertThat(publishFutures).hasSize(3);
+    publishFutures.get(1).set("id1");
+    publishFutures.get(2).set("id2");
+
+    assertThat(future).isCompleted();
+    assertThat(future.join().getMessageIds()).containsExactly("id0", "id1", "id2");
+  }
+
+  @Test
+  void testPublishAll_publishesOnBulkPublishExecutor() {
+    PubSubPublisherTemplate publisherTemplate = createPublisherTemplate();
+    publisherTemplate.setBulkPublishMaxOutstandingMessages(1);
+    List<SettableApiFuture<String>> publishFutures =
+        Collections.synchronizedList(new ArrayList<>());
+    List<String> publishThreads = Collections.synchronizedList(new ArrayList<>());
+    when(this.mockPublisherFactory.createPublisher("testTopic")).thenReturn(this.mockPublisher);
+    when(this.mockPublisher.publish(isA(PubsubMessage.class)))
+        .thenAnswer(
+            invocation -> {
+              publishThreads.add(Thread.currentThread().getName());
+              SettableApiFuture<String> publishFuture = SettableApiFuture.create();
+              publishFutures.add(publishFuture);
+              return publishFuture;
+            });
+
+    CompletableFuture<BulkPublishResult> future =
+        publisherTemplate.publishAll("testTopic", Arrays.asList("a", "b"));
+    Awaitility.await().atMost(Duration.ofSeconds(5)).until(() -> publishFutures.size() == 1);
+    // the next message is not published on the thread completing the first one
+    publishFutures.get(0).set("id0");
+    Awaitility.await().atMost(Duration.ofSeconds(5)).until(() -> publishFutures.size() == 2);
+    publishFutures.get(1).set("id1");
+
+    assertThat(future.join().getMessageIds()).containsExactly("id0", "id1");
+    assertThat(publishThreads)
+        .allSatisfy(name -> assertThat(name).startsWith("gcp-pubsub-bulk-publish-"));
+
+    publisherTemplate.destroy();
+  }
+
+  @Test
+  void testPublishAll_rejectedByExecutor() {
+    PubSubPublisherTemplate publisherTemplate = createPublisherTemplate();
+    publisherTemplate.setBulkPublishExecutor(
+        task -> {
+          throw new RejectedExecutionException("shut down");
+        });
+    when(this.mockPublisherFactory.createPublisher("testTopic")).thenReturn(this.mockPublisher);
+
+    BulkPublishResult result =
+        publisherTemplate.publishAll("testTopic", Arrays.asList("a", "b")).join();
+
+    assertThat(result.getFailureCount()).isEqualTo(2);
+    assertThat(result.getFailures().get(0)).isInstanceOf(RejectedExecutionException.class);
+    verify(this.mockPublisher, never()).publish(any());
+  }
+
+  @Test
+  void testPublishAll_defaultPublishesOneByOne() {
+    PubSubPublisherOperations publisherOperations =
+        new PubSubPublisherOperations() {
+          @Override
+          public <T> CompletableFuture<String> publish(
+              String topic, T payload, Map<String, String> headers) {
+            if (payload instanceof String) {
+              return CompletableFuture.completedFuture(payload + "-id");
+            }
+            throw new PubSubMessageConversionException("Unsupported payload.");
+          }
+
+          @Override
+          public <T> CompletableFuture<String> publish(String topic, T payload) {
+            return publish(topic, payload, null);
+          }
+
+          @Override
+          public CompletableFuture<String> publish(String topic, PubsubMessage pubsubMessage) {
+            return CompletableFuture.failedFuture(
+                new PubSubDeliveryException(
+                    pubsubMessage, "Publish failed", new Exception("Publish failed")));
+          }
+        };
+
+    BulkPublishResult result =
+        publisherOperations
+            .publishAll("testTopic", Arrays.asList("a", this.pubsubMessage, new Object()))
+            .join();
+
+    assertThat(result.getMessageIds()).containsExactly("a-id", null, null);
+    assertThat(result.getFailures().get(1)).isInstanceOf(PubSubDeliveryException.class);
+    assertThat(result.getFailures().get(2)).isInstanceOf(PubSubMessageConversionException.class);
+  }
+
+  @Test
+  void testPublishAll_empty() {
+    when(this.mockPublisherFactory.createPublisher("testTopic")).thenReturn(this.mockPublisher);
+
+    CompletableFuture<BulkPublishResult> future =
+        this.pubSubTemplate.publishAll("testTopic", Collections.emptyList());
+
+    assertThat(future).isCompleted();
+    assertThat(future.join().getMessageIds()).isEmpty();
+    verify(this.mockPublisher, never()).publish(any());
+  }
+
   @Test
   void testSubscribe() {
 
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2023 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.spring.pubsub.core.health;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.api.MonitoredResource;
+import com.google.api.gax.grpc.GrpcStatusCode;
+import com.google.api.gax.rpc.ApiExceptionFactory;
+import com.google.cloud.monitoring.v3.MetricServiceClient;
+import com.google.cloud.monitoring.v3.MetricServiceClient.ListTimeSeriesPagedResponse;
+import com.google.monitoring.v3.Point;
+import com.google.monitoring.v3.ProjectName;
+import com.google.monitoring.v3.TimeSeries;
+import com.google.monitoring.v3.TypedValue;
+import com.google.pubsub.v1.ProjectSubscriptionName;
+import io.grpc.Status;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/** Tests for {@link BacklogSampler}. */
+@ExtendWith(MockitoExtension.class)
+class BacklogSamplerTests {
+
+  private static final ProjectSubscriptionName SUBSCRIPTION_A =
+      ProjectSubscriptionName.of("project-id", "subscription-a");
+
+  private static final ProjectSubscriptionName SUBSCRIPTION_B =
+      ProjectSubscriptionName.of("project-id", "subscription-b");
+
+  private static final ProjectSubscriptionName OTHER_PROJECT_SUBSCRIPTION =
+      ProjectSubscriptionName.of("other-project", "subscription-c");
+
+  @Mock private MetricServiceClient metricServiceClient;
+
+  @Mock private ListTimeSeriesPagedResponse pagedResponse;
+
+  @Test
+  void testSubscriptionsOfProjectSampledInOneQuery() {
+    BacklogSampler sampler = new BacklogSampler(metricServiceClient, 1, Duration.ofMinutes(1));
+    when(metricServiceClient.listTimeSeries(any(ProjectName.class), anyString(), any(), any()))
+        .thenReturn(pagedResponse);
+    when(pagedResponse.iterateAll())
+        .thenReturn(Collections.singletonList(timeSeries("subscription-a", 42)));
+
+    sampler.sample(Arrays.asList(SUBSCRIPTION_A, SUBSCRIPTION_B, OTHER_PROJECT_SUBSCRIPTION));
+
+    ArgumentCaptor<String> filter = ArgumentCaptor.forClass(String.class);
+    verify(metricServiceClient)
+        .listTimeSeries(eq(ProjectName.of("project-id")), filter.capture(), any(), any());
+    verify(metricServiceClient)
+        .listTimeSeries(eq(ProjectName.of("other-project")), anyString(), any(), any());
+    assertThat(filter.getValue())
+        .contains("resource.label.subscription_id=one_of(")
+        .contains("\"subscription-a\"")
+        .contains("\"subscription-b\"");
+
+    assertThat(sampler.getBacklog(SUBSCRIPTION_A)).contains(42L);
+    // no time series reported for these subscriptions
+    assertThat(sampler.getBacklog(SUBSCRIPTION_B)).isEmpty();
+    assertThat(sampler.getBacklog(OTHER_PROJECT_SUBSCRIPTION)).isEmpty();
+  }
+
+  @Test
+  void testLargeNumberOfSubscriptionsSampledInChunks() {
+    BacklogSampler sampler = new BacklogSampler(metricServiceClient, 1, Duration.ofMinutes(1));
+    when(metricServiceClient.listTimeSeries(any(ProjectName.class), anyString(), any(), any()))
+        .thenReturn(pagedResponse);
+    when(pagedResponse.iterateAll()).thenReturn(Collections.emptyList());
+    List<ProjectSubscriptionName> subscriptions =
+        IntStream.range(0, BacklogSampler.MAX_SUBSCRIPTIONS_PER_FILTER + 1)
+            .mapToObj(i -> ProjectSubscriptionName.of("project-id", "subscription-" + i))
+            .collect(Collectors.toList());
+
+    sampler.sample(subscriptions);
+
+    verify(metricServiceClient, times(2))
+        .listTimeSeries(any(ProjectName.class), anyString(), any(), any());
+  }
+
+  @Test
+  void testSamplesExpire() {
+    BacklogSampler sampler = new BacklogSampler(metricServiceClient, 1, Duration.ofMillis(100));
+    when(metricServiceClient.listTimeSeries(any(ProjectName.class), anyString(), any(), any()))
+        .thenReturn(pagedResponse)
+        .thenThrow(
+            ApiExceptionFactory.createException(
+                new RuntimeException("unavailable"),
+                GrpcStatusCode.of(Status.Code.UNAVAILABLE),
+                true));
+    when(pagedResponse.iterateAll())
+        .thenReturn(Collections.singletonList(timeSeries("subscription-a", 42)));
+
+    sampler.sample(Collections.singletonList(SUBSCRIPTION_A));
+    // a failed sampling keeps the previous sample until it expires
+    sampler.sample(Collections.singletonList(SUBSCRIPTION_A));
+    assertThat(sampler.getBacklog(SUBSCRIPTION_A)).contains(42L);
+
+    Awaitility.await()
+        .atMost(5, TimeUnit.SECONDS)
+        .until(() -> !sampler.getBacklog(SUBSCRIPTION_A).isPresent());
+  }
+
+  @Test
+  void testUntrackedSubscriptionsForgotten() {
+    BacklogSampler sampler = new BacklogSampler(metricServiceClient, 1, Duration.ofMinutes(1));
+    when(metricServiceClient.listTimeSeries(any(ProjectName.class), anyString(), any(), any()))
+        .thenReturn(pagedResponse);
+    when(pagedResponse.iterateAll())
+        .thenReturn(
+            Arrays.asList(timeSeries("subscription-a", 42), timeSeries("subscription-b", 7)));
+
+    sampler.sample(Arrays.asList(SUBSCRIPTION_A, SUBSCRIPTION_B));
+    assertThat(sampler.getBacklog(SUBSCRIPTION_B)).contains(7L);
+
+    when(pagedResponse.iterateAll())
+        .thenReturn(Collections.singletonList(timeSeries("subscription-a", 43)));
+    sampler.sample(Collections.singletonList(SUBSCRIPTION_A));
+
+    assertThat(sampler.getBacklog(SUBSCRIPTION_A)).contains(43L);
+    assertThat(sampler.getBacklog(SUBSCRIPTION_B)).isEmpty();
+  }
+
+  private static TimeSeries timeSeries(String subscriptionId, long backlog) {
+    return TimeSeries.newBuilder()
+        .setResource(
+            MonitoredResource.newBuilder().putLabels("subscription_id", subscriptionId).build())
+        .addPoints(
+            Point.newBuilder().setValue(TypedValue.newBuilder().setInt64Value(backlog).build()))
+        .build();
+  }
+}
@@ -21,6 +21,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.google.cloud.monitoring.v3.MetricServiceClient;
@@ -32,6 +33,7 @@ import com.google.monitoring.v3.ProjectName;
 import com.google.monitoring.v3.TimeSeries;
 import com.google.monitoring.v3.TypedValue;
 import com.google.pubsub.v1.ProjectSubscriptionName;
+import java.util.Optional;
 import java.util.concurrent.locks.LockSupport;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -153,4 +155,24 @@ class HealthTrackerImplTests {
     long messagesOverThreshold = healthTracker.messagesOverThreshold();
     assertThat(messagesOverThreshold).isEqualTo(1);
   }
+
+  @Test
+  void messagesOverThresholdReadFromBacklogSampler() {
+    BacklogSampler backlogSampler = mock(BacklogSampler.class);
+    ProjectSubscriptionName subscription = ProjectSubscriptionName.of(PROJECT_ID, SUBSCRIPTION_ID);
+    HealthTracker sampledHealthTracker =
+        new HealthTrackerImpl(
+            subscription,
+            metricServiceClient,
+            0,
+            BACKLOG_THRESHOLD,
+            MINUTE_INTERNAL,
+            backlogSampler);
+    when(backlogSampler.getBacklog(subscription)).thenReturn(Optional.of(201L));
+
+    long messagesOverThreshold = sampledHealthTracker.messagesOverThreshold();
+
+    assertThat(messagesOverThreshold).isEqualTo(1);
+    verifyNoInteractions(metricServiceClient);
+  }
 }
@@ -18,6 +18,8 @@ package com.google.cloud.spring.pubsub.core.health;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -27,11 +29,17 @@ import com.google.api.core.ApiService;
 import com.google.api.core.ApiService.State;
 import com.google.api.gax.core.ExecutorProvider;
 import com.google.cloud.monitoring.v3.MetricServiceClient;
+import com.google.cloud.monitoring.v3.MetricServiceClient.ListTimeSeriesPagedResponse;
 import com.google.cloud.pubsub.v1.MessageReceiver;
 import com.google.cloud.pubsub.v1.Subscriber;
+import com.google.monitoring.v3.ProjectName;
 import com.google.pubsub.v1.ProjectSubscriptionName;
+import java.time.Duration;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -222,4 +230,29 @@ class HealthTrackerRegistryImplTests {
 
     verify(healthTrackers).containsKey(subscriptionName);
   }
+
+  @Test
+  void testBacklogSampling() {
+    ScheduledExecutorService executor = mock(ScheduledExecutorService.class);
+    when(executorProvider.getExecutor()).thenReturn(executor);
+    ListTimeSeriesPagedResponse pagedResponse = mock(ListTimeSeriesPagedResponse.class);
+    when(pagedResponse.iterateAll()).thenReturn(Collections.emptyList());
+    when(metricServiceClient.listTimeSeries(any(ProjectName.class), anyString(), any(), any()))
+        .thenReturn(pagedResponse);
+
+    ((HealthTrackerRegistryImpl) healthTrackerRegistry)
+        .startBacklogSampling(Duration.ofSeconds(10), Duration.ofSeconds(30));
+    healthTrackerRegistry.registerTracker("subscription-a");
+    healthTrackerRegistry.registerTracker("subscription-b");
+
+    ArgumentCaptor<Runnable> sampling = ArgumentCaptor.forClass(Runnable.class);
+    verify(executor)
+        .scheduleAtFixedRate(
+            sampling.capture(), eq(0L), eq(10000L), eq(TimeUnit.MILLISECONDS));
+    sampling.getValue().run();
+
+    // both subscriptions are sampled in a single query
+    verify(metricServiceClient, times(1))
+        .listTimeSeries(any(ProjectName.class), anyString(), any(), any());
+  }
 }
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2023 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.spring.pubsub.core.subscriber;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.api.core.ApiFuture;
+import com.google.api.core.SettableApiFuture;
+import com.google.protobuf.Empty;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/** Tests for {@link AcknowledgementBatcher}. */
+class AcknowledgementBatcherTests {
+
+  private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+  private final List<SentBatch> sentBatches = Collections.synchronizedList(new ArrayList<>());
+
+  private final List<SettableApiFuture<Empty>> results =
+      Collections.synchronizedList(new ArrayList<>());
+
+  @AfterEach
+  void tearDown() {
+    this.scheduler.shutdownNow();
+  }
+
+  @Test
+  void testAckIdsOfSeparateCallsSentTogether() throws Exception {
+    AcknowledgementBatcher batcher = createBatcher(Duration.ofHours(1), 100);
+
+    ApiFuture<Empty> first = batcher.add("sub", AcknowledgementBatcher.ACK, List.of("ack1"));
+    ApiFuture<Empty> second =
+        batcher.add("sub", AcknowledgementBatcher.ACK, List.of("ack2", "ack3"));
+    ApiFuture<Empty> otherSubscription =
+        batcher.add("other-sub", AcknowledgementBatcher.ACK, List.of("ack4"));
+    ApiFuture<Empty> nack = batcher.add("sub", 0, List.of("ack5"));
+
+    assertThat(this.sentBatches).isEmpty();
+    batcher.flush();
+
+    assertThat(this.sentBatches)
+        .containsExactlyInAnyOrder(
+            new SentBatch("sub", AcknowledgementBatcher.ACK, List.of("ack1", "ack2", "ack3")),
+            new SentBatch("other-sub", AcknowledgementBatcher.ACK, List.of("ack4")),
+            new SentBatch("sub", 0, List.of("ack5")));
+    assertThat(first.isDone()).isFalse();
+
+    completeAll();
+    assertThat(first.get()).isNotNull();
+    assertThat(second.get()).isNotNull();
+    assertThat(otherSubscription.get()).isNotNull();
+    assertThat(nack.get()).isNotNull();
+  }
+
+  @Test
+  void testBatchSentAfterDelay() throws Exception {
+    AcknowledgementBatcher batcher = createBatcher(Duration.ofMillis(50), 100);
+
+    ApiFuture<Empty> result = batcher.add("sub", AcknowledgementBatcher.ACK, List.of("ack1"));
+    batcher.add("sub", AcknowledgementBatcher.ACK, List.of("ack2"));
+
+    Awaitility.await().atMost(Duration.ofSeconds(1)).until(() -> this.sentBatches.size() == 1);
+    assertThat(this.sentBatches.get(0).ackIds).containsExactly("ack1", "ack2");
+
+    completeAll();
+    assertThat(result.get(1, TimeUnit.SECONDS)).isNotNull();
+  }
+
+  @Test
+  void testFullBatchSentImmediatelyAndCallSpansBatches() throws Exception {
+    AcknowledgementBatcher batcher = createBatcher(Duration.ofHours(1), 2);
+
+    batcher.add("sub", AcknowledgementBatcher.ACK, List.of("ack1"));
+    ApiFuture<Empty> spanning =
+        batcher.add("sub", AcknowledgementBatcher.ACK, List.of("ack2", "ack3", "ack4", "ack5"));
+
+    assertThat(this.sentBatches)
+        .extracting(SentBatch::ackIds)
+        .containsExactly(List.of("ack1", "ack2"), List.of("ack3", "ack4"));
+
+    completeAll();
+    assertThat(spanning.isDone()).isFalse();
+
+    batcher.flush();
+    assertThat(this.sentBatches.get(2).ackIds).containsExactly("ack5");
+    completeAll();
+    assertThat(spanning.get()).isNotNull();
+  }
+
+  @Test
+  void testAckIdsSentRightAwayOnceSchedulerShutDown() throws Exception {
+    AcknowledgementBatcher batcher = createBatcher(Duration.ofHours(1), 100);
+    this.scheduler.shutdown();
+
+    ApiFuture<Empty> result =
+        batcher.add("sub", AcknowledgementBatcher.ACK, List.of("ack1", "ack2"));
+
+    assertThat(this.sentBatches)
+        .containsExactly(
+            new SentBatch("sub", AcknowledgementBatcher.ACK, List.of("ack1", "ack2")));
+    completeAll();
+    assertThat(result.get(1, TimeUnit.SECONDS)).isNotNull();
+  }
+
+  @Test
+  void testBatchSplitAtRequestSizeLimit() {
+    AcknowledgementBatcher batcher =
+        createBatcher(Duration.ofHours(1), AcknowledgementBatcher.MAX_ACK_IDS_PER_REQUEST);
+    char[] chars = new char[1000];
+    Arrays.fill(chars, 'a');
+    String longAckId = new String(chars);
+    List<String> ackIds =
+        IntStream.range(0, 1000).mapToObj(i -> longAckId).collect(Collectors.toList());
+
+    batcher.add("sub", AcknowledgementBatcher.ACK, ackIds);
+    batcher.flush();
+
+    assertThat(this.sentBatches).hasSizeGreaterThan(1);
+    assertThat(this.sentBatches)
+        .allSatisfy(
+            batch ->
+                assertThat(batch.ackIds.size() * (longAckId.length() + 3))
+                    .isLessThanOrEqualTo(AcknowledgementBatcher.MAX_REQUEST_BYTES));
+    assertThat(this.sentBatches.stream().mapToInt(batch -> batch.ackIds.size()).sum())
+        .isEqualTo(1000);
+  }
+
+  @Test
+  void testBatchFailurePropagatedToAllCallers() {
+    AcknowledgementBatcher batcher = createBatcher(Duration.ofHours(1), 100);
+
+    ApiFuture<Empty> first = batcher.add("sub", AcknowledgementBatcher.ACK, List.of("ack1"));
+    ApiFuture<Empty> second = batcher.add("sub", AcknowledgementBatcher.ACK, List.of("ack2"));
+    batcher.flush();
+    this.results.get(0).setException(new IllegalStateException("ack failed"));
+
+    assertThatThrownBy(first::get)
+        .isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(IllegalStateException.class);
+    assertThatThrownBy(second::get)
+        .isInstanceOf(ExecutionException.class)
+        .hasMessageContaining("ack failed");
+  }
+
+  @Test
+  void testInvalidBatchSize() {
+    assertThatThrownBy(() -> createBatcher(Duration.ZERO, 2501))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("The maximum batch size must be between 1 and 2500.");
+  }
+
+  private AcknowledgementBatcher createBatcher(Duration delay, int maxBatchSize) {
+    return new AcknowledgementBatcher(
+        delay,
+        maxBatchSize,
+        this.scheduler,
+        (subscriptionName, ackDeadlineSeconds, ackIds) -> {
+          SettableApiFuture<Empty> result = SettableApiFuture.create();
+          this.results.add(result);
+          this.sentBatches.add(new SentBatch(subscriptionName, ackDeadlineSeconds, ackIds));
+          return result;
+        });
+  }
+
+  private void completeAll() {
+    this.results.forEach(result -> result.set(Empty.getDefaultInstance()));
+  }
+
+  private record SentBatch(String subscriptionName, int ackDeadlineSeconds, List<String> ackIds) {}
+}
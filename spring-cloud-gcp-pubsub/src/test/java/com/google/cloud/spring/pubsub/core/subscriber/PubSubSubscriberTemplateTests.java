@@ -48,6 +48,7 @@ import com.google.pubsub.v1.PullRequest;
 import com.google.pubsub.v1.PullResponse;
 import com.google.pubsub.v1.ReceivedMessage;
 import java.math.BigInteger;
+import java.time.Duration;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -55,10 +56,12 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import org.apache.commons.lang3.reflect.FieldUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -408,6 +411,49 @@ class PubSubSubscriberTemplateTests {
     verify(this.ackApiFuture, times(2)).addListener(any(), same(mockExecutor));
   }
 
+  @Test
+  void testPull_AndBatchedAcks()
+      throws InterruptedException, ExecutionException, TimeoutException {
+    this.pubSubSubscriberTemplate.setAckBatching(Duration.ofHours(1), 100);
+
+    AcknowledgeablePubsubMessage message1 =
+        this.pubSubSubscriberTemplate.pull("sub1", 1, true).get(0);
+    AcknowledgeablePubsubMessage message2 =
+        this.pubSubSubscriberTemplate.pull("sub1", 1, true).get(0);
+
+    CompletableFuture<Void> ack1 = message1.ack();
+    CompletableFuture<Void> ack2 = message2.ack();
+    CompletableFuture<Void> nack = message1.nack();
+    verify(this.ackCallable, never()).futureCall(any(AcknowledgeRequest.class));
+    assertThat(ack1).isNotDone();
+
+    // pending batches are sent when the template is destroyed
+    this.pubSubSubscriberTemplate.destroy();
+
+    ack1.get(10L, TimeUnit.SECONDS);
+    ack2.get(10L, TimeUnit.SECONDS);
+    nack.get(10L, TimeUnit.SECONDS);
+    ArgumentCaptor<AcknowledgeRequest> ackRequest =
+        ArgumentCaptor.forClass(AcknowledgeRequest.class);
+    verify(this.ackCallable).futureCall(ackRequest.capture());
+    assertThat(ackRequest.getValue().getAckIdsCount()).isEqualTo(2);
+    verify(this.modifyAckDeadlineCallable).futureCall(any(ModifyAckDeadlineRequest.class));
+  }
+
+  @Test
+  void testAckBatching_schedulesOnNamedDaemonThread() throws Exception {
+    this.pubSubSubscriberTemplate.setAckBatching(Duration.ofHours(1), 100);
+    ScheduledExecutorService scheduler =
+        (ScheduledExecutorService)
+            FieldUtils.readField(this.pubSubSubscriberTemplate, "ackBatchingScheduler", true);
+
+    Thread schedulerThread = scheduler.submit(Thread::currentThread).get(10L, TimeUnit.SECONDS);
+
+    assertThat(schedulerThread.isDaemon()).isTrue();
+    assertThat(schedulerThread.getName()).startsWith("gcp-pubsub-ack-batching-");
+    this.pubSubSubscriberTemplate.destroy();
+  }
+
   @Test
   void testPullAsync_AndManualAck()
       throws InterruptedException, ExecutionException, TimeoutException {
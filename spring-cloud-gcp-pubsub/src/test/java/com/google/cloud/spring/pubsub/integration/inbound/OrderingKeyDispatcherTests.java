@@ -0,0 +1,180 @@
+/*
+ * Copyright 2023 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.spring.pubsub.integration.inbound;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.cloud.spring.pubsub.support.BasicAcknowledgeablePubsubMessage;
+import com.google.protobuf.ByteString;
+import com.google.pubsub.v1.PubsubMessage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/** Tests for {@link OrderingKeyDispatcher}. */
+class OrderingKeyDispatcherTests {
+
+  private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+  private final List<String> processed = Collections.synchronizedList(new ArrayList<>());
+
+  @AfterEach
+  void tearDown() {
+    this.executor.shutdownNow();
+  }
+
+  @Test
+  void testKeysProcessedConcurrentlyAndInOrder() {
+    // "blocked", "key0" and "key1" are hashed onto different stripes
+    OrderingKeyDispatcher dispatcher = new OrderingKeyDispatcher(this.executor, 4);
+    CountDownLatch blockedKey = new CountDownLatch(1);
+
+    dispatcher.dispatch(
+        message("blocked", "0"),
+        message -> {
+          await(blockedKey);
+          return process(message);
+        });
+    for (int i = 0; i < 20; i++) {
+      dispatcher.dispatch(message("key" + (i % 2), Integer.toString(i)), this::process);
+      dispatcher.dispatch(message("blocked", Integer.toString(i + 1)), this::process);
+    }
+
+    // other keys make progress while the first message of the blocked key is being processed
+    Awaitility.await()
+        .atMost(5, TimeUnit.SECONDS)
+        .until(() -> this.processed.stream().filter(id -> id.startsWith("key")).count() == 20);
+    assertThat(this.processed).noneMatch(id -> id.startsWith("blocked"));
+
+    blockedKey.countDown();
+    Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> this.processed.size() == 41);
+
+    assertThat(this.processed)
+        .filteredOn(id -> id.startsWith("blocked"))
+        .containsExactlyElementsOf(
+            IntStream.rangeClosed(0, 20)
+                .mapToObj(i -> "blocked/" + i)
+                .collect(Collectors.toList()));
+    assertThat(this.processed)
+        .filteredOn(id -> id.startsWith("key0"))
+        .containsExactly(
+            "key0/0", "key0/2", "key0/4", "key0/6", "key0/8", "key0/10", "key0/12", "key0/14",
+            "key0/16", "key0/18");
+  }
+
+  @Test
+  void testMessagesAfterFailureNacked() {
+    OrderingKeyDispatcher dispatcher = new OrderingKeyDispatcher(this.executor, 1);
+    CountDownLatch firstMessage = new CountDownLatch(1);
+    BasicAcknowledgeablePubsubMessage failing = message("key", "1");
+    BasicAcknowledgeablePubsubMessage skipped = message("key", "2");
+    BasicAcknowledgeablePubsubMessage otherKey = message("other", "3");
+
+    dispatcher.dispatch(
+        failing,
+        message -> {
+          await(firstMessage);
+          return false;
+        });
+    dispatcher.dispatch(skipped, this::process);
+    dispatcher.dispatch(otherKey, this::process);
+    firstMessage.countDown();
+
+    Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> this.processed.size() == 1);
+    verify(skipped).nack();
+    assertThat(this.processed).containsExactly("other/3");
+
+    // once the failed messages are out of the way, the key is processed again
+    BasicAcknowledgeablePubsubMessage redelivered = message("key", "1");
+    dispatcher.dispatch(redelivered, this::process);
+    Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> this.processed.size() == 2);
+    verify(redelivered, never()).nack();
+  }
+
+  @Test
+  void testKeyFailedUntilFailedMessageRedelivered() {
+    OrderingKeyDispatcher dispatcher = new OrderingKeyDispatcher(this.executor, 1);
+    dispatcher.dispatch(message("key", "1"), message -> false);
+    // processed after the failed message on the single stripe
+    dispatcher.dispatch(message("other", "2"), this::process);
+    Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> this.processed.size() == 1);
+
+    // no message of the key is pending any more, but the key is still failed
+    BasicAcknowledgeablePubsubMessage later = message("key", "3");
+    dispatcher.dispatch(later, this::process);
+    verify(later, timeout(5000)).nack();
+
+    dispatcher.dispatch(message("key", "1"), this::process);
+    dispatcher.dispatch(message("key", "3"), this::process);
+    Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> this.processed.size() == 3);
+    assertThat(this.processed).containsExactly("other/2", "key/1", "key/3");
+  }
+
+  @Test
+  void testRejectedMessageNacked() {
+    this.executor.shutdown();
+    OrderingKeyDispatcher dispatcher = new OrderingKeyDispatcher(this.executor, 2);
+    BasicAcknowledgeablePubsubMessage message = message("key", "1");
+
+    dispatcher.dispatch(message, this::process);
+
+    verify(message).nack();
+    assertThat(this.processed).isEmpty();
+  }
+
+  private boolean process(BasicAcknowledgeablePubsubMessage message) {
+    this.processed.add(
+        message.getPubsubMessage().getOrderingKey()
+            + "/"
+            + message.getPubsubMessage().getData().toStringUtf8());
+    return true;
+  }
+
+  private static BasicAcknowledgeablePubsubMessage message(String orderingKey, String data) {
+    BasicAcknowledgeablePubsubMessage message = mock(BasicAcknowledgeablePubsubMessage.class);
+    when(message.getPubsubMessage())
+        .thenReturn(
+            PubsubMessage.newBuilder()
+                .setOrderingKey(orderingKey)
+                .setMessageId(data)
+                .setData(ByteString.copyFromUtf8(data))
+                .build());
+    return message;
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
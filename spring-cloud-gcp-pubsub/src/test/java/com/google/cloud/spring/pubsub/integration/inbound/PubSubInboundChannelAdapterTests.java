@@ -31,6 +31,7 @@ import com.google.cloud.spring.pubsub.integration.AckMode;
 import com.google.cloud.spring.pubsub.support.GcpPubSubHeaders;
 import com.google.cloud.spring.pubsub.support.converter.ConvertedBasicAcknowledgeablePubsubMessage;
 import com.google.pubsub.v1.PubsubMessage;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -186,6 +187,34 @@ class PubSubInboundChannelAdapterTests {
     assertThat(capturedOutput).contains("failed; message neither acked nor nacked").contains(EXCEPTION_MESSAGE);
   }
 
+  @Test
+  @SuppressWarnings("unchecked")
+  void testOrderingKeyConcurrency_dispatchesOrderedMessages() {
+    when(this.mockMessageChannel.send(any())).thenReturn(true);
+    when(mockAcknowledgeableMessage.getPubsubMessage())
+        .thenReturn(PubsubMessage.newBuilder().setOrderingKey("key").build());
+    when(mockAcknowledgeableMessage.getPayload()).thenReturn("Test message payload.");
+    ArgumentCaptor<Consumer> consumer = ArgumentCaptor.forClass(Consumer.class);
+    when(this.mockPubSubSubscriberOperations.subscribeAndConvert(
+            anyString(), consumer.capture(), any(Class.class)))
+        .thenReturn(null);
+    Executor executor = mock(Executor.class);
+
+    this.adapter.setOrderingKeyConcurrency(2);
+    this.adapter.setOrderingKeyExecutor(executor);
+    this.adapter.start();
+    consumer.getValue().accept(mockAcknowledgeableMessage);
+
+    // handed over to the ordering key executor rather than processed on the subscriber thread
+    ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+    verify(executor).execute(task.capture());
+    verify(mockAcknowledgeableMessage, times(0)).ack();
+
+    task.getValue().run();
+    verify(this.mockMessageChannel).send(any());
+    verify(mockAcknowledgeableMessage).ack();
+  }
+
   @Test
   void testSetHealthRegistry_Success() {
 
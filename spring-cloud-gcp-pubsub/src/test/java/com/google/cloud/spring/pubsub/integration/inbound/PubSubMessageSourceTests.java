@@ -18,11 +18,16 @@ package com.google.cloud.spring.pubsub.integration.inbound;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.google.cloud.spring.pubsub.core.PubSubException;
 import com.google.cloud.spring.pubsub.core.subscriber.PubSubSubscriberOperations;
 import com.google.cloud.spring.pubsub.integration.AckMode;
 import com.google.cloud.spring.pubsub.support.GcpPubSubHeaders;
@@ -30,6 +35,8 @@ import com.google.cloud.spring.pubsub.support.converter.ConvertedAcknowledgeable
 import com.google.pubsub.v1.PubsubMessage;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -300,4 +307,123 @@ class PubSubMessageSourceTests {
 
     verify(this.mockPubSubSubscriberOperations).pullAndConvert("sub1", 1, false, String.class);
   }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void doReceive_prefetchesNextBatchAtLowWatermark() {
+    CompletableFuture<List<ConvertedAcknowledgeablePubsubMessage<String>>> secondPull =
+        new CompletableFuture<>();
+    when(this.mockPubSubSubscriberOperations.pullAndConvertAsync("sub1", 2, true, String.class))
+        .thenReturn(
+            CompletableFuture.completedFuture(Arrays.asList(this.msg1, this.msg2)),
+            secondPull,
+            CompletableFuture.completedFuture(Collections.emptyList()));
+    PubSubMessageSource pubSubMessageSource =
+        new PubSubMessageSource(this.mockPubSubSubscriberOperations, "sub1");
+    pubSubMessageSource.setMaxFetchSize(2);
+    pubSubMessageSource.setPayloadType(String.class);
+    pubSubMessageSource.setPrefetchLowWatermark(1);
+
+    MessageBuilder<String> message1 = (MessageBuilder<String>) pubSubMessageSource.doReceive(2);
+    // the next batch is requested while msg2 is still buffered
+    verify(this.mockPubSubSubscriberOperations, times(2))
+        .pullAndConvertAsync("sub1", 2, true, String.class);
+
+    MessageBuilder<String> message2 = (MessageBuilder<String>) pubSubMessageSource.doReceive(2);
+    verify(this.mockPubSubSubscriberOperations, times(2))
+        .pullAndConvertAsync("sub1", 2, true, String.class);
+
+    secondPull.complete(Collections.singletonList(this.msg3));
+    MessageBuilder<String> message3 = (MessageBuilder<String>) pubSubMessageSource.doReceive(2);
+
+    assertThat(message1.getPayload()).isEqualTo("msg1");
+    assertThat(message2.getPayload()).isEqualTo("msg2");
+    assertThat(message3.getPayload()).isEqualTo("msg3");
+    verify(this.mockPubSubSubscriberOperations, never())
+        .pullAndConvert(any(), anyInt(), anyBoolean(), any());
+    pubSubMessageSource.stop();
+  }
+
+  @Test
+  void stop_nacksPrefetchedMessages() {
+    CompletableFuture<List<ConvertedAcknowledgeablePubsubMessage<String>>> secondPull =
+        new CompletableFuture<>();
+    when(this.mockPubSubSubscriberOperations.pullAndConvertAsync("sub1", 2, true, String.class))
+        .thenReturn(
+            CompletableFuture.completedFuture(Arrays.asList(this.msg1, this.msg2)), secondPull);
+    PubSubMessageSource pubSubMessageSource =
+        new PubSubMessageSource(this.mockPubSubSubscriberOperations, "sub1");
+    pubSubMessageSource.setMaxFetchSize(2);
+    pubSubMessageSource.setPayloadType(String.class);
+    pubSubMessageSource.setPrefetchLowWatermark(1);
+
+    pubSubMessageSource.doReceive(2);
+    pubSubMessageSource.stop();
+
+    assertThat(pubSubMessageSource.isRunning()).isFalse();
+    verify(this.mockPubSubSubscriberOperations).nack(Collections.singletonList(this.msg2));
+
+    // messages of a pull still in flight when stopping are nacked once received
+    secondPull.complete(Collections.singletonList(this.msg3));
+    verify(this.mockPubSubSubscriberOperations).nack(Collections.singletonList(this.msg3));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void doReceive_prefetchedBatchAckDeadlineExtendedOnArrival() {
+    when(this.mockPubSubSubscriberOperations.pullAndConvertAsync("sub1", 2, true, String.class))
+        .thenReturn(
+            CompletableFuture.completedFuture(Arrays.asList(this.msg1, this.msg2)),
+            new CompletableFuture<>());
+    PubSubMessageSource pubSubMessageSource =
+        new PubSubMessageSource(this.mockPubSubSubscriberOperations, "sub1");
+    pubSubMessageSource.setMaxFetchSize(2);
+    pubSubMessageSource.setPayloadType(String.class);
+    pubSubMessageSource.setPrefetchLowWatermark(1);
+    pubSubMessageSource.setPrefetchAckDeadlineSeconds(120);
+
+    MessageBuilder<String> message = (MessageBuilder<String>) pubSubMessageSource.doReceive(2);
+
+    assertThat(message.getPayload()).isEqualTo("msg1");
+    verify(this.mockPubSubSubscriberOperations)
+        .modifyAckDeadline(Arrays.asList(this.msg1, this.msg2), 120);
+    pubSubMessageSource.stop();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void doReceive_prefetchesAgainAfterRestart() {
+    when(this.mockPubSubSubscriberOperations.pullAndConvertAsync("sub1", 1, true, String.class))
+        .thenReturn(CompletableFuture.completedFuture(Collections.singletonList(this.msg1)));
+    PubSubMessageSource pubSubMessageSource =
+        new PubSubMessageSource(this.mockPubSubSubscriberOperations, "sub1");
+    pubSubMessageSource.setPayloadType(String.class);
+    pubSubMessageSource.setPrefetchLowWatermark(0);
+
+    pubSubMessageSource.stop();
+    assertThat(pubSubMessageSource.doReceive(1)).isNull();
+    verify(this.mockPubSubSubscriberOperations, never())
+        .pullAndConvertAsync(any(), anyInt(), anyBoolean(), any());
+
+    pubSubMessageSource.start();
+    MessageBuilder<String> message = (MessageBuilder<String>) pubSubMessageSource.doReceive(1);
+
+    assertThat(message).isNotNull();
+    assertThat(message.getPayload()).isEqualTo("msg1");
+    pubSubMessageSource.stop();
+  }
+
+  @Test
+  void doReceive_prefetchFailurePropagatesWhenNothingBuffered() {
+    when(this.mockPubSubSubscriberOperations.pullAndConvertAsync("sub1", 1, true, String.class))
+        .thenReturn(CompletableFuture.failedFuture(new PubSubException("pull failed")));
+    PubSubMessageSource pubSubMessageSource =
+        new PubSubMessageSource(this.mockPubSubSubscriberOperations, "sub1");
+    pubSubMessageSource.setPayloadType(String.class);
+    pubSubMessageSource.setPrefetchLowWatermark(0);
+
+    assertThatThrownBy(() -> pubSubMessageSource.doReceive(1))
+        .isInstanceOf(PubSubException.class)
+        .hasMessage("pull failed");
+  }
 }
@@ -22,12 +22,16 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.google.api.core.ApiService;
 import com.google.api.gax.grpc.GrpcStatusCode;
 import com.google.api.gax.rpc.DeadlineExceededException;
+import com.google.cloud.pubsub.v1.Subscriber;
 import com.google.cloud.spring.pubsub.core.subscriber.PubSubSubscriberOperations;
 import com.google.cloud.spring.pubsub.support.AcknowledgeablePubsubMessage;
+import com.google.cloud.spring.pubsub.support.BasicAcknowledgeablePubsubMessage;
 import com.google.protobuf.ByteString;
 import com.google.pubsub.v1.PubsubMessage;
 import io.grpc.Status;
@@ -37,9 +41,11 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -203,7 +209,65 @@ class PubSubReactiveFactoryTests {
     methodOrder.verifyNoMoreInteractions();
   }
 
-  private String messageToString(AcknowledgeablePubsubMessage message) {
+  @Test
+  void testStreamingPullHoldsMessagesUntilRequested() {
+    Subscriber subscriber = mock(Subscriber.class);
+    when(subscriber.state()).thenReturn(ApiService.State.RUNNING);
+    ArgumentCaptor<Consumer<BasicAcknowledgeablePubsubMessage>> receiver =
+        ArgumentCaptor.forClass(Consumer.class);
+    when(subscriberOperations.subscribe(eq("sub1"), receiver.capture())).thenReturn(subscriber);
+    BasicAcknowledgeablePubsubMessage undelivered = mock(BasicAcknowledgeablePubsubMessage.class);
+
+    StepVerifier.create(factory.streamingPull("sub1").map(this::messageToString), 1)
+        .expectSubscription()
+        .then(
+            () -> {
+              receiver.getValue().accept(streamedMessage("msg1"));
+              receiver.getValue().accept(streamedMessage("msg2"));
+              receiver.getValue().accept(streamedMessage("msg3"));
+              receiver.getValue().accept(undelivered);
+            })
+        .expectNext("msg1")
+        .expectNoEvent(Duration.ofMillis(50))
+        .thenRequest(2)
+        .expectNext("msg2", "msg3")
+        .thenCancel()
+        .verify();
+
+    verify(subscriber).stopAsync();
+    verify(undelivered).nack();
+  }
+
+  @Test
+  void testStreamingPullSubscriberFailureResultsInErrorStream() {
+    Subscriber subscriber = mock(Subscriber.class);
+    when(subscriber.state()).thenReturn(ApiService.State.RUNNING);
+    ArgumentCaptor<ApiService.Listener> listener =
+        ArgumentCaptor.forClass(ApiService.Listener.class);
+    when(subscriberOperations.subscribe(eq("sub1"), any())).thenReturn(subscriber);
+
+    StepVerifier.create(factory.streamingPull("sub1"))
+        .expectSubscription()
+        .then(
+            () -> {
+              verify(subscriber).addListener(listener.capture(), any());
+              listener
+                  .getValue()
+                  .failed(ApiService.State.RUNNING, new RuntimeException("streaming pull failed"));
+            })
+        .expectErrorMessage("streaming pull failed")
+        .verify();
+  }
+
+  private BasicAcknowledgeablePubsubMessage streamedMessage(String payload) {
+    BasicAcknowledgeablePubsubMessage msg = mock(BasicAcknowledgeablePubsubMessage.class);
+    PubsubMessage pubsubMessage =
+        PubsubMessage.newBuilder().setData(ByteString.copyFromUtf8(payload)).build();
+    when(msg.getPubsubMessage()).thenReturn(pubsubMessage);
+    return msg;
+  }
+
+  private String messageToString(BasicAcknowledgeablePubsubMessage message) {
     return new String(message.getPubsubMessage().getData().toByteArray(), Charset.defaultCharset());
   }
 
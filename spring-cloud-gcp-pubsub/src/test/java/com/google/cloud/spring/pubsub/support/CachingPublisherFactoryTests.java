@@ -17,11 +17,20 @@
 package com.google.cloud.spring.pubsub.support;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.cloud.pubsub.v1.Publisher;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.awaitility.Awaitility;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
@@ -58,4 +67,104 @@ class CachingPublisherFactoryTests {
     verify(publisher1, times(1)).shutdown();
     verify(publisher2, times(1)).shutdown();
   }
+
+  @Test
+  void testLeastRecentlyUsedPublisherEvictedAndShutDown() throws InterruptedException {
+    CachingPublisherFactory cachingPublisherFactory =
+        new CachingPublisherFactory(delegate, 1L, null);
+
+    when(delegate.createPublisher("topic1")).thenReturn(publisher1);
+    when(delegate.createPublisher("topic2")).thenReturn(publisher2);
+    when(publisher1.awaitTermination(anyLong(), eq(TimeUnit.MILLISECONDS))).thenReturn(true);
+
+    assertThat(cachingPublisherFactory.createPublisher("topic1")).isEqualTo(publisher1);
+    cachingPublisherFactory.releasePublisher("topic1", publisher1);
+    assertThat(cachingPublisherFactory.createPublisher("topic1")).isEqualTo(publisher1);
+    cachingPublisherFactory.releasePublisher("topic1", publisher1);
+    assertThat(cachingPublisherFactory.createPublisher("topic2")).isEqualTo(publisher2);
+
+    Awaitility.await()
+        .atMost(Duration.ofSeconds(1))
+        .untilAsserted(() -> verify(publisher1).awaitTermination(10000L, TimeUnit.MILLISECONDS));
+    verify(publisher1).shutdown();
+    verify(publisher2, never()).shutdown();
+
+    assertThat(cachingPublisherFactory.getCachedPublisherCount()).isEqualTo(1);
+    assertThat(cachingPublisherFactory.getHitCount()).isEqualTo(1);
+    assertThat(cachingPublisherFactory.getMissCount()).isEqualTo(2);
+    assertThat(cachingPublisherFactory.getEvictionCount()).isEqualTo(1);
+
+    // an evicted topic gets a new publisher on next use
+    when(delegate.createPublisher("topic1")).thenReturn(publisher2);
+    assertThat(cachingPublisherFactory.createPublisher("topic1")).isEqualTo(publisher2);
+    verify(delegate, times(2)).createPublisher("topic1");
+  }
+
+  @Test
+  void testEvictedPublisherShutDownOnDaemonThread() {
+    CachingPublisherFactory cachingPublisherFactory =
+        new CachingPublisherFactory(delegate, 1L, null);
+    AtomicReference<Thread> shutdownThread = new AtomicReference<>();
+    doAnswer(
+            invocation -> {
+              shutdownThread.set(Thread.currentThread());
+              return null;
+            })
+        .when(publisher1)
+        .shutdown();
+
+    when(delegate.createPublisher("topic1")).thenReturn(publisher1);
+    when(delegate.createPublisher("topic2")).thenReturn(publisher2);
+    cachingPublisherFactory.createPublisher("topic1");
+    cachingPublisherFactory.releasePublisher("topic1", publisher1);
+    cachingPublisherFactory.createPublisher("topic2");
+
+    Awaitility.await().atMost(Duration.ofSeconds(1)).until(() -> shutdownThread.get() != null);
+    assertThat(shutdownThread.get().isDaemon()).isTrue();
+    assertThat(shutdownThread.get().getName()).startsWith("gcp-pubsub-publisher-eviction-");
+
+    cachingPublisherFactory.shutdown();
+  }
+
+  @Test
+  void testIdlePublisherExpiresAndShutsDown() {
+    CachingPublisherFactory cachingPublisherFactory =
+        new CachingPublisherFactory(delegate, null, Duration.ofMillis(50));
+
+    when(delegate.createPublisher("topic1")).thenReturn(publisher1);
+
+    cachingPublisherFactory.createPublisher("topic1");
+    cachingPublisherFactory.releasePublisher("topic1", publisher1);
+
+    Awaitility.await()
+        .atMost(Duration.ofSeconds(1))
+        .untilAsserted(() -> verify(publisher1).shutdown());
+    assertThat(cachingPublisherFactory.getCachedPublisherCount()).isZero();
+    assertThat(cachingPublisherFactory.getEvictionCount()).isEqualTo(1);
+
+    cachingPublisherFactory.shutdown();
+  }
+
+  @Test
+  void testEvictedPublisherShutDownOnceReleased() {
+    CachingPublisherFactory cachingPublisherFactory =
+        new CachingPublisherFactory(delegate, 1L, null);
+
+    when(delegate.createPublisher("topic1")).thenReturn(publisher1);
+    when(delegate.createPublisher("topic2")).thenReturn(publisher2);
+
+    assertThat(cachingPublisherFactory.createPublisher("topic1")).isEqualTo(publisher1);
+    cachingPublisherFactory.createPublisher("topic2");
+    assertThat(cachingPublisherFactory.getEvictionCount()).isEqualTo(1);
+
+    // still publishing with the evicted publisher
+    verify(publisher1, after(100).never()).shutdown();
+
+    cachingPublisherFactory.releasePublisher("topic1", publisher1);
+    Awaitility.await()
+        .atMost(Duration.ofSeconds(1))
+        .untilAsserted(() -> verify(publisher1).shutdown());
+
+    cachingPublisherFactory.shutdown();
+  }
 }
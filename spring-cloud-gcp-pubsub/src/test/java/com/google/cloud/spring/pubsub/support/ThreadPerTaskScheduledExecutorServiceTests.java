@@ -0,0 +1,86 @@
+/*
+ * Copyright 2023 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.spring.pubsub.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/** Tests for {@link ThreadPerTaskScheduledExecutorService}. */
+class ThreadPerTaskScheduledExecutorServiceTests {
+
+  private final ThreadPerTaskScheduledExecutorService executor =
+      new ThreadPerTaskScheduledExecutorService("test-");
+
+  @AfterEach
+  void tearDown() {
+    this.executor.shutdownNow();
+  }
+
+  @Test
+  void testTasksRunConcurrently() throws InterruptedException {
+    int tasks = 50;
+    CountDownLatch allStarted = new CountDownLatch(tasks);
+    CountDownLatch release = new CountDownLatch(1);
+
+    for (int i = 0; i < tasks; i++) {
+      this.executor.execute(
+          () -> {
+            allStarted.countDown();
+            try {
+              release.await();
+            } catch (InterruptedException ex) {
+              Thread.currentThread().interrupt();
+            }
+          });
+    }
+
+    // every blocked task holds a thread of its own
+    assertThat(allStarted.await(5, TimeUnit.SECONDS)).isTrue();
+    release.countDown();
+  }
+
+  @Test
+  void testVirtualThreadsDependOnRuntime() {
+    assertThat(this.executor.isVirtualThreads()).isEqualTo(Runtime.version().feature() >= 21);
+  }
+
+  @Test
+  void testScheduledTaskRuns() throws Exception {
+    ScheduledFuture<String> future =
+        this.executor.schedule(() -> Thread.currentThread().getName(), 10, TimeUnit.MILLISECONDS);
+
+    assertThat(future.get(5, TimeUnit.SECONDS)).startsWith("test-scheduler-");
+  }
+
+  @Test
+  void testShutdown() throws InterruptedException {
+    this.executor.shutdown();
+
+    assertThat(this.executor.isShutdown()).isTrue();
+    assertThat(this.executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(this.executor.isTerminated()).isTrue();
+    assertThatThrownBy(() -> this.executor.execute(() -> { }))
+        .isInstanceOf(RejectedExecutionException.class);
+  }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2023 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.spring.pubsub.support.converter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.pubsub.v1.PubsubMessage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the copying and zero-copy modes of {@link JacksonPubSubMessageConverter}.
+ *
+ * <p>Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.google.cloud.spring.pubsub.support.converter.JacksonPubSubMessageConverterBenchmark}
+ * from the module directory. The {@code gc.alloc.rate.norm} metric reports the bytes allocated per
+ * converted message.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JacksonPubSubMessageConverterBenchmark {
+
+  @Param({"100", "500"})
+  int payloadKilobytes;
+
+  @Param({"false", "true"})
+  boolean zeroCopy;
+
+  private JacksonPubSubMessageConverter converter;
+
+  private Order order;
+
+  private PubsubMessage message;
+
+  @Setup
+  public void setUp() {
+    this.converter = new JacksonPubSubMessageConverter(new ObjectMapper());
+    this.converter.setZeroCopy(this.zeroCopy);
+    this.order = Order.ofApproximateSize(this.payloadKilobytes * 1024);
+    this.message = this.converter.toPubSubMessage(this.order, null);
+  }
+
+  @Benchmark
+  public PubsubMessage toPubSubMessage() {
+    return this.converter.toPubSubMessage(this.order, null);
+  }
+
+  @Benchmark
+  public Order fromPubSubMessage() {
+    return this.converter.fromPubSubMessage(this.message, Order.class);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(JacksonPubSubMessageConverterBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+        .run();
+  }
+
+  /** A JSON payload made of many small line items, like a typical large business document. */
+  public static class Order {
+
+    private String id;
+
+    private List<LineItem> items = new ArrayList<>();
+
+    static Order ofApproximateSize(int bytes) {
+      Order order = new Order();
+      order.setId("order-1");
+      // each serialized line item is roughly 100 bytes
+      for (int i = 0; i < bytes / 100; i++) {
+        LineItem item = new LineItem();
+        item.setSku("sku-" + i);
+        item.setDescription("Line item number " + i + " of the benchmark order");
+        item.setQuantity(i % 10 + 1);
+        order.getItems().add(item);
+      }
+      return order;
+    }
+
+    public String getId() {
+      return this.id;
+    }
+
+    public void setId(String id) {
+      this.id = id;
+    }
+
+    public List<LineItem> getItems() {
+      return this.items;
+    }
+
+    public void setItems(List<LineItem> items) {
+      this.items = items;
+    }
+  }
+
+  /** A line item of an {@link Order}. */
+  public static class LineItem {
+
+    private String sku;
+
+    private String description;
+
+    private int quantity;
+
+    public String getSku() {
+      return this.sku;
+    }
+
+    public void setSku(String sku) {
+      this.sku = sku;
+    }
+
+    public String getDescription() {
+      return this.description;
+    }
+
+    public void setDescription(String description) {
+      this.description = description;
+    }
+
+    public int getQuantity() {
+      return this.quantity;
+    }
+
+    public void setQuantity(int quantity) {
+      this.quantity = quantity;
+    }
+  }
+}
@@ -17,9 +17,11 @@
 package com.google.cloud.spring.pubsub.support.converter;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.cloud.spring.pubsub.support.GcpPubSubHeaders;
+import com.google.protobuf.ByteString;
 import com.google.pubsub.v1.PubsubMessage;
 import java.util.Collections;
 import org.json.JSONException;
@@ -94,6 +96,71 @@ class JacksonPubSubMessageConverterTests {
     assertThat(pubsubMessage.getAttributesMap()).containsEntry("custom-header", "val1");
   }
 
+  @Test
+  void testZeroCopyPojo() throws JSONException {
+    JacksonPubSubMessageConverter zeroCopyConverter =
+        new JacksonPubSubMessageConverter(new ObjectMapper());
+    zeroCopyConverter.setZeroCopy(true);
+    Contact contact = new Contact("Thomas", "Edison", 8817);
+
+    PubsubMessage pubsubMessage = zeroCopyConverter.toPubSubMessage(contact, null);
+
+    JSONAssert.assertEquals(
+        "{\"firstName\":\"Thomas\",\"lastName\":\"Edison\",\"zip\":8817}",
+        pubsubMessage.getData().toStringUtf8(),
+        true);
+    assertThat(zeroCopyConverter.fromPubSubMessage(pubsubMessage, Contact.class))
+        .isEqualTo(contact);
+    assertThat(this.converter.fromPubSubMessage(pubsubMessage, Contact.class))
+        .as("verify that both modes produce the same JSON")
+        .isEqualTo(contact);
+  }
+
+  @Test
+  void testZeroCopyLargePayload() {
+    JacksonPubSubMessageConverter zeroCopyConverter =
+        new JacksonPubSubMessageConverter(new ObjectMapper());
+    zeroCopyConverter.setZeroCopy(true);
+    String largeString = "x".repeat(300 * 1024);
+
+    PubsubMessage pubsubMessage =
+        zeroCopyConverter.toPubSubMessage(
+            largeString, Collections.singletonMap(GcpPubSubHeaders.ORDERING_KEY, "key1"));
+
+    assertThat(pubsubMessage.getData().size()).isEqualTo(largeString.length() + 2);
+    assertThat(pubsubMessage.getOrderingKey()).isEqualTo("key1");
+    assertThat(zeroCopyConverter.fromPubSubMessage(pubsubMessage, String.class))
+        .isEqualTo(largeString);
+  }
+
+  @Test
+  void testZeroCopyNullPayload() {
+    JacksonPubSubMessageConverter zeroCopyConverter =
+        new JacksonPubSubMessageConverter(new ObjectMapper());
+    zeroCopyConverter.setZeroCopy(true);
+
+    PubsubMessage pubsubMessage = zeroCopyConverter.toPubSubMessage(null, null);
+
+    assertThat(pubsubMessage.getData().toStringUtf8()).isEqualTo("null");
+    assertThat(zeroCopyConverter.fromPubSubMessage(pubsubMessage, Contact.class)).isNull();
+  }
+
+  @Test
+  void testZeroCopyInvalidJson() {
+    JacksonPubSubMessageConverter zeroCopyConverter =
+        new JacksonPubSubMessageConverter(new ObjectMapper());
+    zeroCopyConverter.setZeroCopy(true);
+    PubsubMessage pubsubMessage =
+        PubsubMessage.newBuilder().setData(ByteString.copyFromUtf8("{not json")).build();
+
+    assertThatThrownBy(() -> zeroCopyConverter.fromPubSubMessage(pubsubMessage, Contact.class))
+        .isInstanceOf(PubSubMessageConversionException.class)
+        .hasMessage(
+            "JSON deserialization of an object of type "
+                + Contact.class.getName()
+                + " failed.");
+  }
+
   /** A test class containing data to test conversions. */
   static class Contact {
     String firstName;